@@ -0,0 +1,125 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the arithmetic, comparison and hashing of {@link Dimension.Scalar}s, compared against unwrapping, converting and
+ * rewrapping by hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark {
+  private static final int SIZE = 1024;
+
+  private final Distance km = new Distance(1.5, Distance.Unit.KM);
+  private final Distance km2 = new Distance(2.5, Distance.Unit.KM);
+  private final Distance mi = new Distance(3.5, Distance.Unit.MI);
+  private final Distance m = new Distance(1500, Distance.Unit.M);
+  private final Time hr = new Time(0.5, Time.Unit.HR);
+  private final HashSet<Distance> set = new HashSet<>();
+  private final ArrayList<Distance> distances = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    final Distance.Unit[] units = {Distance.Unit.KM, Distance.Unit.KM, Distance.Unit.KM, Distance.Unit.M, Distance.Unit.MI};
+    final Random random = new Random(0);
+    for (int i = 0; i < SIZE; ++i) // [A]
+      distances.add(new Distance(random.nextDouble() * 100, units[random.nextInt(units.length)]));
+
+    set.addAll(distances);
+    set.add(km);
+  }
+
+  @Benchmark
+  public Distance addSameUnit() {
+    return km.add(km2);
+  }
+
+  @Benchmark
+  public Distance addMixedUnit() {
+    return km.add(mi);
+  }
+
+  @Benchmark
+  public Distance addByHand() {
+    return new Distance(km.value(Distance.Unit.KM) + mi.value(Distance.Unit.KM), Distance.Unit.KM);
+  }
+
+  @Benchmark
+  public Speed divide() {
+    return km.divide(hr);
+  }
+
+  @Benchmark
+  public Distance sum() {
+    return Dimension.Scalar.sum(distances);
+  }
+
+  @Benchmark
+  public Distance sumByHand() {
+    double sum = 0;
+    for (int i = 0, i$ = distances.size(); i < i$; ++i) // [RA]
+      sum += distances.get(i).value(Distance.Unit.KM);
+
+    return new Distance(sum, Distance.Unit.KM);
+  }
+
+  @Benchmark
+  public Distance max() {
+    return Dimension.Scalar.max(distances);
+  }
+
+  @Benchmark
+  public int compareMixedUnit() {
+    return km.compareTo(mi);
+  }
+
+  @Benchmark
+  public boolean equalsMixedUnit() {
+    return km.equals(m);
+  }
+
+  @Benchmark
+  public double valueBase() {
+    return mi.value(Distance.Unit.M);
+  }
+
+  @Benchmark
+  public boolean hashSetContains() {
+    return set.contains(m);
+  }
+}
\ No newline at end of file
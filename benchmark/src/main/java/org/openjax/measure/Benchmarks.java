@@ -0,0 +1,63 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}, accepting the command line options of {@code org.openjdk.jmh.Main}. Unless a profiler is
+ * specified with {@code -prof}, the {@link GCProfiler} is added to report the allocation rate of each benchmark. If the system
+ * property {@code threads} is set to a comma-separated list of thread counts, such as {@code -Dthreads=1,2,4,8}, the selected
+ * benchmarks are run once for each thread count.
+ */
+public final class Benchmarks {
+  public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException {
+    final CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp() || options.shouldList() || options.shouldListProfilers() || options.shouldListResultFormats() || options.shouldListWithParams()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    final String threads = System.getProperty("threads");
+    final String[] counts = threads != null ? threads.split(",") : new String[] {null};
+    for (final String count : counts) { // [A]
+      final ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+      if (options.getProfilers().isEmpty())
+        builder.addProfiler(GCProfiler.class);
+
+      if (count != null)
+        builder.threads(Integer.parseInt(count.trim()));
+
+      final Collection<RunResult> results = new Runner(builder.build()).run();
+      if (results.isEmpty())
+        throw new RunnerException("No benchmarks matched");
+    }
+  }
+
+  private Benchmarks() {
+  }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Benchmarks for {@link BinaryCodec}, compared against {@link Object#toString()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+  private static final int SIZE = 1024;
+
+  private final Speed speed = new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR));
+  private final Location location = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(16 + 8 * SIZE);
+  private final ByteBuffer encodedSpeed = ByteBuffer.allocateDirect(16);
+  private final ByteBuffer encodedLocation = ByteBuffer.allocateDirect(32);
+  private final ByteBuffer encodedColumn = ByteBuffer.allocateDirect(16 + 8 * SIZE);
+  private final double[] values = new double[SIZE];
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < SIZE; ++i) // [A]
+      values[i] = i * 0.5;
+
+    BinaryCodec.putScalar(encodedSpeed, speed).flip();
+    BinaryCodec.putLocation(encodedLocation, location).flip();
+    BinaryCodec.putColumn(encodedColumn, Time.Unit.SEC, values, 0, SIZE).flip();
+  }
+
+  @Benchmark
+  public String speedToString() {
+    return speed.toString();
+  }
+
+  @Benchmark
+  public ByteBuffer putSpeed() {
+    buffer.clear();
+    return BinaryCodec.putScalar(buffer, speed);
+  }
+
+  @Benchmark
+  public Speed getSpeed() {
+    encodedSpeed.rewind();
+    return BinaryCodec.getScalar(encodedSpeed);
+  }
+
+  @Benchmark
+  public ByteBuffer putLocation() {
+    buffer.clear();
+    return BinaryCodec.putLocation(buffer, location);
+  }
+
+  @Benchmark
+  public Location getLocation() {
+    encodedLocation.rewind();
+    return BinaryCodec.getLocation(encodedLocation);
+  }
+
+  @Benchmark
+  public ByteBuffer putColumn() {
+    buffer.clear();
+    return BinaryCodec.putColumn(buffer, Time.Unit.SEC, values, 0, SIZE);
+  }
+
+  @Benchmark
+  public double getColumn() {
+    encodedColumn.rewind();
+    BinaryCodec.getColumnUnit(encodedColumn);
+    final DoubleBuffer column = BinaryCodec.getColumnValues(encodedColumn);
+    double sum = 0;
+    for (int i = 0, i$ = column.limit(); i < i$; ++i) // [A]
+      sum += column.get(i);
+
+    return sum;
+  }
+}
\ No newline at end of file
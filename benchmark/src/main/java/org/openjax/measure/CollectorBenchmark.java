@@ -0,0 +1,108 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the summation of streams of {@link Distance}s in mixed units by {@link ScalarCollectors}, against reductions by
+ * {@link Distance#value(Dimension.Unit)} per element, and of concurrent summation by {@link ScalarAdder}, against
+ * {@link DoubleAdder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectorBenchmark {
+  private static final int SIZE = 4096;
+
+  @State(Scope.Benchmark)
+  public static class Shared {
+    private final ScalarAdder<Distance.Unit> scalarAdder = new ScalarAdder<>(Distance.Unit.KM);
+    private final DoubleAdder doubleAdder = new DoubleAdder();
+  }
+
+  private final List<Distance> distances = new ArrayList<>(SIZE);
+  private final Distance distance = new Distance(1500, Distance.Unit.M);
+
+  public CollectorBenchmark() {
+    final Random random = new Random(1);
+    final Distance.Unit[] units = {Distance.Unit.M, Distance.Unit.KM, Distance.Unit.MI};
+    for (int i = 0; i < SIZE; ++i)
+      distances.add(new Distance(random.nextDouble() * 1000, units[i / 64 % units.length]));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double summing() {
+    return distances.stream().collect(ScalarCollectors.summing(Distance.Unit.KM));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double summingParallel() {
+    return distances.parallelStream().collect(ScalarCollectors.summing(Distance.Unit.KM));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double summarizing() {
+    return distances.stream().collect(ScalarCollectors.summarizing(Distance.Unit.KM)).getSum();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double reduceBoxed() {
+    return distances.stream().map(d -> d.value(Distance.Unit.KM)).reduce(0d, Double::sum);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double mapToDoubleSum() {
+    return distances.stream().mapToDouble(d -> d.value(Distance.Unit.KM)).sum();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void scalarAdder(final Shared shared) {
+    shared.scalarAdder.add(distance);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void doubleAdder(final Shared shared) {
+    shared.doubleAdder.add(distance.value(Distance.Unit.KM));
+  }
+}
\ No newline at end of file
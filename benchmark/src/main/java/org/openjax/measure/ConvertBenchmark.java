@@ -0,0 +1,71 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the bulk {@link Dimension.Scalar#convert(double[],int,int,Dimension.Unit,Dimension.Unit,double[])}, compared
+ * against the conversion of one {@link Distance} object per value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertBenchmark {
+  @Param({"1024", "1048576"})
+  private int size;
+
+  private double[] src;
+  private double[] dst;
+
+  @Setup
+  public void setup() {
+    src = new double[size];
+    dst = new double[size];
+    for (int i = 0; i < size; ++i) // [A]
+      src[i] = i * 10;
+  }
+
+  @Benchmark
+  public double[] perObject() {
+    for (int i = 0; i < size; ++i) // [A]
+      dst[i] = new Distance(src[i], Distance.Unit.FT).value(Distance.Unit.M);
+
+    return dst;
+  }
+
+  @Benchmark
+  public double[] bulk() {
+    Dimension.Scalar.convert(src, 0, size, Distance.Unit.FT, Distance.Unit.M, dst);
+    return dst;
+  }
+}
\ No newline at end of file
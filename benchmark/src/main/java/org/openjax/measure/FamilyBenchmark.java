@@ -0,0 +1,86 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Dimension.Unit#getFactor(Dimension.Unit)} and {@link Dimension.Scalar#value(Dimension.Unit)} as a function
+ * of the number of {@link Distance.Unit}s registered in the family. Each trial runs in its own fork, whereby the registered units do
+ * not accumulate across values of {@code units}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FamilyBenchmark {
+  private static final int SIZE = 1024;
+
+  @Param({"5", "64", "1024"})
+  private int units;
+
+  private final Distance.Unit[] from = new Distance.Unit[SIZE];
+  private final Distance.Unit[] to = new Distance.Unit[SIZE];
+  private final Distance[] distances = new Distance[SIZE];
+  private int index;
+
+  @Setup
+  public void setup() {
+    final Distance.Unit[] family = new Distance.Unit[units];
+    family[0] = Distance.Unit.M;
+    family[1] = Distance.Unit.FT;
+    family[2] = Distance.Unit.MI;
+    family[3] = Distance.Unit.KM;
+    family[4] = Distance.Unit.NM;
+    for (int i = 5; i < units; ++i) // [A]
+      family[i] = new Distance.Unit("u" + i, i, Distance.Unit.M);
+
+    final Random random = new Random(0);
+    for (int i = 0; i < SIZE; ++i) { // [A]
+      from[i] = family[random.nextInt(units)];
+      to[i] = family[random.nextInt(units)];
+      distances[i] = new Distance(random.nextDouble(), from[i]);
+    }
+  }
+
+  @Benchmark
+  public double getFactor() {
+    final int i = index++ & (SIZE - 1);
+    return from[i].getFactor(to[i]);
+  }
+
+  @Benchmark
+  public double value() {
+    final int i = index++ & (SIZE - 1);
+    return distances[i].value(to[i]);
+  }
+}
\ No newline at end of file
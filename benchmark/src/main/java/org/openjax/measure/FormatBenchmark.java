@@ -0,0 +1,99 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the formatting of {@link Angle}s, {@link Distance}s and {@link Location}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+  private final Angle angle = new Angle(51.47736444, Angle.Unit.DEG);
+  private final Distance distance = new Distance(54.972271, Distance.Unit.KM);
+  private final Location location = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+  private final StringBuilder builder = new StringBuilder(64);
+  private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+  @Benchmark
+  public String toDMS() {
+    return angle.toDMS();
+  }
+
+  @Benchmark
+  public StringBuilder formatDMS() throws IOException {
+    builder.setLength(0);
+    return angle.formatDMS(builder, 3);
+  }
+
+  @Benchmark
+  public ByteBuffer formatDMSBytes() {
+    buffer.clear();
+    return angle.formatDMS(buffer, 3);
+  }
+
+  @Benchmark
+  public String scalarToString() {
+    return distance.toString();
+  }
+
+  @Benchmark
+  public StringBuilder scalarFormat() throws IOException {
+    builder.setLength(0);
+    return distance.format(builder);
+  }
+
+  @Benchmark
+  public ByteBuffer scalarFormatBytes() {
+    buffer.clear();
+    return distance.format(buffer);
+  }
+
+  @Benchmark
+  public String locationToString() {
+    return location.toString();
+  }
+
+  @Benchmark
+  public StringBuilder locationFormat() throws IOException {
+    builder.setLength(0);
+    return location.format(builder);
+  }
+
+  @Benchmark
+  public ByteBuffer locationFormatBytes() {
+    buffer.clear();
+    return location.format(buffer);
+  }
+}
\ No newline at end of file
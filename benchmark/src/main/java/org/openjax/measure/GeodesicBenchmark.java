@@ -0,0 +1,94 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link Geodesic} strategies, directly and through {@link Location#distance(Location,Geodesic)} and
+ * {@link Distance#locate(Location,Angle,Geodesic)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeodesicBenchmark {
+  private static final int SIZE = 1024;
+
+  @Param({"EQUIRECTANGULAR", "HAVERSINE", "VINCENTY"})
+  private String mode;
+
+  private Geodesic geodesic;
+  private final double[] latitudes = new double[SIZE];
+  private final double[] longitudes = new double[SIZE];
+  private final Location[] locations = new Location[SIZE];
+  private final Distance distance = new Distance(500, Distance.Unit.KM);
+  private final Angle bearing = new Angle(45, Angle.Unit.DEG);
+  private final double[] dst = new double[2];
+  private int index;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    geodesic = (Geodesic)Geodesic.class.getField(mode).get(null);
+    final Random random = new Random(0);
+    for (int i = 0; i < SIZE; ++i) { // [A]
+      latitudes[i] = Math.toRadians(random.nextDouble() * 140 - 70);
+      longitudes[i] = Math.toRadians(random.nextDouble() * 360 - 180);
+      locations[i] = new Location(new Angle(latitudes[i], Angle.Unit.RAD), new Angle(longitudes[i], Angle.Unit.RAD));
+    }
+  }
+
+  @Benchmark
+  public double distance() {
+    final int i = index++ & (SIZE - 1);
+    final int j = (i + 1) & (SIZE - 1);
+    return geodesic.distance(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+  }
+
+  @Benchmark
+  public double[] destination() {
+    final int i = index++ & (SIZE - 1);
+    geodesic.destination(latitudes[i], longitudes[i], longitudes[i], 500, dst, 0);
+    return dst;
+  }
+
+  @Benchmark
+  public Distance locationDistance() {
+    final int i = index++ & (SIZE - 1);
+    return locations[i].distance(locations[(i + 1) & (SIZE - 1)], geodesic);
+  }
+
+  @Benchmark
+  public Location locate() {
+    return distance.locate(locations[index++ & (SIZE - 1)], bearing, geodesic);
+  }
+}
\ No newline at end of file
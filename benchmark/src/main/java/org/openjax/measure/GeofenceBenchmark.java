@@ -0,0 +1,102 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link GeofenceIndex}, per location, compared against testing every {@link Geofence}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeofenceBenchmark {
+  private static final int FENCES = 5000;
+  private static final int POINTS = 10000;
+
+  private final Geofence[] geofences = new Geofence[FENCES];
+  private final GeofenceIndex index = new GeofenceIndex(0.25, Angle.Unit.DEG);
+  private final LocationArray points = new LocationArray(POINTS);
+  private final Location[] locations = new Location[POINTS];
+  private final GeofenceIndex.Hits hits = new GeofenceIndex.Hits();
+
+  private static Location location(final double latitude, final double longitude) {
+    return new Location(new Angle(latitude, Angle.Unit.DEG), new Angle(longitude, Angle.Unit.DEG));
+  }
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(17);
+    for (int i = 0; i < FENCES; ++i) { // [A]
+      final double lat = random.nextDouble() * 20 + 30;
+      final double lon = random.nextDouble() * 40 - 120;
+      final double r = random.nextDouble() * 0.1 + 0.02;
+      geofences[i] = i % 2 == 0 ? new Geofence.Circle(location(lat, lon), new Distance(r * 100, Distance.Unit.KM)) : new Geofence.Polygon(location(lat - r, lon - r), location(lat - r, lon + r), location(lat + r, lon + r), location(lat + r, lon - r));
+      index.add(geofences[i]);
+    }
+
+    for (int i = 0; i < POINTS; ++i) { // [A]
+      locations[i] = location(random.nextDouble() * 20 + 30, random.nextDouble() * 40 - 120);
+      points.add(locations[i]);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public int scan() {
+    int count = 0;
+    for (final Location location : locations) // [A]
+      for (final Geofence geofence : geofences) // [A]
+        if (geofence.contains(location))
+          ++count;
+
+    return count;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public int index() {
+    int count = 0;
+    for (final Location location : locations) // [A]
+      count += index.contains(location).size();
+
+    return count;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public GeofenceIndex.Hits batch() {
+    hits.clear();
+    return index.contains(points, hits);
+  }
+}
\ No newline at end of file
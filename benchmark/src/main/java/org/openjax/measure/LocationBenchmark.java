@@ -0,0 +1,86 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the many-to-many distance matrix of {@link LocationArray}, compared against pairwise
+ * {@link Location#distance(Location)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationBenchmark {
+  @Param({"100", "1000"})
+  private int size;
+
+  private Location[] vehicles;
+  private Location[] depots;
+  private LocationArray vehicleArray;
+  private LocationArray depotArray;
+  private double[] dst;
+
+  private static Location[] random(final Random random, final int size) {
+    final Location[] locations = new Location[size];
+    for (int i = 0; i < size; ++i) // [A]
+      locations[i] = new Location(new Angle(random.nextDouble() * 180 - 90, Angle.Unit.DEG), new Angle(random.nextDouble() * 360 - 180, Angle.Unit.DEG));
+
+    return locations;
+  }
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    vehicles = random(random, size);
+    depots = random(random, size);
+    vehicleArray = new LocationArray(vehicles);
+    depotArray = new LocationArray(depots);
+    dst = new double[size * size];
+  }
+
+  @Benchmark
+  public double[] pairwise() {
+    for (int i = 0; i < size; ++i) // [A]
+      for (int j = 0; j < size; ++j) // [A]
+        dst[i * size + j] = vehicles[i].distance(depots[j]).value(Distance.Unit.KM);
+
+    return dst;
+  }
+
+  @Benchmark
+  public double[] matrix() {
+    vehicleArray.distance(depotArray, Distance.Unit.KM, dst);
+    return dst;
+  }
+}
\ No newline at end of file
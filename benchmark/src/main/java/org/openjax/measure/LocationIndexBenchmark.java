@@ -0,0 +1,86 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the radius and k-nearest queries of {@link LocationIndex}, compared against a linear scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationIndexBenchmark {
+  @Param({"100000"})
+  private int size;
+
+  private final Distance radius = new Distance(50, Distance.Unit.KM);
+  private ArrayList<Location> locations;
+  private LocationIndex<Location> index;
+  private Location center;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    locations = new ArrayList<>(size);
+    for (int i = 0; i < size; ++i) // [RA]
+      locations.add(new Location(new Angle(random.nextDouble() * 180 - 90, Angle.Unit.DEG), new Angle(random.nextDouble() * 360 - 180, Angle.Unit.DEG)));
+
+    index = new LocationIndex<>(locations, l -> l);
+    center = new Location(new Angle(45, Angle.Unit.DEG), new Angle(7, Angle.Unit.DEG));
+  }
+
+  @Benchmark
+  public ArrayList<Location> withinScan() {
+    final double km = radius.value(Distance.Unit.KM);
+    final ArrayList<Location> result = new ArrayList<>();
+    for (int i = 0, i$ = locations.size(); i < i$; ++i) { // [RA]
+      final Location location = locations.get(i);
+      if (center.distance(location).value(Distance.Unit.KM) <= km)
+        result.add(location);
+    }
+
+    return result;
+  }
+
+  @Benchmark
+  public ArrayList<Location> within() {
+    return index.within(center, radius);
+  }
+
+  @Benchmark
+  public ArrayList<Location> nearest() {
+    return index.nearest(center, 10);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link PackedLocation}, {@link PackedLocationArray} and {@link PackedLocationMap}, compared against collections of
+ * {@link Location} objects. The allocation of the {@code fill*} benchmarks, as reported by {@code -prof gc}, is the memory
+ * footprint of each representation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedLocationBenchmark {
+  private static final int SIZE = 1 << 16;
+
+  private final double[] latitudes = new double[SIZE];
+  private final double[] longitudes = new double[SIZE];
+  private final Location origin = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+  private final ArrayList<Location> list = new ArrayList<>(SIZE);
+  private final PackedLocationArray array = new PackedLocationArray(SIZE);
+  private final double[] dst = new double[SIZE];
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(23);
+    for (int i = 0; i < SIZE; ++i) { // [A]
+      latitudes[i] = random.nextDouble() * 180 - 90;
+      longitudes[i] = random.nextDouble() * 360 - 180;
+      list.add(new Location(new Angle(latitudes[i], Angle.Unit.DEG), new Angle(longitudes[i], Angle.Unit.DEG)));
+      array.add(latitudes[i], longitudes[i], Angle.Unit.DEG);
+    }
+  }
+
+  @Benchmark
+  public ArrayList<Location> fillList() {
+    final ArrayList<Location> list = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; ++i) // [A]
+      list.add(new Location(new Angle(latitudes[i], Angle.Unit.DEG), new Angle(longitudes[i], Angle.Unit.DEG)));
+
+    return list;
+  }
+
+  @Benchmark
+  public PackedLocationArray fillPacked() {
+    final PackedLocationArray array = new PackedLocationArray(SIZE);
+    for (int i = 0; i < SIZE; ++i) // [A]
+      array.add(latitudes[i], longitudes[i], Angle.Unit.DEG);
+
+    return array;
+  }
+
+  @Benchmark
+  public HashMap<Long,Location> fillHashMap() {
+    final HashMap<Long,Location> map = new HashMap<>(SIZE * 4 / 3 + 1);
+    for (int i = 0; i < SIZE; ++i) // [A]
+      map.put((long)i, new Location(new Angle(latitudes[i], Angle.Unit.DEG), new Angle(longitudes[i], Angle.Unit.DEG)));
+
+    return map;
+  }
+
+  @Benchmark
+  public PackedLocationMap fillPackedMap() {
+    final PackedLocationMap map = new PackedLocationMap(SIZE);
+    for (int i = 0; i < SIZE; ++i) // [A]
+      map.putPacked(i, PackedLocation.pack(latitudes[i], longitudes[i], Angle.Unit.DEG));
+
+    return map;
+  }
+
+  @Benchmark
+  public double[] distanceList() {
+    for (int i = 0; i < SIZE; ++i) // [RA]
+      dst[i] = origin.distance(list.get(i)).value(Distance.Unit.KM);
+
+    return dst;
+  }
+
+  @Benchmark
+  public double[] distancePacked() {
+    array.distance(origin, Distance.Unit.KM, dst);
+    return dst;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the selection of the engineering {@link MetricPrefix} of values, and the formatting of prefixed values, against
+ * the selection by {@link Math#log10(double)} and {@link Math#pow(double,double)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixBenchmark {
+  private static final int SIZE = 1024;
+
+  private final double[] values = new double[SIZE];
+  private final StringBuilder builder = new StringBuilder(64);
+
+  public PrefixBenchmark() {
+    final Random random = new Random(1);
+    for (int i = 0; i < SIZE; ++i)
+      values[i] = Math.pow(10, random.nextDouble() * 30 - 15);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public void forValue(final Blackhole blackhole) {
+    for (int i = 0; i < SIZE; ++i)
+      blackhole.consume(MetricPrefix.forValue(values[i]));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public void forValueLog10(final Blackhole blackhole) {
+    for (int i = 0; i < SIZE; ++i) {
+      final int power = Math.floorDiv((int)Math.floor(Math.log10(values[i])), 3) * 3;
+      blackhole.consume(MetricPrefix.of(Math.max(-24, Math.min(24, power))));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public void scaleLog10Pow(final Blackhole blackhole) {
+    for (int i = 0; i < SIZE; ++i) {
+      final int power = Math.floorDiv((int)Math.floor(Math.log10(values[i])), 3) * 3;
+      blackhole.consume(values[i] / Math.pow(10, power));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public void format(final Blackhole blackhole) throws IOException {
+    for (int i = 0; i < SIZE; ++i) {
+      builder.setLength(0);
+      blackhole.consume(MetricPrefix.format(builder, values[i], Distance.Unit.M, 3));
+    }
+  }
+
+  @Benchmark
+  public Distance.Unit prefix() {
+    return Distance.Unit.M.prefix(MetricPrefix.KILO);
+  }
+}
\ No newline at end of file
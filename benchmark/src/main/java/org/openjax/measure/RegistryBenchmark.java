@@ -0,0 +1,79 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Throughput benchmarks for concurrent lookups in the {@link Dimension.Unit} registry. Run with {@code -t 1}, {@code -t 4}, etc.
+ * to observe scaling with the thread count; the {@code mixed} group interleaves readers with a thread interning {@code Ratio} units.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+  private final Distance.Unit[] distances = {Distance.Unit.M, Distance.Unit.KM, Distance.Unit.FT, Distance.Unit.MI};
+  private final Time.Unit[] times = {Time.Unit.SEC, Time.Unit.MIN, Time.Unit.HR};
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int i;
+  }
+
+  @Benchmark
+  public double getFactor(final Cursor cursor) {
+    final int i = ++cursor.i;
+    return distances[i % distances.length].getFactor(distances[(i >>> 3) % distances.length]);
+  }
+
+  @Benchmark
+  public double getFactorRatio(final Cursor cursor) {
+    final int i = ++cursor.i;
+    return Unit.ratio(distances[i % distances.length], times[i % times.length]).getFactor(Unit.ratio(distances[(i >>> 3) % distances.length], times[(i >>> 2) % times.length]));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(3)
+  public double mixedRead(final Cursor cursor) {
+    return getFactor(cursor);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public Unit mixedIntern(final Cursor cursor) {
+    final int i = ++cursor.i;
+    return Unit.ratio(distances[i % distances.length], times[(i >>> 3) % times.length]);
+  }
+}
\ No newline at end of file
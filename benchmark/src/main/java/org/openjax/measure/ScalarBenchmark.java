@@ -0,0 +1,66 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Benchmarks for {@link Dimension.Scalar#replicate(double)}, compared against the reflective instantiation it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalarBenchmark {
+  private final Speed speed = new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR));
+  private final Velocity velocity = new Velocity(new Angle(45, Angle.Unit.DEG), speed);
+  private final Angle heading = new Angle(-45, Angle.Unit.DEG);
+  private double value = 42;
+
+  @Benchmark
+  public Speed replicate() {
+    return speed.replicate(value);
+  }
+
+  @Benchmark
+  public Speed replicateReflective() throws ReflectiveOperationException {
+    return speed.getClass().getConstructor(double.class, speed.unit.getClass()).newInstance(value, speed.unit);
+  }
+
+  @Benchmark
+  public Speed newInstance() {
+    return new Speed(value, speed.unit);
+  }
+
+  @Benchmark
+  public Speed velocityValue() {
+    return velocity.value(heading);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link MeasurementSeries}, compared against an {@link ArrayList} of {@link Mass}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesBenchmark {
+  private static final int SIZE = 4096;
+
+  private final double[] values = new double[SIZE];
+  private final ArrayList<Mass> list = new ArrayList<>(SIZE);
+  private final MeasurementSeries<Mass.Unit> series = new MeasurementSeries<>(Mass.Unit.KG, true, SIZE);
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < SIZE; ++i) { // [A]
+      values[i] = 50 + (i % 17);
+      list.add(new Mass(values[i], Mass.Unit.KG));
+      series.add(i * 100L, values[i]);
+    }
+  }
+
+  @Benchmark
+  public double fillList() {
+    list.clear();
+    for (int i = 0; i < SIZE; ++i) // [A]
+      list.add(new Mass(values[i], Mass.Unit.KG));
+
+    return list.get(SIZE - 1).value;
+  }
+
+  @Benchmark
+  public double fillSeries() {
+    series.clear();
+    for (int i = 0; i < SIZE; ++i) // [A]
+      series.add(i * 100L, values[i]);
+
+    return series.getStatistics().getMean();
+  }
+
+  @Benchmark
+  public double statisticsList() {
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (int i = 0; i < SIZE; ++i) { // [RA]
+      final double value = list.get(i).value(Mass.Unit.KG);
+      sum += value;
+      sumOfSquares += value * value;
+    }
+
+    final double mean = sum / SIZE;
+    return sumOfSquares / SIZE - mean * mean;
+  }
+
+  @Benchmark
+  public double statisticsSeries() {
+    return series.getStatistics().getVariance();
+  }
+
+  @Benchmark
+  public MeasurementSeries<Mass.Unit> convertSeries() {
+    return series.convert(Mass.Unit.LB);
+  }
+
+  @Benchmark
+  public ArrayList<Mass> convertList() {
+    final ArrayList<Mass> converted = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; ++i) // [RA]
+      converted.add(new Mass(list.get(i).value(Mass.Unit.LB), Mass.Unit.LB));
+
+    return converted;
+  }
+
+  @Benchmark
+  public MeasurementSeries<Mass.Unit> downsample() {
+    return series.downsample(6000);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the cold start of the units and scalars, as the time of the first operation in a fresh JVM: the initialization of
+ * the {@link Dimension.Unit} classes of all built-in dimensions, the creation of a {@link Dimension.Scalar} of each, and the first
+ * parse of a unit expression with a {@link MetricPrefix}. Each fork measures a single operation.
+ * <p>
+ * <b>Note:</b> The harness itself uses lambdas, whereby the one-time bootstrap of {@code invokedynamic}, which the initialization of
+ * this library no longer triggers, is excluded from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+  @Benchmark
+  public Object[] initialize() {
+    return new Object[] {
+      new Angle(51.5, Angle.Unit.DEG),
+      new Distance(1, Distance.Unit.KM),
+      new Elevation(350, Elevation.Unit.FL),
+      new Mass(1, Mass.Unit.KG),
+      new Force(1, Force.Unit.N),
+      new Time(1, Time.Unit.HR),
+      new Volume(1, Volume.Unit.L),
+      Dimension.Unit.parse("mg/l")
+    };
+  }
+}
\ No newline at end of file
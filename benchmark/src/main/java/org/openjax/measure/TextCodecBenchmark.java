@@ -0,0 +1,126 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjax.measure.Dimension.Unit;
+import org.openjax.measure.TextCodec.Format;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the decoding and encoding of CSV rows of measurements by {@link TextCodec}, against splitting each line and
+ * parsing each cell with {@link Double#parseDouble(String)} and {@link Unit#parse(String)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextCodecBenchmark {
+  private static final int ROWS = 1024;
+  private static final Unit[] units = {Distance.Unit.M, Mass.Unit.KG, Angle.Unit.DEG};
+
+  private final String csv;
+  private final byte[] bytes;
+  private final String[] lines;
+  private final double[][] columns = {new double[ROWS], new double[ROWS], new double[ROWS]};
+  private final StringBuilder builder = new StringBuilder(ROWS * 40);
+  private final ByteBuffer buffer = ByteBuffer.allocate(ROWS * 64);
+
+  public TextCodecBenchmark() {
+    final Random random = new Random(1);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < ROWS; ++i)
+      builder.append(random.nextInt(100000) / 100d).append(i % 4 == 0 ? " mi," : " km,").append(random.nextInt(10000) / 10d).append(" g,").append((random.nextInt(18000) - 9000) / 100d).append(" deg\n");
+
+    csv = builder.toString();
+    bytes = csv.getBytes(StandardCharsets.UTF_8);
+    lines = csv.split("\n");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public double[][] decodeReader() throws IOException {
+    TextCodec.decoder(Format.CSV, new StringReader(csv), units).read(columns, 0, ROWS);
+    return columns;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public double[][] decodeBytes() throws IOException {
+    TextCodec.decoder(Format.CSV, units).put(ByteBuffer.wrap(bytes)).end().read(columns, 0, ROWS);
+    return columns;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public double[][] decodeSplit() {
+    for (int i = 0; i < ROWS; ++i) {
+      final String[] cells = lines[i].split(",");
+      for (int j = 0; j < cells.length; ++j) {
+        final String cell = cells[j].trim();
+        final int space = cell.indexOf(' ');
+        final double value = Double.parseDouble(cell.substring(0, space));
+        final Unit unit = Unit.parse(cell.substring(space + 1));
+        columns[j][i] = value * unit.getFactor(units[j]);
+      }
+    }
+
+    return columns;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public StringBuilder encode() throws IOException {
+    builder.setLength(0);
+    return TextCodec.encoder(Format.CSV, units).write(builder, columns, 0, ROWS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public ByteBuffer encodeBytes() {
+    buffer.clear();
+    TextCodec.encoder(Format.CSV, units).write(buffer, columns, 0, ROWS);
+    return buffer;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public StringBuilder encodeConcat() {
+    builder.setLength(0);
+    for (int i = 0; i < ROWS; ++i)
+      builder.append(columns[0][i] + " " + units[0] + "," + columns[1][i] + " " + units[1] + "," + columns[2][i] + " " + units[2] + "\n");
+
+    return builder;
+  }
+}
\ No newline at end of file
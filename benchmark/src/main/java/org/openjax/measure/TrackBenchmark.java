@@ -0,0 +1,111 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Track}, compared against summing {@link Location#distance(Location)} over the polyline per query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackBenchmark {
+  @Param({"1000", "100000"})
+  private int points;
+
+  private Location[] locations;
+  private LocationArray array;
+  private Track track;
+  private final double[] dst = new double[2];
+  private Location vehicle;
+  private double along;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(5);
+    locations = new Location[points];
+    array = new LocationArray(points);
+    double lat = 40;
+    double lon = -100;
+    for (int i = 0; i < points; ++i) { // [A]
+      locations[i] = new Location(new Angle(lat, Angle.Unit.DEG), new Angle(lon, Angle.Unit.DEG));
+      array.add(locations[i]);
+      lat += random.nextDouble() * 0.01 - 0.005;
+      lon += random.nextDouble() * 0.01;
+    }
+
+    track = new Track(array);
+    vehicle = track.locate(new Distance(track.length().value(Distance.Unit.KM) * 0.7, Distance.Unit.KM));
+  }
+
+  @Benchmark
+  public double distanceSummed() {
+    double sum = 0;
+    for (int i = 1, i$ = points * 7 / 10; i < i$; ++i) // [A]
+      sum += locations[i - 1].distance(locations[i]).value(Distance.Unit.KM);
+
+    return sum;
+  }
+
+  @Benchmark
+  public double distance() {
+    return track.distance(points * 7 / 10, Distance.Unit.KM);
+  }
+
+  @Benchmark
+  public double[] locate() {
+    along = (along + 13.7) % track.length().value(Distance.Unit.KM);
+    track.locate(along, Distance.Unit.KM, dst, 0);
+    return dst;
+  }
+
+  @Benchmark
+  public double alongTrack() {
+    return track.alongTrack(vehicle, Distance.Unit.KM);
+  }
+
+  @Benchmark
+  public Track build() {
+    final Track track = new Track();
+    for (int i = 0; i < points; ++i) // [A]
+      track.add(locations[i]);
+
+    return track;
+  }
+
+  @Benchmark
+  public Track buildBulk() {
+    return new Track(array);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Benchmarks for {@link TrackStore}, compared against an in-memory {@link ArrayList} of objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackStoreBenchmark {
+  private static final int SIZE = 1 << 16;
+  private static final Unit.Ratio<Distance.Unit,Time.Unit> KNOTS = Unit.ratio(Distance.Unit.NM, Time.Unit.HR);
+
+  private Path directory;
+  private TrackStore store;
+  private double time;
+  private final ArrayList<Location> locations = new ArrayList<>();
+  private final LocationArray array = new LocationArray(SIZE);
+
+  @Setup(Level.Iteration)
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("tracks");
+    store = new TrackStore(directory, Time.Unit.SEC, KNOTS);
+    locations.clear();
+    for (int i = 0; i < SIZE; ++i) {
+      final double latitude = 0.6 + i * 1e-6;
+      final double longitude = -1.3 + i * 1e-6;
+      store.append("replay", i, latitude, longitude, 0.5, 100);
+      locations.add(new Location(new Angle(latitude, Angle.Unit.RAD), new Angle(longitude, Angle.Unit.RAD)));
+    }
+
+    time = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws IOException {
+    store.close();
+    store = null;
+    Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+  }
+
+  @Benchmark
+  public void append() throws IOException {
+    store.append("append", ++time, 0.6, -1.3, 0.5, 100);
+  }
+
+  @Benchmark
+  public int scan() throws IOException {
+    final double from = (time = (time + 4099) % SIZE);
+    return store.scan("replay", from, from + 256).size();
+  }
+
+  @Benchmark
+  public double scanSum() throws IOException {
+    double sum = 0;
+    for (final TrackStore.Slice slice : store.scan("replay")) { // [L]
+      final DoubleBuffer speeds = slice.speeds();
+      for (int i = 0, i$ = speeds.limit(); i < i$; ++i)
+        sum += speeds.get(i);
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  public LocationArray replay() throws IOException {
+    array.size = 0;
+    for (final TrackStore.Slice slice : store.scan("replay")) // [L]
+      slice.copyTo(array);
+
+    return array;
+  }
+
+  @Benchmark
+  public LocationArray replayObjects() {
+    array.size = 0;
+    for (int i = 0, i$ = locations.size(); i < i$; ++i) // [RA]
+      array.add(locations.get(i));
+
+    return array;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Benchmarks for {@link Dimension.Unit#getFactor(Dimension.Unit)}, {@link Dimension.Scalar#value(Dimension.Unit)},
+ * {@link Dimension.Unit#ratio(Dimension.Unit,Dimension.Unit)}, and {@link Dimension.Unit#parse(String)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitBenchmark {
+  private final Distance.Unit from = Distance.Unit.MI;
+  private final Distance.Unit to = Distance.Unit.KM;
+  private final Unit.Ratio<Distance.Unit,Time.Unit> ratioFrom = Unit.ratio(Distance.Unit.KM, Time.Unit.HR);
+  private final Unit.Ratio<Distance.Unit,Time.Unit> ratioTo = Unit.ratio(Distance.Unit.M, Time.Unit.SEC);
+  private final Distance distance = new Distance(26.2, Distance.Unit.MI);
+  private final Speed speed = new Speed(100, ratioFrom);
+  private final String expression = "km/hr";
+
+  @Benchmark
+  public double getFactor() {
+    return from.getFactor(to);
+  }
+
+  @Benchmark
+  public double getFactorRatio() {
+    return ratioFrom.getFactor(ratioTo);
+  }
+
+  @Benchmark
+  public double valueScalar() {
+    return distance.value(Distance.Unit.KM);
+  }
+
+  @Benchmark
+  public double valueRatio() {
+    return speed.value(ratioTo);
+  }
+
+  @Benchmark
+  public Unit.Ratio<Distance.Unit,Time.Unit> ratio() {
+    return Unit.ratio(to, Time.Unit.HR);
+  }
+
+  @Benchmark
+  public Unit parse() {
+    return Unit.parse(expression);
+  }
+}
\ No newline at end of file
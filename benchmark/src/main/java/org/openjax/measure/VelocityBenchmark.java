@@ -0,0 +1,107 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Benchmarks for the projection and addition of {@link Velocity}s, per velocity and in batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VelocityBenchmark {
+  private static final int SIZE = 1024;
+  private static final Unit.Ratio<Distance.Unit,Time.Unit> KNOTS = Unit.ratio(Distance.Unit.NM, Time.Unit.HR);
+
+  private final Velocity[] airspeeds = new Velocity[SIZE];
+  private final Velocity[] winds = new Velocity[SIZE];
+  private final double[] headings = new double[SIZE];
+  private final double[] dst = new double[SIZE];
+  private final double[] east = new double[SIZE];
+  private final Angle course = new Angle(75, Angle.Unit.DEG);
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(1);
+    for (int i = 0; i < SIZE; ++i) { // [A]
+      airspeeds[i] = new Velocity(new Angle(random.nextDouble() * 360, Angle.Unit.DEG), new Speed(100 + random.nextDouble() * 400, KNOTS));
+      winds[i] = new Velocity(new Angle(random.nextDouble() * 360, Angle.Unit.DEG), new Speed(random.nextDouble() * 50, KNOTS));
+      headings[i] = random.nextDouble() * 360;
+    }
+  }
+
+  @Benchmark
+  public double[] projectEach() {
+    for (int i = 0; i < SIZE; ++i) // [A]
+      dst[i] = airspeeds[i].value(course).value(KNOTS);
+
+    return dst;
+  }
+
+  @Benchmark
+  public double[] projectBatch() {
+    Velocity.project(airspeeds, 0, SIZE, course, KNOTS, dst);
+    return dst;
+  }
+
+  @Benchmark
+  public double[] projectEachHeading() {
+    for (int i = 0; i < SIZE; ++i) // [A]
+      dst[i] = airspeeds[i].value(new Angle(headings[i], Angle.Unit.DEG)).value(KNOTS);
+
+    return dst;
+  }
+
+  @Benchmark
+  public double[] projectBatchHeadings() {
+    Velocity.project(airspeeds, 0, SIZE, headings, Angle.Unit.DEG, KNOTS, dst);
+    return dst;
+  }
+
+  @Benchmark
+  public Velocity add() {
+    return airspeeds[17].add(winds[17]);
+  }
+
+  @Benchmark
+  public double[] addBatch() {
+    Velocity.add(airspeeds, winds, 0, SIZE, KNOTS, dst, east);
+    return dst;
+  }
+
+  @Benchmark
+  public double dot() {
+    return airspeeds[17].dot(winds[17], KNOTS);
+  }
+}
\ No newline at end of file
@@ -16,6 +16,9 @@
 
 package org.openjax.measure;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 /**
  * A scalar dimension representing an angle.
  */
@@ -27,18 +30,199 @@ public final class Angle extends Dimension.Scalar<Dimension.Unit> {
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
+  /** The maximum number of fractional digits of the seconds of {@link #formatDMS(Appendable,int)}. */
+  public static final int MAX_DMS_PRECISION = 9;
+
   private static final int[] factors = {1, 60, 3600};
+  private static final double[] powersOf10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private static int charAt(final Object src, final int index) {
+    return src instanceof byte[] ? ((byte[])src)[index] & 0xff : src instanceof ByteBuffer ? ((ByteBuffer)src).get(index) & 0xff : ((CharSequence)src).charAt(index);
+  }
+
+  private static String toString(final Object src, final int off, final int end) {
+    if (src instanceof CharSequence)
+      return ((CharSequence)src).subSequence(off, end).toString();
+
+    final StringBuilder builder = new StringBuilder(end - off);
+    for (int i = off; i < end; ++i)
+      builder.append((char)charAt(src, i));
+
+    return builder.toString();
+  }
+
+  private static NumberFormatException error(final Object src, final int off, final int end, final String message, final int index) {
+    return new NumberFormatException(message + " at index " + index + ": \"" + toString(src, off, end) + "\"");
+  }
+
+  static double parse(final Object src, final int off, final int end) {
+    int i = off;
+    while (i < end && charAt(src, i) <= ' ')
+      ++i;
+
+    int last = end;
+    while (last > i && charAt(src, last - 1) <= ' ')
+      --last;
+
+    int sign = 1;
+    if (i < last) {
+      final int ch = charAt(src, i);
+      if (ch == '-' || ch == '+') {
+        sign = ch == '-' ? -1 : 1;
+        ++i;
+      }
+    }
+
+    if (i < last) {
+      final int ch = charAt(src, last - 1);
+      if (ch == 'N' || ch == 'S' || ch == 'E' || ch == 'W') {
+        if (sign == -1)
+          throw error(src, off, end, "Unexpected hemisphere with negative sign", last - 1);
+
+        if (ch == 'S' || ch == 'W')
+          sign = -1;
+
+        --last;
+      }
+    }
 
-  private static double parseDMS(final String dms) {
-    final int factor = dms.endsWith("S") || dms.endsWith("W") ? -1 : 1;
-    final String[] parts = dms.split("[^.0-9]");
     double deg = 0;
-    for (int i = 0; i < factors.length && i < parts.length; ++i) // [A]
-      deg += Double.parseDouble(parts[i]) / factors[i];
+    int component = 0;
+    while (i < last) {
+      int ch = charAt(src, i);
+      if (ch != '.' && (ch < '0' || '9' < ch)) {
+        ++i;
+        continue;
+      }
+
+      if (component == factors.length)
+        throw error(src, off, end, "Unexpected component", i);
+
+      final int start = i;
+      long mantissa = 0;
+      int digits = 0;
+      int scale = -1;
+      for (; i < last; ++i) {
+        ch = charAt(src, i);
+        if ('0' <= ch && ch <= '9') {
+          mantissa = mantissa * 10 + (ch - '0');
+          if (mantissa != 0)
+            ++digits;
+
+          if (scale >= 0)
+            ++scale;
+        }
+        else if (ch == '.') {
+          if (scale >= 0)
+            throw error(src, off, end, "Unexpected '.'", i);
+
+          scale = 0;
+        }
+        else {
+          break;
+        }
+      }
+
+      if (scale == 0 && i - start == 1)
+        throw error(src, off, end, "Expected digit", start);
+
+      final double value;
+      if (digits <= 15 && scale < powersOf10.length)
+        value = scale > 0 ? mantissa / powersOf10[scale] : mantissa;
+      else
+        value = Double.parseDouble(toString(src, start, i));
+
+      deg += value / factors[component++];
+    }
+
+    if (component == 0)
+      throw error(src, off, end, "Expected digit", i);
+
+    return sign * deg;
+  }
+  private static void checkRange(final int length, final int off, final int len) {
+    if (off < 0 || len < 0 || off > length - len)
+      throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+  }
+
+  /**
+   * Returns the degrees of the angle expressed in degrees, minutes and seconds, or in decimal degrees, in the specified
+   * {@link CharSequence}.
+   * <p>
+   * Up to 3 numeric components (degrees, minutes and seconds) are separated by any characters other than digits and {@code '.'},
+   * such as {@code "51˚28'38.5\"N"}, {@code "51 28 38.5"} or {@code "-0.0014"}. The angle is negative if it starts with
+   * {@code '-'}, or ends with the hemisphere suffix {@code 'S'} or {@code 'W'}. Components of up to 15 significant digits and up to
+   * 22 fractional digits are computed exactly from their digits without allocating intermediate objects. Longer components are
+   * parsed by {@link Double#parseDouble(String)}, which allocates a {@link String} of the component.
+   *
+   * @param dms The {@link CharSequence} to parse.
+   * @return The degrees of the angle in the specified {@link CharSequence}.
+   * @throws NumberFormatException If the input is malformed, with the message stating the index of the offending character.
+   * @throws NullPointerException If {@code dms} is null.
+   */
+  public static double parseDegrees(final CharSequence dms) {
+    return parse(dms, 0, dms.length());
+  }
+
+  /**
+   * Returns the degrees of the angle expressed in degrees, minutes and seconds, or in decimal degrees, in the specified range of
+   * the provided {@link CharSequence}, as per {@link #parseDegrees(CharSequence)}.
+   *
+   * @param dms The {@link CharSequence} to parse.
+   * @param off The index of the first character to parse.
+   * @param len The number of characters to parse.
+   * @return The degrees of the angle in the specified range of the provided {@link CharSequence}.
+   * @throws IndexOutOfBoundsException If {@code off} or {@code len} is out of range.
+   * @throws NumberFormatException If the input is malformed, with the message stating the index of the offending character.
+   * @throws NullPointerException If {@code dms} is null.
+   */
+  public static double parseDegrees(final CharSequence dms, final int off, final int len) {
+    checkRange(dms.length(), off, len);
+    return parse(dms, off, off + len);
+  }
 
-    return factor * deg;
+  /**
+   * Returns the degrees of the angle expressed in degrees, minutes and seconds, or in decimal degrees, in the specified range of
+   * ASCII bytes, as per {@link #parseDegrees(CharSequence)}. Non-ASCII bytes, such as those of a UTF-8 encoded degree sign, are
+   * treated as separators.
+   *
+   * @param dms The bytes to parse.
+   * @param off The index of the first byte to parse.
+   * @param len The number of bytes to parse.
+   * @return The degrees of the angle in the specified range of bytes.
+   * @throws IndexOutOfBoundsException If {@code off} or {@code len} is out of range.
+   * @throws NumberFormatException If the input is malformed, with the message stating the index of the offending byte.
+   * @throws NullPointerException If {@code dms} is null.
+   */
+  public static double parseDegrees(final byte[] dms, final int off, final int len) {
+    checkRange(dms.length, off, len);
+    return parse(dms, off, off + len);
+  }
+
+  /**
+   * Returns the degrees of the angle expressed in degrees, minutes and seconds, or in decimal degrees, in the ASCII bytes between
+   * the position and limit of the specified {@link ByteBuffer}, as per {@link #parseDegrees(byte[],int,int)}. The position of the
+   * {@link ByteBuffer} is not modified.
+   *
+   * @param dms The {@link ByteBuffer} to parse.
+   * @return The degrees of the angle in the specified {@link ByteBuffer}.
+   * @throws NumberFormatException If the input is malformed, with the message stating the index of the offending byte.
+   * @throws NullPointerException If {@code dms} is null.
+   */
+  public static double parseDegrees(final ByteBuffer dms) {
+    return parse(dms, dms.position(), dms.limit());
   }
 
   public Angle(final double value, final Unit unit) {
@@ -46,7 +230,27 @@ public final class Angle extends Dimension.Scalar<Dimension.Unit> {
   }
 
   public Angle(final String dms) {
-    super(parseDMS(dms), Unit.DEG);
+    super(parseDegrees(dms), Unit.DEG);
+  }
+
+  @Override
+  protected Angle replicate(final double value) {
+    return new Angle(value, (Unit)unit);
+  }
+
+  @Override
+  public Angle add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Angle)super.add(addend);
+  }
+
+  @Override
+  public Angle subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Angle)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Angle scale(final double factor) {
+    return (Angle)super.scale(factor);
   }
 
   public String toDMS() {
@@ -59,4 +263,88 @@ public final class Angle extends Dimension.Scalar<Dimension.Unit> {
     final float s = (float)((deg - d) * 3600 - m * 60) % 60;
     return d + "˚" + m + "'" + s + "\"";
   }
+
+  private void printDMS(final Object out, final int precision) throws IOException {
+    printDMS(out, value(Unit.DEG), precision, "\"");
+  }
+
+  static void checkDMSPrecision(final int precision) {
+    if (precision < 0 || precision > MAX_DMS_PRECISION)
+      throw new IllegalArgumentException("precision (" + precision + ") must be between 0 and " + MAX_DMS_PRECISION);
+  }
+
+  /**
+   * Prints the specified degrees in degrees, minutes and seconds to the specified {@link Appendable} or {@link ByteBuffer}, with the
+   * seconds followed by the specified mark, which allows the {@code '"'} to be escaped by the caller's format.
+   */
+  static void printDMS(final Object out, final double deg, final int precision, final CharSequence seconds) throws IOException {
+    checkDMSPrecision(precision);
+    if (Decimal.putSpecial(out, deg))
+      return;
+
+    final long pow = Decimal.powersOf10[precision];
+    final long scale = 3600 * pow;
+    final double scaled = Math.abs(deg) * scale;
+    if (scaled >= 1L << 62) {
+      Decimal.put(out, deg);
+      Decimal.put(out, '˚');
+      return;
+    }
+
+    final long total = (long)(scaled + 0.5);
+    if (deg < 0 && total != 0)
+      Decimal.put(out, '-');
+
+    Decimal.putInt(out, total / scale);
+    Decimal.put(out, '˚');
+    Decimal.putInt(out, total % scale / (60 * pow));
+    Decimal.put(out, '\'');
+    final long s = total % (60 * pow);
+    Decimal.putInt(out, s / pow);
+    if (precision > 0) {
+      Decimal.put(out, '.');
+      Decimal.putDigits(out, s % pow, precision, 0, precision);
+    }
+
+    Decimal.put(out, seconds);
+  }
+
+  /**
+   * Appends this angle in degrees, minutes and seconds to the specified {@link Appendable}, with the seconds rounded to the
+   * specified number of fractional digits, without allocating intermediate objects. Unlike {@link #toDMS()}, negative angles are
+   * written with a leading {@code '-'}, such as {@code "-3˚34'59.664\""}.
+   *
+   * @param <A> The type parameter of the {@link Appendable}.
+   * @param out The {@link Appendable} to which to append.
+   * @param precision The number of fractional digits of the seconds, between 0 and {@value #MAX_DMS_PRECISION}.
+   * @return The specified {@link Appendable}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public <A extends Appendable> A formatDMS(final A out, final int precision) throws IOException {
+    printDMS(out, precision);
+    return out;
+  }
+
+  /**
+   * Puts this angle in degrees, minutes and seconds to the specified {@link ByteBuffer} as per
+   * {@link #formatDMS(Appendable,int)}, encoded in UTF-8.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param precision The number of fractional digits of the seconds, between 0 and {@value #MAX_DMS_PRECISION}.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public ByteBuffer formatDMS(final ByteBuffer out, final int precision) {
+    try {
+      printDMS(out, precision);
+      return out;
+    }
+    catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
\ No newline at end of file
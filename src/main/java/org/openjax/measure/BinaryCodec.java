@@ -0,0 +1,525 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjax.measure.Dimension.Scalar;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Compact binary codec for {@link Scalar}s, {@link Velocity}s and {@link Location}s, reading from and writing to {@link ByteBuffer}s
+ * (including direct and memory-mapped buffers) without intermediate objects. Values are encoded in the byte order of the buffer.
+ * <p>
+ * Units are encoded by stable IDs that do not depend on the order of class initialization: each built-in unit has a fixed one-byte
+ * ID, a {@link Unit.Ratio} is encoded as {@code 0x80} followed by its numerator and denominator, a {@link Unit.Product} as
+ * {@code 0x81} followed by its first and second units, and a unit derived by a {@link MetricPrefix} as {@code 0x82} followed by the
+ * power of the prefix and the one-byte ID of the base unit. Ratios and products are nested at most 4 deep, which
+ * bounds the recursion and the number of units that are interned by the decoding of a unit.
+ * <p>
+ * The records are:
+ * <ul>
+ * <li>Header: the magic bytes {@code 'O' 'M'}, and the one-byte {@link #VERSION}.</li>
+ * <li>{@link Scalar}: a one-byte type tag, the unit, and the value as a {@code double}.</li>
+ * <li>{@link Velocity}: a one-byte type tag, the unit and value of the heading, and the unit and value of the speed.</li>
+ * <li>{@link Location}: a one-byte type tag, and the latitude and longitude in radians as {@code double}s.</li>
+ * <li>Column: a one-byte type tag, the unit, the number of values as an {@code int}, and the values as {@code double}s.</li>
+ * </ul>
+ */
+public final class BinaryCodec {
+  /** The version of the format written by this codec. */
+  public static final byte VERSION = 1;
+
+  private static final byte MAGIC0 = 'O';
+  private static final byte MAGIC1 = 'M';
+
+  private static final byte RATIO = (byte)0x80;
+  private static final byte PRODUCT = (byte)0x81;
+  private static final byte PREFIX = (byte)0x82;
+  /** The maximum depth of nested {@link Unit.Ratio}s and {@link Unit.Product}s. */
+  private static final int MAX_DEPTH = 4;
+
+  private static final byte ANGLE = 1;
+  private static final byte DISTANCE = 2;
+  private static final byte ELEVATION = 3;
+  private static final byte FORCE = 4;
+  private static final byte MASS = 5;
+  private static final byte TIME = 6;
+  private static final byte VOLUME = 7;
+  private static final byte SPEED = 8;
+  private static final byte DENSITY = 9;
+  private static final byte VELOCITY = 16;
+  private static final byte LOCATION = 17;
+  private static final byte COLUMN = 18;
+
+  private static final Unit[] units = new Unit[0x80];
+  private static final IdentityHashMap<Unit,Byte> ids = new IdentityHashMap<>();
+  private static final ConcurrentHashMap<Unit,byte[]> encodings = new ConcurrentHashMap<>();
+
+  private static void register(final int id, final Unit unit) {
+    units[id] = unit;
+    ids.put(unit, (byte)id);
+  }
+
+  static {
+    // The IDs are part of the format, and must never be reassigned
+    register(0x01, Angle.Unit.RAD);
+    register(0x02, Angle.Unit.DEG);
+    register(0x10, Distance.Unit.M);
+    register(0x11, Distance.Unit.FT);
+    register(0x12, Distance.Unit.MI);
+    register(0x13, Distance.Unit.KM);
+    register(0x14, Distance.Unit.NM);
+    register(0x15, Elevation.Unit.FL);
+    register(0x20, Force.Unit.N);
+    register(0x21, Force.Unit.LBF);
+    register(0x30, Mass.Unit.G);
+    register(0x31, Mass.Unit.KG);
+    register(0x32, Mass.Unit.CT);
+    register(0x33, Mass.Unit.LB);
+    register(0x40, Time.Unit.SEC);
+    register(0x41, Time.Unit.MIN);
+    register(0x42, Time.Unit.HR);
+    register(0x43, Time.Unit.DAY);
+    register(0x44, Time.Unit.WK);
+    register(0x50, Volume.Unit.L);
+    register(0x51, Volume.Unit.ML);
+    register(0x52, Volume.Unit.GAL);
+  }
+
+  private static int encode(final Unit unit, final byte[] dst, int off, final int depth) {
+    final Byte id = ids.get(unit);
+    if (id != null) {
+      if (dst != null)
+        dst[off] = id;
+
+      return off + 1;
+    }
+
+    if (unit instanceof Unit.Ratio || unit instanceof Unit.Product) {
+      if (depth == MAX_DEPTH)
+        throw new IllegalArgumentException("Unit " + unit + " is nested more than " + MAX_DEPTH + " deep");
+
+      if (unit instanceof Unit.Ratio) {
+        if (dst != null)
+          dst[off] = RATIO;
+
+        final Unit.Ratio<?,?> ratio = (Unit.Ratio<?,?>)unit;
+        return encode(ratio.denominator, dst, encode(ratio.numerator, dst, off + 1, depth + 1), depth + 1);
+      }
+
+      if (dst != null)
+        dst[off] = PRODUCT;
+
+      final Unit.Product<?,?> product = (Unit.Product<?,?>)unit;
+      return encode(product.second, dst, encode(product.first, dst, off + 1, depth + 1), depth + 1);
+    }
+
+    for (final Unit base : units) { // [A]
+      if (base != null) {
+        for (final Map.Entry<MetricPrefix,Unit> entry : base.prefixed.entrySet()) { // [S]
+          if (entry.getValue() == unit) {
+            if (dst != null) {
+              dst[off] = PREFIX;
+              dst[off + 1] = (byte)entry.getKey().getPower();
+            }
+
+            return encode(base, dst, off + 2, depth);
+          }
+        }
+      }
+    }
+
+    throw new IllegalArgumentException("Unit " + unit + " has no stable ID");
+  }
+
+  private static byte[] newEncoding(final Unit unit) {
+    final byte[] encoding = new byte[encode(unit, null, 0, 0)];
+    encode(unit, encoding, 0, 0);
+    return encoding;
+  }
+
+  /**
+   * Puts the header of the format to the specified {@link ByteBuffer}.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @return The specified {@link ByteBuffer}.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public static ByteBuffer putHeader(final ByteBuffer out) {
+    return out.put(MAGIC0).put(MAGIC1).put(VERSION);
+  }
+
+  /**
+   * Gets the header of the format from the specified {@link ByteBuffer}.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The version of the format.
+   * @throws IllegalArgumentException If the header is malformed, or its version is greater than {@link #VERSION}.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static byte getHeader(final ByteBuffer in) {
+    if (in.get() != MAGIC0 || in.get() != MAGIC1)
+      throw new IllegalArgumentException("Malformed header at position " + (in.position() - 1));
+
+    final byte version = in.get();
+    if (version < 1 || version > VERSION)
+      throw new IllegalArgumentException("Unsupported version: " + version);
+
+    return version;
+  }
+
+  /**
+   * Puts the stable ID of the specified {@link Unit} to the specified {@link ByteBuffer}.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param unit The {@link Unit}.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If {@code unit}, or a component thereof, has no stable ID, or if {@code unit} is nested more
+   *           than 4 deep.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} or {@code unit} is null.
+   */
+  public static ByteBuffer putUnit(final ByteBuffer out, final Unit unit) {
+    final Byte id = ids.get(unit);
+    return id != null ? out.put(id) : out.put(encoding(unit));
+  }
+
+  /**
+   * Returns the multi-byte encoding of the specified {@link Unit}, which has no one-byte ID.
+   */
+  private static byte[] encoding(final Unit unit) {
+    final byte[] encoding = encodings.get(unit);
+    return encoding != null ? encoding : encodings.computeIfAbsent(unit, BinaryCodec::newEncoding);
+  }
+
+  /**
+   * Returns the number of bytes of the encoding of the specified {@link Unit}.
+   */
+  private static int length(final Unit unit) {
+    return ids.containsKey(unit) ? 1 : encoding(unit).length;
+  }
+
+  /**
+   * Gets the {@link Unit} identified by the stable ID at the position of the specified {@link ByteBuffer}.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The {@link Unit} identified by the stable ID at the position of the specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If an ID is unknown, a prefix is unknown or is not supported by its base unit, or ratios and
+   *           products are nested more than 4 deep.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static Unit getUnit(final ByteBuffer in) {
+    return getUnit(in, 0);
+  }
+
+  private static Unit getUnit(final ByteBuffer in, final int depth) {
+    final int position = in.position();
+    final byte id = in.get();
+    if (id >= 0) {
+      final Unit unit = units[id];
+      if (unit != null)
+        return unit;
+    }
+    else if (id == RATIO || id == PRODUCT) {
+      if (depth == MAX_DEPTH)
+        throw new IllegalArgumentException("Unit at position " + position + " is nested more than " + MAX_DEPTH + " deep");
+
+      final Unit first = getUnit(in, depth + 1);
+      final Unit second = getUnit(in, depth + 1);
+      return id == RATIO ? Unit.ratio(first, second) : Unit.produc(first, second);
+    }
+    else if (id == PREFIX) {
+      final MetricPrefix prefix = MetricPrefix.of(in.get());
+      final byte base = in.get();
+      if (prefix == null || base < 0 || units[base] == null)
+        throw new IllegalArgumentException("Malformed prefixed unit at position " + position);
+
+      try {
+        return units[base].prefix(prefix);
+      }
+      catch (final UnsupportedOperationException e) {
+        throw new IllegalArgumentException("Unit " + units[base] + " at position " + position + " does not support prefixes", e);
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown unit ID 0x" + Integer.toHexString(id & 0xff) + " at position " + position);
+  }
+
+  private static byte tag(final Scalar<?> scalar) {
+    if (scalar instanceof Distance)
+      return DISTANCE;
+
+    if (scalar instanceof Angle)
+      return ANGLE;
+
+    if (scalar instanceof Time)
+      return TIME;
+
+    if (scalar instanceof Speed)
+      return SPEED;
+
+    if (scalar instanceof Elevation)
+      return ELEVATION;
+
+    if (scalar instanceof Mass)
+      return MASS;
+
+    if (scalar instanceof Volume)
+      return VOLUME;
+
+    if (scalar instanceof Density)
+      return DENSITY;
+
+    if (scalar instanceof Force)
+      return FORCE;
+
+    throw new IllegalArgumentException("Unsupported " + scalar.getClass().getName());
+  }
+
+  /**
+   * Returns whether the specified {@link Unit} is a {@link Unit.Ratio} of the specified types of numerator and denominator.
+   */
+  private static boolean isRatio(final Unit unit, final Class<? extends Unit> numerator, final Class<? extends Unit> denominator) {
+    if (!(unit instanceof Unit.Ratio))
+      return false;
+
+    final Unit.Ratio<?,?> ratio = (Unit.Ratio<?,?>)unit;
+    return numerator.isInstance(ratio.numerator) && denominator.isInstance(ratio.denominator);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Scalar<?> newScalar(final byte tag, final Unit unit, final double value, final int position) {
+    try {
+      switch (tag) {
+        case ANGLE:
+          return new Angle(value, (Angle.Unit)unit);
+        case DISTANCE:
+          return new Distance(value, (Distance.Unit)unit);
+        case ELEVATION:
+          return new Elevation(value, (Distance.Unit)unit);
+        case FORCE:
+          return new Force(value, (Force.Unit)unit);
+        case MASS:
+          return new Mass(value, (Mass.Unit)unit);
+        case TIME:
+          return new Time(value, (Time.Unit)unit);
+        case VOLUME:
+          return new Volume(value, (Volume.Unit)unit);
+        case SPEED:
+          // The type arguments of a Unit.Ratio are erased, and its components are thus checked explicitly
+          if (isRatio(unit, Distance.Unit.class, Time.Unit.class))
+            return new Speed(value, (Unit.Ratio<Distance.Unit,Time.Unit>)unit);
+
+          break;
+        case DENSITY:
+          if (isRatio(unit, Mass.Unit.class, Volume.Unit.class))
+            return new Density(value, (Unit.Ratio<Mass.Unit,Volume.Unit>)unit);
+
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown type tag " + tag + " at position " + position);
+      }
+    }
+    catch (final ClassCastException e) {
+      throw new IllegalArgumentException("Unit " + unit + " does not match type tag " + tag + " at position " + position, e);
+    }
+
+    throw new IllegalArgumentException("Unit " + unit + " does not match type tag " + tag + " at position " + position);
+  }
+
+  /**
+   * Puts the specified {@link Scalar} to the specified {@link ByteBuffer}.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param scalar The {@link Scalar}.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If the class of {@code scalar} is not supported, or its unit has no stable ID.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} or {@code scalar} is null.
+   */
+  public static ByteBuffer putScalar(final ByteBuffer out, final Scalar<?> scalar) {
+    return putUnit(out.put(tag(scalar)), scalar.unit).putDouble(scalar.value);
+  }
+
+  /**
+   * Gets the {@link Scalar} at the position of the specified {@link ByteBuffer}, as the type to which it is assigned, such as
+   * {@code Distance distance = BinaryCodec.getScalar(in)}.
+   *
+   * @param <S> The type parameter of the {@link Scalar}.
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The {@link Scalar} at the position of the specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If the record is malformed.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws ClassCastException If the {@link Scalar} is not of type {@code S}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  @SuppressWarnings("unchecked")
+  public static <S extends Scalar<?>> S getScalar(final ByteBuffer in) {
+    final int position = in.position();
+    final byte tag = in.get();
+    return (S)newScalar(tag, getUnit(in), in.getDouble(), position);
+  }
+
+  /**
+   * Puts the specified {@link Velocity} to the specified {@link ByteBuffer}.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param velocity The {@link Velocity}.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If a unit of {@code velocity} has no stable ID.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out}, {@code velocity}, or a component thereof is null.
+   */
+  public static ByteBuffer putVelocity(final ByteBuffer out, final Velocity velocity) {
+    putUnit(out.put(VELOCITY), velocity.i.unit).putDouble(velocity.i.value);
+    return putUnit(out, velocity.j.unit).putDouble(velocity.j.value);
+  }
+
+  /**
+   * Gets the {@link Velocity} at the position of the specified {@link ByteBuffer}.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The {@link Velocity} at the position of the specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If the record is malformed.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static Velocity getVelocity(final ByteBuffer in) {
+    final int position = in.position();
+    if (in.get() != VELOCITY)
+      throw new IllegalArgumentException("Expected Velocity at position " + position);
+
+    final Angle angle = (Angle)newScalar(ANGLE, getUnit(in), in.getDouble(), position);
+    return new Velocity(angle, (Speed)newScalar(SPEED, getUnit(in), in.getDouble(), position));
+  }
+
+  /**
+   * Puts the specified {@link Location} to the specified {@link ByteBuffer}.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param location The {@link Location}.
+   * @return The specified {@link ByteBuffer}.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out}, {@code location}, or a component thereof is null.
+   */
+  public static ByteBuffer putLocation(final ByteBuffer out, final Location location) {
+    return out.put(LOCATION).putDouble(location.latitude.value(Angle.Unit.RAD)).putDouble(location.longitude.value(Angle.Unit.RAD));
+  }
+
+  /**
+   * Gets the {@link Location} at the position of the specified {@link ByteBuffer}, with its latitude and longitude in
+   * {@link Angle.Unit#RAD}.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The {@link Location} at the position of the specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If the record is malformed.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static Location getLocation(final ByteBuffer in) {
+    if (in.get() != LOCATION)
+      throw new IllegalArgumentException("Expected Location at position " + (in.position() - 1));
+
+    final Angle latitude = new Angle(in.getDouble(), Angle.Unit.RAD);
+    return new Location(latitude, new Angle(in.getDouble(), Angle.Unit.RAD));
+  }
+
+  /**
+   * Puts a column of {@code len} values of {@code values} starting at {@code off}, all in the specified {@link Unit}, to the
+   * specified {@link ByteBuffer}. The unit is written once, followed by the values in bulk.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param unit The {@link Unit} of the values.
+   * @param values The array of values.
+   * @param off The offset in {@code values} of the first value.
+   * @param len The number of values.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If {@code unit} has no stable ID.
+   * @throws IndexOutOfBoundsException If {@code off} or {@code len} is negative, or {@code off + len} is greater than the length of
+   *           {@code values}.
+   * @throws BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out}, {@code unit}, or {@code values} is null.
+   */
+  public static ByteBuffer putColumn(final ByteBuffer out, final Unit unit, final double[] values, final int off, final int len) {
+    if (off < 0 || len < 0 || off > values.length - len)
+      throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + values.length);
+
+    // The unit is encoded before anything is put, whereby an unknown unit or insufficient space leaves no partial record
+    if (out.remaining() < 1 + length(unit) + 4 + 8L * len)
+      throw new BufferOverflowException();
+
+    putUnit(out.put(COLUMN), unit).putInt(len);
+    out.asDoubleBuffer().put(values, off, len);
+    out.position(out.position() + 8 * len);
+    return out;
+  }
+
+  /**
+   * Gets the {@link Unit} of the column at the position of the specified {@link ByteBuffer}, leaving its position at the values of
+   * the column, to be read with {@link #getColumnValues(ByteBuffer)}.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return The {@link Unit} of the column at the position of the specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If the record is malformed.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static Unit getColumnUnit(final ByteBuffer in) {
+    if (in.get() != COLUMN)
+      throw new IllegalArgumentException("Expected column at position " + (in.position() - 1));
+
+    return getUnit(in);
+  }
+
+  /**
+   * Returns a {@link DoubleBuffer} view of the values of the column at the position of the specified {@link ByteBuffer}, which must
+   * follow {@link #getColumnUnit(ByteBuffer)}, and advances the position of the {@link ByteBuffer} past the column. The values are
+   * not copied.
+   *
+   * @param in The {@link ByteBuffer} from which to get.
+   * @return A {@link DoubleBuffer} view of the values of the column.
+   * @throws IllegalArgumentException If the number of values is negative.
+   * @throws BufferUnderflowException If there are insufficient bytes remaining in {@code in}.
+   * @throws NullPointerException If {@code in} is null.
+   */
+  public static DoubleBuffer getColumnValues(final ByteBuffer in) {
+    final int len = in.getInt();
+    if (len < 0)
+      throw new IllegalArgumentException("Negative column length " + len + " at position " + (in.position() - 4));
+
+    if (in.remaining() < 8L * len)
+      throw new BufferUnderflowException();
+
+    final DoubleBuffer values = in.asDoubleBuffer();
+    values.limit(len);
+    in.position(in.position() + 8 * len);
+    return values;
+  }
+
+  private BinaryCodec() {
+  }
+}
\ No newline at end of file
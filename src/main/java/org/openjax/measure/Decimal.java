@@ -0,0 +1,356 @@
+/* Copyright (c) 2015 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free formatting of {@code double} values to an {@link Appendable} or an ASCII {@link ByteBuffer}.
+ * <p>
+ * Values are formatted either with a fixed number of fractional digits, or with the shortest decimal that rounds to the same
+ * {@code double}, as computed by the Schubfach algorithm of Raffaello Giulietti. Shortest decimals are laid out like
+ * {@link Double#toString(double)}, in plain notation for magnitudes in {@code [10^-3, 10^7)}, and in scientific notation otherwise.
+ */
+final class Decimal {
+  /** The maximum number of fractional digits of fixed-precision formatting. */
+  static final int MAX_PRECISION = 17;
+
+  private static final int Q_MIN = -1074;
+  private static final long C_MIN = 1L << 52;
+  private static final int C_TINY = 3;
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+  private static final long MASK_63 = (1L << 63) - 1;
+
+  static final long[] powersOf10 = new long[19];
+  /** The 126-bit approximations {@code g} of the powers of 10, as pairs of the high and low 63 bits. */
+  private static final long[] g = new long[2 * (K_MAX - K_MIN + 1)];
+
+  static {
+    powersOf10[0] = 1;
+    for (int i = 1; i < powersOf10.length; ++i) // [A]
+      powersOf10[i] = 10 * powersOf10[i - 1];
+
+    // g = floor(10^-k / 2^r) + 1, where r is such that 2^125 <= 10^-k / 2^r < 2^126
+    for (int k = K_MIN; k <= K_MAX; ++k) {
+      final int r = flog2pow10(-k) - 125;
+      final BigInteger v;
+      if (k <= 0) {
+        final BigInteger p = BigInteger.TEN.pow(-k);
+        v = r >= 0 ? p.shiftRight(r) : p.shiftLeft(-r);
+      }
+      else {
+        v = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+      }
+
+      final BigInteger gk = v.add(BigInteger.ONE);
+      g[2 * (k - K_MIN)] = gk.shiftRight(63).longValue();
+      g[2 * (k - K_MIN) + 1] = gk.longValue() & MASK_63;
+    }
+  }
+
+  /** Returns {@code floor(q * log10(2))}. */
+  private static int flog10pow2(final int q) {
+    return (int)(q * 661_971_961_083L >> 41);
+  }
+
+  /** Returns {@code floor(log10(3/4 * 2^q))}. */
+  private static int flog10threeQuartersPow2(final int q) {
+    return (int)(q * 661_971_961_083L + -274_743_187_321L >> 41);
+  }
+
+  /** Returns {@code floor(e * log2(10))}. */
+  private static int flog2pow10(final int e) {
+    return (int)(e * 913_124_641_741L >> 38);
+  }
+
+  private static long multiplyHigh(final long x, final long y) {
+    final long x1 = x >> 32;
+    final long x2 = x & 0xFFFFFFFFL;
+    final long y1 = y >> 32;
+    final long y2 = y & 0xFFFFFFFFL;
+    final long z2 = x2 * y2;
+    final long t = x1 * y2 + (z2 >>> 32);
+    long z1 = t & 0xFFFFFFFFL;
+    final long z0 = t >> 32;
+    z1 += x2 * y1;
+    return x1 * y1 + z0 + (z1 >> 32);
+  }
+
+  private static long rop(final long g1, final long g0, final long cp) {
+    final long x1 = multiplyHigh(g0, cp);
+    final long y0 = g1 * cp;
+    final long y1 = multiplyHigh(g1, cp);
+    final long z = (y0 >>> 1) + x1;
+    final long vbp = y1 + (z >>> 63);
+    return vbp | (z & MASK_63) + MASK_63 >>> 63;
+  }
+
+  /**
+   * Writes the specified character, encoded in UTF-8 if {@code out} is a {@link ByteBuffer}.
+   */
+  static void put(final Object out, final char ch) throws IOException {
+    if (!(out instanceof ByteBuffer)) {
+      ((Appendable)out).append(ch);
+    }
+    else if (ch < 0x80) {
+      ((ByteBuffer)out).put((byte)ch);
+    }
+    else if (ch < 0x800) {
+      ((ByteBuffer)out).put((byte)(0xC0 | ch >> 6)).put((byte)(0x80 | ch & 0x3F));
+    }
+    else {
+      ((ByteBuffer)out).put((byte)(0xE0 | ch >> 12)).put((byte)(0x80 | ch >> 6 & 0x3F)).put((byte)(0x80 | ch & 0x3F));
+    }
+  }
+
+  /**
+   * Writes the specified characters, encoded in UTF-8 if {@code out} is a {@link ByteBuffer}.
+   */
+  static void put(final Object out, final CharSequence chars) throws IOException {
+    if (!(out instanceof ByteBuffer)) {
+      ((Appendable)out).append(chars);
+      return;
+    }
+
+    for (int i = 0, i$ = chars.length(); i < i$; ++i) {
+      final char ch = chars.charAt(i);
+      if (Character.isHighSurrogate(ch) && i + 1 < i$ && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        final int cp = Character.toCodePoint(ch, chars.charAt(++i));
+        ((ByteBuffer)out).put((byte)(0xF0 | cp >> 18)).put((byte)(0x80 | cp >> 12 & 0x3F)).put((byte)(0x80 | cp >> 6 & 0x3F)).put((byte)(0x80 | cp & 0x3F));
+      }
+      else {
+        put(out, ch);
+      }
+    }
+  }
+
+  private static void putZeros(final Object out, int count) throws IOException {
+    while (count-- > 0)
+      put(out, '0');
+  }
+
+  /** Writes the digits {@code [from, to)} of {@code f}, which has {@code len} digits. */
+  static void putDigits(final Object out, final long f, final int len, final int from, final int to) throws IOException {
+    for (int i = from; i < to; ++i)
+      put(out, (char)('0' + f / powersOf10[len - 1 - i] % 10));
+  }
+
+  private static int length(final long f) {
+    int len = 1;
+    while (len < powersOf10.length && f >= powersOf10[len])
+      ++len;
+
+    return len;
+  }
+
+  /**
+   * Writes the specified integer, which must be greater than {@link Long#MIN_VALUE}.
+   */
+  static void putInt(final Object out, long value) throws IOException {
+    if (value < 0) {
+      put(out, '-');
+      value = -value;
+    }
+
+    final int len = length(value);
+    putDigits(out, value, len, 0, len);
+  }
+
+  static boolean putSpecial(final Object out, final double value) throws IOException {
+    if (value != value) {
+      put(out, 'N');
+      put(out, 'a');
+      put(out, 'N');
+      return true;
+    }
+
+    if (value == Double.POSITIVE_INFINITY || value == Double.NEGATIVE_INFINITY) {
+      if (value < 0)
+        put(out, '-');
+
+      put(out, "Infinity");
+
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Writes the shortest decimal that rounds to the specified value.
+   */
+  static void put(final Object out, final double value) throws IOException {
+    if (putSpecial(out, value))
+      return;
+
+    final long bits = Double.doubleToRawLongBits(value);
+    if (bits < 0)
+      put(out, '-');
+
+    final long t = bits & (C_MIN - 1);
+    final int bq = (int)(bits >>> 52) & 0x7FF;
+    if (bq != 0) {
+      final int mq = -Q_MIN + 1 - bq;
+      final long c = C_MIN | t;
+      if (0 < mq && mq < 53) {
+        final long f = c >> mq;
+        if (f << mq == c) {
+          putDecimal(out, f, 0);
+          return;
+        }
+      }
+
+      putShortest(out, -mq, c, 0);
+    }
+    else if (t != 0) {
+      if (t < C_TINY)
+        putShortest(out, Q_MIN, 10 * t, -1);
+      else
+        putShortest(out, Q_MIN, t, 0);
+    }
+    else {
+      put(out, '0');
+      put(out, '.');
+      put(out, '0');
+    }
+  }
+
+  private static void putShortest(final Object out, final int q, final long c, final int dk) throws IOException {
+    final int parity = (int)c & 1;
+    final long cb = c << 2;
+    final long cbr = cb + 2;
+    final long cbl;
+    final int k;
+    if (c != C_MIN | q == Q_MIN) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    }
+    else {
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+
+    final int h = q + flog2pow10(-k) + 2;
+    final int i = 2 * (k - K_MIN);
+    final long g1 = g[i];
+    final long g0 = g[i + 1];
+    final long vb = rop(g1, g0, cb << h);
+    final long vbl = rop(g1, g0, cbl << h);
+    final long vbr = rop(g1, g0, cbr << h);
+
+    final long s = vb >> 2;
+    if (s >= 100) {
+      final long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      final long tp10 = sp10 + 10;
+      final boolean upin = vbl + parity <= sp10 << 2;
+      final boolean wpin = (tp10 << 2) + parity <= vbr;
+      if (upin != wpin) {
+        putDecimal(out, upin ? sp10 : tp10, k);
+        return;
+      }
+    }
+
+    final long t = s + 1;
+    final boolean uin = vbl + parity <= s << 2;
+    final boolean win = (t << 2) + parity <= vbr;
+    if (uin != win) {
+      putDecimal(out, uin ? s : t, k + dk);
+      return;
+    }
+
+    final long cmp = vb - (s + t << 1);
+    putDecimal(out, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+  }
+
+  /**
+   * Writes the decimal {@code f * 10^e} in the layout of {@link Double#toString(double)}.
+   */
+  private static void putDecimal(final Object out, long f, int e) throws IOException {
+    while (f % 10 == 0) {
+      f /= 10;
+      ++e;
+    }
+
+    final int len = length(f);
+    final int exp = e + len - 1;
+    if (0 <= exp && exp < 7) {
+      if (len <= exp + 1) {
+        putDigits(out, f, len, 0, len);
+        putZeros(out, exp + 1 - len);
+        put(out, '.');
+        put(out, '0');
+      }
+      else {
+        putDigits(out, f, len, 0, exp + 1);
+        put(out, '.');
+        putDigits(out, f, len, exp + 1, len);
+      }
+    }
+    else if (-3 <= exp && exp < 0) {
+      put(out, '0');
+      put(out, '.');
+      putZeros(out, -exp - 1);
+      putDigits(out, f, len, 0, len);
+    }
+    else {
+      putDigits(out, f, len, 0, 1);
+      put(out, '.');
+      if (len > 1)
+        putDigits(out, f, len, 1, len);
+      else
+        put(out, '0');
+
+      put(out, 'E');
+      putInt(out, exp);
+    }
+  }
+
+  /**
+   * Writes the specified value rounded half-up to the specified number of fractional digits. Values whose magnitude is too large
+   * to be rounded exactly in fixed-point are written as the shortest decimal.
+   */
+  static void put(final Object out, final double value, final int precision) throws IOException {
+    if (precision < 0 || precision > MAX_PRECISION)
+      throw new IllegalArgumentException("precision (" + precision + ") must be between 0 and " + MAX_PRECISION);
+
+    if (putSpecial(out, value))
+      return;
+
+    final double scaled = Math.abs(value) * powersOf10[precision];
+    if (scaled >= 1L << 62) {
+      put(out, value);
+      return;
+    }
+
+    final long r = (long)(scaled + 0.5);
+    if (value < 0 && r != 0)
+      put(out, '-');
+
+    final long integer = r / powersOf10[precision];
+    putInt(out, integer);
+    if (precision > 0) {
+      put(out, '.');
+      putDigits(out, r % powersOf10[precision], precision, 0, precision);
+    }
+  }
+
+  private Decimal() {
+  }
+}
\ No newline at end of file
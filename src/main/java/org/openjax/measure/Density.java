@@ -25,4 +25,36 @@ public final class Density extends Dimension.Scalar<Unit.Ratio<Mass.Unit,Volume.
   public Density(final double value, final Unit.Ratio<Mass.Unit,Volume.Unit> unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Density replicate(final double value) {
+    return new Density(value, unit);
+  }
+
+  @Override
+  public Density add(final Dimension.Scalar<Unit.Ratio<Mass.Unit,Volume.Unit>> addend) {
+    return (Density)super.add(addend);
+  }
+
+  @Override
+  public Density subtract(final Dimension.Scalar<Unit.Ratio<Mass.Unit,Volume.Unit>> subtrahend) {
+    return (Density)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Density scale(final double factor) {
+    return (Density)super.scale(factor);
+  }
+
+  /**
+   * Returns the {@link Mass} of the specified {@link Volume} at this density, in the mass unit of this density. The specified
+   * {@link Volume} is converted once to the volume unit of this density.
+   *
+   * @param volume The {@link Volume}.
+   * @return The {@link Mass} of the specified {@link Volume} at this density.
+   * @throws NullPointerException If {@code volume} is null.
+   */
+  public Mass multiply(final Volume volume) {
+    return new Mass(value * volume.value(unit.denominator), unit.numerator);
+  }
 }
\ No newline at end of file
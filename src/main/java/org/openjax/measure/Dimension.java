@@ -16,10 +16,15 @@
 
 package org.openjax.measure;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Class containing the {@link Scalar}, {@link Vector}, and {@link Unit} dimension types.
@@ -32,135 +37,339 @@ public final class Dimension {
   /**
    * An abstract dimension representing a unit.
    */
-  protected abstract static class Unit {
-    private static final ConcurrentHashMap<String,Ratio<?,?>> ratios = new ConcurrentHashMap<>();
+  public abstract static class Unit {
+    /**
+     * A family of mutually convertible {@link Unit}s. Each member of a family is assigned a dense ordinal, by which the family's
+     * precomputed table of conversion factors is indexed. The table is copy-on-write: registration is serialized on the family, and
+     * publishes a new immutable table through a volatile field, whereby lookups are lock-free reads of a consistent snapshot.
+     */
+    private static final class Family {
+      private static final CopyOnWriteArrayList<Family> families = new CopyOnWriteArrayList<>();
+
+      private final ConcurrentHashMap<Family,Family> ratios = new ConcurrentHashMap<>();
+      private final ConcurrentHashMap<Family,Family> products = new ConcurrentHashMap<>();
+
+      /** The members of this family, written before {@link #factors}, and thus at least as long as {@link #factors}. */
+      private Unit[] units = {};
+      private volatile double[][] factors = {};
+
+      private Family() {
+        families.add(this);
+      }
+
+      private static Family get(final ConcurrentHashMap<Family,Family> families, final Family key) {
+        Family family = families.get(key);
+        if (family != null)
+          return family;
+
+        // Insertions are serialized on the map, rather than by computeIfAbsent(), whose lambda would bootstrap invokedynamic during
+        // the initialization of the first derived unit
+        synchronized (families) {
+          if ((family = families.get(key)) == null)
+            families.put(key, family = new Family());
+
+          return family;
+        }
+      }
+
+      private Family ratio(final Family denominator) {
+        return get(ratios, denominator);
+      }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+      private Family product(final Family second) {
+        return get(products, second);
+      }
+
+      /**
+       * Adds the specified {@link Unit} to this family, and publishes a new table of conversion factors extending the rows of the
+       * previous table by one column.
+       *
+       * @param unit The {@link Unit} to add.
+       * @return The ordinal assigned to the specified {@link Unit}.
+       */
+      private synchronized int register(final Unit unit) {
+        final int ordinal = units.length;
+        final Unit[] units = Arrays.copyOf(this.units, ordinal + 1);
+        units[ordinal] = unit;
+
+        final double[][] previous = this.factors;
+        final double[][] factors = new double[units.length][];
+        for (int i = 0; i < ordinal; ++i) { // [A]
+          factors[i] = Arrays.copyOf(previous[i], units.length);
+          factors[i][ordinal] = units[i].scale / unit.scale;
+        }
+
+        factors[ordinal] = new double[units.length];
+        for (int j = 0; j < units.length; ++j) // [A]
+          factors[ordinal][j] = unit.scale / units[j].scale;
+
+        this.units = units;
+        this.factors = factors;
+        return ordinal;
+      }
+    }
+
+    /**
+     * Returns the {@link Ratio} unit of the specified numerator and denominator. Ratio units are interned by the identity of their
+     * components, whereby a lookup of an existing {@link Ratio} does not allocate, and concurrent lookups of an absent {@link Ratio}
+     * create exactly one instance.
+     *
+     * @param <N> The type parameter of the numerator.
+     * @param <D> The type parameter of the denominator.
+     * @param numerator The numerator {@link Unit}.
+     * @param denominator The denominator {@link Unit}.
+     * @return The {@link Ratio} unit of the specified numerator and denominator.
+     * @throws NullPointerException If {@code numerator} or {@code denominator} is null.
+     */
+    @SuppressWarnings("unchecked")
     public static <N extends Unit,D extends Unit> Ratio<N,D> ratio(final N numerator, final D denominator) {
-      final String name = numerator + "/" + denominator;
-      Ratio unit = ratios.get(name);
-      if (unit == null)
-        ratios.put(name, unit = new Ratio<>(name, numerator.factor / denominator.factor, numerator, denominator));
+      Objects.requireNonNull(denominator, "denominator is null");
+      Ratio<?,?> unit = numerator.ratios.get(denominator);
+      if (unit == null) {
+        synchronized (numerator.ratios) {
+          if ((unit = numerator.ratios.get(denominator)) == null)
+            numerator.ratios.put(denominator, unit = new Ratio<>(numerator + "/" + denominator, numerator.scale / denominator.scale, numerator, denominator));
+        }
+      }
 
-      return unit;
+      return (Ratio<N,D>)unit;
     }
 
     protected static class Ratio<N extends Unit,D extends Unit> extends Unit {
-      private final Unit denominator;
+      final N numerator;
+      final D denominator;
 
       protected Ratio(final String name, final double factor, final N numerator, final D denominator) {
-        super(name, factor, numerator);
+        super(name, factor, numerator.family.ratio(denominator.family));
+        this.numerator = numerator;
         this.denominator = denominator;
       }
-
-      protected double getFactor(final Ratio<N,D> basis) {
-        return getFactor((Unit)basis) / getFactor(basis.denominator);
-      }
     }
 
-    private static final ConcurrentHashMap<String,Product<?,?>> products = new ConcurrentHashMap<>();
-
-    @SuppressWarnings("rawtypes")
-    public static <F extends Unit,S extends Unit> Product<?,?> produc(final F first, final S second) {
-      final String name = first + "/" + second;
-      Product unit = products.get(name);
-      if (unit == null)
-        products.put(name, unit = new Product<>(name, first.factor / second.factor, first, second));
+    /**
+     * Returns the {@link Product} unit of the specified first and second units. Product units are interned by the identity of their
+     * components, whereby a lookup of an existing {@link Product} does not allocate, and concurrent lookups of an absent
+     * {@link Product} create exactly one instance.
+     *
+     * @param <F> The type parameter of the first unit.
+     * @param <S> The type parameter of the second unit.
+     * @param first The first {@link Unit}.
+     * @param second The second {@link Unit}.
+     * @return The {@link Product} unit of the specified first and second units.
+     * @throws NullPointerException If {@code first} or {@code second} is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <F extends Unit,S extends Unit> Product<F,S> produc(final F first, final S second) {
+      Objects.requireNonNull(second, "second is null");
+      Product<?,?> unit = first.products.get(second);
+      if (unit == null) {
+        synchronized (first.products) {
+          if ((unit = first.products.get(second)) == null)
+            first.products.put(second, unit = new Product<>(first + "*" + second, first.scale * second.scale, first, second));
+        }
+      }
 
-      return unit;
+      return (Product<F,S>)unit;
     }
 
     protected static class Product<F extends Unit,S extends Unit> extends Unit {
-      private final Unit second;
+      final F first;
+      final S second;
 
       protected Product(final String name, final double factor, final F first, final S second) {
-        super(name, factor, first);
+        super(name, factor, first.family.product(second.family));
+        this.first = first;
         this.second = second;
       }
-
-      protected double getFactor(final Product<?,?> basis) {
-        return getFactor((Unit)basis) * getFactor(basis.second);
-      }
     }
 
-    private static final ConcurrentHashMap<Unit,Map<Unit,Double>> basisToUnitFactors = new ConcurrentHashMap<>();
-
-    private static Map<Unit,Double> register(final Unit from, final Unit to, final double factor) {
-      Map<Unit,Double> unitToFactor = basisToUnitFactors.get(to);
-      if (unitToFactor == null)
-        basisToUnitFactors.put(to, unitToFactor = new HashMap<>());
-
-      unitToFactor.put(from, factor);
-      return unitToFactor;
-    }
-
-    private static void cascade(final Map<Unit,Double> unitToFactor, final Unit from, final double factor) {
-      if (unitToFactor.size() > 0) {
-        for (final Map.Entry<Unit,Double> entry : unitToFactor.entrySet()) { // [S]
-          if (entry.getKey() != from) {
-            final Double value = entry.getValue();
-            register(from, entry.getKey(), from.factor / value);
-            register(entry.getKey(), from, value / from.factor);
-          }
-        }
-      }
+    /**
+     * Returns the {@link Unit} for the specified unit expression, such as {@code "km/hr"}, {@code "kg/l"} or {@code "N*m"}.
+     * <p>
+     * An expression is a sequence of unit symbols separated by the left-associative operators {@code '*'} (yielding a {@link Product})
+     * and {@code '/'} (yielding a {@link Ratio}), where each symbol may be followed by {@code '^'} and an exponent from 1 to 4.
+     * Symbols are the names of the units declared in {@link Angle}, {@link Distance}, {@link Elevation}, {@link Force}, {@link Mass},
+     * {@link Time} and {@link Volume}, or the symbol of a {@link MetricPrefix} followed by the name of a base unit ({@code m},
+     * {@code g}, {@code l}, {@code N}, {@code sec} or {@code rad}). Declared names take precedence over prefixed names, whereby
+     * {@code "nm"} is the nautical mile. {@code "lb"} is the pound of {@link Mass}, and {@code "lbf"} the pound of {@link Force}.
+     * <p>
+     * Resolved expressions are held in a bounded cache, whereby resolving a recently resolved expression costs a single hash probe.
+     * The composite and prefixed units of an expression are interned like those of {@link #ratio(Unit,Unit)},
+     * {@link #produc(Unit,Unit)} and {@link #prefix(MetricPrefix)}, and are retained for the life of the {@link Unit} class. To bound
+     * the units that an expression can create, an expression has at most 8 symbols, counting each symbol as many times as its
+     * exponent. Expressions from untrusted input can nonetheless create as many units as they have distinct combinations of symbols.
+     *
+     * @param expression The unit expression.
+     * @return The {@link Unit} for the specified unit expression.
+     * @throws IllegalArgumentException If {@code expression} is not a valid unit expression.
+     * @throws NullPointerException If {@code expression} is null.
+     */
+    public static Unit parse(final String expression) {
+      return UnitParser.parse(expression);
     }
 
     /**
      * Print the conversion table to stdout.
      */
     public static void printConversionTable() {
-      if (basisToUnitFactors.size() > 0)
-        for (final Map.Entry<Unit,Map<Unit,Double>> entry : basisToUnitFactors.entrySet()) { // [S]
-          final Map<Unit,Double> value = entry.getValue();
-          if (value.size() > 0)
-            for (final Map.Entry<Unit,Double> entry2 : value.entrySet()) // [S]
-              System.out.println("1 " + entry2.getKey().name + " = " + entry2.getValue() + " * " + entry.getKey().name);
-        }
+      for (final Family family : Family.families) { // [L]
+        final double[][] factors = family.factors;
+        final Unit[] units = family.units;
+        for (int i = 0; i < factors.length; ++i) // [A]
+          for (int j = 0; j < factors.length; ++j) // [A]
+            if (i != j)
+              System.out.println("1 " + units[i].name + " = " + factors[i][j] + " * " + units[j].name);
+      }
     }
 
     // FIXME: This is not used yet
-    private static final HashMap<Class<?>,Unit> defaults = new HashMap<>();
+    private static final ConcurrentHashMap<Class<?>,Unit> defaults = new ConcurrentHashMap<>();
 
     protected final String name;
     protected final double factor;
 
+    /** The factor of this unit relative to the root of its {@link Family}. */
+    final double scale;
+    final Family family;
+    final int ordinal;
+
+    /** The interned {@link Ratio} units having this unit as numerator, keyed by denominator. */
+    final ConcurrentHashMap<Unit,Ratio<?,?>> ratios = new ConcurrentHashMap<>();
+    /** The interned {@link Product} units having this unit as first unit, keyed by second unit. */
+    final ConcurrentHashMap<Unit,Product<?,?>> products = new ConcurrentHashMap<>();
+    /** The interned units derived from this unit by a {@link MetricPrefix}. */
+    final ConcurrentHashMap<MetricPrefix,Unit> prefixed = new ConcurrentHashMap<>();
+    /**
+     * The unit of which this unit is a {@link MetricPrefix} multiple, computed on first use. The field is written without
+     * synchronization: a racing reader sees either {@code null} or the same interned unit.
+     */
+    private Unit unprefixed;
+
     protected Unit(final String name, final double factor, final Unit basis) {
       this.name = name;
       this.factor = factor;
       if (basis != null) {
-        register(basis, this, 1 / factor);
-        final Map<Unit,Double> unitToFactor = register(this, basis, factor);
-        cascade(unitToFactor, this, factor);
+        this.family = basis.family;
+        this.scale = factor * basis.scale;
       }
       else {
-        if (defaults.containsKey(getClass().getDeclaringClass()))
+        // Keyed by the unit class, rather than its declaring class, which would load the Scalar class during the initialization of
+        // its units
+        if (defaults.putIfAbsent(getClass(), this) != null)
           throw new IllegalArgumentException("Attempted to assign two default Unit(s) for " + getClass().getDeclaringClass());
 
-        defaults.put(getClass().getDeclaringClass(), basis);
+        this.family = new Family();
+        this.scale = factor;
       }
 
-      // printConversionTable();
-      // System.out.println("-------------");
+      this.ordinal = family.register(this);
     }
 
-    protected double getFactor(final Unit basis) {
-      if (this == basis)
-        return 1;
+    private Unit(final String name, final double factor, final Family family) {
+      this.name = name;
+      this.factor = factor;
+      this.scale = factor;
+      this.family = family;
+      this.ordinal = family.register(this);
+    }
+
+    /**
+     * Returns the unit derived from this unit by the specified {@link MetricPrefix}, such as {@code "mg"} for {@code "g"}. Derived
+     * units are interned, whereby each prefix of a unit yields exactly one instance. If a unit of the same name and scale is already
+     * declared in the family of this unit (such as {@code "kg"} for {@link MetricPrefix#KILO} of {@code "g"}), that unit is
+     * returned.
+     *
+     * @param prefix The {@link MetricPrefix}.
+     * @return The unit derived from this unit by the specified {@link MetricPrefix}.
+     * @throws NullPointerException If {@code prefix} is null.
+     * @throws UnsupportedOperationException If this unit does not support derived units.
+     */
+    public Unit prefix(final MetricPrefix prefix) {
+      Unit unit = prefixed.get(prefix);
+      if (unit == null) {
+        synchronized (prefixed) {
+          if ((unit = prefixed.get(prefix)) == null)
+            prefixed.put(prefix, unit = newPrefixed(prefix));
+        }
+      }
+
+      return unit;
+    }
 
-      Map<Unit,Double> unitToFactor = basisToUnitFactors.get(basis);
-      Double factor = null;
-      if (unitToFactor != null)
-        factor = unitToFactor.get(this);
+    private Unit newPrefixed(final MetricPrefix prefix) {
+      final String name = prefix.getSymbol() + this.name;
+      final double factor = MetricPrefix.pow10(prefix.getPower());
+      final double scale = factor * this.scale;
+      for (final Unit unit : family.units) // [A]
+        if (name.equals(unit.name) && Math.abs(unit.scale - scale) <= Math.ulp(scale) * 4)
+          return unit;
 
-      if (factor != null)
-        return factor;
+      return derive(name, factor);
+    }
 
-      unitToFactor = basisToUnitFactors.get(this);
-      if (unitToFactor != null)
-        factor = unitToFactor.get(this);
+    /**
+     * Returns a new unit of the same type as this unit, with the specified name and factor relative to this unit.
+     *
+     * @param name The name of the new unit.
+     * @param factor The factor of the new unit relative to this unit.
+     * @return A new unit of the same type as this unit, with the specified name and factor relative to this unit.
+     * @throws UnsupportedOperationException If this unit does not support derived units.
+     */
+    Unit derive(final String name, final double factor) {
+      throw new UnsupportedOperationException(getClass().getName() + " does not support derived units");
+    }
 
-      return factor != null ? 1 / factor : 1;
+    /**
+     * Returns the unit of which this unit is a {@link MetricPrefix} multiple, such as {@code "g"} for {@code "kg"}, or this unit if it
+     * has no prefix. A {@link Ratio} is prefixed by the prefix of its numerator, and a {@link Product} by that of its first unit.
+     */
+    Unit unprefixed() {
+      Unit unit = unprefixed;
+      if (unit == null)
+        unprefixed = unit = newUnprefixed();
+
+      return unit;
+    }
+
+    private Unit newUnprefixed() {
+      if (this instanceof Ratio) {
+        final Ratio<?,?> ratio = (Ratio<?,?>)this;
+        final Unit numerator = ratio.numerator.unprefixed();
+        return numerator == ratio.numerator ? this : ratio(numerator, ratio.denominator);
+      }
+
+      if (this instanceof Product) {
+        final Product<?,?> product = (Product<?,?>)this;
+        final Unit first = product.first.unprefixed();
+        return first == product.first ? this : produc(first, product.second);
+      }
+
+      // A unit of this family named by a prefix symbol followed by its name, with the scale of the prefix, such as "g" for "kg",
+      // whereby "nm" (the nautical mile) is not a prefix of "m"
+      for (final Unit unit : family.units) { // [A]
+        final int length = name.length() - unit.name.length();
+        if (length > 0 && name.endsWith(unit.name)) {
+          for (int power = -24; power <= 24; ++power) {
+            final MetricPrefix prefix = MetricPrefix.of(power);
+            if (prefix != null && prefix.getSymbol().length() == length && name.startsWith(prefix.getSymbol())) {
+              final double scale = MetricPrefix.pow10(power) * unit.scale;
+              if (Math.abs(this.scale - scale) <= Math.ulp(scale) * 4)
+                return unit.unprefixed();
+            }
+          }
+        }
+      }
+
+      return this;
+    }
+
+    protected double getFactor(final Unit basis) {
+      if (basis.family != family)
+        return 1;
+
+      // A unit published to this thread without a happens-before edge to its registration may not be in this snapshot yet
+      final double[][] factors = family.factors;
+      return ordinal < factors.length && basis.ordinal < factors.length ? factors[ordinal][basis.ordinal] : scale / basis.scale;
     }
 
     @Override
@@ -174,40 +383,434 @@ public final class Dimension {
    *
    * @param <U> The type parameter for the {@link Unit}.
    */
-  protected abstract static class Scalar<U extends Unit> {
+  protected abstract static class Scalar<U extends Unit> implements Comparable<Scalar<U>> {
     public static <T extends Unit> double convert(final double value, final T from, final T to) {
       return value * from.getFactor(to);
     }
 
-    private final double value;
+    private static void checkRange(final int length, final int off, final int len) {
+      if (off < 0 || len < 0 || off > length - len)
+        throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+    }
+
+    private static void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len, final double factor) {
+      if (factor == 1) {
+        if (src != dst || srcOff != dstOff)
+          System.arraycopy(src, srcOff, dst, dstOff, len);
+      }
+      else {
+        for (int i = 0; i < len; ++i) // [A]
+          dst[dstOff + i] = src[srcOff + i] * factor;
+      }
+    }
+
+    /**
+     * Converts {@code len} values of {@code src} starting at {@code off} from unit {@code from} to unit {@code to}, and writes the
+     * results to {@code dst} starting at {@code off}. The conversion factor is resolved once for all values.
+     *
+     * @param <T> The type parameter of the {@link Unit}.
+     * @param src The array of values to convert.
+     * @param off The offset in {@code src} and {@code dst} of the first value.
+     * @param len The number of values to convert.
+     * @param from The {@link Unit} of the values in {@code src}.
+     * @param to The {@link Unit} of the values to be written to {@code dst}.
+     * @param dst The array to which the converted values are to be written, which may be {@code src}.
+     * @throws IndexOutOfBoundsException If {@code off} or {@code len} is negative, or {@code off + len} is greater than the length of
+     *           {@code src} or {@code dst}.
+     * @throws NullPointerException If {@code src}, {@code from}, {@code to}, or {@code dst} is null.
+     */
+    public static <T extends Unit> void convert(final double[] src, final int off, final int len, final T from, final T to, final double[] dst) {
+      checkRange(src.length, off, len);
+      checkRange(dst.length, off, len);
+      convert(src, off, dst, off, len, from.getFactor(to));
+    }
+
+    /**
+     * Converts, in place, {@code len} values of {@code values} starting at {@code off} from unit {@code from} to unit {@code to}.
+     *
+     * @param <T> The type parameter of the {@link Unit}.
+     * @param values The array of values to convert.
+     * @param off The offset in {@code values} of the first value.
+     * @param len The number of values to convert.
+     * @param from The {@link Unit} of the values in {@code values}.
+     * @param to The {@link Unit} to which the values are to be converted.
+     * @throws IndexOutOfBoundsException If {@code off} or {@code len} is negative, or {@code off + len} is greater than the length of
+     *           {@code values}.
+     * @throws NullPointerException If {@code values}, {@code from}, or {@code to} is null.
+     */
+    public static <T extends Unit> void convert(final double[] values, final int off, final int len, final T from, final T to) {
+      convert(values, off, len, from, to, values);
+    }
+
+    /**
+     * Converts the values remaining in {@code src} from unit {@code from} to unit {@code to}, and writes the results to {@code dst}.
+     * The position of {@code src} and {@code dst} is advanced by the number of values converted.
+     *
+     * @param <T> The type parameter of the {@link Unit}.
+     * @param src The {@link DoubleBuffer} of values to convert.
+     * @param from The {@link Unit} of the values in {@code src}.
+     * @param to The {@link Unit} of the values to be written to {@code dst}.
+     * @param dst The {@link DoubleBuffer} to which the converted values are to be written.
+     * @throws java.nio.BufferOverflowException If there is insufficient space in {@code dst} for the remaining values in {@code src}.
+     * @throws java.nio.ReadOnlyBufferException If {@code dst} is read-only.
+     * @throws NullPointerException If {@code src}, {@code from}, {@code to}, or {@code dst} is null.
+     */
+    public static <T extends Unit> void convert(final DoubleBuffer src, final T from, final T to, final DoubleBuffer dst) {
+      final int len = src.remaining();
+      if (dst.remaining() < len)
+        throw new BufferOverflowException();
+
+      final double factor = from.getFactor(to);
+      final int srcPos = src.position();
+      final int dstPos = dst.position();
+      if (src.hasArray() && dst.hasArray()) {
+        convert(src.array(), src.arrayOffset() + srcPos, dst.array(), dst.arrayOffset() + dstPos, len, factor);
+      }
+      else {
+        for (int i = 0; i < len; ++i)
+          dst.put(dstPos + i, src.get(srcPos + i) * factor);
+      }
+
+      src.position(srcPos + len);
+      dst.position(dstPos + len);
+    }
+
+    /**
+     * Converts, in place, the values remaining in {@code values} from unit {@code from} to unit {@code to}. The position of
+     * {@code values} is not modified.
+     *
+     * @param <T> The type parameter of the {@link Unit}.
+     * @param values The {@link DoubleBuffer} of values to convert.
+     * @param from The {@link Unit} of the values in {@code values}.
+     * @param to The {@link Unit} to which the values are to be converted.
+     * @throws java.nio.ReadOnlyBufferException If {@code values} is read-only.
+     * @throws NullPointerException If {@code values}, {@code from}, or {@code to} is null.
+     */
+    public static <T extends Unit> void convert(final DoubleBuffer values, final T from, final T to) {
+      convert(values.duplicate(), from, to, values.duplicate());
+    }
+
+    final double value;
     protected final U unit;
+    /** The value of this scalar normalized to the root unit of the family of {@link #unit}, computed once at construction. */
+    final double base;
 
     protected Scalar(final double value, final U unit) {
       this.unit = Objects.requireNonNull(unit, "unit is null");
       this.value = value;
+      this.base = value * unit.scale;
+    }
+
+    /**
+     * Returns a new instance of this scalar's class with the specified value, in the same unit as this scalar.
+     *
+     * @param value The value of the new scalar.
+     * @return A new instance of this scalar's class with the specified value, in the same unit as this scalar.
+     */
+    protected abstract Scalar<U> replicate(double value);
+
+    public double value(final U unit) {
+      if (unit == this.unit)
+        return value;
+
+      return unit.scale == 1 && unit.family == this.unit.family ? base : value * this.unit.getFactor(unit);
+    }
+
+    /**
+     * Returns the factor by which to multiply a value in the specified {@link Unit} to convert it to the unit of this {@link Scalar}.
+     *
+     * @param unit The {@link Unit}.
+     * @return The factor by which to multiply a value in the specified {@link Unit} to convert it to the unit of this {@link Scalar}.
+     * @throws IllegalArgumentException If {@code unit} is not convertible to the unit of this {@link Scalar}.
+     */
+    final double factorOf(final Unit unit) {
+      if (unit == this.unit)
+        return 1;
+
+      if (unit.family != this.unit.family)
+        throw new IllegalArgumentException("Unit " + unit + " is not convertible to " + this.unit);
+
+      return unit.getFactor(this.unit);
+    }
+
+    /**
+     * Returns the value of the specified {@link Scalar} in the unit of this {@link Scalar}. If both share a unit, no conversion
+     * factor is looked up.
+     *
+     * @param scalar The {@link Scalar}.
+     * @return The value of the specified {@link Scalar} in the unit of this {@link Scalar}.
+     * @throws IllegalArgumentException If the unit of {@code scalar} is not convertible to the unit of this {@link Scalar}.
+     */
+    final double valueOf(final Scalar<?> scalar) {
+      return scalar.unit == unit ? scalar.value : scalar.value * factorOf(scalar.unit);
+    }
+
+    /**
+     * Returns a {@link Scalar} of the sum of this {@link Scalar} and the specified {@link Scalar}, in the unit of this {@link Scalar}.
+     *
+     * @param addend The {@link Scalar} to add.
+     * @return A {@link Scalar} of the sum of this {@link Scalar} and the specified {@link Scalar}.
+     * @throws IllegalArgumentException If the unit of {@code addend} is not convertible to the unit of this {@link Scalar}.
+     * @throws NullPointerException If {@code addend} is null.
+     */
+    public Scalar<U> add(final Scalar<U> addend) {
+      return replicate(value + valueOf(addend));
+    }
+
+    /**
+     * Returns a {@link Scalar} of the difference of this {@link Scalar} and the specified {@link Scalar}, in the unit of this
+     * {@link Scalar}.
+     *
+     * @param subtrahend The {@link Scalar} to subtract.
+     * @return A {@link Scalar} of the difference of this {@link Scalar} and the specified {@link Scalar}.
+     * @throws IllegalArgumentException If the unit of {@code subtrahend} is not convertible to the unit of this {@link Scalar}.
+     * @throws NullPointerException If {@code subtrahend} is null.
+     */
+    public Scalar<U> subtract(final Scalar<U> subtrahend) {
+      return replicate(value - valueOf(subtrahend));
+    }
+
+    /**
+     * Returns a {@link Scalar} of the value of this {@link Scalar} multiplied by the specified factor, in the unit of this
+     * {@link Scalar}.
+     *
+     * @param factor The factor by which to multiply.
+     * @return A {@link Scalar} of the value of this {@link Scalar} multiplied by the specified factor.
+     */
+    public Scalar<U> scale(final double factor) {
+      return replicate(value * factor);
+    }
+
+    /**
+     * Compares this {@link Scalar} to the specified {@link Scalar} as per {@link Double#compare(double,double)}, by their values if
+     * both share a unit, and otherwise by their values normalized to the root unit of their family.
+     *
+     * @param o The {@link Scalar} to compare.
+     * @return A negative integer, zero, or a positive integer as this {@link Scalar} is less than, equal to, or greater than the
+     *         specified {@link Scalar}.
+     * @throws IllegalArgumentException If the unit of {@code o} is not convertible to the unit of this {@link Scalar}.
+     * @throws NullPointerException If {@code o} is null.
+     */
+    @Override
+    public int compareTo(final Scalar<U> o) {
+      if (o.unit == unit)
+        return Double.compare(value, o.value);
+
+      if (o.unit.family != unit.family)
+        throw new IllegalArgumentException("Unit " + o.unit + " is not convertible to " + unit);
+
+      return Double.compare(base, o.base);
     }
 
-    protected Scalar<U> replicate(final double value) {
+    /**
+     * Returns a {@link Scalar} of the sum of the specified {@link Scalar}s, in the unit of the first {@link Scalar}. The sum is
+     * accumulated in one pass over primitive values, and a conversion factor is looked up only when the unit changes between
+     * consecutive {@link Scalar}s.
+     *
+     * @param <U> The type parameter of the {@link Unit}.
+     * @param <S> The type parameter of the {@link Scalar}.
+     * @param scalars The {@link Scalar}s to sum.
+     * @return A {@link Scalar} of the sum of the specified {@link Scalar}s.
+     * @throws IllegalArgumentException If the unit of a {@link Scalar} is not convertible to the unit of the first {@link Scalar}.
+     * @throws java.util.NoSuchElementException If {@code scalars} is empty.
+     * @throws NullPointerException If {@code scalars} or a member thereof is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <U extends Unit,S extends Scalar<U>> S sum(final Iterable<? extends S> scalars) {
+      final Iterator<? extends S> iterator = scalars.iterator();
+      final Scalar<U> first = iterator.next();
+      double sum = first.value;
+      Unit unit = first.unit;
+      double factor = 1;
+      while (iterator.hasNext()) {
+        final Scalar<U> scalar = iterator.next();
+        if (scalar.unit != unit)
+          factor = first.factorOf(unit = scalar.unit);
+
+        sum += scalar.value * factor;
+      }
+
+      return (S)first.replicate(sum);
+    }
+
+    private static <U extends Unit,S extends Scalar<U>> S extreme(final Iterable<? extends S> scalars, final int sign) {
+      final Iterator<? extends S> iterator = scalars.iterator();
+      final S first = iterator.next();
+      S extreme = first;
+      double value = ((Scalar<U>)first).value;
+      Unit unit = first.unit;
+      double factor = 1;
+      while (iterator.hasNext()) {
+        final S scalar = iterator.next();
+        if (scalar.unit != unit)
+          factor = first.factorOf(unit = scalar.unit);
+
+        final double v = ((Scalar<U>)scalar).value * factor;
+        if (Double.compare(v, value) * sign > 0) {
+          extreme = scalar;
+          value = v;
+        }
+      }
+
+      return extreme;
+    }
+
+    /**
+     * Returns the least of the specified {@link Scalar}s as per {@link #compareTo(Scalar)}, compared in one pass over primitive
+     * values in the unit of the first {@link Scalar}. If several {@link Scalar}s are least, the first is returned.
+     *
+     * @param <U> The type parameter of the {@link Unit}.
+     * @param <S> The type parameter of the {@link Scalar}.
+     * @param scalars The {@link Scalar}s.
+     * @return The least of the specified {@link Scalar}s.
+     * @throws IllegalArgumentException If the unit of a {@link Scalar} is not convertible to the unit of the first {@link Scalar}.
+     * @throws java.util.NoSuchElementException If {@code scalars} is empty.
+     * @throws NullPointerException If {@code scalars} or a member thereof is null.
+     */
+    public static <U extends Unit,S extends Scalar<U>> S min(final Iterable<? extends S> scalars) {
+      return extreme(scalars, -1);
+    }
+
+    /**
+     * Returns the greatest of the specified {@link Scalar}s as per {@link #compareTo(Scalar)}, compared in one pass over primitive
+     * values in the unit of the first {@link Scalar}. If several {@link Scalar}s are greatest, the first is returned.
+     *
+     * @param <U> The type parameter of the {@link Unit}.
+     * @param <S> The type parameter of the {@link Scalar}.
+     * @param scalars The {@link Scalar}s.
+     * @return The greatest of the specified {@link Scalar}s.
+     * @throws IllegalArgumentException If the unit of a {@link Scalar} is not convertible to the unit of the first {@link Scalar}.
+     * @throws java.util.NoSuchElementException If {@code scalars} is empty.
+     * @throws NullPointerException If {@code scalars} or a member thereof is null.
+     */
+    public static <U extends Unit,S extends Scalar<U>> S max(final Iterable<? extends S> scalars) {
+      return extreme(scalars, 1);
+    }
+
+    private void print(final Object out, final int precision) throws IOException {
+      if (precision < 0)
+        Decimal.put(out, value);
+      else
+        Decimal.put(out, value, precision);
+
+      Decimal.put(out, ' ');
+      Decimal.put(out, unit.name);
+    }
+
+    /**
+     * Appends this scalar to the specified {@link Appendable} as the shortest decimal that rounds to its value, followed by the name
+     * of its unit, without allocating intermediate objects.
+     *
+     * @param <A> The type parameter of the {@link Appendable}.
+     * @param out The {@link Appendable} to which to append.
+     * @return The specified {@link Appendable}.
+     * @throws IOException If an I/O error has occurred.
+     * @throws NullPointerException If {@code out} is null.
+     */
+    public <A extends Appendable> A format(final A out) throws IOException {
+      print(out, -1);
+      return out;
+    }
+
+    /**
+     * Appends this scalar to the specified {@link Appendable} with its value rounded to the specified number of fractional digits,
+     * followed by the name of its unit, without allocating intermediate objects.
+     *
+     * @param <A> The type parameter of the {@link Appendable}.
+     * @param out The {@link Appendable} to which to append.
+     * @param precision The number of fractional digits, between 0 and 17.
+     * @return The specified {@link Appendable}.
+     * @throws IllegalArgumentException If {@code precision} is out of range.
+     * @throws IOException If an I/O error has occurred.
+     * @throws NullPointerException If {@code out} is null.
+     */
+    public <A extends Appendable> A format(final A out, final int precision) throws IOException {
+      if (precision < 0)
+        throw new IllegalArgumentException("precision (" + precision + ") is negative");
+
+      print(out, precision);
+      return out;
+    }
+
+    /**
+     * Puts this scalar to the specified {@link ByteBuffer} as per {@link #format(Appendable)}, encoded in UTF-8.
+     *
+     * @param out The {@link ByteBuffer} to which to put.
+     * @return The specified {@link ByteBuffer}.
+     * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+     * @throws NullPointerException If {@code out} is null.
+     */
+    public ByteBuffer format(final ByteBuffer out) {
       try {
-        return getClass().getConstructor(double.class, unit.getClass()).newInstance(value, unit);
+        print(out, -1);
+        return out;
       }
-      catch (final ReflectiveOperationException e) {
+      catch (final IOException e) {
         throw new IllegalStateException(e);
       }
     }
 
-    public double value(final U unit) {
-      return value * this.unit.getFactor(unit);
+    /**
+     * Puts this scalar to the specified {@link ByteBuffer} as per {@link #format(Appendable,int)}, encoded in UTF-8.
+     *
+     * @param out The {@link ByteBuffer} to which to put.
+     * @param precision The number of fractional digits, between 0 and 17.
+     * @return The specified {@link ByteBuffer}.
+     * @throws IllegalArgumentException If {@code precision} is out of range.
+     * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+     * @throws NullPointerException If {@code out} is null.
+     */
+    public ByteBuffer format(final ByteBuffer out, final int precision) {
+      if (precision < 0)
+        throw new IllegalArgumentException("precision (" + precision + ") is negative");
+
+      try {
+        print(out, precision);
+        return out;
+      }
+      catch (final IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * Returns whether this {@link Scalar} is equal to the specified {@link Scalar} within the specified tolerance, expressed in the
+     * unit of this {@link Scalar}.
+     *
+     * @param obj The {@link Scalar}.
+     * @param tolerance The greatest absolute difference, in the unit of this {@link Scalar}, at which the {@link Scalar}s are equal.
+     * @return Whether this {@link Scalar} is equal to the specified {@link Scalar} within the specified tolerance. If the unit of
+     *         {@code obj} is not convertible to the unit of this {@link Scalar}, {@code false} is returned.
+     * @throws NullPointerException If {@code obj} is null.
+     */
+    public boolean equals(final Scalar<?> obj, final double tolerance) {
+      if (obj.unit.family != unit.family)
+        return false;
+
+      return Math.abs(value - valueOf(obj)) <= tolerance;
     }
 
+    /**
+     * Returns whether this {@link Scalar} is equal to the specified object. {@link Scalar}s are equal if their units are convertible,
+     * and their values normalized to the root unit of their family are equal, whereby {@code 1 km} equals {@code 1000 m}. For
+     * equality that tolerates floating-point noise from conversion, see {@link #equals(Scalar,double)}.
+     */
     @Override
     public boolean equals(final Object obj) {
-      return this == obj || (obj instanceof Scalar && ((Scalar<?>)obj).value == value && ((Scalar<?>)obj).unit == unit);
+      if (obj == this)
+        return true;
+
+      if (!(obj instanceof Scalar))
+        return false;
+
+      final Scalar<?> that = (Scalar<?>)obj;
+      return that.unit.family == unit.family && Double.doubleToLongBits(that.base) == Double.doubleToLongBits(base);
     }
 
     @Override
     public int hashCode() {
-      return 31 + (int)Double.doubleToLongBits(value);
+      final long bits = Double.doubleToLongBits(base);
+      return 31 * unit.family.hashCode() + (int)(bits ^ (bits >>> 32));
     }
 
     @Override
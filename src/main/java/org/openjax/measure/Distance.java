@@ -33,21 +33,93 @@ public final class Distance extends Dimension.Scalar<Dimension.Unit> {
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
   public Distance(final double value, final Unit unit) {
     super(value, unit);
   }
 
+  @Override
+  protected Distance replicate(final double value) {
+    return new Distance(value, (Unit)unit);
+  }
+
+  @Override
+  public Distance add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Distance)super.add(addend);
+  }
+
+  @Override
+  public Distance subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Distance)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Distance scale(final double factor) {
+    return (Distance)super.scale(factor);
+  }
+
+  /**
+   * Returns the {@link Location} reached by travelling this distance from the specified {@link Location} along the specified
+   * initial bearing, computed with {@link Geodesic#HAVERSINE}.
+   *
+   * @param location The {@link Location} of departure.
+   * @param bearing The initial bearing.
+   * @return The {@link Location} reached by travelling this distance from the specified {@link Location}.
+   * @throws NullPointerException If {@code location} or {@code bearing} is null.
+   */
   public Location locate(final Location location, final Angle bearing) {
-    final double d = value(Unit.KM) / R.value(Unit.KM);
-    final double bearing1 = bearing.value(Angle.Unit.RAD);
-    final double lat1 = location.latitude.value(Angle.Unit.RAD);
-    final double lon1 = location.longitude.value(Angle.Unit.RAD);
-
-    final double lat2 = StrictMath.asin(StrictMath.sin(lat1) * StrictMath.cos(d) + StrictMath.cos(lat1) * StrictMath.sin(d) * StrictMath.cos(bearing1));
-    double lon2 = StrictMath.atan2(StrictMath.sin(bearing1) * StrictMath.sin(d) * StrictMath.cos(lat1), StrictMath.cos(d) - StrictMath.sin(lat1) * StrictMath.sin(lat2));
-    lon2 = ((lon1 - lon2 + Math.PI) % (2 * Math.PI)) - Math.PI;
-    return new Location(new Angle(lat2, Angle.Unit.RAD), new Angle(lon2, Angle.Unit.RAD));
+    return locate(location, bearing, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Returns the {@link Location} reached by travelling this distance from the specified {@link Location} along the specified
+   * initial bearing, computed with the specified {@link Geodesic}.
+   *
+   * @param location The {@link Location} of departure.
+   * @param bearing The initial bearing.
+   * @param geodesic The {@link Geodesic} with which to compute the {@link Location}.
+   * @return The {@link Location} reached by travelling this distance from the specified {@link Location}.
+   * @throws NullPointerException If {@code location}, {@code bearing}, or {@code geodesic} is null.
+   */
+  public Location locate(final Location location, final Angle bearing, final Geodesic geodesic) {
+    final double[] dst = new double[2];
+    geodesic.destination(location.latitude.value(Angle.Unit.RAD), location.longitude.value(Angle.Unit.RAD), bearing.value(Angle.Unit.RAD), value(Unit.KM), dst, 0);
+    return new Location(new Angle(dst[0], Angle.Unit.RAD), new Angle(dst[1], Angle.Unit.RAD));
+  }
+
+  /**
+   * Returns the {@link Speed} of covering this distance in the specified {@link Time}, in the {@link Dimension.Unit#ratio ratio} of
+   * the unit of this distance to the unit of {@code time}. No conversion factor is looked up, whereby conversion is deferred to
+   * {@link Speed#value(Dimension.Unit)}.
+   *
+   * @param time The {@link Time}.
+   * @return The {@link Speed} of covering this distance in the specified {@link Time}.
+   * @throws NullPointerException If {@code time} is null.
+   */
+  public Speed divide(final Time time) {
+    return new Speed(value / time.value, Dimension.Unit.ratio((Unit)unit, (Time.Unit)time.unit));
+  }
+
+  /**
+   * Returns the {@link Time} of covering this distance at the specified {@link Speed}, in the time unit of {@code speed}. This
+   * distance is converted once to the distance unit of {@code speed}.
+   *
+   * @param speed The {@link Speed}.
+   * @return The {@link Time} of covering this distance at the specified {@link Speed}.
+   * @throws NullPointerException If {@code speed} is null.
+   */
+  public Time divide(final Speed speed) {
+    return new Time(value(speed.unit.numerator) / speed.value, speed.unit.denominator);
   }
 }
\ No newline at end of file
@@ -31,4 +31,24 @@ public final class Elevation extends Dimension.Scalar<Dimension.Unit> {
   public Elevation(final double value, final Distance.Unit unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Elevation replicate(final double value) {
+    return new Elevation(value, (Distance.Unit)unit);
+  }
+
+  @Override
+  public Elevation add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Elevation)super.add(addend);
+  }
+
+  @Override
+  public Elevation subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Elevation)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Elevation scale(final double factor) {
+    return (Elevation)super.scale(factor);
+  }
 }
\ No newline at end of file
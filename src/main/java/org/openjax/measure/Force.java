@@ -27,9 +27,39 @@ public final class Force extends Dimension.Scalar<Dimension.Unit> {
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
   public Force(final double value, final Unit unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Force replicate(final double value) {
+    return new Force(value, (Unit)unit);
+  }
+
+  @Override
+  public Force add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Force)super.add(addend);
+  }
+
+  @Override
+  public Force subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Force)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Force scale(final double factor) {
+    return (Force)super.scale(factor);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+/* Copyright (c) 2015 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+/**
+ * Strategy for the computation of distances and destinations on the surface of the earth, trading accuracy for throughput.
+ * <p>
+ * Latitudes, longitudes and bearings are expressed in radians, and distances in kilometres. As in
+ * {@link Distance#locate(Location,Angle)}, destinations are computed with longitudes increasing westward.
+ *
+ * @see #EQUIRECTANGULAR
+ * @see #HAVERSINE
+ * @see #VINCENTY
+ */
+public abstract class Geodesic {
+  /**
+   * Flat-earth approximation on a sphere of radius {@link Distance#R}, computed with {@link Math} intrinsics. Suitable for the
+   * pre-filtering of candidates over short distances away from the poles.
+   */
+  public static final Geodesic EQUIRECTANGULAR = new Geodesic() {
+    @Override
+    public double distance(final double lat1, final double lon1, final double lat2, final double lon2) {
+      final double x = normalize(lon2 - lon1) * Math.cos((lat1 + lat2) / 2);
+      final double y = lat2 - lat1;
+      return R * Math.sqrt(x * x + y * y);
+    }
+
+    @Override
+    public void destination(final double lat, final double lon, final double bearing, final double distance, final double[] dst, final int off) {
+      final double d = distance / R;
+      final double lat2 = lat + d * Math.cos(bearing);
+      dst[off] = lat2;
+      dst[off + 1] = normalize(lon - d * Math.sin(bearing) / Math.cos((lat + lat2) / 2));
+    }
+  };
+
+  /**
+   * Great-circle distance on a sphere of radius {@link Distance#R} by the haversine formula, computed with {@link StrictMath}. This
+   * is the strategy of {@link Location#distance(Location)} and {@link Distance#locate(Location,Angle)}.
+   */
+  public static final Geodesic HAVERSINE = new Geodesic() {
+    @Override
+    public double distance(final double lat1, final double lon1, final double lat2, final double lon2) {
+      return distance(lat1, lon1, StrictMath.cos(lat1), lat2, lon2, StrictMath.cos(lat2));
+    }
+
+    @Override
+    double distance(final double lat1, final double lon1, final double cosLat1, final double lat2, final double lon2, final double cosLat2) {
+      final double sinLat = StrictMath.sin((lat2 - lat1) / 2);
+      final double sinLon = StrictMath.sin((lon2 - lon1) / 2);
+      final double a = sinLat * sinLat + cosLat1 * cosLat2 * (sinLon * sinLon);
+      return 2 * R * StrictMath.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    @Override
+    public void destination(final double lat, final double lon, final double bearing, final double distance, final double[] dst, final int off) {
+      final double d = distance / R;
+      final double lat2 = StrictMath.asin(StrictMath.sin(lat) * StrictMath.cos(d) + StrictMath.cos(lat) * StrictMath.sin(d) * StrictMath.cos(bearing));
+      final double lon2 = StrictMath.atan2(StrictMath.sin(bearing) * StrictMath.sin(d) * StrictMath.cos(lat), StrictMath.cos(d) - StrictMath.sin(lat) * StrictMath.sin(lat2));
+      dst[off] = lat2;
+      dst[off + 1] = ((lon - lon2 + Math.PI) % (2 * Math.PI)) - Math.PI;
+    }
+  };
+
+  /**
+   * Geodesic distance on the WGS84 ellipsoid by the iterative formulae of Vincenty, computed with {@link StrictMath}, and accurate to
+   * within a millimetre. The iteration is bounded to {@value #MAX_ITERATIONS} steps, beyond which (for nearly antipodal points)
+   * the result of {@link #HAVERSINE} is returned.
+   */
+  public static final Geodesic VINCENTY = new Geodesic() {
+    private static final double A = 6378.137;
+    private static final double F = 1 / 298.257223563;
+    private static final double B = A * (1 - F);
+    private static final double EPSILON = 1e-12;
+
+    @Override
+    public double distance(final double lat1, final double lon1, final double lat2, final double lon2) {
+      final double tanU1 = (1 - F) * StrictMath.tan(lat1);
+      final double cosU1 = 1 / Math.sqrt(1 + tanU1 * tanU1);
+      final double sinU1 = tanU1 * cosU1;
+      final double tanU2 = (1 - F) * StrictMath.tan(lat2);
+      final double cosU2 = 1 / Math.sqrt(1 + tanU2 * tanU2);
+      final double sinU2 = tanU2 * cosU2;
+
+      final double l = normalize(lon2 - lon1);
+      double lambda = l;
+      double sinSigma;
+      double cosSigma;
+      double sigma;
+      double cos2Alpha;
+      double cos2SigmaM;
+      for (int i = 0;; ++i) {
+        if (i == MAX_ITERATIONS)
+          return HAVERSINE.distance(lat1, lon1, lat2, lon2);
+
+        final double sinLambda = StrictMath.sin(lambda);
+        final double cosLambda = StrictMath.cos(lambda);
+        final double x = cosU2 * sinLambda;
+        final double y = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+        sinSigma = Math.sqrt(x * x + y * y);
+        if (sinSigma == 0)
+          return 0;
+
+        cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+        sigma = StrictMath.atan2(sinSigma, cosSigma);
+        final double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+        cos2Alpha = 1 - sinAlpha * sinAlpha;
+        cos2SigmaM = cos2Alpha != 0 ? cosSigma - 2 * sinU1 * sinU2 / cos2Alpha : 0;
+        final double c = F / 16 * cos2Alpha * (4 + F * (4 - 3 * cos2Alpha));
+        final double prev = lambda;
+        lambda = l + (1 - c) * F * sinAlpha * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+        if (Math.abs(lambda - prev) < EPSILON)
+          break;
+      }
+
+      final double u2 = cos2Alpha * (A * A - B * B) / (B * B);
+      final double a = 1 + u2 / 16384 * (4096 + u2 * (-768 + u2 * (320 - 175 * u2)));
+      final double b = u2 / 1024 * (256 + u2 * (-128 + u2 * (74 - 47 * u2)));
+      final double deltaSigma = b * sinSigma * (cos2SigmaM + b / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) - b / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+      return B * a * (sigma - deltaSigma);
+    }
+
+    @Override
+    public void destination(final double lat, final double lon, final double bearing, final double distance, final double[] dst, final int off) {
+      final double sinAlpha1 = StrictMath.sin(bearing);
+      final double cosAlpha1 = StrictMath.cos(bearing);
+      final double tanU1 = (1 - F) * StrictMath.tan(lat);
+      final double cosU1 = 1 / Math.sqrt(1 + tanU1 * tanU1);
+      final double sinU1 = tanU1 * cosU1;
+      final double sigma1 = StrictMath.atan2(tanU1, cosAlpha1);
+      final double sinAlpha = cosU1 * sinAlpha1;
+      final double cos2Alpha = 1 - sinAlpha * sinAlpha;
+      final double u2 = cos2Alpha * (A * A - B * B) / (B * B);
+      final double a = 1 + u2 / 16384 * (4096 + u2 * (-768 + u2 * (320 - 175 * u2)));
+      final double b = u2 / 1024 * (256 + u2 * (-128 + u2 * (74 - 47 * u2)));
+
+      double sigma = distance / (B * a);
+      double sinSigma;
+      double cosSigma;
+      double cos2SigmaM;
+      for (int i = 0;; ++i) {
+        cos2SigmaM = StrictMath.cos(2 * sigma1 + sigma);
+        sinSigma = StrictMath.sin(sigma);
+        cosSigma = StrictMath.cos(sigma);
+        final double deltaSigma = b * sinSigma * (cos2SigmaM + b / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) - b / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+        final double prev = sigma;
+        sigma = distance / (B * a) + deltaSigma;
+        if (Math.abs(sigma - prev) < EPSILON || i == MAX_ITERATIONS)
+          break;
+      }
+
+      sinSigma = StrictMath.sin(sigma);
+      cosSigma = StrictMath.cos(sigma);
+      final double x = sinU1 * sinSigma - cosU1 * cosSigma * cosAlpha1;
+      final double lambda = StrictMath.atan2(sinSigma * sinAlpha1, cosU1 * cosSigma - sinU1 * sinSigma * cosAlpha1);
+      final double c = F / 16 * cos2Alpha * (4 + F * (4 - 3 * cos2Alpha));
+      final double l = lambda - (1 - c) * F * sinAlpha * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+      dst[off] = StrictMath.atan2(sinU1 * cosSigma + cosU1 * sinSigma * cosAlpha1, (1 - F) * Math.sqrt(sinAlpha * sinAlpha + x * x));
+      dst[off + 1] = normalize(lon - l);
+    }
+  };
+
+  /** The maximum number of iterations of iterative strategies. */
+  public static final int MAX_ITERATIONS = 100;
+
+  /** The radius of {@link Distance#R} in kilometres. */
+  static final double R = Distance.R.value(Distance.Unit.KM);
+
+  static double normalize(final double lon) {
+    return lon < -Math.PI || lon > Math.PI ? lon - 2 * Math.PI * Math.floor((lon + Math.PI) / (2 * Math.PI)) : lon;
+  }
+
+  protected Geodesic() {
+  }
+
+  /**
+   * Returns the distance in kilometres between the specified points.
+   *
+   * @param lat1 The latitude of the first point in radians.
+   * @param lon1 The longitude of the first point in radians.
+   * @param lat2 The latitude of the second point in radians.
+   * @param lon2 The longitude of the second point in radians.
+   * @return The distance in kilometres between the specified points.
+   */
+  public abstract double distance(double lat1, double lon1, double lat2, double lon2);
+
+  /**
+   * Returns the distance in kilometres between the specified points, given the precomputed cosine of each latitude. Strategies that
+   * can make use of the cosines override this method.
+   */
+  double distance(final double lat1, final double lon1, final double cosLat1, final double lat2, final double lon2, final double cosLat2) {
+    return distance(lat1, lon1, lat2, lon2);
+  }
+
+  /**
+   * Computes the destination reached by travelling the specified distance from the specified point along the specified initial
+   * bearing, and writes its latitude and longitude in radians to {@code dst[off]} and {@code dst[off + 1]}.
+   *
+   * @param lat The latitude of the point of departure in radians.
+   * @param lon The longitude of the point of departure in radians.
+   * @param bearing The initial bearing in radians.
+   * @param distance The distance in kilometres.
+   * @param dst The array to which the latitude and longitude of the destination are to be written.
+   * @param off The offset in {@code dst} at which to write.
+   * @throws ArrayIndexOutOfBoundsException If {@code off + 1} is out of range of {@code dst}.
+   * @throws NullPointerException If {@code dst} is null.
+   */
+  public abstract void destination(double lat, double lon, double bearing, double distance, double[] dst, int off);
+}
\ No newline at end of file
@@ -0,0 +1,309 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Objects;
+
+/**
+ * A region on the surface of the earth, modeled as the sphere of radius {@link Distance#R}, against which {@link Location}s are
+ * tested for containment.
+ * <p>
+ * Each geofence precomputes a bounding box of latitude and longitude, by which most locations outside of it are rejected without
+ * any trigonometry. A box whose minimum longitude is greater than its maximum longitude spans the antimeridian.
+ *
+ * @see Circle
+ * @see Polygon
+ * @see GeofenceIndex
+ */
+public abstract class Geofence {
+  private static final double HALF_PI = Math.PI / 2;
+
+  /**
+   * A geofence of the locations within a great-circle {@link Distance} of a center {@link Location}.
+   */
+  public static final class Circle extends Geofence {
+    private final Location center;
+    private final Distance radius;
+    private final double x;
+    private final double y;
+    private final double z;
+    /** The cosine of the angle subtended by the radius, to which the dot product of contained unit vectors is not less. */
+    private final double cosRadius;
+
+    /**
+     * Creates a new {@link Circle} of the specified center and radius.
+     *
+     * @param center The {@link Location} of the center.
+     * @param radius The great-circle {@link Distance} of the radius.
+     * @throws IllegalArgumentException If {@code radius} is negative.
+     * @throws NullPointerException If {@code center} or {@code radius} is null.
+     */
+    public Circle(final Location center, final Distance radius) {
+      this.center = Objects.requireNonNull(center, "center is null");
+      this.radius = Objects.requireNonNull(radius, "radius is null");
+      final double angle = radius.value(Distance.Unit.KM) / Geodesic.R;
+      if (angle < 0)
+        throw new IllegalArgumentException("radius (" + radius + ") is negative");
+
+      final double lat = center.latitude.value(Angle.Unit.RAD);
+      final double lon = center.longitude.value(Angle.Unit.RAD);
+      final double cosLat = StrictMath.cos(lat);
+      this.x = cosLat * StrictMath.cos(lon);
+      this.y = cosLat * StrictMath.sin(lon);
+      this.z = StrictMath.sin(lat);
+      this.cosRadius = angle >= Math.PI ? -1 : StrictMath.cos(angle);
+      if (lat + angle >= HALF_PI || lat - angle <= -HALF_PI)
+        bounds(Math.max(lat - angle, -HALF_PI), Math.min(lat + angle, HALF_PI), -Math.PI, Math.PI);
+      else {
+        final double delta = StrictMath.asin(StrictMath.sin(angle) / cosLat);
+        bounds(lat - angle, lat + angle, Geodesic.normalize(lon - delta), Geodesic.normalize(lon + delta));
+      }
+    }
+
+    /**
+     * Returns the {@link Location} of the center of this circle.
+     *
+     * @return The {@link Location} of the center of this circle.
+     */
+    public Location getCenter() {
+      return center;
+    }
+
+    /**
+     * Returns the great-circle {@link Distance} of the radius of this circle.
+     *
+     * @return The great-circle {@link Distance} of the radius of this circle.
+     */
+    public Distance getRadius() {
+      return radius;
+    }
+
+    @Override
+    boolean test(final double lat, final double lon, final double px, final double py, final double pz) {
+      return px * x + py * y + pz * z >= cosRadius;
+    }
+
+    @Override
+    public String toString() {
+      return "Circle(" + center + ", " + radius + ")";
+    }
+  }
+
+  /**
+   * A geofence of the locations within a simple polygon, whose edges are the minor arcs of the great circles between consecutive
+   * vertices, and between the last vertex and the first.
+   * <p>
+   * Containment is decided by the parity of the crossings of the edges by the meridian arc from a location to the north pole. A
+   * polygon whose edges wind around a pole is taken to contain the pole in the hemisphere of the majority of its vertices.
+   */
+  public static final class Polygon extends Geofence {
+    private final Location[] vertices;
+    /** The longitude of each vertex in radians. */
+    private final double[] lons;
+    /** The components of the (unnormalized) normal of the great circle of each edge. */
+    private final double[] normals;
+    private final boolean northPole;
+
+    /**
+     * Creates a new {@link Polygon} of the specified vertices.
+     *
+     * @param vertices The {@link Location}s of the vertices, in order.
+     * @throws IllegalArgumentException If there are fewer than 3 vertices.
+     * @throws NullPointerException If {@code vertices}, or any member of {@code vertices} is null.
+     */
+    public Polygon(final Location ... vertices) {
+      if (vertices.length < 3)
+        throw new IllegalArgumentException("vertices.length (" + vertices.length + ") < 3");
+
+      final int n = vertices.length;
+      this.vertices = vertices.clone();
+      this.lons = new double[n];
+      this.normals = new double[3 * n];
+      final double[] xyz = new double[3 * n];
+      double minLat = HALF_PI;
+      double maxLat = -HALF_PI;
+      double z = 0;
+      for (int i = 0; i < n; ++i) { // [A]
+        final double lat = vertices[i].latitude.value(Angle.Unit.RAD);
+        final double lon = vertices[i].longitude.value(Angle.Unit.RAD);
+        lons[i] = lon;
+        final double cosLat = StrictMath.cos(lat);
+        xyz[3 * i] = cosLat * StrictMath.cos(lon);
+        xyz[3 * i + 1] = cosLat * StrictMath.sin(lon);
+        xyz[3 * i + 2] = StrictMath.sin(lat);
+        z += xyz[3 * i + 2];
+        minLat = Math.min(minLat, lat);
+        maxLat = Math.max(maxLat, lat);
+      }
+
+      // The longitudes of the vertices unwrapped relative to the first vertex, whereby their span is the span of the box
+      double unwrapped = lons[0];
+      double minLon = unwrapped;
+      double maxLon = unwrapped;
+      for (int i = 0; i < n; ++i) { // [A]
+        final int j = i + 1 == n ? 0 : i + 1;
+        final double ax = xyz[3 * i], ay = xyz[3 * i + 1], az = xyz[3 * i + 2];
+        final double bx = xyz[3 * j], by = xyz[3 * j + 1], bz = xyz[3 * j + 2];
+        final double nx = ay * bz - az * by;
+        final double ny = az * bx - ax * bz;
+        final double nz = ax * by - ay * bx;
+        normals[3 * i] = nx;
+        normals[3 * i + 1] = ny;
+        normals[3 * i + 2] = nz;
+
+        // An edge bulges poleward of its vertices if the highest (or lowest) point of its great circle lies within it
+        final double h = Math.sqrt(nx * nx + ny * ny);
+        if (h > 0) {
+          final double mx = -nz * nx;
+          final double my = -nz * ny;
+          final double mz = h * h;
+          final double side = Math.signum((ay * mz - az * my) * nx + (az * mx - ax * mz) * ny + (ax * my - ay * mx) * nz);
+          if (side != 0 && side == Math.signum((my * bz - mz * by) * nx + (mz * bx - mx * bz) * ny + (mx * by - my * bx) * nz)) {
+            final double extreme = StrictMath.atan2(h, Math.abs(nz));
+            if (side > 0)
+              maxLat = Math.max(maxLat, extreme);
+            else
+              minLat = Math.min(minLat, -extreme);
+          }
+        }
+
+        unwrapped += Geodesic.normalize(lons[j] - lons[i]);
+        minLon = Math.min(minLon, unwrapped);
+        maxLon = Math.max(maxLon, unwrapped);
+      }
+
+      final boolean pole = Math.abs(unwrapped - lons[0]) > Math.PI;
+      this.northPole = pole && z > 0;
+      if (pole)
+        bounds(z > 0 ? minLat : -HALF_PI, z > 0 ? HALF_PI : maxLat, -Math.PI, Math.PI);
+      else if (maxLon - minLon >= 2 * Math.PI)
+        bounds(minLat, maxLat, -Math.PI, Math.PI);
+      else
+        bounds(minLat, maxLat, Geodesic.normalize(minLon), Geodesic.normalize(maxLon));
+    }
+
+    /**
+     * Returns a copy of the {@link Location}s of the vertices of this polygon.
+     *
+     * @return A copy of the {@link Location}s of the vertices of this polygon.
+     */
+    public Location[] getVertices() {
+      return vertices.clone();
+    }
+
+    @Override
+    boolean test(final double lat, final double lon, final double px, final double py, final double pz) {
+      boolean inside = northPole;
+      final double[] lons = this.lons;
+      final double[] normals = this.normals;
+      double da = Geodesic.normalize(lons[0] - lon);
+      for (int i = 0, n = lons.length; i < n; ++i) { // [A]
+        final double db = Geodesic.normalize(lons[i + 1 == n ? 0 : i + 1] - lon);
+        // The edge crosses the meridian of the location if its end points lie on either side of it, within a half turn
+        if ((da > 0) != (db > 0) && Math.abs(da - db) < Math.PI) {
+          final double nx = normals[3 * i];
+          final double ny = normals[3 * i + 1];
+          final double nz = normals[3 * i + 2];
+          // The crossing is north of the location if the location is on the side of the great circle away from the north pole
+          if ((px * nx + py * ny + pz * nz) * nz < 0)
+            inside = !inside;
+        }
+
+        da = db;
+      }
+
+      return inside;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder builder = new StringBuilder("Polygon(");
+      for (int i = 0; i < vertices.length; ++i) { // [A]
+        if (i > 0)
+          builder.append(", ");
+
+        builder.append(vertices[i]);
+      }
+
+      return builder.append(')').toString();
+    }
+  }
+
+  double minLat;
+  double maxLat;
+  double minLon;
+  double maxLon;
+
+  Geofence() {
+  }
+
+  final void bounds(final double minLat, final double maxLat, final double minLon, final double maxLon) {
+    this.minLat = minLat;
+    this.maxLat = maxLat;
+    this.minLon = minLon;
+    this.maxLon = maxLon;
+  }
+
+  /**
+   * Returns whether the specified latitude and longitude in radians are within the bounding box of this geofence.
+   */
+  final boolean bounds(final double lat, final double lon) {
+    return lat >= minLat && lat <= maxLat && (minLon <= maxLon ? lon >= minLon && lon <= maxLon : lon >= minLon || lon <= maxLon);
+  }
+
+  /**
+   * Returns whether the specified location is within this geofence, given its latitude and longitude in radians, and its unit
+   * vector.
+   */
+  abstract boolean test(double lat, double lon, double px, double py, double pz);
+
+  /**
+   * Returns whether the specified latitude and longitude in radians are within this geofence.
+   */
+  final boolean contains(final double lat, final double lon) {
+    if (!bounds(lat, lon))
+      return false;
+
+    final double cosLat = StrictMath.cos(lat);
+    return test(lat, lon, cosLat * StrictMath.cos(lon), cosLat * StrictMath.sin(lon), StrictMath.sin(lat));
+  }
+
+  /**
+   * Returns whether the specified latitude and longitude are within this geofence.
+   *
+   * @param latitude The latitude.
+   * @param longitude The longitude.
+   * @param unit The {@link Angle.Unit} of {@code latitude} and {@code longitude}.
+   * @return Whether the specified latitude and longitude are within this geofence.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public boolean contains(final double latitude, final double longitude, final Angle.Unit unit) {
+    final double factor = unit.getFactor(Angle.Unit.RAD);
+    return contains(latitude * factor, Geodesic.normalize(longitude * factor));
+  }
+
+  /**
+   * Returns whether the specified {@link Location} is within this geofence.
+   *
+   * @param location The {@link Location}.
+   * @return Whether the specified {@link Location} is within this geofence.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public boolean contains(final Location location) {
+    return contains(location.latitude.value(Angle.Unit.RAD), Geodesic.normalize(location.longitude.value(Angle.Unit.RAD)));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A spatial index of {@link Geofence}s on a uniform grid of latitude and longitude, supporting the test of one or many locations
+ * against all indexed geofences.
+ * <p>
+ * Each geofence is registered in the cells of the grid that its bounding box overlaps, whereby a location is only tested against
+ * the geofences of its own cell. Geofences whose bounding box overlaps more than {@value #MAX_CELLS} cells are held in a separate
+ * list that is tested against every location. Each candidate is rejected by its bounding box before it is tested exactly.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class GeofenceIndex {
+  /** The number of cells above which a geofence is tested against every location instead of being registered in its cells. */
+  public static final int MAX_CELLS = 256;
+
+  /**
+   * A reusable list of the hits of a batch query, as pairs of the index of a location and the {@link Geofence} that contains it.
+   */
+  public static final class Hits {
+    private int[] points = new int[16];
+    private Geofence[] geofences = new Geofence[16];
+    private int size;
+
+    private void add(final int point, final Geofence geofence) {
+      if (size == points.length) {
+        final int length = size + (size >> 1) + 1;
+        points = Arrays.copyOf(points, length);
+        geofences = Arrays.copyOf(geofences, length);
+      }
+
+      points[size] = point;
+      geofences[size++] = geofence;
+    }
+
+    private void checkIndex(final int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Returns the number of hits.
+     *
+     * @return The number of hits.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the index of the location of the hit at the specified index.
+     *
+     * @param index The index of the hit.
+     * @return The index of the location of the hit at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public int point(final int index) {
+      checkIndex(index);
+      return points[index];
+    }
+
+    /**
+     * Returns the {@link Geofence} of the hit at the specified index.
+     *
+     * @param index The index of the hit.
+     * @return The {@link Geofence} of the hit at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public Geofence geofence(final int index) {
+      checkIndex(index);
+      return geofences[index];
+    }
+
+    /**
+     * Removes all hits.
+     */
+    public void clear() {
+      Arrays.fill(geofences, 0, size, null);
+      size = 0;
+    }
+  }
+
+  private static final Geofence[] EMPTY = {};
+
+  private final double cellSize;
+  private final int rows;
+  private final int cols;
+  private final Geofence[][] cells;
+  private final int[] counts;
+  private final ArrayList<Geofence> large = new ArrayList<>();
+  private int size;
+
+  /**
+   * Creates a new empty {@link GeofenceIndex} with cells of the specified size.
+   *
+   * @param cellSize The size of each cell in latitude and longitude.
+   * @param unit The {@link Angle.Unit} of {@code cellSize}.
+   * @throws IllegalArgumentException If {@code cellSize} is not positive, or is so small that the grid would exceed
+   *           {@link Integer#MAX_VALUE} cells.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public GeofenceIndex(final double cellSize, final Angle.Unit unit) {
+    this.cellSize = cellSize * unit.getFactor(Angle.Unit.RAD);
+    if (!(this.cellSize > 0))
+      throw new IllegalArgumentException("cellSize (" + cellSize + ") must be positive");
+
+    this.rows = (int)Math.ceil(Math.PI / this.cellSize);
+    this.cols = (int)Math.ceil(2 * Math.PI / this.cellSize);
+    if ((long)rows * cols > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("cellSize (" + cellSize + ") is too small");
+
+    this.cells = new Geofence[rows * cols][];
+    this.counts = new int[rows * cols];
+  }
+
+  /**
+   * Creates a new empty {@link GeofenceIndex} with cells of 1 degree.
+   */
+  public GeofenceIndex() {
+    this(1, Angle.Unit.DEG);
+  }
+
+  private int row(final double lat) {
+    return Math.max(0, Math.min(rows - 1, (int)((lat + Math.PI / 2) / cellSize)));
+  }
+
+  private int col(final double lon) {
+    return Math.max(0, Math.min(cols - 1, (int)((lon + Math.PI) / cellSize)));
+  }
+
+  /**
+   * Returns the number of geofences in this index.
+   *
+   * @return The number of geofences in this index.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds the specified {@link Geofence} to this index.
+   *
+   * @param geofence The {@link Geofence} to add.
+   * @throws NullPointerException If {@code geofence} is null.
+   */
+  public void add(final Geofence geofence) {
+    Objects.requireNonNull(geofence, "geofence is null");
+    final int row0 = row(geofence.minLat);
+    final int row1 = row(geofence.maxLat);
+    final int col0 = col(geofence.minLon);
+    final int col1 = col(geofence.maxLon);
+    final int width = geofence.minLon <= geofence.maxLon ? col1 - col0 + 1 : cols - col0 + col1 + 1;
+    ++size;
+    if ((long)(row1 - row0 + 1) * width > MAX_CELLS) {
+      large.add(geofence);
+      return;
+    }
+
+    for (int row = row0; row <= row1; ++row) {
+      for (int i = 0, col = col0; i < width; ++i, col = col + 1 == cols ? 0 : col + 1) {
+        final int cell = row * cols + col;
+        Geofence[] geofences = cells[cell];
+        if (geofences == null)
+          cells[cell] = geofences = new Geofence[4];
+        else if (counts[cell] == geofences.length)
+          cells[cell] = geofences = Arrays.copyOf(geofences, geofences.length * 2);
+
+        geofences[counts[cell]++] = geofence;
+      }
+    }
+  }
+
+  private void query(final double lat, final double lon, final double cosLat, final int point, final Hits hits, final ArrayList<Geofence> list) {
+    final int cell = row(lat) * cols + col(lon);
+    final Geofence[] geofences = cells[cell] != null ? cells[cell] : EMPTY;
+    final int count = counts[cell];
+    double px = Double.NaN;
+    double py = 0;
+    double pz = 0;
+    for (int k = -large.size(); k < count; ++k) {
+      final Geofence geofence = k < 0 ? large.get(-k - 1) : geofences[k];
+      if (!geofence.bounds(lat, lon))
+        continue;
+
+      if (px != px) {
+        px = cosLat * StrictMath.cos(lon);
+        py = cosLat * StrictMath.sin(lon);
+        pz = StrictMath.sin(lat);
+      }
+
+      if (geofence.test(lat, lon, px, py, pz)) {
+        if (hits != null)
+          hits.add(point, geofence);
+        else
+          list.add(geofence);
+      }
+    }
+  }
+
+  /**
+   * Returns the {@link Geofence}s of this index that contain the specified {@link Location}.
+   *
+   * @param location The {@link Location}.
+   * @return The {@link Geofence}s of this index that contain the specified {@link Location}.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public ArrayList<Geofence> contains(final Location location) {
+    final ArrayList<Geofence> list = new ArrayList<>();
+    final double lat = location.latitude.value(Angle.Unit.RAD);
+    query(lat, Geodesic.normalize(location.longitude.value(Angle.Unit.RAD)), StrictMath.cos(lat), 0, null, list);
+    return list;
+  }
+
+  /**
+   * Tests each location of the specified {@link LocationArray} against the geofences of this index, and appends a hit to the
+   * specified {@link Hits} for each geofence that contains a location, in order of the index of the location.
+   *
+   * @param locations The {@link LocationArray} of the locations to test.
+   * @param hits The {@link Hits} to which to append the hits.
+   * @return The specified {@link Hits}.
+   * @throws NullPointerException If {@code locations} or {@code hits} is null.
+   */
+  public Hits contains(final LocationArray locations, final Hits hits) {
+    Objects.requireNonNull(hits, "hits is null");
+    final double[] latitudes = locations.latitudes;
+    final double[] longitudes = locations.longitudes;
+    final double[] cosLatitudes = locations.cosLatitudes;
+    for (int i = 0, i$ = locations.size; i < i$; ++i) // [A]
+      query(latitudes[i], Geodesic.normalize(longitudes[i]), cosLatitudes[i], i, hits, null);
+
+    return hits;
+  }
+}
\ No newline at end of file
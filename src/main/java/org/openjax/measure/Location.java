@@ -16,6 +16,8 @@
 
 package org.openjax.measure;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -30,12 +32,121 @@ public class Location {
     this.longitude = longitude;
   }
 
+  /**
+   * Returns the great-circle {@link Distance} between this location and the specified location, computed with
+   * {@link Geodesic#HAVERSINE}.
+   *
+   * @param location The {@link Location} to which to compute the {@link Distance}.
+   * @return The great-circle {@link Distance} between this location and the specified location.
+   * @throws NullPointerException If {@code location} is null.
+   */
   public Distance distance(final Location location) {
-    final double dLat = location.latitude.value(Angle.Unit.RAD) - latitude.value(Angle.Unit.RAD);
-    final double dLon = location.longitude.value(Angle.Unit.RAD) - longitude.value(Angle.Unit.RAD);
-    final double a = StrictMath.pow(StrictMath.sin(dLat / 2), 2) + StrictMath.cos(latitude.value(Angle.Unit.RAD)) * StrictMath.cos(location.latitude.value(Angle.Unit.RAD)) * StrictMath.pow(StrictMath.sin(dLon / 2), 2);
-    final double d = 2 * Distance.R.value(Distance.Unit.KM) * StrictMath.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-    return new Distance(d, Distance.Unit.KM);
+    return distance(location, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Returns the {@link Distance} between this location and the specified location, computed with the specified {@link Geodesic}.
+   *
+   * @param location The {@link Location} to which to compute the {@link Distance}.
+   * @param geodesic The {@link Geodesic} with which to compute the {@link Distance}.
+   * @return The {@link Distance} between this location and the specified location.
+   * @throws NullPointerException If {@code location} or {@code geodesic} is null.
+   */
+  public Distance distance(final Location location, final Geodesic geodesic) {
+    return new Distance(geodesic.distance(latitude.value(Angle.Unit.RAD), longitude.value(Angle.Unit.RAD), location.latitude.value(Angle.Unit.RAD), location.longitude.value(Angle.Unit.RAD)), Distance.Unit.KM);
+  }
+
+  private static void print(final Object out, final Angle angle, final int precision) throws IOException {
+    if (angle == null)
+      Decimal.put(out, '?');
+    else if (precision < 0)
+      Decimal.put(out, angle.value(Angle.Unit.DEG));
+    else
+      Decimal.put(out, angle.value(Angle.Unit.DEG), precision);
+  }
+
+  private void print(final Object out, final int precision) throws IOException {
+    Decimal.put(out, '(');
+    print(out, latitude, precision);
+    Decimal.put(out, "N, ");
+    print(out, longitude, precision);
+    Decimal.put(out, "E)");
+  }
+
+  /**
+   * Appends this location to the specified {@link Appendable} in the layout of {@link #toString()}, with the latitude and longitude
+   * in degrees as the shortest decimals that round to their values, without allocating intermediate objects.
+   *
+   * @param <A> The type parameter of the {@link Appendable}.
+   * @param out The {@link Appendable} to which to append.
+   * @return The specified {@link Appendable}.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public <A extends Appendable> A format(final A out) throws IOException {
+    print(out, -1);
+    return out;
+  }
+
+  /**
+   * Appends this location to the specified {@link Appendable} in the layout of {@link #toString()}, with the latitude and longitude
+   * in degrees rounded to the specified number of fractional digits, without allocating intermediate objects.
+   *
+   * @param <A> The type parameter of the {@link Appendable}.
+   * @param out The {@link Appendable} to which to append.
+   * @param precision The number of fractional digits, between 0 and 17.
+   * @return The specified {@link Appendable}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public <A extends Appendable> A format(final A out, final int precision) throws IOException {
+    if (precision < 0)
+      throw new IllegalArgumentException("precision (" + precision + ") is negative");
+
+    print(out, precision);
+    return out;
+  }
+
+  /**
+   * Puts this location to the specified {@link ByteBuffer} as per {@link #format(Appendable)}, encoded in UTF-8.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @return The specified {@link ByteBuffer}.
+   * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public ByteBuffer format(final ByteBuffer out) {
+    try {
+      print(out, -1);
+      return out;
+    }
+    catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Puts this location to the specified {@link ByteBuffer} as per {@link #format(Appendable,int)}, encoded in UTF-8.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param precision The number of fractional digits, between 0 and 17.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} is null.
+   */
+  public ByteBuffer format(final ByteBuffer out, final int precision) {
+    if (precision < 0)
+      throw new IllegalArgumentException("precision (" + precision + ") is negative");
+
+    try {
+      print(out, precision);
+      return out;
+    }
+    catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   @Override
@@ -0,0 +1,324 @@
+/* Copyright (c) 2015 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A primitive-backed array of {@link Location}s, storing the latitude and longitude of each location in radians in parallel
+ * {@code double[]} arrays, together with the precomputed cosine of each latitude.
+ * <p>
+ * The distance kernels of this class compute the same distances as {@link Location#distance(Location,Geodesic)}, but without
+ * allocating a {@link Distance} per pair, and without converting each {@link Angle} to radians per pair.
+ */
+public class LocationArray {
+  /** The number of columns of a many-to-many distance matrix computed per tile. */
+  private static final int TILE = 512;
+  /** The number of cells of a many-to-many distance matrix above which the work is split onto the fork-join pool. */
+  private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+  private static final class MatrixTask extends RecursiveAction {
+    private static final long serialVersionUID = -3171627806215837385L;
+
+    private final LocationArray from;
+    private final LocationArray to;
+    private final Geodesic geodesic;
+    private final double factor;
+    private final double[] dst;
+    private final int fromIndex;
+    private final int toIndex;
+
+    private MatrixTask(final LocationArray from, final LocationArray to, final Geodesic geodesic, final double factor, final double[] dst, final int fromIndex, final int toIndex) {
+      this.from = from;
+      this.to = to;
+      this.geodesic = geodesic;
+      this.factor = factor;
+      this.dst = dst;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    protected void compute() {
+      final int rows = toIndex - fromIndex;
+      if (rows > 1 && (long)rows * to.size > PARALLEL_THRESHOLD) {
+        final int mid = (fromIndex + toIndex) >>> 1;
+        invokeAll(new MatrixTask(from, to, geodesic, factor, dst, fromIndex, mid), new MatrixTask(from, to, geodesic, factor, dst, mid, toIndex));
+      }
+      else {
+        from.distance(to, geodesic, factor, dst, fromIndex, toIndex);
+      }
+    }
+  }
+
+  double[] latitudes;
+  double[] longitudes;
+  double[] cosLatitudes;
+  int size;
+
+  /**
+   * Creates a new {@link LocationArray} with the specified initial capacity.
+   *
+   * @param initialCapacity The initial capacity.
+   * @throws IllegalArgumentException If {@code initialCapacity} is negative.
+   */
+  public LocationArray(final int initialCapacity) {
+    if (initialCapacity < 0)
+      throw new IllegalArgumentException("initialCapacity (" + initialCapacity + ") is negative");
+
+    this.latitudes = new double[initialCapacity];
+    this.longitudes = new double[initialCapacity];
+    this.cosLatitudes = new double[initialCapacity];
+  }
+
+  /**
+   * Creates a new {@link LocationArray} with an initial capacity of 16.
+   */
+  public LocationArray() {
+    this(16);
+  }
+
+  /**
+   * Creates a new {@link LocationArray} with the specified {@link Location}s.
+   *
+   * @param locations The {@link Location}s.
+   * @throws NullPointerException If {@code locations}, or any member of {@code locations} is null.
+   */
+  public LocationArray(final Location ... locations) {
+    this(locations.length);
+    for (final Location location : locations) // [A]
+      add(location);
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > latitudes.length) {
+      final int length = Math.max(capacity, latitudes.length + (latitudes.length >> 1) + 1);
+      latitudes = Arrays.copyOf(latitudes, length);
+      longitudes = Arrays.copyOf(longitudes, length);
+      cosLatitudes = Arrays.copyOf(cosLatitudes, length);
+    }
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  /**
+   * Appends the locations of the latitudes and longitudes remaining in the specified buffers, in radians, to this array. The position
+   * of the buffers is advanced by the number of locations appended.
+   *
+   * @param latitudes The latitudes in radians.
+   * @param longitudes The longitudes in radians.
+   * @throws IllegalArgumentException If the number of values remaining in {@code latitudes} and {@code longitudes} differs.
+   * @throws NullPointerException If {@code latitudes} or {@code longitudes} is null.
+   */
+  void addAll(final DoubleBuffer latitudes, final DoubleBuffer longitudes) {
+    final int len = latitudes.remaining();
+    if (longitudes.remaining() != len)
+      throw new IllegalArgumentException("latitudes.remaining() (" + len + ") != longitudes.remaining() (" + longitudes.remaining() + ")");
+
+    ensureCapacity(size + len);
+    latitudes.get(this.latitudes, size, len);
+    longitudes.get(this.longitudes, size, len);
+    for (int i = size, i$ = size + len; i < i$; ++i) // [A]
+      cosLatitudes[i] = StrictMath.cos(this.latitudes[i]);
+
+    size += len;
+  }
+
+  /**
+   * Appends the location of the specified latitude and longitude to this array.
+   *
+   * @param latitude The latitude.
+   * @param longitude The longitude.
+   * @param unit The {@link Angle.Unit} of {@code latitude} and {@code longitude}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public void add(final double latitude, final double longitude, final Angle.Unit unit) {
+    final double factor = unit.getFactor(Angle.Unit.RAD);
+    ensureCapacity(size + 1);
+    final double lat = latitude * factor;
+    latitudes[size] = lat;
+    longitudes[size] = longitude * factor;
+    cosLatitudes[size++] = StrictMath.cos(lat);
+  }
+
+  /**
+   * Appends the specified {@link Location} to this array.
+   *
+   * @param location The {@link Location}.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public void add(final Location location) {
+    add(location.latitude.value(Angle.Unit.RAD), location.longitude.value(Angle.Unit.RAD), Angle.Unit.RAD);
+  }
+
+  /**
+   * Returns the number of locations in this array.
+   *
+   * @return The number of locations in this array.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the latitude of the location at the specified index, in the specified {@link Angle.Unit}.
+   *
+   * @param index The index.
+   * @param unit The {@link Angle.Unit}.
+   * @return The latitude of the location at the specified index, in the specified {@link Angle.Unit}.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public double latitude(final int index, final Angle.Unit unit) {
+    checkIndex(index);
+    return latitudes[index] * Angle.Unit.RAD.getFactor(unit);
+  }
+
+  /**
+   * Returns the longitude of the location at the specified index, in the specified {@link Angle.Unit}.
+   *
+   * @param index The index.
+   * @param unit The {@link Angle.Unit}.
+   * @return The longitude of the location at the specified index, in the specified {@link Angle.Unit}.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public double longitude(final int index, final Angle.Unit unit) {
+    checkIndex(index);
+    return longitudes[index] * Angle.Unit.RAD.getFactor(unit);
+  }
+
+  /**
+   * Returns a new {@link Location} for the location at the specified index.
+   *
+   * @param index The index.
+   * @return A new {@link Location} for the location at the specified index.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public Location get(final int index) {
+    checkIndex(index);
+    return new Location(new Angle(latitudes[index], Angle.Unit.RAD), new Angle(longitudes[index], Angle.Unit.RAD));
+  }
+
+  /**
+   * Computes the distance from the specified {@link Location} to each location in this array with {@link Geodesic#HAVERSINE}, and
+   * writes the results in the specified {@link Distance.Unit} to {@code dst}, such that {@code dst[i]} is the distance to the
+   * location at index {@code i}.
+   *
+   * @param origin The {@link Location} from which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@link #size()}.
+   * @throws NullPointerException If {@code origin}, {@code unit}, or {@code dst} is null.
+   */
+  public void distance(final Location origin, final Distance.Unit unit, final double[] dst) {
+    distance(origin, unit, dst, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Computes the distance from the specified {@link Location} to each location in this array with the specified {@link Geodesic},
+   * and writes the results in the specified {@link Distance.Unit} to {@code dst}, such that {@code dst[i]} is the distance to the
+   * location at index {@code i}.
+   *
+   * @param origin The {@link Location} from which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @param geodesic The {@link Geodesic} with which to compute the distances.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@link #size()}.
+   * @throws NullPointerException If {@code origin}, {@code unit}, {@code dst}, or {@code geodesic} is null.
+   */
+  public void distance(final Location origin, final Distance.Unit unit, final double[] dst, final Geodesic geodesic) {
+    if (dst.length < size)
+      throw new IndexOutOfBoundsException("dst.length (" + dst.length + ") < size (" + size + ")");
+
+    final double factor = Distance.Unit.KM.getFactor(unit);
+    final double lat = origin.latitude.value(Angle.Unit.RAD);
+    final double lon = origin.longitude.value(Angle.Unit.RAD);
+    final double cosLat = StrictMath.cos(lat);
+    for (int i = 0; i < size; ++i) // [A]
+      dst[i] = geodesic.distance(lat, lon, cosLat, latitudes[i], longitudes[i], cosLatitudes[i]) * factor;
+  }
+
+  /**
+   * Computes the distance from each location in this array to each location in the specified {@link LocationArray} with
+   * {@link Geodesic#HAVERSINE}, and writes the results in the specified {@link Distance.Unit} to {@code dst} in row-major order,
+   * such that {@code dst[i * to.size() + j]} is the distance from the location at index {@code i} in this array to the location at
+   * index {@code j} in {@code to}.
+   * <p>
+   * The matrix is computed in tiles of columns, and matrices larger than a threshold are computed in parallel on the common
+   * {@link ForkJoinPool}.
+   *
+   * @param to The {@link LocationArray} to which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@code size() * to.size()}.
+   * @throws NullPointerException If {@code to}, {@code unit}, or {@code dst} is null.
+   */
+  public void distance(final LocationArray to, final Distance.Unit unit, final double[] dst) {
+    distance(to, unit, dst, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Computes the distance from each location in this array to each location in the specified {@link LocationArray} with the
+   * specified {@link Geodesic}, and writes the results in the specified {@link Distance.Unit} to {@code dst} in row-major order,
+   * such that {@code dst[i * to.size() + j]} is the distance from the location at index {@code i} in this array to the location at
+   * index {@code j} in {@code to}.
+   * <p>
+   * The matrix is computed in tiles of columns, and matrices larger than a threshold are computed in parallel on the common
+   * {@link ForkJoinPool}.
+   *
+   * @param to The {@link LocationArray} to which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @param geodesic The {@link Geodesic} with which to compute the distances.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@code size() * to.size()}.
+   * @throws NullPointerException If {@code to}, {@code unit}, {@code dst}, or {@code geodesic} is null.
+   */
+  public void distance(final LocationArray to, final Distance.Unit unit, final double[] dst, final Geodesic geodesic) {
+    final long cells = (long)size * to.size;
+    if (dst.length < cells)
+      throw new IndexOutOfBoundsException("dst.length (" + dst.length + ") < size() * to.size() (" + cells + ")");
+
+    final double factor = Distance.Unit.KM.getFactor(unit);
+    if (cells > PARALLEL_THRESHOLD)
+      ForkJoinPool.commonPool().invoke(new MatrixTask(this, to, geodesic, factor, dst, 0, size));
+    else
+      distance(to, geodesic, factor, dst, 0, size);
+  }
+
+  private void distance(final LocationArray to, final Geodesic geodesic, final double factor, final double[] dst, final int fromIndex, final int toIndex) {
+    final int cols = to.size;
+    final double[] toLatitudes = to.latitudes;
+    final double[] toLongitudes = to.longitudes;
+    final double[] toCosLatitudes = to.cosLatitudes;
+    for (int j0 = 0; j0 < cols; j0 += TILE) {
+      final int j1 = Math.min(j0 + TILE, cols);
+      for (int i = fromIndex; i < toIndex; ++i) {
+        final double lat = latitudes[i];
+        final double lon = longitudes[i];
+        final double cosLat = cosLatitudes[i];
+        final int row = i * cols;
+        for (int j = j0; j < j1; ++j) // [A]
+          dst[row + j] = geodesic.distance(lat, lon, cosLat, toLatitudes[j], toLongitudes[j], toCosLatitudes[j]) * factor;
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,533 @@
+/* Copyright (c) 2015 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * A spatial index of elements keyed on their {@link Location}, supporting radius and k-nearest queries.
+ * <p>
+ * Locations are indexed as points on the unit sphere in a bucketed k-d tree, whereby the straight-line (chord) distance between
+ * two points increases monotonically with their great-circle distance on the sphere of radius {@link Distance#R}. Queries
+ * therefore prune subtrees by the distance to their bounding boxes, and compare candidates by chord length without any
+ * trigonometry.
+ * <p>
+ * Incremental insertion keeps the tree balanced in the manner of a scapegoat tree: a subtree of which one child holds more than
+ * three quarters of the elements is rebuilt, whereby sorted or clustered insertions cost amortized {@code O(log n)}. Elements at
+ * the same location share a single leaf.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> The type parameter of the indexed elements.
+ */
+public class LocationIndex<T> {
+  private static final int BUCKET = 16;
+  /** The fraction of the elements of a subtree above which one of its children is rebuilt together with its sibling. */
+  private static final double ALPHA = 0.75;
+
+  private static final class Node {
+    private double minX = Double.POSITIVE_INFINITY;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double minZ = Double.POSITIVE_INFINITY;
+    private double maxX = Double.NEGATIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+    private double maxZ = Double.NEGATIVE_INFINITY;
+
+    private int axis;
+    private double split;
+    private Node left;
+    private Node right;
+
+    private double[] coords;
+    private Object[] elements;
+    /** The number of elements in the subtree of this node. */
+    private int size;
+
+    private void expand(final double x, final double y, final double z) {
+      if (x < minX)
+        minX = x;
+
+      if (x > maxX)
+        maxX = x;
+
+      if (y < minY)
+        minY = y;
+
+      if (y > maxY)
+        maxY = y;
+
+      if (z < minZ)
+        minZ = z;
+
+      if (z > maxZ)
+        maxZ = z;
+    }
+
+    private void expand(final Node node) {
+      expand(node.minX, node.minY, node.minZ);
+      expand(node.maxX, node.maxY, node.maxZ);
+    }
+
+    private boolean isPoint() {
+      return minX == maxX && minY == maxY && minZ == maxZ;
+    }
+
+    private boolean contains(final double x, final double y, final double z) {
+      return minX <= x && x <= maxX && minY <= y && y <= maxY && minZ <= z && z <= maxZ;
+    }
+
+    private double distance2(final double x, final double y, final double z) {
+      final double dx = x < minX ? minX - x : x > maxX ? x - maxX : 0;
+      final double dy = y < minY ? minY - y : y > maxY ? y - maxY : 0;
+      final double dz = z < minZ ? minZ - z : z > maxZ ? z - maxZ : 0;
+      return dx * dx + dy * dy + dz * dz;
+    }
+  }
+
+  private static final class Entry implements Comparable<Entry> {
+    private final Node node;
+    private final double distance2;
+
+    private Entry(final Node node, final double distance2) {
+      this.node = node;
+      this.distance2 = distance2;
+    }
+
+    @Override
+    public int compareTo(final Entry o) {
+      return Double.compare(distance2, o.distance2);
+    }
+  }
+
+  private static void swap(final double[] coords, final Object[] elements, final int i, final int j) {
+    final Object element = elements[i];
+    elements[i] = elements[j];
+    elements[j] = element;
+    for (int a = 0; a < 3; ++a) { // [A]
+      final double c = coords[3 * i + a];
+      coords[3 * i + a] = coords[3 * j + a];
+      coords[3 * j + a] = c;
+    }
+  }
+
+  /**
+   * Partially sorts the range {@code [lo, hi)} by the specified axis, such that the point at index {@code k} is where it would be
+   * if the range were sorted, all points before it are not greater, and all points after it are not less.
+   */
+  private static void select(final double[] coords, final Object[] elements, int lo, int hi, final int k, final int axis) {
+    while (hi - lo > 1) {
+      final double pivot = coords[3 * ((lo + hi) >>> 1) + axis];
+      int i = lo;
+      int j = hi - 1;
+      while (i <= j) {
+        while (coords[3 * i + axis] < pivot)
+          ++i;
+
+        while (coords[3 * j + axis] > pivot)
+          --j;
+
+        if (i <= j)
+          swap(coords, elements, i++, j--);
+      }
+
+      if (k <= j)
+        hi = j + 1;
+      else if (k >= i)
+        lo = i;
+      else
+        return;
+    }
+  }
+
+  private static Node build(final double[] coords, final Object[] elements, final int lo, final int hi) {
+    final Node node = new Node();
+    for (int i = lo; i < hi; ++i) // [A]
+      node.expand(coords[3 * i], coords[3 * i + 1], coords[3 * i + 2]);
+
+    final int size = hi - lo;
+    node.size = size;
+    // Elements at the same location cannot be split, and share a leaf of any size
+    if (size <= BUCKET || node.isPoint()) {
+      final int capacity = 2 * Math.max(BUCKET, size);
+      node.coords = new double[3 * capacity];
+      node.elements = new Object[capacity];
+      System.arraycopy(coords, 3 * lo, node.coords, 0, 3 * size);
+      System.arraycopy(elements, lo, node.elements, 0, size);
+      return node;
+    }
+
+    final double dx = node.maxX - node.minX;
+    final double dy = node.maxY - node.minY;
+    final double dz = node.maxZ - node.minZ;
+    node.axis = dx >= dy && dx >= dz ? 0 : dy >= dz ? 1 : 2;
+    final int mid = (lo + hi) >>> 1;
+    select(coords, elements, lo, hi, mid, node.axis);
+    node.split = coords[3 * mid + node.axis];
+    node.left = build(coords, elements, lo, mid);
+    node.right = build(coords, elements, mid, hi);
+    return node;
+  }
+
+  private static double chord2(final Distance distance) {
+    final double angle = distance.value(Distance.Unit.KM) / Geodesic.R;
+    if (angle >= Math.PI)
+      return Double.POSITIVE_INFINITY;
+
+    final double chord = 2 * StrictMath.sin(angle / 2);
+    return chord * chord;
+  }
+
+  private final Function<? super T,Location> locator;
+  private Node root;
+  private int size;
+
+  /**
+   * Creates a new empty {@link LocationIndex}.
+   *
+   * @param locator The {@link Function} that returns the {@link Location} of an element.
+   * @throws NullPointerException If {@code locator} is null.
+   */
+  public LocationIndex(final Function<? super T,Location> locator) {
+    this.locator = Objects.requireNonNull(locator, "locator is null");
+    this.root = build(new double[0], new Object[0], 0, 0);
+  }
+
+  /**
+   * Creates a new {@link LocationIndex} built in bulk from the specified elements.
+   *
+   * @param elements The elements.
+   * @param locator The {@link Function} that returns the {@link Location} of an element.
+   * @throws NullPointerException If {@code elements} or {@code locator} is null, or if {@code locator} returns null.
+   */
+  public LocationIndex(final Collection<? extends T> elements, final Function<? super T,Location> locator) {
+    this.locator = Objects.requireNonNull(locator, "locator is null");
+    this.size = elements.size();
+    final double[] coords = new double[3 * size];
+    final Object[] array = new Object[size];
+    int i = 0;
+    for (final T element : elements) { // [C]
+      array[i] = element;
+      toCoords(locator.apply(element), coords, 3 * i++);
+    }
+
+    this.root = build(coords, array, 0, size);
+  }
+
+  private static void toCoords(final Location location, final double[] coords, final int off) {
+    final double lat = location.latitude.value(Angle.Unit.RAD);
+    final double lon = location.longitude.value(Angle.Unit.RAD);
+    final double cosLat = StrictMath.cos(lat);
+    coords[off] = cosLat * StrictMath.cos(lon);
+    coords[off + 1] = cosLat * StrictMath.sin(lon);
+    coords[off + 2] = StrictMath.sin(lat);
+  }
+
+  /**
+   * Returns the number of elements in this index.
+   *
+   * @return The number of elements in this index.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds the specified element to this index.
+   *
+   * @param element The element to add.
+   * @throws NullPointerException If the {@code locator} of this index returns null for {@code element}.
+   */
+  public void add(final T element) {
+    final double[] coords = new double[3];
+    toCoords(locator.apply(element), coords, 0);
+    final double x = coords[0];
+    final double y = coords[1];
+    final double z = coords[2];
+
+    // The highest node on the path of which a child holds more than ALPHA of the elements, whose subtree is rebuilt
+    Node scapegoat = null;
+    Node scapegoatParent = null;
+    Node parent = null;
+    Node node = root;
+    for (Node child; node.left != null; parent = node, node = child) {
+      node.expand(x, y, z);
+      ++node.size;
+      child = (node.axis == 0 ? x : node.axis == 1 ? y : z) < node.split ? node.left : node.right;
+      if (scapegoat == null && child.size + 1 > ALPHA * node.size) {
+        scapegoat = node;
+        scapegoatParent = parent;
+      }
+    }
+
+    node.expand(x, y, z);
+    int i = node.size;
+    if (i == node.elements.length) {
+      // A full leaf grows if all of its elements are at the same location, and is otherwise split
+      node.coords = Arrays.copyOf(node.coords, 2 * node.coords.length);
+      node.elements = Arrays.copyOf(node.elements, 2 * node.elements.length);
+      if (!node.isPoint()) {
+        set(node.coords, node.elements, i++, x, y, z, element);
+        replace(parent, node, build(node.coords, node.elements, 0, i));
+        if (scapegoat != null)
+          replace(scapegoatParent, scapegoat, rebuild(scapegoat));
+
+        ++size;
+        return;
+      }
+    }
+
+    set(node.coords, node.elements, i, x, y, z, element);
+    ++node.size;
+    if (scapegoat != null)
+      replace(scapegoatParent, scapegoat, rebuild(scapegoat));
+
+    ++size;
+  }
+
+  private static void set(final double[] coords, final Object[] elements, final int i, final double x, final double y, final double z, final Object element) {
+    coords[3 * i] = x;
+    coords[3 * i + 1] = y;
+    coords[3 * i + 2] = z;
+    elements[i] = element;
+  }
+
+  /**
+   * Replaces the specified child of the specified parent, or the root if {@code parent} is null, with the specified node.
+   */
+  private void replace(final Node parent, final Node child, final Node node) {
+    if (parent == null)
+      root = node;
+    else if (parent.left == child)
+      parent.left = node;
+    else
+      parent.right = node;
+  }
+
+  /**
+   * Returns a balanced subtree of the elements of the specified subtree, which is traversed without recursion.
+   */
+  private static Node rebuild(final Node subtree) {
+    final double[] coords = new double[3 * subtree.size];
+    final Object[] elements = new Object[subtree.size];
+    int size = 0;
+    final ArrayList<Node> stack = new ArrayList<>();
+    stack.add(subtree);
+    while (stack.size() > 0) {
+      final Node node = stack.remove(stack.size() - 1);
+      if (node.left != null) {
+        stack.add(node.left);
+        stack.add(node.right);
+      }
+      else {
+        System.arraycopy(node.coords, 0, coords, 3 * size, 3 * node.size);
+        System.arraycopy(node.elements, 0, elements, size, node.size);
+        size += node.size;
+      }
+    }
+
+    return build(coords, elements, 0, size);
+  }
+
+  /**
+   * Removes the specified element from this index.
+   *
+   * @param element The element to remove.
+   * @return {@code true} if this index contained the specified element.
+   * @throws NullPointerException If the {@code locator} of this index returns null for {@code element}.
+   */
+  public boolean remove(final T element) {
+    final double[] coords = new double[3];
+    toCoords(locator.apply(element), coords, 0);
+    if (!remove(root, coords[0], coords[1], coords[2], element))
+      return false;
+
+    --size;
+    return true;
+  }
+
+  private static boolean remove(final Node node, final double x, final double y, final double z, final Object element) {
+    if (!node.contains(x, y, z))
+      return false;
+
+    if (node.left != null) {
+      if (!remove(node.left, x, y, z, element) && !remove(node.right, x, y, z, element))
+        return false;
+
+      --node.size;
+      return true;
+    }
+
+    final double[] coords = node.coords;
+    final Object[] elements = node.elements;
+    for (int i = 0; i < node.size; ++i) { // [A]
+      if (coords[3 * i] == x && coords[3 * i + 1] == y && coords[3 * i + 2] == z && Objects.equals(elements[i], element)) {
+        swap(coords, elements, i, --node.size);
+        elements[node.size] = null;
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the elements within the specified {@link Distance} of the specified {@link Location}, in no particular order.
+   *
+   * @param location The {@link Location} at the center of the query.
+   * @param distance The great-circle {@link Distance} on the sphere of radius {@link Distance#R}.
+   * @return The elements within the specified {@link Distance} of the specified {@link Location}.
+   * @throws NullPointerException If {@code location} or {@code distance} is null.
+   */
+  public ArrayList<T> within(final Location location, final Distance distance) {
+    final double[] coords = new double[3];
+    toCoords(location, coords, 0);
+    final ArrayList<T> result = new ArrayList<>();
+    within(root, coords[0], coords[1], coords[2], chord2(distance), result);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void within(final Node node, final double x, final double y, final double z, final double chord2, final ArrayList<T> result) {
+    if (node.distance2(x, y, z) > chord2)
+      return;
+
+    if (node.left != null) {
+      within(node.left, x, y, z, chord2, result);
+      within(node.right, x, y, z, chord2, result);
+      return;
+    }
+
+    final double[] coords = node.coords;
+    for (int i = 0; i < node.size; ++i) { // [A]
+      final double dx = coords[3 * i] - x;
+      final double dy = coords[3 * i + 1] - y;
+      final double dz = coords[3 * i + 2] - z;
+      if (dx * dx + dy * dy + dz * dz <= chord2)
+        result.add((T)node.elements[i]);
+    }
+  }
+
+  /**
+   * Returns the {@code k} elements nearest to the specified {@link Location}, in order of increasing distance.
+   *
+   * @param location The {@link Location} at the center of the query.
+   * @param k The maximum number of elements to return.
+   * @return The {@code k} elements nearest to the specified {@link Location}, or all elements if this index contains fewer than
+   *         {@code k} elements.
+   * @throws IllegalArgumentException If {@code k} is negative.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  @SuppressWarnings("unchecked")
+  public ArrayList<T> nearest(final Location location, final int k) {
+    if (k < 0)
+      throw new IllegalArgumentException("k (" + k + ") is negative");
+
+    final double[] coords = new double[3];
+    toCoords(location, coords, 0);
+    final double x = coords[0];
+    final double y = coords[1];
+    final double z = coords[2];
+
+    // Max-heap of the best n candidates found so far, keyed by squared chord length, sized by the elements rather than by k
+    final int n = Math.min(k, size);
+    final double[] heapDistances = new double[n];
+    final Object[] heapElements = new Object[n];
+    int heapSize = 0;
+
+    final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    queue.add(new Entry(root, root.distance2(x, y, z)));
+    Entry entry;
+    while (n > 0 && (entry = queue.poll()) != null) {
+      if (heapSize == n && entry.distance2 >= heapDistances[0])
+        break;
+
+      final Node node = entry.node;
+      if (node.left != null) {
+        queue.add(new Entry(node.left, node.left.distance2(x, y, z)));
+        queue.add(new Entry(node.right, node.right.distance2(x, y, z)));
+        continue;
+      }
+
+      final double[] nodeCoords = node.coords;
+      for (int i = 0; i < node.size; ++i) { // [A]
+        final double dx = nodeCoords[3 * i] - x;
+        final double dy = nodeCoords[3 * i + 1] - y;
+        final double dz = nodeCoords[3 * i + 2] - z;
+        final double d2 = dx * dx + dy * dy + dz * dz;
+        if (heapSize < n) {
+          siftUp(heapDistances, heapElements, heapSize++, d2, node.elements[i]);
+        }
+        else if (d2 < heapDistances[0]) {
+          siftDown(heapDistances, heapElements, heapSize, d2, node.elements[i]);
+        }
+      }
+    }
+
+    final Object[] result = new Object[heapSize];
+    while (heapSize > 0) {
+      result[heapSize - 1] = heapElements[0];
+      final int last = --heapSize;
+      siftDown(heapDistances, heapElements, heapSize, heapDistances[last], heapElements[last]);
+    }
+
+    final ArrayList<T> list = new ArrayList<>(result.length);
+    for (final Object element : result) // [A]
+      list.add((T)element);
+
+    return list;
+  }
+
+  private static void siftUp(final double[] distances, final Object[] elements, int i, final double distance, final Object element) {
+    while (i > 0) {
+      final int parent = (i - 1) >>> 1;
+      if (distances[parent] >= distance)
+        break;
+
+      distances[i] = distances[parent];
+      elements[i] = elements[parent];
+      i = parent;
+    }
+
+    distances[i] = distance;
+    elements[i] = element;
+  }
+
+  private static void siftDown(final double[] distances, final Object[] elements, final int size, final double distance, final Object element) {
+    if (size == 0)
+      return;
+
+    int i = 0;
+    for (int child; (child = 2 * i + 1) < size; i = child) {
+      if (child + 1 < size && distances[child + 1] > distances[child])
+        ++child;
+
+      if (distances[child] <= distance)
+        break;
+
+      distances[i] = distances[child];
+      elements[i] = elements[child];
+    }
+
+    distances[i] = distance;
+    elements[i] = element;
+  }
+}
\ No newline at end of file
@@ -29,9 +29,64 @@ public final class Mass extends Dimension.Scalar<Dimension.Unit> {
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
   public Mass(final double value, final Unit unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Mass replicate(final double value) {
+    return new Mass(value, (Unit)unit);
+  }
+
+  @Override
+  public Mass add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Mass)super.add(addend);
+  }
+
+  @Override
+  public Mass subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Mass)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Mass scale(final double factor) {
+    return (Mass)super.scale(factor);
+  }
+
+  /**
+   * Returns the {@link Density} of this mass in the specified {@link Volume}, in the {@link Dimension.Unit#ratio ratio} of the unit
+   * of this mass to the unit of {@code volume}. No conversion factor is looked up, whereby conversion is deferred to
+   * {@link Density#value(Dimension.Unit)}.
+   *
+   * @param volume The {@link Volume}.
+   * @return The {@link Density} of this mass in the specified {@link Volume}.
+   * @throws NullPointerException If {@code volume} is null.
+   */
+  public Density divide(final Volume volume) {
+    return new Density(value / volume.value, Dimension.Unit.ratio((Unit)unit, (Volume.Unit)volume.unit));
+  }
+
+  /**
+   * Returns the {@link Volume} of this mass at the specified {@link Density}, in the volume unit of {@code density}. This mass is
+   * converted once to the mass unit of {@code density}.
+   *
+   * @param density The {@link Density}.
+   * @return The {@link Volume} of this mass at the specified {@link Density}.
+   * @throws NullPointerException If {@code density} is null.
+   */
+  public Volume divide(final Density density) {
+    return new Volume(value(density.unit.numerator) / density.value, density.unit.denominator);
+  }
 }
\ No newline at end of file
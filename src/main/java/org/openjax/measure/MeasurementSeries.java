@@ -0,0 +1,566 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.openjax.measure.Dimension.Scalar;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * A series of measurements in one {@link Unit}, backed by a growable {@code double[]}, and optionally a parallel {@code long[]} of
+ * timestamps. Running {@link Statistics} of the series are maintained as measurements are added.
+ * <p>
+ * <b>Note:</b> This class is not thread-safe. Series that are populated by separate threads can be combined via
+ * {@link Statistics#merge(Statistics)}.
+ *
+ * @param <U> The type parameter for the {@link Unit}.
+ */
+public class MeasurementSeries<U extends Unit> {
+  /**
+   * Running statistics of a sequence of values in one {@link Unit}, updated in O(1) per value, and mergeable with the statistics of
+   * another sequence in O(1).
+   *
+   * @param <U> The type parameter for the {@link Unit}.
+   */
+  public static class Statistics<U extends Unit> {
+    private final U unit;
+    private long count;
+    private double mean;
+    /** The sum of the squared differences from the mean. */
+    private double m2;
+    /** The Neumaier-compensated sum of the values, and its compensation. */
+    private double sum;
+    private double compensation;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Creates new empty {@link Statistics} in the specified {@link Unit}.
+     *
+     * @param unit The {@link Unit}.
+     * @throws NullPointerException If {@code unit} is null.
+     */
+    public Statistics(final U unit) {
+      this.unit = Objects.requireNonNull(unit, "unit is null");
+    }
+
+    private Statistics(final U unit, final long count, final double mean, final double m2, final double sum, final double compensation, final double min, final double max) {
+      this.unit = unit;
+      this.count = count;
+      this.mean = mean;
+      this.m2 = m2;
+      this.sum = sum;
+      this.compensation = compensation;
+      this.min = min;
+      this.max = max;
+    }
+
+    /**
+     * Adds the specified value, in the {@link Unit} of these statistics.
+     *
+     * @param value The value.
+     * @return These statistics.
+     */
+    public Statistics<U> add(final double value) {
+      final double delta = value - mean;
+      mean += delta / ++count;
+      m2 += delta * (value - mean);
+      final double t = sum + value;
+      compensation += ScalarCollectors.error(sum, value, t);
+      sum = t;
+      if (count == 1) {
+        min = value;
+        max = value;
+      }
+      else {
+        // NaN propagates to the extremes, as per Math.min(double,double) and Math.max(double,double), and as in ScalarCollectors
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+
+      return this;
+    }
+
+    /**
+     * Merges the specified statistics into these statistics, converting them to the {@link Unit} of these statistics. The result is
+     * equal, within rounding, to the statistics of the concatenation of both sequences of values.
+     *
+     * @param statistics The statistics to merge.
+     * @return These statistics.
+     * @throws IllegalArgumentException If the unit of {@code statistics} is not convertible to the unit of these statistics.
+     * @throws NullPointerException If {@code statistics} is null.
+     */
+    public Statistics<U> merge(final Statistics<? extends U> statistics) {
+      if (statistics.count == 0)
+        return this;
+
+      final double factor = factor(statistics.unit, unit);
+      final double mean = statistics.mean * factor;
+      final double m2 = statistics.m2 * factor * factor;
+      final double sum = statistics.sum * factor;
+      if (count == 0) {
+        this.count = statistics.count;
+        this.mean = mean;
+        this.m2 = m2;
+        this.sum = sum;
+        this.compensation = statistics.compensation * factor;
+        this.min = statistics.min * factor;
+        this.max = statistics.max * factor;
+        return this;
+      }
+
+      final long count = this.count + statistics.count;
+      final double delta = mean - this.mean;
+      this.mean += delta * statistics.count / count;
+      this.m2 += m2 + delta * delta * ((double)this.count * statistics.count / count);
+      final double t = this.sum + sum;
+      this.compensation += ScalarCollectors.error(this.sum, sum, t) + statistics.compensation * factor;
+      this.sum = t;
+      this.count = count;
+      this.min = Math.min(min, statistics.min * factor);
+      this.max = Math.max(max, statistics.max * factor);
+      return this;
+    }
+
+    /**
+     * Returns new {@link Statistics} equal to these statistics, converted to the specified {@link Unit}.
+     *
+     * @param <V> The type parameter for the {@link Unit}.
+     * @param unit The {@link Unit}.
+     * @return New {@link Statistics} equal to these statistics, converted to the specified {@link Unit}.
+     * @throws IllegalArgumentException If {@code unit} is not convertible to the unit of these statistics.
+     * @throws NullPointerException If {@code unit} is null.
+     */
+    public <V extends U> Statistics<V> convert(final V unit) {
+      final double factor = factor(this.unit, unit);
+      return new Statistics<>(unit, count, mean * factor, m2 * factor * factor, sum * factor, compensation * factor, min * factor, max * factor);
+    }
+
+    /**
+     * Returns the {@link Unit} of these statistics.
+     *
+     * @return The {@link Unit} of these statistics.
+     */
+    public U getUnit() {
+      return unit;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the sum of the values, compensated for rounding by the Neumaier variant of Kahan summation, or 0 if there are no
+     * values.
+     *
+     * @return The sum of the values, or 0 if there are no values.
+     */
+    public double getSum() {
+      return ScalarCollectors.sum(sum, compensation);
+    }
+
+    /**
+     * Returns the mean of the values, or {@link Double#NaN} if there are no values.
+     *
+     * @return The mean of the values, or {@link Double#NaN} if there are no values.
+     */
+    public double getMean() {
+      return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the population variance of the values, in the square of the {@link Unit} of these statistics, or {@link Double#NaN} if
+     * there are no values.
+     *
+     * @return The population variance of the values, or {@link Double#NaN} if there are no values.
+     */
+    public double getVariance() {
+      return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * Returns the sample variance of the values, in the square of the {@link Unit} of these statistics, or {@link Double#NaN} if
+     * there are fewer than 2 values.
+     *
+     * @return The sample variance of the values, or {@link Double#NaN} if there are fewer than 2 values.
+     */
+    public double getSampleVariance() {
+      return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * Returns the population standard deviation of the values, or {@link Double#NaN} if there are no values.
+     *
+     * @return The population standard deviation of the values, or {@link Double#NaN} if there are no values.
+     */
+    public double getStandardDeviation() {
+      return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Returns the minimum of the values, or {@link Double#NaN} if there are no values or any value is {@link Double#NaN}.
+     *
+     * @return The minimum of the values, or {@link Double#NaN} if there are no values or any value is {@link Double#NaN}.
+     */
+    public double getMin() {
+      return min;
+    }
+
+    /**
+     * Returns the maximum of the values, or {@link Double#NaN} if there are no values or any value is {@link Double#NaN}.
+     *
+     * @return The maximum of the values, or {@link Double#NaN} if there are no values or any value is {@link Double#NaN}.
+     */
+    public double getMax() {
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return "{count=" + count + ", mean=" + getMean() + ", stdev=" + getStandardDeviation() + ", min=" + min + ", max=" + max + "} " + unit;
+    }
+  }
+
+  private static double factor(final Unit from, final Unit to) {
+    if (from == to)
+      return 1;
+
+    if (from.family != to.family)
+      throw new IllegalArgumentException("Unit " + from + " is not convertible to " + to);
+
+    return from.getFactor(to);
+  }
+
+  private final U unit;
+  private double[] values;
+  private long[] timestamps;
+  private int size;
+  private final Statistics<U> statistics;
+
+  /**
+   * Creates a new {@link MeasurementSeries} in the specified {@link Unit}, with the specified initial capacity.
+   *
+   * @param unit The {@link Unit}.
+   * @param timestamped Whether each measurement is to be added with a timestamp.
+   * @param initialCapacity The initial capacity.
+   * @throws IllegalArgumentException If {@code initialCapacity} is negative.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public MeasurementSeries(final U unit, final boolean timestamped, final int initialCapacity) {
+    if (initialCapacity < 0)
+      throw new IllegalArgumentException("initialCapacity (" + initialCapacity + ") is negative");
+
+    this.unit = Objects.requireNonNull(unit, "unit is null");
+    this.values = new double[initialCapacity];
+    this.timestamps = timestamped ? new long[initialCapacity] : null;
+    this.statistics = new Statistics<>(unit);
+  }
+
+  /**
+   * Creates a new {@link MeasurementSeries} in the specified {@link Unit}.
+   *
+   * @param unit The {@link Unit}.
+   * @param timestamped Whether each measurement is to be added with a timestamp.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public MeasurementSeries(final U unit, final boolean timestamped) {
+    this(unit, timestamped, 16);
+  }
+
+  /**
+   * Creates a new {@link MeasurementSeries} in the specified {@link Unit}, without timestamps.
+   *
+   * @param unit The {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public MeasurementSeries(final U unit) {
+    this(unit, false);
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > values.length) {
+      final int length = Math.max(capacity, values.length + (values.length >> 1) + 1);
+      values = Arrays.copyOf(values, length);
+      if (timestamps != null)
+        timestamps = Arrays.copyOf(timestamps, length);
+    }
+  }
+
+  /**
+   * Adds the specified value, in the {@link Unit} of this series.
+   *
+   * @param value The value.
+   * @throws IllegalStateException If this series is timestamped.
+   */
+  public void add(final double value) {
+    if (timestamps != null)
+      throw new IllegalStateException("MeasurementSeries is timestamped");
+
+    ensureCapacity(size + 1);
+    values[size++] = value;
+    statistics.add(value);
+  }
+
+  /**
+   * Adds the specified value, in the {@link Unit} of this series, with the specified timestamp.
+   *
+   * @param timestamp The timestamp, which must not precede the timestamp of the last measurement.
+   * @param value The value.
+   * @throws IllegalArgumentException If {@code timestamp} precedes the timestamp of the last measurement.
+   * @throws IllegalStateException If this series is not timestamped.
+   */
+  public void add(final long timestamp, final double value) {
+    if (timestamps == null)
+      throw new IllegalStateException("MeasurementSeries is not timestamped");
+
+    if (size > 0 && timestamp < timestamps[size - 1])
+      throw new IllegalArgumentException("timestamp (" + timestamp + ") precedes the last timestamp (" + timestamps[size - 1] + ")");
+
+    ensureCapacity(size + 1);
+    timestamps[size] = timestamp;
+    values[size++] = value;
+    statistics.add(value);
+  }
+
+  /**
+   * Adds the value of the specified {@link Scalar}, converted to the {@link Unit} of this series.
+   *
+   * @param scalar The {@link Scalar}.
+   * @throws IllegalArgumentException If the unit of {@code scalar} is not convertible to the unit of this series.
+   * @throws IllegalStateException If this series is timestamped.
+   * @throws NullPointerException If {@code scalar} is null.
+   */
+  public void add(final Scalar<?> scalar) {
+    add(scalar.value * factor(scalar.unit, unit));
+  }
+
+  /**
+   * Adds the value of the specified {@link Scalar}, converted to the {@link Unit} of this series, with the specified timestamp.
+   *
+   * @param timestamp The timestamp, which must not precede the timestamp of the last measurement.
+   * @param scalar The {@link Scalar}.
+   * @throws IllegalArgumentException If {@code timestamp} precedes the timestamp of the last measurement, or the unit of
+   *           {@code scalar} is not convertible to the unit of this series.
+   * @throws IllegalStateException If this series is not timestamped.
+   * @throws NullPointerException If {@code scalar} is null.
+   */
+  public void add(final long timestamp, final Scalar<?> scalar) {
+    add(timestamp, scalar.value * factor(scalar.unit, unit));
+  }
+
+  /**
+   * Returns the {@link Unit} of this series.
+   *
+   * @return The {@link Unit} of this series.
+   */
+  public U getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns whether each measurement of this series has a timestamp.
+   *
+   * @return Whether each measurement of this series has a timestamp.
+   */
+  public boolean isTimestamped() {
+    return timestamps != null;
+  }
+
+  /**
+   * Returns the number of measurements in this series.
+   *
+   * @return The number of measurements in this series.
+   */
+  public int size() {
+    return size;
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  /**
+   * Returns the value at the specified index, in the {@link Unit} of this series.
+   *
+   * @param index The index.
+   * @return The value at the specified index, in the {@link Unit} of this series.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public double get(final int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * Returns the timestamp at the specified index.
+   *
+   * @param index The index.
+   * @return The timestamp at the specified index.
+   * @throws IllegalStateException If this series is not timestamped.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public long getTimestamp(final int index) {
+    if (timestamps == null)
+      throw new IllegalStateException("MeasurementSeries is not timestamped");
+
+    checkIndex(index);
+    return timestamps[index];
+  }
+
+  /**
+   * Copies the values of this series, in the {@link Unit} of this series, to the specified array.
+   *
+   * @param dst The array into which to copy.
+   * @param off The offset in {@code dst} at which to copy.
+   * @return The specified array.
+   * @throws IndexOutOfBoundsException If {@code dst} has fewer than {@link #size()} elements from {@code off}.
+   * @throws NullPointerException If {@code dst} is null.
+   */
+  public double[] toArray(final double[] dst, final int off) {
+    System.arraycopy(values, 0, dst, off, size);
+    return dst;
+  }
+
+  /**
+   * Returns a copy of the running {@link Statistics} of this series. The copy is not updated as measurements are added, and may be
+   * merged with the statistics of another series without modifying this series.
+   *
+   * @return A copy of the running {@link Statistics} of this series.
+   */
+  public Statistics<U> getStatistics() {
+    final Statistics<U> statistics = this.statistics;
+    return new Statistics<>(unit, statistics.count, statistics.mean, statistics.m2, statistics.sum, statistics.compensation, statistics.min, statistics.max);
+  }
+
+  /**
+   * Returns new {@link Statistics} of the measurements in the specified range of indices, computed in one pass.
+   *
+   * @param fromIndex The index of the first measurement, inclusive.
+   * @param toIndex The index of the last measurement, exclusive.
+   * @return New {@link Statistics} of the measurements in the specified range of indices.
+   * @throws IndexOutOfBoundsException If {@code fromIndex < 0}, {@code toIndex > size()}, or {@code fromIndex > toIndex}.
+   */
+  public Statistics<U> getStatistics(final int fromIndex, final int toIndex) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+      throw new IndexOutOfBoundsException("fromIndex=" + fromIndex + ", toIndex=" + toIndex + ", size=" + size);
+
+    final Statistics<U> statistics = new Statistics<>(unit);
+    for (int i = fromIndex; i < toIndex; ++i) // [A]
+      statistics.add(values[i]);
+
+    return statistics;
+  }
+
+  /**
+   * Returns a new {@link MeasurementSeries} of the values of this series converted to the specified {@link Unit} in one pass, with
+   * the same timestamps.
+   *
+   * @param <V> The type parameter for the {@link Unit}.
+   * @param unit The {@link Unit}.
+   * @return A new {@link MeasurementSeries} of the values of this series converted to the specified {@link Unit}.
+   * @throws IllegalArgumentException If {@code unit} is not convertible to the unit of this series.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public <V extends U> MeasurementSeries<V> convert(final V unit) {
+    final double factor = factor(this.unit, unit);
+    final MeasurementSeries<V> series = new MeasurementSeries<>(unit, timestamps != null, size);
+    final double[] values = series.values;
+    for (int i = 0; i < size; ++i) // [A]
+      values[i] = this.values[i] * factor;
+
+    if (timestamps != null)
+      System.arraycopy(timestamps, 0, series.timestamps, 0, size);
+
+    series.size = size;
+    final Statistics<V> statistics = this.statistics.convert(unit);
+    series.statistics.merge(statistics);
+    return series;
+  }
+
+  /**
+   * Returns a new {@link MeasurementSeries} of the means of the measurements of this series in consecutive buckets of the specified
+   * width of time. Each bucket is timestamped with its start, which is a multiple of {@code width}, or {@link Long#MIN_VALUE} if its
+   * start precedes {@link Long#MIN_VALUE}. Empty buckets are omitted.
+   *
+   * @param width The width of each bucket, in the units of the timestamps.
+   * @return A new {@link MeasurementSeries} of the means of the measurements of this series in buckets of the specified width.
+   * @throws IllegalArgumentException If {@code width} is not positive.
+   * @throws IllegalStateException If this series is not timestamped.
+   */
+  public MeasurementSeries<U> downsample(final long width) {
+    if (width <= 0)
+      throw new IllegalArgumentException("width (" + width + ") must be positive");
+
+    if (timestamps == null)
+      throw new IllegalStateException("MeasurementSeries is not timestamped");
+
+    final MeasurementSeries<U> series = new MeasurementSeries<>(unit, true);
+    for (int i = 0; i < size;) {
+      // The start of the bucket, and the offsets from it, are computed modulo 2^64 and compared unsigned, whereby neither the start
+      // nor the end of a bucket at either end of the range of long overflows
+      final long timestamp = timestamps[i];
+      final long start = timestamp - Math.floorMod(timestamp, width);
+      double sum = 0;
+      int j = i;
+      for (; j < size && Long.compareUnsigned(timestamps[j] - start, width) < 0; ++j) // [A]
+        sum += values[j];
+
+      series.add(start <= timestamp ? start : Long.MIN_VALUE, sum / (j - i));
+      i = j;
+    }
+
+    return series;
+  }
+
+  /**
+   * Removes all measurements from this series, and resets its {@link Statistics}.
+   */
+  public void clear() {
+    size = 0;
+    statistics.count = 0;
+    statistics.mean = 0;
+    statistics.m2 = 0;
+    statistics.sum = 0;
+    statistics.compensation = 0;
+    statistics.min = Double.NaN;
+    statistics.max = Double.NaN;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; ++i) { // [A]
+      if (i > 0)
+        builder.append(", ");
+
+      if (timestamps != null)
+        builder.append(timestamps[i]).append('=');
+
+      builder.append(values[i]);
+    }
+
+    return builder.append("] ").append(unit).toString();
+  }
+}
\ No newline at end of file
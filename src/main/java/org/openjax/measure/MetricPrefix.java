@@ -16,16 +16,29 @@
 
 package org.openjax.measure;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.openjax.measure.Dimension.Unit;
+
 /**
  * Class representing the majority of common prefixes used in the metric system.
+ * <p>
+ * A prefix is applied to a {@link Unit} with {@link Unit#prefix(MetricPrefix)}. For display, {@link #forValue(double)} selects the
+ * engineering prefix of a value, and {@link #format(Appendable,double,Unit,int)} formats a value with it, whereby the decimal
+ * exponent of a value is estimated from its binary exponent and corrected against a table of powers of ten, without a call to
+ * {@link Math#log10(double)} or {@link Math#pow(double,double)} per value.
  */
 public final class MetricPrefix {
   private static final MetricPrefix[] prefixes = new MetricPrefix[49];
 
+  /** The powers of ten from {@code 10^-24} to {@code 10^26}, as literals that the compiler rounds to the nearest {@code double}. */
+  private static final double[] powers = {1e-24, 1e-23, 1e-22, 1e-21, 1e-20, 1e-19, 1e-18, 1e-17, 1e-16, 1e-15, 1e-14, 1e-13, 1e-12, 1e-11, 1e-10, 1e-9, 1e-8, 1e-7, 1e-6, 1e-5, 1e-4, 1e-3, 1e-2, 1e-1, 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22, 1e23, 1e24, 1e25, 1e26};
+
   /** The {@link MetricPrefix} constant for "yocto": {@code 10^-24} */
   public static final MetricPrefix YOCTO = new MetricPrefix(-24, "yocto", "y");
 
-  /** The {@link MetricPrefix} constant for "zepro": {@code 10^-21} */
+  /** The {@link MetricPrefix} constant for "zepto": {@code 10^-21} */
   public static final MetricPrefix ZEPRO = new MetricPrefix(-21, "zepto", "z");
 
   /** The {@link MetricPrefix} constant for "atto": {@code 10^-18} */
@@ -52,34 +65,34 @@ public final class MetricPrefix {
   /** The {@link MetricPrefix} constant for "deci": {@code 10^-1} */
   public static final MetricPrefix DECI = new MetricPrefix(-1, "deci", "d");
 
-  /** The {@link MetricPrefix} constant for "deca": {@code 10^-1} */
+  /** The {@link MetricPrefix} constant for "deca": {@code 10^1} */
   public static final MetricPrefix DECA = new MetricPrefix(1, "deca", "da");
 
-  /** The {@link MetricPrefix} constant for "hecto": {@code 10^-2} */
+  /** The {@link MetricPrefix} constant for "hecto": {@code 10^2} */
   public static final MetricPrefix HECTO = new MetricPrefix(2, "hecto", "h");
 
-  /** The {@link MetricPrefix} constant for "kilo": {@code 10^-3} */
+  /** The {@link MetricPrefix} constant for "kilo": {@code 10^3} */
   public static final MetricPrefix KILO = new MetricPrefix(3, "kilo", "k");
 
-  /** The {@link MetricPrefix} constant for "mega": {@code 10^-6} */
-  public static final MetricPrefix MEGA = new MetricPrefix(6, "mega", "m");
+  /** The {@link MetricPrefix} constant for "mega": {@code 10^6} */
+  public static final MetricPrefix MEGA = new MetricPrefix(6, "mega", "M");
 
-  /** The {@link MetricPrefix} constant for "giga": {@code 10^-9} */
+  /** The {@link MetricPrefix} constant for "giga": {@code 10^9} */
   public static final MetricPrefix GIGA = new MetricPrefix(9, "giga", "G");
 
-  /** The {@link MetricPrefix} constant for "tera": {@code 10^-12} */
+  /** The {@link MetricPrefix} constant for "tera": {@code 10^12} */
   public static final MetricPrefix TERA = new MetricPrefix(12, "tera", "T");
 
-  /** The {@link MetricPrefix} constant for "peta": {@code 10^-15} */
+  /** The {@link MetricPrefix} constant for "peta": {@code 10^15} */
   public static final MetricPrefix PETA = new MetricPrefix(15, "peta", "P");
 
-  /** The {@link MetricPrefix} constant for "exa": {@code 10^-18} */
+  /** The {@link MetricPrefix} constant for "exa": {@code 10^18} */
   public static final MetricPrefix EXA = new MetricPrefix(18, "exa", "E");
 
-  /** The {@link MetricPrefix} constant for "zetta": {@code 10^-21} */
+  /** The {@link MetricPrefix} constant for "zetta": {@code 10^21} */
   public static final MetricPrefix ZETTA = new MetricPrefix(21, "zetta", "Z");
 
-  /** The {@link MetricPrefix} constant for "yotta": {@code 10^-24} */
+  /** The {@link MetricPrefix} constant for "yotta": {@code 10^24} */
   public static final MetricPrefix YOTTA = new MetricPrefix(24, "yotta", "Y");
 
   /**
@@ -94,6 +107,149 @@ public final class MetricPrefix {
     return prefixes[0].power <= power && power <= prefixes[prefixes.length - 1].power ? prefixes[power - prefixes[0].power] : null;
   }
 
+  /**
+   * Returns {@code 10^power} for a power between -24 and 26, from a table of powers of ten.
+   */
+  static double pow10(final int power) {
+    return powers[power + 24];
+  }
+
+  /**
+   * Returns the power of the engineering prefix of the specified value, which is the multiple of 3 between -24 and 24 for which the
+   * magnitude of the value divided by {@code 10^power} is in {@code [1, 1000)}, or as close to that range as the bounds permit. The
+   * power is 0 for zero and non-finite values.
+   */
+  private static int power(final double value) {
+    final double abs = Math.abs(value);
+    if (abs == 0 || abs == Double.POSITIVE_INFINITY || abs != abs)
+      return 0;
+
+    // floor(log10(2^e)), exact for the exponents of finite doubles, and at most 1 less than floor(log10(abs))
+    final int estimate = Math.getExponent(abs) * 78913 >> 18;
+    if (estimate < -24)
+      return -24;
+
+    if (estimate > 25)
+      return 24;
+
+    final int exponent = abs >= powers[estimate + 25] ? estimate + 1 : estimate;
+    return Math.max(-24, Math.min(24, Math.floorDiv(exponent, 3) * 3));
+  }
+
+  /**
+   * Returns the engineering {@link MetricPrefix} of the specified value, which is the prefix of a power that is a multiple of 3, for
+   * which the magnitude of the value divided by the prefix is in {@code [1, 1000)}, or {@code null} if that power is 0. Values
+   * beyond the range of the prefixes select {@link #YOCTO} or {@link #YOTTA}, and zero and non-finite values select {@code null}.
+   *
+   * @param value The value.
+   * @return The engineering {@link MetricPrefix} of the specified value, or {@code null} if the value requires no prefix.
+   */
+  public static MetricPrefix forValue(final double value) {
+    final int power = power(value);
+    return power == 0 ? null : of(power);
+  }
+
+  private static void print(final Object out, final double value, final Unit unit, final int precision) throws IOException {
+    // The prefix is chosen for the value in the unprefixed unit, whereby 1500 kg is printed as 1.5 Mg rather than as 1.5 kkg
+    final Unit unprefixed = unit.unprefixed();
+    if (unprefixed != unit) {
+      print(out, value * unit.getFactor(unprefixed), unprefixed, precision);
+      return;
+    }
+
+    int power = power(value);
+    double scaled = power == 0 ? value : value / powers[power + 24];
+    // A value that rounds up to 1000 at the specified precision is printed with the next prefix
+    if (precision >= 0 && power < 24 && Math.abs(scaled) + 0.5 * powers[24 - precision] >= 1000) {
+      power += 3;
+      scaled = value / powers[power + 24];
+    }
+
+    if (precision < 0)
+      Decimal.put(out, scaled);
+    else
+      Decimal.put(out, scaled, precision);
+
+    Decimal.put(out, ' ');
+    if (power != 0)
+      Decimal.put(out, of(power).symbol);
+
+    Decimal.put(out, unit.name);
+  }
+
+  private static void checkPrecision(final int precision) {
+    if (precision < 0 || precision > Decimal.MAX_PRECISION)
+      throw new IllegalArgumentException("precision (" + precision + ") is out of range");
+  }
+
+  /**
+   * Appends the specified value to the specified {@link Appendable} scaled by its engineering {@link MetricPrefix}, as the shortest
+   * decimal that rounds to the scaled value, followed by the symbol of the prefix and the name of the specified unit, without
+   * allocating intermediate objects. For example, {@code 12345} of {@code "m"} is formatted as {@code "12.345 km"}.
+   *
+   * @param <A> The type parameter of the {@link Appendable}.
+   * @param out The {@link Appendable} to which to append.
+   * @param value The value, in the specified unit.
+   * @param unit The {@link Unit} of the value, which is converted to its unprefixed {@link Unit} (such as {@code "g"} for
+   *          {@code "kg"}) before the prefix is chosen.
+   * @return The specified {@link Appendable}.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code out} or {@code unit} is null.
+   * @see #forValue(double)
+   */
+  public static <A extends Appendable> A format(final A out, final double value, final Unit unit) throws IOException {
+    print(out, value, unit, -1);
+    return out;
+  }
+
+  /**
+   * Appends the specified value to the specified {@link Appendable} scaled by its engineering {@link MetricPrefix}, rounded to the
+   * specified number of fractional digits, followed by the symbol of the prefix and the name of the specified unit, without
+   * allocating intermediate objects. A scaled value that rounds to {@code 1000} is formatted with the next prefix.
+   *
+   * @param <A> The type parameter of the {@link Appendable}.
+   * @param out The {@link Appendable} to which to append.
+   * @param value The value, in the specified unit.
+   * @param unit The {@link Unit} of the value, which is converted to its unprefixed {@link Unit} (such as {@code "g"} for
+   *          {@code "kg"}) before the prefix is chosen.
+   * @param precision The number of fractional digits, between 0 and 17.
+   * @return The specified {@link Appendable}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code out} or {@code unit} is null.
+   * @see #forValue(double)
+   */
+  public static <A extends Appendable> A format(final A out, final double value, final Unit unit, final int precision) throws IOException {
+    checkPrecision(precision);
+    print(out, value, unit, precision);
+    return out;
+  }
+
+  /**
+   * Puts the specified value to the specified {@link ByteBuffer} as per {@link #format(Appendable,double,Unit,int)}, encoded in
+   * UTF-8.
+   *
+   * @param out The {@link ByteBuffer} to which to put.
+   * @param value The value, in the specified unit.
+   * @param unit The {@link Unit} of the value, which is converted to its unprefixed {@link Unit} (such as {@code "g"} for
+   *          {@code "kg"}) before the prefix is chosen.
+   * @param precision The number of fractional digits, between 0 and 17.
+   * @return The specified {@link ByteBuffer}.
+   * @throws IllegalArgumentException If {@code precision} is out of range.
+   * @throws java.nio.BufferOverflowException If there is insufficient space in {@code out}.
+   * @throws NullPointerException If {@code out} or {@code unit} is null.
+   */
+  public static ByteBuffer format(final ByteBuffer out, final double value, final Unit unit, final int precision) {
+    checkPrecision(precision);
+    try {
+      print(out, value, unit, precision);
+      return out;
+    }
+    catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private final int power;
   private final String prefix;
   private final String symbol;
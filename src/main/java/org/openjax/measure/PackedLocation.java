@@ -0,0 +1,195 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+/**
+ * Fixed-point encoding of {@link Location}s in a single {@code long}, for very large sets of locations held in memory.
+ * <p>
+ * The latitude and longitude are held as {@code int}s in units of {@value #RESOLUTION} degrees (about 1.1 centimetres at the
+ * equator), with the latitude in the high 32 bits and the longitude in the low 32 bits. Longitudes are normalized to
+ * {@code [-180, 180]} degrees before they are encoded.
+ *
+ * @see PackedLocationArray
+ * @see PackedLocationMap
+ */
+public final class PackedLocation {
+  /** The resolution of the encoding in degrees. */
+  public static final double RESOLUTION = 1e-7;
+
+  /** A value that is not the encoding of any {@link Location}. */
+  public static final long NULL = Long.MAX_VALUE;
+
+  private static final double DEGREES_TO_FIXED = 1 / RESOLUTION;
+  private static final double FIXED_TO_RADIANS = RESOLUTION * Math.PI / 180;
+
+  /**
+   * Returns the encoding of the specified latitude and longitude.
+   *
+   * @param latitude The latitude.
+   * @param longitude The longitude.
+   * @param unit The {@link Angle.Unit} of {@code latitude} and {@code longitude}.
+   * @return The encoding of the specified latitude and longitude.
+   * @throws IllegalArgumentException If {@code latitude} is not within {@code [-90, 90]} degrees, or {@code longitude} is not
+   *           finite.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static long pack(final double latitude, final double longitude, final Angle.Unit unit) {
+    final double factor = unit.getFactor(Angle.Unit.DEG);
+    final double lat = latitude * factor;
+    if (!(lat >= -90 && lat <= 90))
+      throw new IllegalArgumentException("latitude (" + latitude + " " + unit + ") is out of range");
+
+    double lon = longitude * factor;
+    if (!(lon >= -180 && lon <= 180)) {
+      if (Double.isNaN(lon) || Double.isInfinite(lon))
+        throw new IllegalArgumentException("longitude (" + longitude + " " + unit + ") is not finite");
+
+      lon -= 360 * Math.floor((lon + 180) / 360);
+    }
+
+    return Math.round(lat * DEGREES_TO_FIXED) << 32 | Math.round(lon * DEGREES_TO_FIXED) & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Returns the encoding of the specified {@link Location}.
+   *
+   * @param location The {@link Location}.
+   * @return The encoding of the specified {@link Location}.
+   * @throws IllegalArgumentException If the latitude of {@code location} is not within {@code [-90, 90]} degrees, or its longitude
+   *           is not finite.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public static long pack(final Location location) {
+    return pack(location.latitude.value(Angle.Unit.DEG), location.longitude.value(Angle.Unit.DEG), Angle.Unit.DEG);
+  }
+
+  /**
+   * Encodes the specified range of {@link Location}s to {@code dst}, such that {@code dst[off + i]} is the encoding of
+   * {@code src[off + i]}.
+   *
+   * @param src The array of {@link Location}s.
+   * @param off The offset in {@code src} and {@code dst} of the first location.
+   * @param len The number of locations.
+   * @param dst The array to which the encodings are to be written.
+   * @throws IllegalArgumentException If a location is out of range.
+   * @throws IndexOutOfBoundsException If {@code off} and {@code len} are out of range of {@code src} or {@code dst}.
+   * @throws NullPointerException If {@code src}, a location in the range, or {@code dst} is null.
+   */
+  public static void pack(final Location[] src, final int off, final int len, final long[] dst) {
+    checkRange(src.length, off, len);
+    checkRange(dst.length, off, len);
+    for (int i = off, i$ = off + len; i < i$; ++i) // [A]
+      dst[i] = pack(src[i]);
+  }
+
+  /**
+   * Decodes the specified range of encodings to {@code dst}, such that {@code dst[off + i]} is a new {@link Location} of
+   * {@code src[off + i]}.
+   *
+   * @param src The array of encodings.
+   * @param off The offset in {@code src} and {@code dst} of the first encoding.
+   * @param len The number of encodings.
+   * @param dst The array to which the {@link Location}s are to be written.
+   * @throws IndexOutOfBoundsException If {@code off} and {@code len} are out of range of {@code src} or {@code dst}.
+   * @throws NullPointerException If {@code src} or {@code dst} is null.
+   */
+  public static void unpack(final long[] src, final int off, final int len, final Location[] dst) {
+    checkRange(src.length, off, len);
+    checkRange(dst.length, off, len);
+    for (int i = off, i$ = off + len; i < i$; ++i) // [A]
+      dst[i] = unpack(src[i]);
+  }
+
+  static void checkRange(final int length, final int off, final int len) {
+    if (off < 0 || len < 0 || off > length - len)
+      throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+  }
+
+  /**
+   * Returns a new {@link Location} of the specified encoding, with {@link Angle}s in degrees.
+   *
+   * @param packed The encoding.
+   * @return A new {@link Location} of the specified encoding.
+   */
+  public static Location unpack(final long packed) {
+    return new Location(new Angle((int)(packed >> 32) * RESOLUTION, Angle.Unit.DEG), new Angle((int)packed * RESOLUTION, Angle.Unit.DEG));
+  }
+
+  /**
+   * Returns the latitude of the specified encoding in the specified {@link Angle.Unit}.
+   *
+   * @param packed The encoding.
+   * @param unit The {@link Angle.Unit}.
+   * @return The latitude of the specified encoding in the specified {@link Angle.Unit}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static double latitude(final long packed, final Angle.Unit unit) {
+    return (int)(packed >> 32) * RESOLUTION * Angle.Unit.DEG.getFactor(unit);
+  }
+
+  /**
+   * Returns the longitude of the specified encoding in the specified {@link Angle.Unit}.
+   *
+   * @param packed The encoding.
+   * @param unit The {@link Angle.Unit}.
+   * @return The longitude of the specified encoding in the specified {@link Angle.Unit}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static double longitude(final long packed, final Angle.Unit unit) {
+    return (int)packed * RESOLUTION * Angle.Unit.DEG.getFactor(unit);
+  }
+
+  static double latitude(final long packed) {
+    return (int)(packed >> 32) * FIXED_TO_RADIANS;
+  }
+
+  static double longitude(final long packed) {
+    return (int)packed * FIXED_TO_RADIANS;
+  }
+
+  /**
+   * Returns the great-circle distance between the specified encodings in the specified {@link Distance.Unit}, computed with
+   * {@link Geodesic#HAVERSINE}.
+   *
+   * @param a The first encoding.
+   * @param b The second encoding.
+   * @param unit The {@link Distance.Unit}.
+   * @return The great-circle distance between the specified encodings in the specified {@link Distance.Unit}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static double distance(final long a, final long b, final Distance.Unit unit) {
+    return distance(a, b, unit, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Returns the distance between the specified encodings in the specified {@link Distance.Unit}, computed with the specified
+   * {@link Geodesic}.
+   *
+   * @param a The first encoding.
+   * @param b The second encoding.
+   * @param unit The {@link Distance.Unit}.
+   * @param geodesic The {@link Geodesic} with which to compute the distance.
+   * @return The distance between the specified encodings in the specified {@link Distance.Unit}.
+   * @throws NullPointerException If {@code unit} or {@code geodesic} is null.
+   */
+  public static double distance(final long a, final long b, final Distance.Unit unit, final Geodesic geodesic) {
+    return geodesic.distance(latitude(a), longitude(a), latitude(b), longitude(b)) * Distance.Unit.KM.getFactor(unit);
+  }
+
+  private PackedLocation() {
+  }
+}
\ No newline at end of file
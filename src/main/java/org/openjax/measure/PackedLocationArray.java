@@ -0,0 +1,231 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of {@link Location}s, each held in the fixed-point encoding of {@link PackedLocation} in a {@code long[]}, at 8
+ * bytes per location.
+ */
+public class PackedLocationArray {
+  private long[] values;
+  private int size;
+
+  /**
+   * Creates a new {@link PackedLocationArray} with the specified initial capacity.
+   *
+   * @param initialCapacity The initial capacity.
+   * @throws IllegalArgumentException If {@code initialCapacity} is negative.
+   */
+  public PackedLocationArray(final int initialCapacity) {
+    if (initialCapacity < 0)
+      throw new IllegalArgumentException("initialCapacity (" + initialCapacity + ") is negative");
+
+    this.values = new long[initialCapacity];
+  }
+
+  /**
+   * Creates a new {@link PackedLocationArray} with an initial capacity of 16.
+   */
+  public PackedLocationArray() {
+    this(16);
+  }
+
+  /**
+   * Creates a new {@link PackedLocationArray} of the specified {@link Location}s.
+   *
+   * @param locations The {@link Location}s.
+   * @throws IllegalArgumentException If a location is out of range.
+   * @throws NullPointerException If {@code locations}, or any member of {@code locations} is null.
+   */
+  public PackedLocationArray(final Location ... locations) {
+    this(locations.length);
+    PackedLocation.pack(locations, 0, locations.length, values);
+    size = locations.length;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > values.length)
+      values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  /**
+   * Appends the specified encoding of {@link PackedLocation} to this array.
+   *
+   * @param packed The encoding.
+   */
+  public void addPacked(final long packed) {
+    ensureCapacity(size + 1);
+    values[size++] = packed;
+  }
+
+  /**
+   * Appends the location of the specified latitude and longitude to this array.
+   *
+   * @param latitude The latitude.
+   * @param longitude The longitude.
+   * @param unit The {@link Angle.Unit} of {@code latitude} and {@code longitude}.
+   * @throws IllegalArgumentException If the location is out of range.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public void add(final double latitude, final double longitude, final Angle.Unit unit) {
+    addPacked(PackedLocation.pack(latitude, longitude, unit));
+  }
+
+  /**
+   * Appends the specified {@link Location} to this array.
+   *
+   * @param location The {@link Location}.
+   * @throws IllegalArgumentException If the location is out of range.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public void add(final Location location) {
+    addPacked(PackedLocation.pack(location));
+  }
+
+  /**
+   * Appends the locations of the specified {@link LocationArray} to this array.
+   *
+   * @param locations The {@link LocationArray}.
+   * @throws IllegalArgumentException If a location is out of range.
+   * @throws NullPointerException If {@code locations} is null.
+   */
+  public void addAll(final LocationArray locations) {
+    ensureCapacity(size + locations.size);
+    for (int i = 0, i$ = locations.size; i < i$; ++i) // [A]
+      values[size++] = PackedLocation.pack(locations.latitudes[i], locations.longitudes[i], Angle.Unit.RAD);
+  }
+
+  /**
+   * Returns the number of locations in this array.
+   *
+   * @return The number of locations in this array.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the encoding of {@link PackedLocation} of the location at the specified index.
+   *
+   * @param index The index.
+   * @return The encoding of the location at the specified index.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public long getPacked(final int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+   * Returns a new {@link Location} for the location at the specified index.
+   *
+   * @param index The index.
+   * @return A new {@link Location} for the location at the specified index.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public Location get(final int index) {
+    return PackedLocation.unpack(getPacked(index));
+  }
+
+  /**
+   * Replaces the location at the specified index with the specified {@link Location}.
+   *
+   * @param index The index.
+   * @param location The {@link Location}.
+   * @throws IllegalArgumentException If the location is out of range.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public void set(final int index, final Location location) {
+    checkIndex(index);
+    values[index] = PackedLocation.pack(location);
+  }
+
+  /**
+   * Returns a new {@link LocationArray} of the locations of this array.
+   *
+   * @return A new {@link LocationArray} of the locations of this array.
+   */
+  public LocationArray toLocationArray() {
+    final LocationArray array = new LocationArray(size);
+    for (int i = 0; i < size; ++i) { // [A]
+      final long value = values[i];
+      final double lat = PackedLocation.latitude(value);
+      array.latitudes[i] = lat;
+      array.longitudes[i] = PackedLocation.longitude(value);
+      array.cosLatitudes[i] = StrictMath.cos(lat);
+    }
+
+    array.size = size;
+    return array;
+  }
+
+  /**
+   * Computes the great-circle distance from the specified {@link Location} to each location in this array with
+   * {@link Geodesic#HAVERSINE}, and writes the results in the specified {@link Distance.Unit} to {@code dst}, such that
+   * {@code dst[i]} is the distance to the location at index {@code i}.
+   *
+   * @param origin The {@link Location} from which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@link #size()}.
+   * @throws NullPointerException If {@code origin}, {@code unit}, or {@code dst} is null.
+   */
+  public void distance(final Location origin, final Distance.Unit unit, final double[] dst) {
+    distance(origin, unit, dst, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Computes the distance from the specified {@link Location} to each location in this array with the specified {@link Geodesic},
+   * and writes the results in the specified {@link Distance.Unit} to {@code dst}, such that {@code dst[i]} is the distance to the
+   * location at index {@code i}.
+   *
+   * @param origin The {@link Location} from which to compute the distances.
+   * @param unit The {@link Distance.Unit} of the distances to be written to {@code dst}.
+   * @param dst The array to which the distances are to be written.
+   * @param geodesic The {@link Geodesic} with which to compute the distances.
+   * @throws IndexOutOfBoundsException If the length of {@code dst} is less than {@link #size()}.
+   * @throws NullPointerException If {@code origin}, {@code unit}, {@code dst}, or {@code geodesic} is null.
+   */
+  public void distance(final Location origin, final Distance.Unit unit, final double[] dst, final Geodesic geodesic) {
+    if (dst.length < size)
+      throw new IndexOutOfBoundsException("dst.length (" + dst.length + ") < size (" + size + ")");
+
+    final double factor = Distance.Unit.KM.getFactor(unit);
+    final double lat = origin.latitude.value(Angle.Unit.RAD);
+    final double lon = origin.longitude.value(Angle.Unit.RAD);
+    final double cosLat = StrictMath.cos(lat);
+    for (int i = 0; i < size; ++i) { // [A]
+      final double lat2 = PackedLocation.latitude(values[i]);
+      dst[i] = geodesic.distance(lat, lon, cosLat, lat2, PackedLocation.longitude(values[i]), StrictMath.cos(lat2)) * factor;
+    }
+  }
+
+  /**
+   * Removes all locations from this array.
+   */
+  public void clear() {
+    size = 0;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,229 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Arrays;
+
+/**
+ * A map of {@code long} keys to {@link Location}s, each held in the fixed-point encoding of {@link PackedLocation}, backed by
+ * parallel {@code long[]} arrays of keys and values with open addressing and linear probing.
+ * <p>
+ * Empty slots are marked by the value {@link PackedLocation#NULL}, whereby all {@code long} keys are permitted.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class PackedLocationMap {
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int size;
+
+  /**
+   * Creates a new empty {@link PackedLocationMap} with capacity for the specified number of entries before it is resized.
+   *
+   * @param expectedSize The expected number of entries.
+   * @throws IllegalArgumentException If {@code expectedSize} is negative.
+   */
+  public PackedLocationMap(final int expectedSize) {
+    if (expectedSize < 0)
+      throw new IllegalArgumentException("expectedSize (" + expectedSize + ") is negative");
+
+    allocate(Math.max(16, Integer.highestOneBit((int)Math.min(1 << 30, (long)(expectedSize / LOAD_FACTOR) + 1) - 1) << 1));
+  }
+
+  /**
+   * Creates a new empty {@link PackedLocationMap}.
+   */
+  public PackedLocationMap() {
+    this(12);
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    Arrays.fill(values, PackedLocation.NULL);
+    mask = capacity - 1;
+  }
+
+  private static int hash(final long key) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int)(h ^ h >>> 32);
+  }
+
+  private int slot(final long key) {
+    int i = hash(key) & mask;
+    while (values[i] != PackedLocation.NULL && keys[i] != key)
+      i = i + 1 & mask;
+
+    return i;
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   *
+   * @return The number of entries in this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Associates the specified encoding of {@link PackedLocation} with the specified key.
+   *
+   * @param key The key.
+   * @param packed The encoding.
+   * @return The encoding previously associated with {@code key}, or {@link PackedLocation#NULL} if there was none.
+   * @throws IllegalArgumentException If {@code packed} is {@link PackedLocation#NULL}.
+   */
+  public long putPacked(final long key, final long packed) {
+    if (packed == PackedLocation.NULL)
+      throw new IllegalArgumentException("packed is NULL");
+
+    int i = slot(key);
+    final long previous = values[i];
+    if (previous == PackedLocation.NULL) {
+      if (size + 1 > (mask + 1) * LOAD_FACTOR) {
+        resize();
+        i = slot(key);
+      }
+
+      keys[i] = key;
+      ++size;
+    }
+
+    values[i] = packed;
+    return previous;
+  }
+
+  /**
+   * Associates the specified {@link Location} with the specified key.
+   *
+   * @param key The key.
+   * @param location The {@link Location}.
+   * @return Whether the key was previously associated with a location.
+   * @throws IllegalArgumentException If the location is out of range.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public boolean put(final long key, final Location location) {
+    return putPacked(key, PackedLocation.pack(location)) != PackedLocation.NULL;
+  }
+
+  private void resize() {
+    final long[] keys = this.keys;
+    final long[] values = this.values;
+    allocate(keys.length << 1);
+    for (int i = 0; i < keys.length; ++i) { // [A]
+      if (values[i] != PackedLocation.NULL) {
+        final int j = slot(keys[i]);
+        this.keys[j] = keys[i];
+        this.values[j] = values[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the encoding of {@link PackedLocation} associated with the specified key.
+   *
+   * @param key The key.
+   * @return The encoding associated with the specified key, or {@link PackedLocation#NULL} if there is none.
+   */
+  public long getPacked(final long key) {
+    return values[slot(key)];
+  }
+
+  /**
+   * Returns a new {@link Location} of the location associated with the specified key.
+   *
+   * @param key The key.
+   * @return A new {@link Location} of the location associated with the specified key, or {@code null} if there is none.
+   */
+  public Location get(final long key) {
+    final long packed = getPacked(key);
+    return packed == PackedLocation.NULL ? null : PackedLocation.unpack(packed);
+  }
+
+  /**
+   * Returns whether this map contains an entry for the specified key.
+   *
+   * @param key The key.
+   * @return Whether this map contains an entry for the specified key.
+   */
+  public boolean containsKey(final long key) {
+    return getPacked(key) != PackedLocation.NULL;
+  }
+
+  /**
+   * Removes the entry for the specified key.
+   *
+   * @param key The key.
+   * @return The encoding of {@link PackedLocation} previously associated with {@code key}, or {@link PackedLocation#NULL} if there
+   *         was none.
+   */
+  public long remove(final long key) {
+    int i = slot(key);
+    final long previous = values[i];
+    if (previous == PackedLocation.NULL)
+      return previous;
+
+    // Shift back the entries of the probe sequence that follows the removed slot, such that no lookup crosses an empty slot
+    for (int j = i + 1 & mask; values[j] != PackedLocation.NULL; j = j + 1 & mask) {
+      final int home = hash(keys[j]) & mask;
+      if ((j - home & mask) >= (j - i & mask)) {
+        keys[i] = keys[j];
+        values[i] = values[j];
+        i = j;
+      }
+    }
+
+    values[i] = PackedLocation.NULL;
+    --size;
+    return previous;
+  }
+
+  /**
+   * Returns the great-circle distance between the locations associated with the specified keys, in the specified
+   * {@link Distance.Unit}, computed with {@link Geodesic#HAVERSINE}.
+   *
+   * @param a The first key.
+   * @param b The second key.
+   * @param unit The {@link Distance.Unit}.
+   * @return The great-circle distance between the locations associated with the specified keys.
+   * @throws IllegalArgumentException If either key is not in this map.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public double distance(final long a, final long b, final Distance.Unit unit) {
+    final long from = getPacked(a);
+    if (from == PackedLocation.NULL)
+      throw new IllegalArgumentException("No entry for key: " + a);
+
+    final long to = getPacked(b);
+    if (to == PackedLocation.NULL)
+      throw new IllegalArgumentException("No entry for key: " + b);
+
+    return PackedLocation.distance(from, to, unit);
+  }
+
+  /**
+   * Removes all entries from this map.
+   */
+  public void clear() {
+    Arrays.fill(values, PackedLocation.NULL);
+    size = 0;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.openjax.measure.Dimension.Scalar;
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * A thread-safe accumulator of the compensated sum and count of values in a target {@link Unit}, for concurrent producers.
+ * <p>
+ * Like {@link java.util.concurrent.atomic.DoubleAdder}, the state is striped across cells on separate cache lines, and each thread
+ * updates the cell selected by its identity, moving to another cell upon contention. Unlike
+ * {@link java.util.concurrent.atomic.DoubleAdder}, the sum is compensated by the Neumaier variant of Kahan summation: the rounding
+ * error of each update of the sum of a cell is computed exactly from the value it replaced, and is accumulated into the
+ * compensation of the cell, whereby concurrent updates lose no compensation.
+ * <p>
+ * The factor by which to convert the values of a source unit to the target unit is resolved once per change of source unit.
+ * <p>
+ * <b>Note:</b> {@link #sum()}, {@link #count()} and {@link #average()} are not atomic snapshots: values added concurrently with
+ * their computation may or may not be included.
+ *
+ * @param <U> The type parameter for the {@link Unit}.
+ * @see ScalarCollectors
+ */
+public class ScalarAdder<U extends Unit> {
+  /** The number of {@code long}s per cell, which places each cell on a separate pair of 64-byte cache lines. */
+  private static final int STRIDE = 16;
+  private static final int SUM = 0;
+  private static final int COMPENSATION = 1;
+  private static final int COUNT = 2;
+
+  private static final int MAX_CELLS = 64;
+
+  /** The factor by which to convert the values of a source unit, published as an immutable pair. */
+  private static final class Conversion {
+    private final Unit from;
+    private final double factor;
+
+    private Conversion(final Unit from, final double factor) {
+      this.from = from;
+      this.factor = factor;
+    }
+  }
+
+  private final U unit;
+  private final AtomicLongArray cells;
+  private final int mask;
+  private Conversion conversion;
+
+  /**
+   * Creates a new {@link ScalarAdder} in the specified {@link Unit}, with a cell per available processor.
+   *
+   * @param unit The target {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public ScalarAdder(final U unit) {
+    this.unit = Objects.requireNonNull(unit, "unit is null");
+    final int processors = Math.min(MAX_CELLS, Runtime.getRuntime().availableProcessors());
+    final int cells = processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+    this.cells = new AtomicLongArray(cells * STRIDE);
+    this.mask = cells - 1;
+  }
+
+  /**
+   * Returns the target {@link Unit} of this {@link ScalarAdder}.
+   *
+   * @return The target {@link Unit} of this {@link ScalarAdder}.
+   */
+  public U getUnit() {
+    return unit;
+  }
+
+  private int cell() {
+    final int h = System.identityHashCode(Thread.currentThread()) * 0x9e3779b9;
+    return (h ^ h >>> 16) & mask;
+  }
+
+  private void addTo(final int index, final double value) {
+    for (long bits; !cells.compareAndSet(index, bits = cells.get(index), Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + value)););
+  }
+
+  /**
+   * Adds the specified value, in the {@link Unit} of this {@link ScalarAdder}.
+   *
+   * @param value The value.
+   */
+  public void add(final double value) {
+    for (int cell = cell();; cell = cell + 1 & mask) {
+      final int index = cell * STRIDE;
+      final long bits = cells.get(index + SUM);
+      final double sum = Double.longBitsToDouble(bits);
+      final double t = sum + value;
+      if (cells.compareAndSet(index + SUM, bits, Double.doubleToRawLongBits(t))) {
+        final double error = ScalarCollectors.error(sum, value, t);
+        if (error != 0)
+          addTo(index + COMPENSATION, error);
+
+        cells.getAndIncrement(index + COUNT);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Adds the value of the specified {@link Scalar}, converted to the {@link Unit} of this {@link ScalarAdder}.
+   *
+   * @param scalar The {@link Scalar}.
+   * @throws IllegalArgumentException If the unit of {@code scalar} is not convertible to the unit of this {@link ScalarAdder}.
+   * @throws NullPointerException If {@code scalar} is null.
+   */
+  public void add(final Scalar<?> scalar) {
+    final Unit from = scalar.unit;
+    Conversion conversion = this.conversion;
+    if (conversion == null || conversion.from != from) {
+      if (from.family != unit.family)
+        throw new IllegalArgumentException("Unit " + from + " is not convertible to " + unit);
+
+      // A racing thread may replace the conversion with that of another unit, which costs it a resolution of the factor
+      this.conversion = conversion = new Conversion(from, from == unit ? 1 : from.getFactor(unit));
+    }
+
+    add(scalar.value * conversion.factor);
+  }
+
+  /**
+   * Returns the compensated sum of the values added to this {@link ScalarAdder}, in its {@link Unit}.
+   *
+   * @return The compensated sum of the values added to this {@link ScalarAdder}.
+   */
+  public double sum() {
+    double sum = 0;
+    double compensation = 0;
+    for (int index = 0; index < cells.length(); index += STRIDE) {
+      final double value = Double.longBitsToDouble(cells.get(index + SUM));
+      final double t = sum + value;
+      compensation += ScalarCollectors.error(sum, value, t) + Double.longBitsToDouble(cells.get(index + COMPENSATION));
+      sum = t;
+    }
+
+    return ScalarCollectors.sum(sum, compensation);
+  }
+
+  /**
+   * Returns the number of values added to this {@link ScalarAdder}.
+   *
+   * @return The number of values added to this {@link ScalarAdder}.
+   */
+  public long count() {
+    long count = 0;
+    for (int index = 0; index < cells.length(); index += STRIDE)
+      count += cells.get(index + COUNT);
+
+    return count;
+  }
+
+  /**
+   * Returns the arithmetic mean of the values added to this {@link ScalarAdder}, in its {@link Unit}, or {@link Double#NaN} if no
+   * values were added.
+   *
+   * @return The arithmetic mean of the values added to this {@link ScalarAdder}, or {@link Double#NaN} if no values were added.
+   */
+  public double average() {
+    final long count = count();
+    return count == 0 ? Double.NaN : sum() / count;
+  }
+
+  /**
+   * Resets this {@link ScalarAdder} to zero. This method is only effective if there are no concurrent updates.
+   */
+  public void reset() {
+    for (int index = 0; index < cells.length(); index += STRIDE) {
+      cells.set(index + SUM, 0);
+      cells.set(index + COMPENSATION, 0);
+      cells.set(index + COUNT, 0);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return sum() + " " + unit;
+  }
+}
\ No newline at end of file
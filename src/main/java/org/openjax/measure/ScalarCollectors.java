@@ -0,0 +1,224 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import org.openjax.measure.Dimension.Scalar;
+import org.openjax.measure.Dimension.Unit;
+import org.openjax.measure.MeasurementSeries.Statistics;
+
+/**
+ * {@link Collector}s of streams of {@link Scalar}s into sums, averages, extremes and {@link Statistics} in a target {@link Unit}.
+ * <p>
+ * Each collector accumulates primitive state, and resolves the factor by which to convert the values of a source unit to the
+ * target unit once per run of scalars of that unit, rather than per scalar. Sums are compensated by the Neumaier variant of Kahan
+ * summation, whereby the sum of many values of mixed magnitudes is accurate to within a few units of the last place of the exact
+ * sum. The accumulated state of separate partitions of a {@link java.util.stream.Stream#parallel() parallel} stream is combined
+ * without loss of the compensation.
+ * <p>
+ * For concurrent producers that do not share a stream, see {@link ScalarAdder}.
+ */
+public final class ScalarCollectors {
+  /**
+   * Returns the rounding error of the sum {@code s} of {@code a} and {@code b}, such that {@code a + b == s + error} exactly.
+   */
+  static double error(final double a, final double b, final double s) {
+    return Math.abs(a) >= Math.abs(b) ? a - s + b : b - s + a;
+  }
+
+  /**
+   * Returns the compensated sum of {@code sum} and {@code compensation}, or {@code sum} if it overflowed to infinity, whereby the
+   * compensation is {@link Double#NaN}.
+   */
+  static double sum(final double sum, final double compensation) {
+    final double total = sum + compensation;
+    return total != total && Double.isInfinite(sum) ? sum : total;
+  }
+
+  /**
+   * The mutable primitive state of a collector, and the factor of the last source unit.
+   */
+  private static final class Accumulator {
+    private final Unit unit;
+    private Unit from;
+    private double factor;
+
+    private long count;
+    private double sum;
+    private double compensation;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    private Accumulator(final Unit unit) {
+      this.unit = unit;
+    }
+
+    private double value(final Scalar<?> scalar) {
+      final Unit from = scalar.unit;
+      if (from != this.from) {
+        if (from.family != unit.family)
+          throw new IllegalArgumentException("Unit " + from + " is not convertible to " + unit);
+
+        factor = from == unit ? 1 : from.getFactor(unit);
+        this.from = from;
+      }
+
+      return scalar.value * factor;
+    }
+
+    private void add(final double value) {
+      final double t = sum + value;
+      compensation += error(sum, value, t);
+      sum = t;
+      if (count++ == 0) {
+        min = value;
+        max = value;
+      }
+      else {
+        // NaN propagates to the extremes, as per Math.min(double,double) and Math.max(double,double)
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+    }
+
+    private void accept(final Scalar<?> scalar) {
+      add(value(scalar));
+    }
+
+    private Accumulator combine(final Accumulator accumulator) {
+      if (accumulator.count == 0)
+        return this;
+
+      if (count == 0)
+        return accumulator;
+
+      final double t = sum + accumulator.sum;
+      compensation += error(sum, accumulator.sum, t) + accumulator.compensation;
+      sum = t;
+      count += accumulator.count;
+      min = Math.min(min, accumulator.min);
+      max = Math.max(max, accumulator.max);
+      return this;
+    }
+
+    private double sum() {
+      return ScalarCollectors.sum(sum, compensation);
+    }
+  }
+
+  private static <R> Collector<Scalar<?>,Accumulator,R> collector(final Unit unit, final Function<Accumulator,R> finisher) {
+    Objects.requireNonNull(unit, "unit is null");
+    return Collector.of(() -> new Accumulator(unit), Accumulator::accept, Accumulator::combine, finisher);
+  }
+
+  /**
+   * Returns a {@link Collector} of the compensated sum of the values of the collected {@link Scalar}s in the specified
+   * {@link Unit}, which is 0 if no scalars are collected.
+   *
+   * @param unit The target {@link Unit}.
+   * @return A {@link Collector} of the compensated sum of the values of the collected {@link Scalar}s in the specified
+   *         {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null, or if a collected {@link Scalar} is null.
+   * @throws IllegalArgumentException If the unit of a collected {@link Scalar} is not convertible to {@code unit}, upon collection.
+   */
+  public static Collector<Scalar<?>,?,Double> summing(final Unit unit) {
+    return collector(unit, Accumulator::sum);
+  }
+
+  /**
+   * Returns a {@link Collector} of the arithmetic mean of the values of the collected {@link Scalar}s in the specified {@link Unit},
+   * computed from their compensated sum, which is {@link Double#NaN} if no scalars are collected.
+   *
+   * @param unit The target {@link Unit}.
+   * @return A {@link Collector} of the arithmetic mean of the values of the collected {@link Scalar}s in the specified {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null, or if a collected {@link Scalar} is null.
+   * @throws IllegalArgumentException If the unit of a collected {@link Scalar} is not convertible to {@code unit}, upon collection.
+   */
+  public static Collector<Scalar<?>,?,Double> averaging(final Unit unit) {
+    return collector(unit, (final Accumulator a) -> a.count == 0 ? Double.NaN : a.sum() / a.count);
+  }
+
+  /**
+   * Returns a {@link Collector} of the minimum of the values of the collected {@link Scalar}s in the specified {@link Unit}, which
+   * is {@link Double#NaN} if no scalars are collected or the value of any is {@link Double#NaN}.
+   *
+   * @param unit The target {@link Unit}.
+   * @return A {@link Collector} of the minimum of the values of the collected {@link Scalar}s in the specified {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null, or if a collected {@link Scalar} is null.
+   * @throws IllegalArgumentException If the unit of a collected {@link Scalar} is not convertible to {@code unit}, upon collection.
+   */
+  public static Collector<Scalar<?>,?,Double> minimizing(final Unit unit) {
+    return collector(unit, (final Accumulator a) -> a.min);
+  }
+
+  /**
+   * Returns a {@link Collector} of the maximum of the values of the collected {@link Scalar}s in the specified {@link Unit}, which
+   * is {@link Double#NaN} if no scalars are collected or the value of any is {@link Double#NaN}.
+   *
+   * @param unit The target {@link Unit}.
+   * @return A {@link Collector} of the maximum of the values of the collected {@link Scalar}s in the specified {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null, or if a collected {@link Scalar} is null.
+   * @throws IllegalArgumentException If the unit of a collected {@link Scalar} is not convertible to {@code unit}, upon collection.
+   */
+  public static Collector<Scalar<?>,?,Double> maximizing(final Unit unit) {
+    return collector(unit, (final Accumulator a) -> a.max);
+  }
+
+  /**
+   * Returns a {@link Collector} of the {@link Statistics} of the values of the collected {@link Scalar}s in the specified
+   * {@link Unit}. Partitions of a parallel stream are combined by {@link Statistics#merge(Statistics)}.
+   *
+   * @param <U> The type parameter for the {@link Unit}.
+   * @param unit The target {@link Unit}.
+   * @return A {@link Collector} of the {@link Statistics} of the values of the collected {@link Scalar}s in the specified
+   *         {@link Unit}.
+   * @throws NullPointerException If {@code unit} is null, or if a collected {@link Scalar} is null.
+   * @throws IllegalArgumentException If the unit of a collected {@link Scalar} is not convertible to {@code unit}, upon collection.
+   */
+  public static <U extends Unit> Collector<Scalar<?>,?,Statistics<U>> summarizing(final U unit) {
+    Objects.requireNonNull(unit, "unit is null");
+    return Collector.of(() -> new Summary<>(unit), Summary::accept, Summary::combine, (final Summary<U> s) -> s.statistics);
+  }
+
+  /**
+   * The {@link Statistics} of a collector, and the factor of the last source unit.
+   */
+  private static final class Summary<U extends Unit> {
+    private final Statistics<U> statistics;
+    private final Accumulator conversion;
+
+    private Summary(final U unit) {
+      this.statistics = new Statistics<>(unit);
+      this.conversion = new Accumulator(unit);
+    }
+
+    private void accept(final Scalar<?> scalar) {
+      statistics.add(conversion.value(scalar));
+    }
+
+    private Summary<U> combine(final Summary<U> summary) {
+      statistics.merge(summary.statistics);
+      return this;
+    }
+  }
+
+  private ScalarCollectors() {
+  }
+}
\ No newline at end of file
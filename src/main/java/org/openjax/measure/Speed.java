@@ -25,4 +25,36 @@ public final class Speed extends Dimension.Scalar<Unit.Ratio<Distance.Unit,Time.
   public Speed(final double value, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Speed replicate(final double value) {
+    return new Speed(value, unit);
+  }
+
+  @Override
+  public Speed add(final Dimension.Scalar<Unit.Ratio<Distance.Unit,Time.Unit>> addend) {
+    return (Speed)super.add(addend);
+  }
+
+  @Override
+  public Speed subtract(final Dimension.Scalar<Unit.Ratio<Distance.Unit,Time.Unit>> subtrahend) {
+    return (Speed)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Speed scale(final double factor) {
+    return (Speed)super.scale(factor);
+  }
+
+  /**
+   * Returns the {@link Distance} covered at this speed in the specified {@link Time}, in the distance unit of this speed. The
+   * specified {@link Time} is converted once to the time unit of this speed.
+   *
+   * @param time The {@link Time}.
+   * @return The {@link Distance} covered at this speed in the specified {@link Time}.
+   * @throws NullPointerException If {@code time} is null.
+   */
+  public Distance multiply(final Time time) {
+    return new Distance(value * time.value(unit.denominator), unit.numerator);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,999 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Streaming text codec for columns of measurements in CSV and JSON, such as {@code "12.5 km"}, {@code "3.2 kg/l"} or
+ * {@code "51˚28'38\"N"}, decoding to and encoding from {@code double[]} columns without intermediate objects per value.
+ * <p>
+ * Each column has a target {@link Unit}. A cell is either empty (or {@code null} in JSON), which decodes to {@link Double#NaN}; a
+ * number, which is in the unit of its column; a number followed by a unit expression as per {@link Unit#parse(String)}, which is
+ * converted to the unit of its column; or, for columns of {@link Angle.Unit}s, an angle in degrees, minutes and seconds as per
+ * {@link Angle#parseDegrees(CharSequence)}. The unit symbols of each column are resolved through a small cache of recently seen
+ * symbols, whereby a column of repeated symbols costs a comparison of characters per cell.
+ * <p>
+ * The formats are:
+ * <ul>
+ * <li>{@link Format#CSV}: rows separated by {@code "\n"} or {@code "\r\n"}, and cells separated by {@code ','}. Cells may be
+ * enclosed in {@code '"'}, with {@code '"'} escaped as {@code "\"\""}.</li>
+ * <li>{@link Format#JSON}: rows as arrays of strings, numbers and {@code null}s, either as the elements of an enclosing array, or
+ * as a sequence of arrays separated by whitespace, as written by {@link Encoder}. Objects are not supported.</li>
+ * </ul>
+ */
+public final class TextCodec {
+  /**
+   * The text format of a {@link Decoder} or {@link Encoder}.
+   */
+  public enum Format {
+    /** Comma-separated values, with one row per line. */
+    CSV,
+    /** JSON arrays, with one array per row. */
+    JSON
+  }
+
+  private static final String INFINITY = "Infinity";
+  private static final double[] powersOf10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private static void checkRange(final int length, final int off, final int len) {
+    if (off < 0 || len < 0 || off > length - len)
+      throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+  }
+
+  private static boolean isAngle(final Unit unit) {
+    return unit != null && unit.family == Angle.Unit.DEG.family;
+  }
+
+  private static boolean isWhitespace(final char ch) {
+    return ch == ' ' || ch == '\t' || ch == '\r' || ch == '\n';
+  }
+
+  /**
+   * Returns a new {@link Decoder} of the specified {@link Format} that reads from the specified {@link Reader}.
+   *
+   * @param format The {@link Format}.
+   * @param in The {@link Reader} from which to read.
+   * @param units The target {@link Unit} of each column, or {@code null} for a column to skip.
+   * @return A new {@link Decoder} of the specified {@link Format} that reads from the specified {@link Reader}.
+   * @throws NullPointerException If {@code format}, {@code in} or {@code units} is null.
+   */
+  public static Decoder decoder(final Format format, final Reader in, final Unit ... units) {
+    return new Decoder(format, Objects.requireNonNull(in, "in is null"), units);
+  }
+
+  /**
+   * Returns a new {@link Decoder} of the specified {@link Format} that reads from UTF-8 encoded chunks provided by
+   * {@link Decoder#put(ByteBuffer)}.
+   *
+   * @param format The {@link Format}.
+   * @param units The target {@link Unit} of each column, or {@code null} for a column to skip.
+   * @return A new {@link Decoder} of the specified {@link Format} that reads from UTF-8 encoded chunks.
+   * @throws NullPointerException If {@code format} or {@code units} is null.
+   */
+  public static Decoder decoder(final Format format, final Unit ... units) {
+    return new Decoder(format, null, units);
+  }
+
+  /**
+   * Returns a new {@link Encoder} of the specified {@link Format}, for columns of values in the specified {@link Unit}s.
+   *
+   * @param format The {@link Format}.
+   * @param units The {@link Unit} of each column.
+   * @return A new {@link Encoder} of the specified {@link Format}, for columns of values in the specified {@link Unit}s.
+   * @throws NullPointerException If {@code format}, {@code units} or any member of {@code units} is null.
+   */
+  public static Encoder encoder(final Format format, final Unit ... units) {
+    return new Encoder(format, units);
+  }
+
+  /**
+   * A streaming decoder of rows of measurements into {@code double[]} columns, from a {@link Reader}, or from UTF-8 encoded
+   * {@link ByteBuffer} chunks. Rows may span chunks. A {@link Decoder} is not thread-safe.
+   */
+  public static final class Decoder implements Closeable {
+    private static final int SYMBOLS = 8;
+
+    /** A resolved unit symbol, and the factor by which to convert values of its unit to the unit of its column. */
+    private static final class Symbol {
+      private final char[] chars;
+      private final double factor;
+
+      private Symbol(final char[] chars, final double factor) {
+        this.chars = chars;
+        this.factor = factor;
+      }
+    }
+
+    private final Format format;
+    private final Reader in;
+    private final Unit[] units;
+    private final Symbol[][] symbols;
+    private final double[] dmsFactors;
+
+    private char[] buf = new char[8192];
+    private CharBuffer bufView = CharBuffer.wrap(buf);
+    private char[] scratch = new char[64];
+    private CharBuffer scratchView = CharBuffer.wrap(scratch);
+    private int pos;
+    private int limit;
+    private boolean end;
+
+    // The state of the scan for the end of the current row, which resumes where it stopped when more input arrives
+    private int scan;
+    private int rowStart = -1;
+    private boolean quoted;
+    private boolean escaped;
+
+    // The state of a UTF-8 sequence that spans chunks
+    private int codePoint;
+    private int remaining;
+
+    private long row;
+    private double number;
+
+    private Decoder(final Format format, final Reader in, final Unit[] units) {
+      this.format = Objects.requireNonNull(format, "format is null");
+      this.in = in;
+      this.units = units.clone();
+      this.symbols = new Symbol[units.length][];
+      this.dmsFactors = new double[units.length];
+      for (int i = 0; i < units.length; ++i) {
+        if (units[i] != null) {
+          symbols[i] = new Symbol[SYMBOLS];
+          if (isAngle(units[i]))
+            dmsFactors[i] = Angle.Unit.DEG.getFactor(units[i]);
+        }
+      }
+    }
+
+    /**
+     * Returns the number of rows that were decoded or skipped by this {@link Decoder}.
+     *
+     * @return The number of rows that were decoded or skipped by this {@link Decoder}.
+     */
+    public long getRow() {
+      return row;
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (pos > 0) {
+        System.arraycopy(buf, pos, buf, 0, limit - pos);
+        limit -= pos;
+        scan -= pos;
+        if (rowStart >= 0)
+          rowStart -= pos;
+
+        pos = 0;
+      }
+
+      if (capacity > buf.length) {
+        final char[] buf = new char[Math.max(capacity, this.buf.length * 2)];
+        System.arraycopy(this.buf, 0, buf, 0, limit);
+        this.buf = buf;
+        bufView = CharBuffer.wrap(buf);
+      }
+    }
+
+    private void putChar(final int codePoint) {
+      if (codePoint < 0x10000) {
+        buf[limit++] = (char)codePoint;
+      }
+      else {
+        buf[limit++] = Character.highSurrogate(codePoint);
+        buf[limit++] = Character.lowSurrogate(codePoint);
+      }
+    }
+
+    /**
+     * Puts the remaining bytes of the specified UTF-8 encoded chunk to this {@link Decoder}, which must have been created by
+     * {@link TextCodec#decoder(Format,Unit...)}. The bytes are consumed entirely, and a character encoded across chunks is decoded
+     * when its last byte is put.
+     *
+     * @param chunk The {@link ByteBuffer} chunk.
+     * @return This {@link Decoder}.
+     * @throws IllegalStateException If this {@link Decoder} reads from a {@link Reader}, or if {@link #end()} was called.
+     * @throws NullPointerException If {@code chunk} is null.
+     */
+    public Decoder put(final ByteBuffer chunk) {
+      if (in != null)
+        throw new IllegalStateException("Decoder reads from a Reader");
+
+      if (end)
+        throw new IllegalStateException("Decoder has ended");
+
+      ensureCapacity(limit - pos + chunk.remaining() + 1);
+      for (int i = chunk.position(), len = chunk.limit(); i < len; ++i) {
+        final int b = chunk.get(i);
+        if (remaining > 0) {
+          if ((b & 0xc0) == 0x80) {
+            codePoint = codePoint << 6 | b & 0x3f;
+            if (--remaining == 0)
+              putChar(codePoint);
+
+            continue;
+          }
+
+          remaining = 0;
+          buf[limit++] = '\uFFFD';
+        }
+
+        if (b >= 0) {
+          buf[limit++] = (char)b;
+        }
+        else if ((b & 0xe0) == 0xc0) {
+          codePoint = b & 0x1f;
+          remaining = 1;
+        }
+        else if ((b & 0xf0) == 0xe0) {
+          codePoint = b & 0x0f;
+          remaining = 2;
+        }
+        else if ((b & 0xf8) == 0xf0) {
+          codePoint = b & 0x07;
+          remaining = 3;
+        }
+        else {
+          buf[limit++] = '\uFFFD';
+        }
+      }
+
+      chunk.position(chunk.limit());
+      return this;
+    }
+
+    /**
+     * Signals the end of the chunks put to this {@link Decoder}, whereby a last CSV row without a terminating line break is decoded.
+     *
+     * @return This {@link Decoder}.
+     * @throws IllegalStateException If this {@link Decoder} reads from a {@link Reader}.
+     */
+    public Decoder end() {
+      if (in != null)
+        throw new IllegalStateException("Decoder reads from a Reader");
+
+      if (remaining > 0) {
+        remaining = 0;
+        ensureCapacity(limit - pos + 1);
+        buf[limit++] = '\uFFFD';
+      }
+
+      end = true;
+      return this;
+    }
+
+    /**
+     * Reads more characters from the {@link Reader}, and returns whether the end of input has not been reached.
+     */
+    private boolean fill() throws IOException {
+      if (in == null || end)
+        return false;
+
+      ensureCapacity(limit - pos < buf.length ? buf.length : buf.length * 2);
+      final int n = in.read(buf, limit, buf.length - limit);
+      if (n < 0) {
+        end = true;
+        return false;
+      }
+
+      limit += n;
+      return true;
+    }
+
+    private IllegalArgumentException error(final String message, final int column) {
+      return new IllegalArgumentException(message + " at row " + row + (column < 0 ? "" : ", column " + column));
+    }
+
+    /**
+     * Scans for the end of the row that starts at or after {@link #pos}, and returns the index of its end, or -1 if the row is
+     * incomplete. The start of the row is set to {@link #rowStart}.
+     */
+    private int scanCsv() {
+      if (rowStart < 0) {
+        while (pos < limit && (buf[pos] == '\n' || buf[pos] == '\r'))
+          ++pos;
+
+        if (pos == limit)
+          return -1;
+
+        rowStart = scan = pos;
+      }
+
+      for (; scan < limit; ++scan) {
+        final char ch = buf[scan];
+        if (ch == '"')
+          quoted = !quoted;
+        else if (ch == '\n' && !quoted)
+          return scan;
+      }
+
+      return -1;
+    }
+
+    private int scanJson() {
+      if (scan < pos)
+        scan = pos;
+
+      for (; scan < limit; ++scan) {
+        final char ch = buf[scan];
+        if (quoted) {
+          if (escaped)
+            escaped = false;
+          else if (ch == '\\')
+            escaped = true;
+          else if (ch == '"')
+            quoted = false;
+        }
+        else if (ch == '"') {
+          if (rowStart < 0)
+            throw error("Unexpected string outside of array", -1);
+
+          quoted = true;
+        }
+        else if (ch == '[') {
+          // The innermost array is the row, whereby the '[' of an enclosing array is superseded
+          rowStart = scan + 1;
+        }
+        else if (ch == ']') {
+          if (rowStart >= 0)
+            return scan;
+
+          pos = scan + 1;
+        }
+        else if (ch == '{') {
+          throw error("Unsupported JSON object", -1);
+        }
+        else if (rowStart < 0) {
+          if (ch != ',' && !isWhitespace(ch))
+            throw error("Unexpected '" + ch + "' outside of array", -1);
+
+          pos = scan + 1;
+        }
+      }
+
+      return -1;
+    }
+
+    /**
+     * Returns the index of the end of the next complete row, reading more input as necessary, or -1 if no complete row is
+     * available.
+     */
+    private int next() throws IOException {
+      do {
+        final int rowEnd = format == Format.CSV ? scanCsv() : scanJson();
+        if (rowEnd >= 0)
+          return rowEnd;
+      }
+      while (fill());
+
+      if (!end)
+        return -1;
+
+      if (format == Format.CSV) {
+        if (rowStart >= 0 && rowStart < limit)
+          return limit;
+      }
+      else if (rowStart >= 0) {
+        throw error("Unexpected end of input", -1);
+      }
+
+      pos = limit;
+      return -1;
+    }
+
+    private void advance(final int rowEnd) {
+      pos = rowEnd < limit ? rowEnd + 1 : limit;
+      scan = pos;
+      rowStart = -1;
+      quoted = false;
+      escaped = false;
+      ++row;
+    }
+
+    /**
+     * Skips the next row, such as the header of a CSV file.
+     *
+     * @return {@code true} if a row was skipped, or {@code false} if no complete row is available.
+     * @throws IllegalArgumentException If the input is malformed.
+     * @throws IOException If an I/O error has occurred.
+     */
+    public boolean skip() throws IOException {
+      final int rowEnd = next();
+      if (rowEnd < 0)
+        return false;
+
+      advance(rowEnd);
+      return true;
+    }
+
+    /**
+     * Decodes up to {@code len} rows into the specified columns, starting at index {@code off} of each column. Values are converted
+     * to the target {@link Unit} of their column, and columns with a {@code null} target {@link Unit} are skipped, as are cells
+     * beyond the number of target units.
+     *
+     * @param columns The columns, of which the column at index {@code i} receives the values of the {@code i}-th cell of each row.
+     * @param off The index of the first row in the columns.
+     * @param len The maximum number of rows to decode.
+     * @return The number of rows decoded, which is 0 if no complete row is available yet, or -1 if the end of input was reached.
+     * @throws IllegalArgumentException If the input is malformed, if a row has fewer cells than target units, or if a unit is not
+     *           convertible to the target unit of its column.
+     * @throws IndexOutOfBoundsException If {@code off} or {@code len} is out of range for any column with a target {@link Unit}.
+     * @throws IOException If an I/O error has occurred.
+     * @throws NullPointerException If {@code columns} or a column with a target {@link Unit} is null.
+     */
+    public int read(final double[][] columns, final int off, final int len) throws IOException {
+      if (columns.length < units.length)
+        throw new IllegalArgumentException("columns.length (" + columns.length + ") < " + units.length);
+
+      for (int i = 0; i < units.length; ++i)
+        if (units[i] != null)
+          checkRange(columns[i].length, off, len);
+
+      int n = 0;
+      for (int rowEnd; n < len && (rowEnd = next()) >= 0; ++n) {
+        if (format == Format.CSV)
+          decodeCsv(rowStart, rowEnd, columns, off + n);
+        else
+          decodeJson(rowStart, rowEnd, columns, off + n);
+
+        advance(rowEnd);
+      }
+
+      return n == 0 && len > 0 && end && pos == limit ? -1 : n;
+    }
+
+    private void decodeCsv(int i, int rowEnd, final double[][] columns, final int index) {
+      if (rowEnd > i && buf[rowEnd - 1] == '\r')
+        --rowEnd;
+
+      for (int column = 0; column < units.length; ++column) {
+        if (i > rowEnd)
+          throw error("Expected " + units.length + " cells", column);
+
+        final int start = i;
+        boolean quoted = false;
+        boolean quotes = false;
+        for (char ch; i < rowEnd && ((ch = buf[i]) != ',' || quoted); ++i) {
+          if (ch == '"') {
+            quoted = !quoted;
+            quotes = true;
+          }
+        }
+
+        if (units[column] != null) {
+          if (quotes)
+            columns[column][index] = unquoteCsv(start, i, column);
+          else
+            columns[column][index] = decode(buf, bufView, start, i, column);
+        }
+
+        ++i;
+      }
+    }
+
+    private char[] scratch(final int length) {
+      if (scratch.length < length) {
+        scratch = new char[Math.max(length, scratch.length * 2)];
+        scratchView = CharBuffer.wrap(scratch);
+      }
+
+      return scratch;
+    }
+
+    private double unquoteCsv(final int start, final int end, final int column) {
+      final char[] scratch = scratch(end - start);
+      int len = 0;
+      boolean quoted = false;
+      for (int i = start; i < end; ++i) {
+        final char ch = buf[i];
+        if (ch != '"')
+          scratch[len++] = ch;
+        else if (quoted && i + 1 < end && buf[i + 1] == '"')
+          scratch[len++] = buf[++i];
+        else
+          quoted = !quoted;
+      }
+
+      return decode(scratch, scratchView, 0, len, column);
+    }
+
+    private void decodeJson(int i, final int rowEnd, final double[][] columns, final int index) {
+      int column = 0;
+      while (true) {
+        while (i < rowEnd && isWhitespace(buf[i]))
+          ++i;
+
+        if (i == rowEnd) {
+          if (column == 0)
+            break;
+
+          throw error("Expected value", column);
+        }
+
+        final double value;
+        if (buf[i] == '"') {
+          final int start = ++i;
+          boolean escapes = false;
+          for (char ch; (ch = buf[i]) != '"'; ++i) {
+            if (ch == '\\') {
+              escapes = true;
+              ++i;
+            }
+          }
+
+          value = column >= units.length || units[column] == null ? 0 : escapes ? unescapeJson(start, i, column) : decode(buf, bufView, start, i, column);
+          ++i;
+        }
+        else {
+          final int start = i;
+          while (i < rowEnd && buf[i] != ',' && !isWhitespace(buf[i]))
+            ++i;
+
+          if (i - start == 4 && buf[start] == 'n' && buf[start + 1] == 'u' && buf[start + 2] == 'l' && buf[start + 3] == 'l')
+            value = Double.NaN;
+          else if (column >= units.length || units[column] == null)
+            value = 0;
+          else if (parseNumber(buf, start, i, column) == i)
+            value = number;
+          else
+            throw error("Expected number", column);
+        }
+
+        if (column < units.length && units[column] != null)
+          columns[column][index] = value;
+
+        ++column;
+        while (i < rowEnd && isWhitespace(buf[i]))
+          ++i;
+
+        if (i == rowEnd)
+          break;
+
+        if (buf[i++] != ',')
+          throw error("Expected ','", column);
+      }
+
+      if (column < units.length)
+        throw error("Expected " + units.length + " cells", column);
+    }
+
+    private double unescapeJson(final int start, final int end, final int column) {
+      final char[] scratch = scratch(end - start);
+      int len = 0;
+      for (int i = start; i < end; ++i) {
+        char ch = buf[i];
+        if (ch == '\\') {
+          ch = buf[++i];
+          if (ch == 'u') {
+            if (i + 4 >= end)
+              throw error("Malformed escape", column);
+
+            int codePoint = 0;
+            for (int j = 0; j < 4; ++j) {
+              final int digit = Character.digit(buf[++i], 16);
+              if (digit < 0)
+                throw error("Malformed escape", column);
+
+              codePoint = codePoint << 4 | digit;
+            }
+
+            ch = (char)codePoint;
+          }
+          else if (ch == 'n' || ch == 'r' || ch == 't' || ch == 'b' || ch == 'f') {
+            ch = ' ';
+          }
+        }
+
+        scratch[len++] = ch;
+      }
+
+      return decode(scratch, scratchView, 0, len, column);
+    }
+
+    /**
+     * Parses the number at the specified index into {@link #number}, and returns the index of its end, or {@code start} if no
+     * number is at the specified index. Numbers of up to 15 significant digits with a decimal exponent of up to 22 are computed
+     * exactly from their digits, and others by {@link Double#parseDouble(String)}. {@code "Infinity"}, optionally signed, parses to
+   * the infinity of its sign.
+     */
+    private int parseNumber(final char[] src, final int start, final int end, final int column) {
+      int i = start;
+      final boolean negative = i < end && src[i] == '-';
+      if (i < end && (src[i] == '-' || src[i] == '+'))
+        ++i;
+
+      long mantissa = 0;
+      int digits = 0;
+      int exponent = 0;
+      int count = 0;
+      boolean fraction = false;
+      for (char ch; i < end; ++i) {
+        ch = src[i];
+        if ('0' <= ch && ch <= '9') {
+          ++count;
+          if (digits < 18) {
+            mantissa = mantissa * 10 + (ch - '0');
+            if (mantissa != 0)
+              ++digits;
+
+            if (fraction)
+              --exponent;
+          }
+          else if (!fraction) {
+            ++exponent;
+          }
+        }
+        else if (ch == '.' && !fraction) {
+          fraction = true;
+        }
+        else {
+          break;
+        }
+      }
+
+      if (count == 0) {
+        // "Infinity" as written by Encoder for infinite values
+        if (!fraction && isInfinity(src, i, end)) {
+          number = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+          return i + INFINITY.length();
+        }
+
+        return start;
+      }
+
+      if (i < end && (src[i] == 'e' || src[i] == 'E')) {
+        int j = i + 1;
+        final boolean negativeExponent = j < end && src[j] == '-';
+        if (j < end && (src[j] == '-' || src[j] == '+'))
+          ++j;
+
+        if (j < end && '0' <= src[j] && src[j] <= '9') {
+          int e = 0;
+          for (char ch; j < end && '0' <= (ch = src[j]) && ch <= '9'; ++j)
+            if (e < 100000)
+              e = e * 10 + (ch - '0');
+
+          exponent += negativeExponent ? -e : e;
+          i = j;
+        }
+      }
+
+      if (digits <= 15 && -22 <= exponent && exponent <= 22) {
+        final double value = exponent < 0 ? mantissa / powersOf10[-exponent] : mantissa * powersOf10[exponent];
+        number = negative ? -value : value;
+      }
+      else {
+        try {
+          number = Double.parseDouble(new String(src, start, i - start));
+        }
+        catch (final NumberFormatException e) {
+          throw error("Malformed number", column);
+        }
+      }
+
+      return i;
+    }
+
+    private static boolean isInfinity(final char[] src, final int start, final int end) {
+      if (end - start < INFINITY.length())
+        return false;
+
+      for (int i = 0; i < INFINITY.length(); ++i)
+        if (src[start + i] != INFINITY.charAt(i))
+          return false;
+
+      return true;
+    }
+
+    private static boolean isDMS(final char[] src, final int start, final int end) {
+      final char last = src[end - 1];
+      if (last == 'N' || last == 'S' || last == 'E' || last == 'W')
+        return true;
+
+      for (int i = start; i < end; ++i) {
+        final char ch = src[i];
+        if (ch == '˚' || ch == '°' || ch == '\'' || ch == '"' || ch == '′' || ch == '″')
+          return true;
+      }
+
+      return false;
+    }
+
+    private double decode(final char[] src, final CharBuffer view, int start, int end, final int column) {
+      while (start < end && isWhitespace(src[start]))
+        ++start;
+
+      while (end > start && isWhitespace(src[end - 1]))
+        --end;
+
+      if (start == end)
+        return Double.NaN;
+
+      if (dmsFactors[column] != 0 && isDMS(src, start, end))
+        return dms(view, start, end, column);
+
+      int i = parseNumber(src, start, end, column);
+      if (i == start)
+        throw error("Expected number", column);
+
+      final double value = number;
+      if (i == end)
+        return value;
+
+      while (isWhitespace(src[i]))
+        ++i;
+
+      // Degrees, minutes and seconds separated by whitespace
+      if (dmsFactors[column] != 0 && '0' <= src[i] && src[i] <= '9')
+        return dms(view, start, end, column);
+
+      return value * factor(src, i, end, column);
+    }
+
+    private double dms(final CharBuffer view, final int start, final int end, final int column) {
+      try {
+        return Angle.parse(view, start, end) * dmsFactors[column];
+      }
+      catch (final NumberFormatException e) {
+        throw new IllegalArgumentException(e.getMessage() + " at row " + row + ", column " + column, e);
+      }
+    }
+
+    private double factor(final char[] src, final int start, final int end, final int column) {
+      int h = 0;
+      for (int i = start; i < end; ++i)
+        h = 31 * h + src[i];
+
+      final Symbol[] symbols = this.symbols[column];
+      final int slot = (h ^ h >>> 16) & (SYMBOLS - 1);
+      final Symbol symbol = symbols[slot];
+      if (symbol != null && equals(symbol.chars, src, start, end))
+        return symbol.factor;
+
+      final String expression = new String(src, start, end - start);
+      final Unit unit;
+      try {
+        unit = Unit.parse(expression);
+      }
+      catch (final IllegalArgumentException e) {
+        throw new IllegalArgumentException(e.getMessage() + " at row " + row + ", column " + column, e);
+      }
+
+      final Unit target = units[column];
+      if (unit.family != target.family)
+        throw error("Unit " + unit + " is not convertible to " + target, column);
+
+      final double factor = unit == target ? 1 : unit.getFactor(target);
+      symbols[slot] = new Symbol(expression.toCharArray(), factor);
+      return factor;
+    }
+
+    private static boolean equals(final char[] chars, final char[] src, final int start, final int end) {
+      if (chars.length != end - start)
+        return false;
+
+      for (int i = 0; i < chars.length; ++i) // [A]
+        if (chars[i] != src[start + i])
+          return false;
+
+      return true;
+    }
+
+    /**
+     * Closes the {@link Reader} of this {@link Decoder}, if any.
+     *
+     * @throws IOException If an I/O error has occurred.
+     */
+    @Override
+    public void close() throws IOException {
+      end = true;
+      if (in != null)
+        in.close();
+    }
+  }
+
+  /**
+   * An encoder of {@code double[]} columns of measurements into rows of the text format read by {@link Decoder}, without
+   * allocating intermediate objects per value. CSV rows are terminated by {@code '\n'}, and JSON rows are written as one array per
+   * line. {@link Double#NaN} is written as an empty cell in CSV, and as {@code null} in JSON. Infinite values are written as
+   * {@code "Infinity"} and {@code "-Infinity"}, which {@link Decoder} reads back.
+   */
+  public static final class Encoder {
+    private final Format format;
+    private final Unit[] units;
+    /** The symbol of the unit of each column, as resolved by {@link Unit#parse(String)}. */
+    private final String[] symbols;
+    private final int[] precisions;
+    private final int[] dmsPrecisions;
+    private final double[] dmsFactors;
+
+    private Encoder(final Format format, final Unit[] units) {
+      this.format = Objects.requireNonNull(format, "format is null");
+      this.units = units.clone();
+      this.symbols = new String[units.length];
+      this.precisions = new int[units.length];
+      this.dmsPrecisions = new int[units.length];
+      this.dmsFactors = new double[units.length];
+      for (int i = 0; i < units.length; ++i) {
+        symbols[i] = UnitParser.format(Objects.requireNonNull(units[i], "units[" + i + "] is null"));
+        precisions[i] = -1;
+        dmsPrecisions[i] = -1;
+      }
+    }
+
+    /**
+     * Sets the number of fractional digits of the values of the specified column, which are otherwise written as the shortest
+     * decimal that rounds to the value.
+     *
+     * @param column The index of the column.
+     * @param precision The number of fractional digits, between 0 and 17.
+     * @return This {@link Encoder}.
+     * @throws ArrayIndexOutOfBoundsException If {@code column} is out of range.
+     * @throws IllegalArgumentException If {@code precision} is out of range.
+     */
+    public Encoder precision(final int column, final int precision) {
+      if (precision < 0 || precision > Decimal.MAX_PRECISION)
+        throw new IllegalArgumentException("precision (" + precision + ") must be between 0 and " + Decimal.MAX_PRECISION);
+
+      precisions[column] = precision;
+      return this;
+    }
+
+    /**
+     * Sets the values of the specified column of {@link Angle.Unit}s to be written in degrees, minutes and seconds, as per
+     * {@link Angle#formatDMS(Appendable,int)}.
+     *
+     * @param column The index of the column.
+     * @param precision The number of fractional digits of the seconds, between 0 and {@value Angle#MAX_DMS_PRECISION}.
+     * @return This {@link Encoder}.
+     * @throws ArrayIndexOutOfBoundsException If {@code column} is out of range.
+     * @throws IllegalArgumentException If {@code precision} is out of range, or if the unit of the column is not an angle.
+     */
+    public Encoder dms(final int column, final int precision) {
+      Angle.checkDMSPrecision(precision);
+      if (!isAngle(units[column]))
+        throw new IllegalArgumentException("Unit " + units[column] + " of column " + column + " is not an angle");
+
+      dmsPrecisions[column] = precision;
+      dmsFactors[column] = units[column].getFactor(Angle.Unit.DEG);
+      return this;
+    }
+
+    private void print(final Object out, final double[][] columns, final int index) throws IOException {
+      final boolean csv = format == Format.CSV;
+      if (!csv)
+        Decimal.put(out, '[');
+
+      for (int i = 0; i < units.length; ++i) {
+        if (i > 0)
+          Decimal.put(out, ',');
+
+        final double value = columns[i][index];
+        if (value != value) {
+          if (!csv)
+            Decimal.put(out, "null");
+
+          continue;
+        }
+
+        final int dms = dmsPrecisions[i];
+        if (dms >= 0) {
+          Decimal.put(out, '"');
+          Angle.printDMS(out, value * dmsFactors[i], dms, csv ? "\"\"" : "\\\"");
+          Decimal.put(out, '"');
+          continue;
+        }
+
+        if (!csv)
+          Decimal.put(out, '"');
+
+        if (precisions[i] < 0)
+          Decimal.put(out, value);
+        else
+          Decimal.put(out, value, precisions[i]);
+
+        Decimal.put(out, ' ');
+        Decimal.put(out, symbols[i]);
+        if (!csv)
+          Decimal.put(out, '"');
+      }
+
+      if (!csv)
+        Decimal.put(out, ']');
+
+      Decimal.put(out, '\n');
+    }
+
+    private void checkColumns(final double[][] columns, final int off, final int len) {
+      if (columns.length < units.length)
+        throw new IllegalArgumentException("columns.length (" + columns.length + ") < " + units.length);
+
+      for (int i = 0; i < units.length; ++i)
+        checkRange(columns[i].length, off, len);
+    }
+
+    /**
+     * Appends {@code len} rows of the specified columns, starting at index {@code off} of each column, to the specified
+     * {@link Appendable}.
+     *
+     * @param <A> The type parameter of the {@link Appendable}.
+     * @param out The {@link Appendable} to which to append.
+     * @param columns The columns, of which the column at index {@code i} holds the values of the {@code i}-th cell of each row.
+     * @param off The index of the first row in the columns.
+     * @param len The number of rows to write.
+     * @return The specified {@link Appendable}.
+     * @throws IllegalArgumentException If there are fewer columns than units.
+     * @throws IndexOutOfBoundsException If {@code off} or {@code len} is out of range for any column.
+     * @throws IOException If an I/O error has occurred.
+     * @throws NullPointerException If {@code out}, {@code columns} or any column is null.
+     */
+    public <A extends Appendable> A write(final A out, final double[][] columns, final int off, final int len) throws IOException {
+      checkColumns(columns, off, len);
+      for (int i = 0; i < len; ++i)
+        print(out, columns, off + i);
+
+      return out;
+    }
+
+    /**
+     * Puts up to {@code len} rows of the specified columns, starting at index {@code off} of each column, to the specified
+     * {@link ByteBuffer}, encoded in UTF-8. Only complete rows are put: if the remaining space of the buffer is insufficient for the
+     * next row, the position of the buffer is left at the end of the last complete row.
+     *
+     * @param out The {@link ByteBuffer} to which to put.
+     * @param columns The columns, of which the column at index {@code i} holds the values of the {@code i}-th cell of each row.
+     * @param off The index of the first row in the columns.
+     * @param len The maximum number of rows to write.
+     * @return The number of rows put.
+     * @throws IllegalArgumentException If there are fewer columns than units.
+     * @throws IndexOutOfBoundsException If {@code off} or {@code len} is out of range for any column.
+     * @throws NullPointerException If {@code out}, {@code columns} or any column is null.
+     */
+    public int write(final ByteBuffer out, final double[][] columns, final int off, final int len) {
+      checkColumns(columns, off, len);
+      int i = 0;
+      try {
+        for (int position; i < len; ++i) {
+          position = out.position();
+          try {
+            print(out, columns, off + i);
+          }
+          catch (final BufferOverflowException e) {
+            out.position(position);
+            break;
+          }
+        }
+
+        return i;
+      }
+      catch (final IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private TextCodec() {
+  }
+}
\ No newline at end of file
@@ -30,9 +30,39 @@ public final class Time extends Dimension.Scalar<Dimension.Unit> {
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
   public Time(final double value, final Unit unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Time replicate(final double value) {
+    return new Time(value, (Unit)unit);
+  }
+
+  @Override
+  public Time add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Time)super.add(addend);
+  }
+
+  @Override
+  public Time subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Time)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Time scale(final double factor) {
+    return (Time)super.scale(factor);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A polyline of {@link Location}s, such as a route or the track of a vehicle, which maintains the cumulative distance along the
+ * polyline to each of its points as points are appended.
+ * <p>
+ * The length of each segment is computed once with the {@link Geodesic} of the track. Positions at a distance along the track are
+ * found by binary search of the cumulative distances in O(log n), and are interpolated along the great circle of their segment. The
+ * along-track and cross-track distances of a {@link Location} are computed against the nearest segment of the track, with the
+ * points of the track held as vectors on the unit sphere.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class Track {
+  /** The number of segments above which the bulk computation of segment lengths is split onto the fork-join pool. */
+  private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  private static final class SegmentTask extends RecursiveAction {
+    private static final long serialVersionUID = 5084296310529935517L;
+
+    private final Track track;
+    private final int fromIndex;
+    private final int toIndex;
+
+    private SegmentTask(final Track track, final int fromIndex, final int toIndex) {
+      this.track = track;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    protected void compute() {
+      if (toIndex - fromIndex > PARALLEL_THRESHOLD) {
+        final int mid = (fromIndex + toIndex) >>> 1;
+        invokeAll(new SegmentTask(track, fromIndex, mid), new SegmentTask(track, mid, toIndex));
+      }
+      else {
+        track.vectors(fromIndex, toIndex);
+      }
+    }
+  }
+
+  private final Geodesic geodesic;
+  private double[] latitudes;
+  private double[] longitudes;
+  private double[] xs;
+  private double[] ys;
+  private double[] zs;
+  /** The distance in kilometres along the track to each point, whereby {@code distances[0] == 0}. */
+  private double[] distances;
+  private int size;
+
+  /**
+   * Creates a new empty {@link Track} with the specified {@link Geodesic} and initial capacity.
+   *
+   * @param geodesic The {@link Geodesic} with which to compute the length of each segment.
+   * @param initialCapacity The initial capacity.
+   * @throws IllegalArgumentException If {@code initialCapacity} is negative.
+   * @throws NullPointerException If {@code geodesic} is null.
+   */
+  public Track(final Geodesic geodesic, final int initialCapacity) {
+    if (initialCapacity < 0)
+      throw new IllegalArgumentException("initialCapacity (" + initialCapacity + ") is negative");
+
+    this.geodesic = Objects.requireNonNull(geodesic, "geodesic is null");
+    this.latitudes = new double[initialCapacity];
+    this.longitudes = new double[initialCapacity];
+    this.xs = new double[initialCapacity];
+    this.ys = new double[initialCapacity];
+    this.zs = new double[initialCapacity];
+    this.distances = new double[initialCapacity];
+  }
+
+  /**
+   * Creates a new empty {@link Track} with {@link Geodesic#HAVERSINE} and an initial capacity of 16.
+   */
+  public Track() {
+    this(Geodesic.HAVERSINE, 16);
+  }
+
+  /**
+   * Creates a new {@link Track} of the locations of the specified {@link LocationArray}, with the specified {@link Geodesic}. The
+   * length of each segment of large tracks is computed in parallel on the common {@link ForkJoinPool}.
+   *
+   * @param locations The {@link LocationArray} of the points of the track.
+   * @param geodesic The {@link Geodesic} with which to compute the length of each segment.
+   * @throws NullPointerException If {@code locations} or {@code geodesic} is null.
+   */
+  public Track(final LocationArray locations, final Geodesic geodesic) {
+    this(geodesic, locations.size);
+    size = locations.size;
+    System.arraycopy(locations.latitudes, 0, latitudes, 0, size);
+    System.arraycopy(locations.longitudes, 0, longitudes, 0, size);
+    if (size > PARALLEL_THRESHOLD)
+      ForkJoinPool.commonPool().invoke(new SegmentTask(this, 0, size));
+    else
+      vectors(0, size);
+
+    for (int i = 1; i < size; ++i) // [A]
+      distances[i] += distances[i - 1];
+  }
+
+  /**
+   * Creates a new {@link Track} of the locations of the specified {@link LocationArray}, with {@link Geodesic#HAVERSINE}. The length
+   * of each segment of large tracks is computed in parallel on the common {@link ForkJoinPool}.
+   *
+   * @param locations The {@link LocationArray} of the points of the track.
+   * @throws NullPointerException If {@code locations} is null.
+   */
+  public Track(final LocationArray locations) {
+    this(locations, Geodesic.HAVERSINE);
+  }
+
+  /**
+   * Creates a new {@link Track} of the specified {@link Location}s, with {@link Geodesic#HAVERSINE}.
+   *
+   * @param locations The {@link Location}s of the points of the track.
+   * @throws NullPointerException If {@code locations}, or any member of {@code locations} is null.
+   */
+  public Track(final Location ... locations) {
+    this(new LocationArray(locations));
+  }
+
+  /**
+   * Computes the unit vector of each point in the specified range, and the length of the segment ending at each point, which is
+   * written to {@link #distances} to be accumulated.
+   */
+  private void vectors(final int fromIndex, final int toIndex) {
+    for (int i = fromIndex; i < toIndex; ++i) { // [A]
+      vector(i);
+      if (i > 0)
+        distances[i] = geodesic.distance(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+    }
+  }
+
+  private void vector(final int index) {
+    final double cosLat = StrictMath.cos(latitudes[index]);
+    xs[index] = cosLat * StrictMath.cos(longitudes[index]);
+    ys[index] = cosLat * StrictMath.sin(longitudes[index]);
+    zs[index] = StrictMath.sin(latitudes[index]);
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > latitudes.length) {
+      final int length = Math.max(capacity, latitudes.length + (latitudes.length >> 1) + 1);
+      latitudes = Arrays.copyOf(latitudes, length);
+      longitudes = Arrays.copyOf(longitudes, length);
+      xs = Arrays.copyOf(xs, length);
+      ys = Arrays.copyOf(ys, length);
+      zs = Arrays.copyOf(zs, length);
+      distances = Arrays.copyOf(distances, length);
+    }
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  private void checkNotEmpty() {
+    if (size == 0)
+      throw new IllegalStateException("Track is empty");
+  }
+
+  /**
+   * Appends the point of the specified latitude and longitude to this track.
+   *
+   * @param latitude The latitude.
+   * @param longitude The longitude.
+   * @param unit The {@link Angle.Unit} of {@code latitude} and {@code longitude}.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public void add(final double latitude, final double longitude, final Angle.Unit unit) {
+    final double factor = unit.getFactor(Angle.Unit.RAD);
+    ensureCapacity(size + 1);
+    latitudes[size] = latitude * factor;
+    longitudes[size] = longitude * factor;
+    vector(size);
+    distances[size] = size == 0 ? 0 : distances[size - 1] + geodesic.distance(latitudes[size - 1], longitudes[size - 1], latitudes[size], longitudes[size]);
+    ++size;
+  }
+
+  /**
+   * Appends the specified {@link Location} to this track.
+   *
+   * @param location The {@link Location}.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public void add(final Location location) {
+    add(location.latitude.value(Angle.Unit.RAD), location.longitude.value(Angle.Unit.RAD), Angle.Unit.RAD);
+  }
+
+  /**
+   * Returns the number of points of this track.
+   *
+   * @return The number of points of this track.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a new {@link Location} for the point at the specified index.
+   *
+   * @param index The index.
+   * @return A new {@link Location} for the point at the specified index.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   */
+  public Location get(final int index) {
+    checkIndex(index);
+    return new Location(new Angle(latitudes[index], Angle.Unit.RAD), new Angle(longitudes[index], Angle.Unit.RAD));
+  }
+
+  /**
+   * Returns the distance along this track from its first point to the point at the specified index, in the specified
+   * {@link Distance.Unit}.
+   *
+   * @param index The index.
+   * @param unit The {@link Distance.Unit}.
+   * @return The distance along this track from its first point to the point at the specified index.
+   * @throws IndexOutOfBoundsException If {@code index} is out of range.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public double distance(final int index, final Distance.Unit unit) {
+    checkIndex(index);
+    return distances[index] * Distance.Unit.KM.getFactor(unit);
+  }
+
+  /**
+   * Returns the length of this track, which is zero if this track has fewer than 2 points.
+   *
+   * @return The length of this track.
+   */
+  public Distance length() {
+    return new Distance(size == 0 ? 0 : distances[size - 1], Distance.Unit.KM);
+  }
+
+  /**
+   * Returns the index of the segment containing the specified distance in kilometres along this track, which is the index of its
+   * first point.
+   */
+  private int segment(final double distance) {
+    int low = 0;
+    int high = size - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (distances[mid] <= distance)
+        low = mid;
+      else
+        high = mid - 1;
+    }
+
+    return Math.min(low, size - 2);
+  }
+
+  /**
+   * Computes the point at the specified distance along this track, and writes its latitude and longitude in radians to
+   * {@code dst[off]} and {@code dst[off + 1]}. The point is interpolated along the great circle of the segment containing it.
+   *
+   * @param distance The distance along this track.
+   * @param unit The {@link Distance.Unit} of {@code distance}.
+   * @param dst The array to which the latitude and longitude of the point are to be written.
+   * @param off The offset in {@code dst} at which to write.
+   * @throws ArrayIndexOutOfBoundsException If {@code off + 1} is out of range of {@code dst}.
+   * @throws IllegalArgumentException If {@code distance} is negative or greater than the length of this track.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code unit} or {@code dst} is null.
+   */
+  public void locate(final double distance, final Distance.Unit unit, final double[] dst, final int off) {
+    checkNotEmpty();
+    if (!(distance >= 0 && distance <= distances[size - 1] * Distance.Unit.KM.getFactor(unit)))
+      throw new IllegalArgumentException("distance (" + distance + " " + unit + ") is out of range of the track");
+
+    final double km = Math.min(distance * unit.getFactor(Distance.Unit.KM), distances[size - 1]);
+
+    if (size == 1) {
+      dst[off] = latitudes[0];
+      dst[off + 1] = longitudes[0];
+      return;
+    }
+
+    final int i = segment(km);
+    final int j = i + 1;
+    final double length = distances[j] - distances[i];
+    final double fraction = length == 0 ? 0 : Math.min(1, (km - distances[i]) / length);
+    final double cx = ys[i] * zs[j] - zs[i] * ys[j];
+    final double cy = zs[i] * xs[j] - xs[i] * zs[j];
+    final double cz = xs[i] * ys[j] - ys[i] * xs[j];
+    final double omega = StrictMath.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), xs[i] * xs[j] + ys[i] * ys[j] + zs[i] * zs[j]);
+    final double a;
+    final double b;
+    if (omega < 1e-12) {
+      a = 1 - fraction;
+      b = fraction;
+    }
+    else {
+      final double sinOmega = StrictMath.sin(omega);
+      a = StrictMath.sin((1 - fraction) * omega) / sinOmega;
+      b = StrictMath.sin(fraction * omega) / sinOmega;
+    }
+
+    final double x = a * xs[i] + b * xs[j];
+    final double y = a * ys[i] + b * ys[j];
+    final double z = a * zs[i] + b * zs[j];
+    dst[off] = StrictMath.atan2(z, Math.sqrt(x * x + y * y));
+    dst[off + 1] = StrictMath.atan2(y, x);
+  }
+
+  /**
+   * Returns the {@link Location} at the specified {@link Distance} along this track. The location is interpolated along the great
+   * circle of the segment containing it.
+   *
+   * @param distance The {@link Distance} along this track.
+   * @return The {@link Location} at the specified {@link Distance} along this track.
+   * @throws IllegalArgumentException If {@code distance} is negative or greater than the length of this track.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code distance} is null.
+   */
+  public Location locate(final Distance distance) {
+    final double[] dst = new double[2];
+    locate(distance.value(Distance.Unit.KM), Distance.Unit.KM, dst, 0);
+    return new Location(new Angle(dst[0], Angle.Unit.RAD), new Angle(dst[1], Angle.Unit.RAD));
+  }
+
+  /**
+   * Finds the nearest point of this track to the specified unit vector, and returns either the distance in kilometres along this
+   * track to it, or the signed cross-track distance in kilometres to it. Segments are compared by the cosine of the angle to their
+   * nearest point, so that the trigonometry is computed for the nearest segment only.
+   */
+  private double nearest(final double px, final double py, final double pz, final boolean along) {
+    if (size == 1)
+      return along ? 0 : angle(px, py, pz, 0) * Geodesic.R;
+
+    double bestCos = Double.NEGATIVE_INFINITY;
+    int bestIndex = 0;
+    // The index of the nearest end point, or -1 if the nearest point is interior to the segment
+    int bestEnd = -1;
+    double bestPn = 0;
+    for (int i = 0, j = 1; j < size; i = j++) {
+      final double cx = ys[i] * zs[j] - zs[i] * ys[j];
+      final double cy = zs[i] * xs[j] - xs[i] * zs[j];
+      final double cz = xs[i] * ys[j] - ys[i] * xs[j];
+      final double sin = Math.sqrt(cx * cx + cy * cy + cz * cz);
+      // The sine of the signed angle from the great circle of the segment, positive to the left of the direction of travel
+      final double pn = sin > 1e-15 ? (px * cx + py * cy + pz * cz) / sin : 0;
+      if (sin > 1e-15) {
+        // Whether the projection of the point onto the great circle lies between the end points of the segment
+        final double fromI = (ys[i] * pz - zs[i] * py) * cx + (zs[i] * px - xs[i] * pz) * cy + (xs[i] * py - ys[i] * px) * cz;
+        final double toJ = (py * zs[j] - pz * ys[j]) * cx + (pz * xs[j] - px * zs[j]) * cy + (px * ys[j] - py * xs[j]) * cz;
+        if (fromI >= 0 && toJ >= 0) {
+          final double cos = Math.sqrt(Math.max(0, 1 - pn * pn));
+          if (cos > bestCos) {
+            bestCos = cos;
+            bestIndex = i;
+            bestEnd = -1;
+            bestPn = pn;
+          }
+
+          continue;
+        }
+      }
+
+      final double cosI = px * xs[i] + py * ys[i] + pz * zs[i];
+      final double cosJ = px * xs[j] + py * ys[j] + pz * zs[j];
+      final double cos = Math.max(cosI, cosJ);
+      if (cos > bestCos) {
+        bestCos = cos;
+        bestIndex = i;
+        bestEnd = cosI >= cosJ ? i : j;
+        bestPn = pn;
+      }
+    }
+
+    final int i = bestIndex;
+    final int j = i + 1;
+    if (!along) {
+      final double angle = bestEnd < 0 ? StrictMath.asin(Math.min(1, Math.abs(bestPn))) : angle(px, py, pz, bestEnd);
+      return (bestPn > 0 ? -angle : angle) * Geodesic.R;
+    }
+
+    if (bestEnd >= 0)
+      return distances[bestEnd];
+
+    final double cx = ys[i] * zs[j] - zs[i] * ys[j];
+    final double cy = zs[i] * xs[j] - xs[i] * zs[j];
+    final double cz = xs[i] * ys[j] - ys[i] * xs[j];
+    final double sin = Math.sqrt(cx * cx + cy * cy + cz * cz);
+    final double fromI = ((ys[i] * pz - zs[i] * py) * cx + (zs[i] * px - xs[i] * pz) * cy + (xs[i] * py - ys[i] * px) * cz) / sin;
+    final double omega = StrictMath.atan2(sin, xs[i] * xs[j] + ys[i] * ys[j] + zs[i] * zs[j]);
+    final double fraction = Math.min(1, StrictMath.atan2(fromI, px * xs[i] + py * ys[i] + pz * zs[i]) / omega);
+    return distances[i] + fraction * (distances[j] - distances[i]);
+  }
+
+  private double angle(final double px, final double py, final double pz, final int index) {
+    final double cx = py * zs[index] - pz * ys[index];
+    final double cy = pz * xs[index] - px * zs[index];
+    final double cz = px * ys[index] - py * xs[index];
+    return StrictMath.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), px * xs[index] + py * ys[index] + pz * zs[index]);
+  }
+
+  private double nearest(final Location location, final boolean along) {
+    checkNotEmpty();
+    final double lat = location.latitude.value(Angle.Unit.RAD);
+    final double lon = location.longitude.value(Angle.Unit.RAD);
+    final double cosLat = StrictMath.cos(lat);
+    return nearest(cosLat * StrictMath.cos(lon), cosLat * StrictMath.sin(lon), StrictMath.sin(lat), along);
+  }
+
+  /**
+   * Returns the distance along this track to the point of this track nearest to the specified {@link Location}, in the specified
+   * {@link Distance.Unit}. The nearest point is found among all segments of this track in O(n).
+   *
+   * @param location The {@link Location}.
+   * @param unit The {@link Distance.Unit}.
+   * @return The distance along this track to the point of this track nearest to the specified {@link Location}.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code location} or {@code unit} is null.
+   */
+  public double alongTrack(final Location location, final Distance.Unit unit) {
+    return nearest(location, true) * Distance.Unit.KM.getFactor(unit);
+  }
+
+  /**
+   * Returns the {@link Distance} along this track to the point of this track nearest to the specified {@link Location}. The nearest
+   * point is found among all segments of this track in O(n).
+   *
+   * @param location The {@link Location}.
+   * @return The {@link Distance} along this track to the point of this track nearest to the specified {@link Location}.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public Distance alongTrack(final Location location) {
+    return new Distance(nearest(location, true), Distance.Unit.KM);
+  }
+
+  /**
+   * Returns the great-circle distance from the specified {@link Location} to the nearest point of this track, in the specified
+   * {@link Distance.Unit}. The distance is positive if the location is to the right of the direction of travel of the nearest
+   * segment (with longitudes increasing eastward), and negative if it is to the left.
+   *
+   * @param location The {@link Location}.
+   * @param unit The {@link Distance.Unit}.
+   * @return The signed great-circle distance from the specified {@link Location} to the nearest point of this track.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code location} or {@code unit} is null.
+   */
+  public double crossTrack(final Location location, final Distance.Unit unit) {
+    return nearest(location, false) * Distance.Unit.KM.getFactor(unit);
+  }
+
+  /**
+   * Returns the great-circle {@link Distance} from the specified {@link Location} to the nearest point of this track. The distance
+   * is positive if the location is to the right of the direction of travel of the nearest segment (with longitudes increasing
+   * eastward), and negative if it is to the left.
+   *
+   * @param location The {@link Location}.
+   * @return The signed great-circle {@link Distance} from the specified {@link Location} to the nearest point of this track.
+   * @throws IllegalStateException If this track is empty.
+   * @throws NullPointerException If {@code location} is null.
+   */
+  public Distance crossTrack(final Location location) {
+    return new Distance(nearest(location, false), Distance.Unit.KM);
+  }
+}
\ No newline at end of file
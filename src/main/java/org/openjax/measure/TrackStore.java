@@ -0,0 +1,611 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * A persistent, append-only store of tracks, recording the time, {@link Location} and {@link Velocity} of each sample of an entity
+ * in memory-mapped files.
+ * <p>
+ * The samples of an entity are held in a sequence of fixed-capacity segment files in the directory of the store, named
+ * {@code <entity>.<n>.trk}. Each segment holds five primitive columns of {@code double}s: the time in the {@link Time.Unit} of the
+ * store, the latitude and longitude in radians, the heading in radians, and the speed in the {@link Unit.Ratio speed unit} of the
+ * store. The samples of an entity must be appended in non-decreasing order of time, whereby time ranges are found by binary search.
+ * <p>
+ * Appends to an entity are serialized on the entity. Scans are lock-free, and may run concurrently with appends, observing the
+ * samples appended before the scan began. Scans return {@link Slice}s that read the mapped columns directly, without copying or
+ * deserializing the samples.
+ * <p>
+ * A directory is owned by a single {@link TrackStore}, which holds a {@link FileLock} on the file {@code store.lock} in the
+ * directory from its construction until it is closed. Another {@link TrackStore} of the same directory, in this or another
+ * process, cannot be created in the meantime, whereby the segments are never appended by two stores at once.
+ */
+public final class TrackStore implements Closeable {
+  private static final byte MAGIC0 = 'O';
+  private static final byte MAGIC1 = 'T';
+  private static final byte VERSION = 1;
+
+  private static final int HEADER = 64;
+  private static final int COUNT = 4;
+  private static final int CAPACITY = 8;
+  private static final int UNITS = 12;
+  private static final int COLUMNS = 5;
+
+  private static final int TIME = 0;
+  private static final int LATITUDE = 1;
+  private static final int LONGITUDE = 2;
+  private static final int HEADING = 3;
+  private static final int SPEED = 4;
+
+  private static final String LOCK = "store.lock";
+
+  /**
+   * A read-only view of a contiguous range of samples of one segment of a track.
+   */
+  public final class Slice {
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int offset;
+    private final int size;
+
+    private Slice(final ByteBuffer buffer, final int capacity, final int offset, final int size) {
+      this.buffer = buffer;
+      this.capacity = capacity;
+      this.offset = offset;
+      this.size = size;
+    }
+
+    private int index(final int column, final int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+      return HEADER + (column * capacity + offset + index) * 8;
+    }
+
+    private DoubleBuffer column(final int column) {
+      final ByteBuffer buffer = this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      buffer.position(HEADER + (column * capacity + offset) * 8);
+      buffer.limit(buffer.position() + size * 8);
+      return buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    /**
+     * Returns the number of samples in this slice.
+     *
+     * @return The number of samples in this slice.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the time of the sample at the specified index, in the {@link Time.Unit} of the store.
+     *
+     * @param index The index of the sample.
+     * @return The time of the sample at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public double time(final int index) {
+      return buffer.getDouble(index(TIME, index));
+    }
+
+    /**
+     * Returns the latitude of the sample at the specified index, in radians.
+     *
+     * @param index The index of the sample.
+     * @return The latitude of the sample at the specified index, in radians.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public double latitude(final int index) {
+      return buffer.getDouble(index(LATITUDE, index));
+    }
+
+    /**
+     * Returns the longitude of the sample at the specified index, in radians.
+     *
+     * @param index The index of the sample.
+     * @return The longitude of the sample at the specified index, in radians.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public double longitude(final int index) {
+      return buffer.getDouble(index(LONGITUDE, index));
+    }
+
+    /**
+     * Returns the heading of the sample at the specified index, in radians.
+     *
+     * @param index The index of the sample.
+     * @return The heading of the sample at the specified index, in radians.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public double heading(final int index) {
+      return buffer.getDouble(index(HEADING, index));
+    }
+
+    /**
+     * Returns the speed of the sample at the specified index, in the speed unit of the store.
+     *
+     * @param index The index of the sample.
+     * @return The speed of the sample at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public double speed(final int index) {
+      return buffer.getDouble(index(SPEED, index));
+    }
+
+    /**
+     * Returns a new {@link Location} of the sample at the specified index.
+     *
+     * @param index The index of the sample.
+     * @return A new {@link Location} of the sample at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public Location location(final int index) {
+      return new Location(new Angle(latitude(index), Angle.Unit.RAD), new Angle(longitude(index), Angle.Unit.RAD));
+    }
+
+    /**
+     * Returns a new {@link Velocity} of the sample at the specified index.
+     *
+     * @param index The index of the sample.
+     * @return A new {@link Velocity} of the sample at the specified index.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public Velocity velocity(final int index) {
+      return new Velocity(new Angle(heading(index), Angle.Unit.RAD), new Speed(speed(index), speedUnit));
+    }
+
+    /**
+     * Returns a {@link DoubleBuffer} view of the times of the samples in this slice, in the {@link Time.Unit} of the store.
+     *
+     * @return A {@link DoubleBuffer} view of the times of the samples in this slice.
+     */
+    public DoubleBuffer times() {
+      return column(TIME);
+    }
+
+    /**
+     * Returns a {@link DoubleBuffer} view of the latitudes of the samples in this slice, in radians.
+     *
+     * @return A {@link DoubleBuffer} view of the latitudes of the samples in this slice.
+     */
+    public DoubleBuffer latitudes() {
+      return column(LATITUDE);
+    }
+
+    /**
+     * Returns a {@link DoubleBuffer} view of the longitudes of the samples in this slice, in radians.
+     *
+     * @return A {@link DoubleBuffer} view of the longitudes of the samples in this slice.
+     */
+    public DoubleBuffer longitudes() {
+      return column(LONGITUDE);
+    }
+
+    /**
+     * Returns a {@link DoubleBuffer} view of the headings of the samples in this slice, in radians.
+     *
+     * @return A {@link DoubleBuffer} view of the headings of the samples in this slice.
+     */
+    public DoubleBuffer headings() {
+      return column(HEADING);
+    }
+
+    /**
+     * Returns a {@link DoubleBuffer} view of the speeds of the samples in this slice, in the speed unit of the store.
+     *
+     * @return A {@link DoubleBuffer} view of the speeds of the samples in this slice.
+     */
+    public DoubleBuffer speeds() {
+      return column(SPEED);
+    }
+
+    /**
+     * Appends the locations of the samples in this slice to the specified {@link LocationArray}, copying the columns in bulk.
+     *
+     * @param array The {@link LocationArray} to which to append.
+     * @return The specified {@link LocationArray}.
+     * @throws NullPointerException If {@code array} is null.
+     */
+    public LocationArray copyTo(final LocationArray array) {
+      array.addAll(latitudes(), longitudes());
+      return array;
+    }
+  }
+
+  private static final class Segment {
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    /** The number of samples, published after the columns of the samples are written. */
+    private volatile int count;
+
+    private Segment(final MappedByteBuffer buffer, final int capacity, final int count) {
+      this.buffer = buffer;
+      this.capacity = capacity;
+      this.count = count;
+    }
+
+    private double get(final int column, final int index) {
+      return buffer.getDouble(HEADER + (column * capacity + index) * 8);
+    }
+
+    /**
+     * Returns the index of the first sample at or after the specified time, among the first {@code count} samples.
+     */
+    private int search(final double time, final int count) {
+      int low = 0;
+      int high = count;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (get(TIME, mid) < time)
+          low = mid + 1;
+        else
+          high = mid;
+      }
+
+      return low;
+    }
+  }
+
+  private final class Entity {
+    private final String name;
+    private volatile Segment[] segments;
+
+    private Entity(final String name) throws IOException {
+      this.name = name;
+      final ArrayList<Segment> segments = new ArrayList<>();
+      for (Path path; Files.exists(path = path(segments.size())); segments.add(open(path, -1)));
+      this.segments = segments.toArray(new Segment[segments.size()]);
+    }
+
+    private Path path(final int index) {
+      return TrackStore.this.path(name, index);
+    }
+
+    private synchronized void append(final double time, final double latitude, final double longitude, final double heading, final double speed) throws IOException {
+      if (Double.isNaN(time))
+        throw new IllegalArgumentException("time is NaN");
+
+      Segment segment = segments.length == 0 ? null : segments[segments.length - 1];
+      if (segment != null) {
+        final int count = segment.count;
+        if (count > 0 && !(time >= segment.get(TIME, count - 1)))
+          throw new IllegalArgumentException("time (" + time + ") precedes the last time (" + segment.get(TIME, count - 1) + ") of " + name);
+
+        if (count == segment.capacity)
+          segment = null;
+      }
+
+      if (segment == null) {
+        segment = open(path(segments.length), capacity);
+        final Segment[] segments = Arrays.copyOf(this.segments, this.segments.length + 1);
+        segments[segments.length - 1] = segment;
+        this.segments = segments;
+      }
+
+      final int count = segment.count;
+      final MappedByteBuffer buffer = segment.buffer;
+      final int offset = HEADER + count * 8;
+      final int stride = segment.capacity * 8;
+      buffer.putDouble(offset + TIME * stride, time);
+      buffer.putDouble(offset + LATITUDE * stride, latitude);
+      buffer.putDouble(offset + LONGITUDE * stride, longitude);
+      buffer.putDouble(offset + HEADING * stride, heading);
+      buffer.putDouble(offset + SPEED * stride, speed);
+      buffer.putInt(COUNT, count + 1);
+      segment.count = count + 1;
+    }
+  }
+
+  private final Path directory;
+  private final Time.Unit timeUnit;
+  private final Unit.Ratio<Distance.Unit,Time.Unit> speedUnit;
+  private final int capacity;
+  private final byte[] units;
+  /** The channel of the lock file, holding the lock of the directory until it is closed. */
+  private final FileChannel lock;
+  private final ConcurrentHashMap<String,Entity> entities = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  /**
+   * Creates a new {@link TrackStore} in the specified directory, with segments of the specified capacity.
+   *
+   * @param directory The directory of the store, which is created if it does not exist.
+   * @param timeUnit The {@link Time.Unit} in which times are stored.
+   * @param speedUnit The {@link Unit.Ratio} in which speeds are stored.
+   * @param capacity The number of samples of a segment.
+   * @throws IllegalArgumentException If {@code capacity} is not positive, or is so large that a segment would exceed 2GB.
+   * @throws IOException If an I/O error has occurred, or if the directory is in use by another {@link TrackStore}.
+   * @throws NullPointerException If {@code directory}, {@code timeUnit}, or {@code speedUnit} is null.
+   */
+  public TrackStore(final Path directory, final Time.Unit timeUnit, final Unit.Ratio<Distance.Unit,Time.Unit> speedUnit, final int capacity) throws IOException {
+    if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER) / (COLUMNS * 8))
+      throw new IllegalArgumentException("capacity (" + capacity + ") is out of range");
+
+    this.directory = Files.createDirectories(directory);
+    this.timeUnit = Objects.requireNonNull(timeUnit, "timeUnit is null");
+    this.speedUnit = Objects.requireNonNull(speedUnit, "speedUnit is null");
+    this.capacity = capacity;
+
+    final ByteBuffer units = ByteBuffer.allocate(HEADER - UNITS);
+    BinaryCodec.putUnit(units, timeUnit);
+    BinaryCodec.putUnit(units, speedUnit);
+    this.units = units.array();
+    this.lock = lock(this.directory);
+  }
+
+  /**
+   * Returns the {@link FileChannel} of the lock file of the specified directory, holding an exclusive lock of the file.
+   */
+  private static FileChannel lock(final Path directory) throws IOException {
+    final FileChannel channel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    FileLock lock = null;
+    try {
+      lock = channel.tryLock();
+    }
+    catch (final OverlappingFileLockException e) {
+      // Held by another TrackStore in this process
+    }
+    finally {
+      if (lock == null)
+        channel.close();
+    }
+
+    if (lock == null)
+      throw new IOException("Directory is in use by another TrackStore: " + directory);
+
+    return channel;
+  }
+
+  /**
+   * Creates a new {@link TrackStore} in the specified directory, with segments of 65536 samples.
+   *
+   * @param directory The directory of the store, which is created if it does not exist.
+   * @param timeUnit The {@link Time.Unit} in which times are stored.
+   * @param speedUnit The {@link Unit.Ratio} in which speeds are stored.
+   * @throws IOException If an I/O error has occurred, or if the directory is in use by another {@link TrackStore}.
+   * @throws NullPointerException If {@code directory}, {@code timeUnit}, or {@code speedUnit} is null.
+   */
+  public TrackStore(final Path directory, final Time.Unit timeUnit, final Unit.Ratio<Distance.Unit,Time.Unit> speedUnit) throws IOException {
+    this(directory, timeUnit, speedUnit, 1 << 16);
+  }
+
+  /**
+   * Returns the {@link Time.Unit} in which times are stored.
+   *
+   * @return The {@link Time.Unit} in which times are stored.
+   */
+  public Time.Unit getTimeUnit() {
+    return timeUnit;
+  }
+
+  /**
+   * Returns the {@link Unit.Ratio} in which speeds are stored.
+   *
+   * @return The {@link Unit.Ratio} in which speeds are stored.
+   */
+  public Unit.Ratio<Distance.Unit,Time.Unit> getSpeedUnit() {
+    return speedUnit;
+  }
+
+  /**
+   * Opens the segment at the specified path, or creates it with the specified capacity if {@code capacity} is not negative.
+   */
+  private Segment open(final Path path, final int capacity) throws IOException {
+    try (final FileChannel channel = capacity < 0 ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE) : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+      if (capacity >= 0) {
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long)capacity * COLUMNS * 8);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(0, MAGIC0).put(1, MAGIC1).put(2, VERSION);
+        buffer.putInt(COUNT, 0).putInt(CAPACITY, capacity);
+        for (int i = 0; i < units.length; ++i) // [A]
+          buffer.put(UNITS + i, units[i]);
+
+        return new Segment(buffer, capacity, 0);
+      }
+
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      if (buffer.limit() < HEADER || buffer.get(0) != MAGIC0 || buffer.get(1) != MAGIC1 || buffer.get(2) != VERSION)
+        throw new IOException("Malformed segment: " + path);
+
+      final int existing = buffer.getInt(CAPACITY);
+      final int count = buffer.getInt(COUNT);
+      if (existing <= 0 || count < 0 || count > existing || buffer.limit() != HEADER + (long)existing * COLUMNS * 8)
+        throw new IOException("Malformed segment: " + path);
+
+      for (int i = 0; i < units.length; ++i) // [A]
+        if (buffer.get(UNITS + i) != units[i])
+          throw new IOException("Segment " + path + " was not written in " + timeUnit + " and " + speedUnit);
+
+      return new Segment(buffer, existing, count);
+    }
+  }
+
+  private Path path(final String name, final int index) {
+    return directory.resolve(name + "." + index + ".trk");
+  }
+
+  /**
+   * Returns the {@link Entity} of the specified name. If the entity is not yet registered, it is registered if {@code create} is
+   * {@code true} or its first segment exists, and otherwise {@code null} is returned.
+   */
+  private Entity entity(final String name, final boolean create) throws IOException {
+    if (closed)
+      throw new IllegalStateException("TrackStore is closed");
+
+    final Entity entity = entities.get(name);
+    if (entity != null)
+      return entity;
+
+    for (int i = 0, i$ = name.length(); i < i$; ++i) {
+      final char ch = name.charAt(i);
+      if (!('a' <= ch && ch <= 'z' || 'A' <= ch && ch <= 'Z' || '0' <= ch && ch <= '9' || ch == '-' || ch == '_'))
+        throw new IllegalArgumentException("Illegal character '" + ch + "' in entity name: \"" + name + "\"");
+    }
+
+    if (name.isEmpty())
+      throw new IllegalArgumentException("Entity name is empty");
+
+    if (!create && !Files.exists(path(name, 0)))
+      return null;
+
+    synchronized (entities) {
+      Entity created = entities.get(name);
+      if (created == null)
+        entities.put(name, created = new Entity(name));
+
+      return created;
+    }
+  }
+
+  /**
+   * Appends a sample to the track of the specified entity.
+   *
+   * @param entity The name of the entity, consisting of the characters {@code [A-Za-z0-9_-]}.
+   * @param time The time of the sample, in the {@link Time.Unit} of the store.
+   * @param latitude The latitude, in radians.
+   * @param longitude The longitude, in radians.
+   * @param heading The heading, in radians.
+   * @param speed The speed, in the speed unit of the store.
+   * @throws IllegalArgumentException If {@code entity} is empty or contains an illegal character, or {@code time} is NaN or precedes
+   *           the time of the last sample of the entity.
+   * @throws IllegalStateException If this store is closed.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code entity} is null.
+   */
+  public void append(final String entity, final double time, final double latitude, final double longitude, final double heading, final double speed) throws IOException {
+    entity(entity, true).append(time, latitude, longitude, heading, speed);
+  }
+
+  /**
+   * Appends a sample to the track of the specified entity, converting its values to the units of the store.
+   *
+   * @param entity The name of the entity, consisting of the characters {@code [A-Za-z0-9_-]}.
+   * @param time The {@link Time} of the sample.
+   * @param location The {@link Location}.
+   * @param velocity The {@link Velocity}.
+   * @throws IllegalArgumentException If {@code entity} is empty or contains an illegal character, or {@code time} is NaN or precedes
+   *           the time of the last sample of the entity.
+   * @throws IllegalStateException If this store is closed.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If any of the parameters, or a component thereof, is null.
+   */
+  public void append(final String entity, final Time time, final Location location, final Velocity velocity) throws IOException {
+    append(entity, time.value(timeUnit), location.latitude.value(Angle.Unit.RAD), location.longitude.value(Angle.Unit.RAD), velocity.i.value(Angle.Unit.RAD), velocity.j.value(speedUnit));
+  }
+
+  /**
+   * Returns the {@link Slice}s of the samples of the specified entity with a time in the range {@code [from, to)}, in order of time.
+   * Each {@link Slice} reads one segment of the track directly.
+   *
+   * @param entity The name of the entity.
+   * @param from The inclusive lower bound of the range, in the {@link Time.Unit} of the store.
+   * @param to The exclusive upper bound of the range, in the {@link Time.Unit} of the store.
+   * @return The {@link Slice}s of the samples of the specified entity with a time in the range {@code [from, to)}, which is empty if
+   *         the entity has no such samples.
+   * @throws IllegalArgumentException If {@code entity} is empty or contains an illegal character.
+   * @throws IllegalStateException If this store is closed.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code entity} is null.
+   */
+  public ArrayList<Slice> scan(final String entity, final double from, final double to) throws IOException {
+    final ArrayList<Slice> slices = new ArrayList<>();
+    final Entity e = entity(entity, false);
+    if (e == null)
+      return slices;
+
+    for (final Segment segment : e.segments) { // [A]
+      final int count = segment.count;
+      if (count == 0 || segment.get(TIME, count - 1) < from)
+        continue;
+
+      if (segment.get(TIME, 0) >= to)
+        break;
+
+      final int start = segment.search(from, count);
+      final int end = segment.search(to, count);
+      if (start < end)
+        slices.add(new Slice(segment.buffer, segment.capacity, start, end - start));
+    }
+
+    return slices;
+  }
+
+  /**
+   * Returns the {@link Slice}s of all samples of the specified entity, in order of time.
+   *
+   * @param entity The name of the entity.
+   * @return The {@link Slice}s of all samples of the specified entity, which is empty if the entity has no samples.
+   * @throws IllegalArgumentException If {@code entity} is empty or contains an illegal character.
+   * @throws IllegalStateException If this store is closed.
+   * @throws IOException If an I/O error has occurred.
+   * @throws NullPointerException If {@code entity} is null.
+   */
+  public ArrayList<Slice> scan(final String entity) throws IOException {
+    return scan(entity, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Forces the samples appended to this store to be written to storage.
+   */
+  public void flush() {
+    for (final Entity entity : entities.values()) // [C]
+      for (final Segment segment : entity.segments) // [A]
+        segment.buffer.force();
+  }
+
+  /**
+   * Forces the samples appended to this store to be written to storage, closes this store, and releases the lock of its directory.
+   * The mapped segments are released when they are no longer referenced, including by {@link Slice}s.
+   *
+   * @throws UncheckedIOException If an I/O error has occurred releasing the lock of the directory.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      flush();
+      closed = true;
+      entities.clear();
+      try {
+        lock.close();
+      }
+      catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
\ No newline at end of file
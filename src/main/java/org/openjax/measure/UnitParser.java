@@ -0,0 +1,209 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import java.util.HashMap;
+
+import org.openjax.measure.Dimension.Unit;
+
+/**
+ * Parser of unit expressions, such as {@code "km/hr"}, into {@link Unit}s.
+ *
+ * @see Unit#parse(String)
+ */
+final class UnitParser {
+  /** The maximum exponent of a symbol. */
+  static final int MAX_EXPONENT = 4;
+  /** The maximum number of symbols of an expression, counting each symbol as many times as its exponent. */
+  static final int MAX_SYMBOLS = 8;
+
+  private static final HashMap<String,Unit> symbols = new HashMap<>();
+  private static final HashMap<String,Unit> bases = new HashMap<>();
+  private static final HashMap<String,MetricPrefix> prefixes = new HashMap<>();
+
+  private static final class Entry {
+    private final String expression;
+    private final Unit unit;
+
+    private Entry(final String expression, final Unit unit) {
+      this.expression = expression;
+      this.unit = unit;
+    }
+  }
+
+  /**
+   * Direct-mapped cache of resolved expressions. Entries are immutable, and the slots are written without synchronization: a racing
+   * reader sees either the previous or the new {@link Entry}, each of which is valid.
+   */
+  private static final Entry[] cache = new Entry[1024];
+
+  static {
+    // The units declared in Angle, Distance, Elevation, Mass, Force, Time and Volume, listed rather than discovered by reflection,
+    // which would load an accessor per field. Mass precedes Force, whereby "lb" is the pound of mass
+    final Unit[] declared = {
+      Angle.Unit.RAD, Angle.Unit.DEG,
+      Distance.Unit.M, Distance.Unit.FT, Distance.Unit.MI, Distance.Unit.KM, Distance.Unit.NM,
+      Elevation.Unit.FL,
+      Mass.Unit.G, Mass.Unit.KG, Mass.Unit.CT, Mass.Unit.LB,
+      Force.Unit.N, Force.Unit.LBF,
+      Time.Unit.SEC, Time.Unit.MIN, Time.Unit.HR, Time.Unit.DAY, Time.Unit.WK,
+      Volume.Unit.L, Volume.Unit.ML, Volume.Unit.GAL
+    };
+
+    for (final Unit unit : declared) // [A]
+      symbols.putIfAbsent(unit.name, unit);
+
+    symbols.put("lbf", Force.Unit.LBF);
+
+    final Unit[] units = {Angle.Unit.RAD, Distance.Unit.M, Force.Unit.N, Mass.Unit.G, Time.Unit.SEC, Volume.Unit.L};
+    for (final Unit unit : units) // [A]
+      bases.put(unit.name, unit);
+
+    for (int i = -24; i <= 24; ++i) {
+      final MetricPrefix prefix = MetricPrefix.of(i);
+      if (prefix != null)
+        prefixes.put(prefix.getSymbol(), prefix);
+    }
+  }
+
+  static Unit parse(final String expression) {
+    int h = expression.hashCode();
+    h ^= h >>> 16;
+    final int slot = h & (cache.length - 1);
+    final Entry entry = cache[slot];
+    if (entry != null && entry.expression.equals(expression))
+      return entry.unit;
+
+    final Unit unit = new UnitParser(expression).parse();
+    cache[slot] = new Entry(expression, unit);
+    return unit;
+  }
+
+  /**
+   * Returns the expression of the specified {@link Unit} that {@link #parse(String)} resolves to the same unit, which is the name of
+   * the unit, other than for {@link Force.Unit#LBF} (named {@code "lb"}, the symbol of {@link Mass.Unit#LB}) and the composite units
+   * thereof.
+   */
+  static String format(final Unit unit) {
+    if (unit == Force.Unit.LBF)
+      return "lbf";
+
+    if (unit instanceof Unit.Ratio) {
+      final Unit.Ratio<?,?> ratio = (Unit.Ratio<?,?>)unit;
+      return format(ratio.numerator) + "/" + format(ratio.denominator);
+    }
+
+    if (unit instanceof Unit.Product) {
+      final Unit.Product<?,?> product = (Unit.Product<?,?>)unit;
+      return format(product.first) + "*" + format(product.second);
+    }
+
+    return unit.name;
+  }
+
+  private final String expression;
+  private int index;
+  private int count;
+
+  private UnitParser(final String expression) {
+    this.expression = expression;
+  }
+
+  private IllegalArgumentException error(final String message, final int index) {
+    return new IllegalArgumentException(message + " at index " + index + ": \"" + expression + "\"");
+  }
+
+  private void skipWhitespace() {
+    while (index < expression.length() && Character.isWhitespace(expression.charAt(index)))
+      ++index;
+  }
+
+  private Unit parse() {
+    Unit unit = term();
+    for (skipWhitespace(); index < expression.length(); skipWhitespace()) {
+      final char operator = expression.charAt(index++);
+      if (operator == '*')
+        unit = Unit.produc(unit, term());
+      else if (operator == '/')
+        unit = Unit.ratio(unit, term());
+      else
+        throw error("Expected '*' or '/'", index - 1);
+    }
+
+    return unit;
+  }
+
+  private Unit term() {
+    skipWhitespace();
+    final int start = index;
+    for (char ch; index < expression.length() && (ch = expression.charAt(index)) != '*' && ch != '/' && ch != '^' && !Character.isWhitespace(ch); ++index);
+    if (index == start)
+      throw error("Expected unit symbol", start);
+
+    final Unit unit = symbol(expression.substring(start, index));
+    if (unit == null)
+      throw error("Unknown unit symbol", start);
+
+    // The composites of an expression are interned, and are thus bounded before they are created
+    if (++count > MAX_SYMBOLS)
+      throw error("Too many symbols", start);
+
+    skipWhitespace();
+    if (index == expression.length() || expression.charAt(index) != '^')
+      return unit;
+
+    ++index;
+    skipWhitespace();
+    final int offset = index;
+    int exponent = 0;
+    for (char ch; index < expression.length() && '0' <= (ch = expression.charAt(index)) && ch <= '9'; ++index) {
+      exponent = exponent * 10 + ch - '0';
+      if (exponent > MAX_EXPONENT)
+        throw error("Exponent out of range", offset);
+    }
+
+    if (exponent == 0)
+      throw error("Expected positive integer exponent", offset);
+
+    if ((count += exponent - 1) > MAX_SYMBOLS)
+      throw error("Too many symbols", start);
+
+    Unit power = unit;
+    for (int i = 1; i < exponent; ++i)
+      power = Unit.produc(power, unit);
+
+    return power;
+  }
+
+  private static Unit symbol(final String symbol) {
+    final Unit unit = symbols.get(symbol);
+    if (unit != null)
+      return unit;
+
+    // The longest prefix symbol is "da"
+    for (int i = Math.min(2, symbol.length() - 1); i > 0; --i) {
+      final MetricPrefix prefix = prefixes.get(symbol.substring(0, i));
+      if (prefix != null) {
+        final Unit base = bases.get(symbol.substring(i));
+        if (base != null)
+          return base.prefix(prefix);
+      }
+    }
+
+    return null;
+  }
+}
\ No newline at end of file
@@ -16,15 +16,214 @@
 
 package org.openjax.measure;
 
+import org.openjax.measure.Dimension.Unit;
+
 /**
- * A vector dimension representing velocity.
+ * A vector dimension representing velocity, as a heading {@link Angle} ({@link #i}) measured clockwise from north, and a
+ * {@link Speed} ({@link #j}).
+ * <p>
+ * The cartesian north and east components of a velocity are computed once at construction, whereby vector addition, subtraction
+ * and the dot product require no trigonometry.
  */
 public final class Velocity extends Dimension.Vector<Angle,Speed> {
+  private static void checkRange(final int length, final int off, final int len) {
+    if (off < 0 || len < 0 || off > length - len)
+      throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+  }
+
+  /**
+   * Returns a new {@link Velocity} with the specified cartesian components.
+   *
+   * @param north The north component.
+   * @param east The east component.
+   * @param unit The speed unit of {@code north} and {@code east}, and of the {@link Speed} of the new {@link Velocity}.
+   * @return A new {@link Velocity} with the specified cartesian components.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public static Velocity of(final double north, final double east, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    return new Velocity(north * unit.scale, east * unit.scale, unit);
+  }
+
+  /**
+   * Writes the projections of the specified {@link Velocity}s onto the specified heading to {@code dst}, as the speed in the
+   * specified unit in the direction of the heading. The trigonometry of the heading is computed once.
+   *
+   * @param velocities The array of {@link Velocity}s.
+   * @param off The offset in {@code velocities} and {@code dst} of the first velocity.
+   * @param len The number of velocities.
+   * @param heading The heading onto which to project.
+   * @param unit The speed unit of the projections.
+   * @param dst The array to which the projections are to be written.
+   * @throws IndexOutOfBoundsException If {@code off} and {@code len} are out of range of {@code velocities} or {@code dst}.
+   * @throws NullPointerException If {@code velocities}, a velocity in the range, {@code heading}, {@code unit}, or {@code dst} is
+   *           null.
+   */
+  public static void project(final Velocity[] velocities, final int off, final int len, final Angle heading, final Unit.Ratio<Distance.Unit,Time.Unit> unit, final double[] dst) {
+    checkRange(velocities.length, off, len);
+    checkRange(dst.length, off, len);
+    final double radians = heading.value(Angle.Unit.RAD);
+    final double cos = StrictMath.cos(radians) / unit.scale;
+    final double sin = StrictMath.sin(radians) / unit.scale;
+    for (int i = off, i$ = off + len; i < i$; ++i) { // [A]
+      final Velocity velocity = velocities[i];
+      dst[i] = velocity.north * cos + velocity.east * sin;
+    }
+  }
+
+  /**
+   * Writes the projection of each of the specified {@link Velocity}s onto the heading at the same index of {@code headings} to
+   * {@code dst}, as the speed in the specified unit in the direction of the heading.
+   *
+   * @param velocities The array of {@link Velocity}s.
+   * @param off The offset in {@code velocities}, {@code headings} and {@code dst} of the first velocity.
+   * @param len The number of velocities.
+   * @param headings The array of headings onto which to project.
+   * @param headingUnit The {@link Angle.Unit} of {@code headings}.
+   * @param unit The speed unit of the projections.
+   * @param dst The array to which the projections are to be written, which may be {@code headings}.
+   * @throws IndexOutOfBoundsException If {@code off} and {@code len} are out of range of {@code velocities}, {@code headings} or
+   *           {@code dst}.
+   * @throws NullPointerException If {@code velocities}, a velocity in the range, {@code headings}, {@code headingUnit},
+   *           {@code unit}, or {@code dst} is null.
+   */
+  public static void project(final Velocity[] velocities, final int off, final int len, final double[] headings, final Angle.Unit headingUnit, final Unit.Ratio<Distance.Unit,Time.Unit> unit, final double[] dst) {
+    checkRange(velocities.length, off, len);
+    checkRange(headings.length, off, len);
+    checkRange(dst.length, off, len);
+    final double factor = headingUnit.getFactor(Angle.Unit.RAD);
+    final double scale = 1 / unit.scale;
+    for (int i = off, i$ = off + len; i < i$; ++i) { // [A]
+      final Velocity velocity = velocities[i];
+      dst[i] = velocity.speed * scale * StrictMath.cos(velocity.heading - headings[i] * factor);
+    }
+  }
+
+  /**
+   * Writes the cartesian components of the sums of the {@link Velocity}s at the same index of {@code a} and {@code b} to
+   * {@code north} and {@code east}, in the specified speed unit.
+   *
+   * @param a The first array of {@link Velocity}s.
+   * @param b The second array of {@link Velocity}s.
+   * @param off The offset in {@code a}, {@code b}, {@code north} and {@code east} of the first velocity.
+   * @param len The number of velocities.
+   * @param unit The speed unit of the components.
+   * @param north The array to which the north components are to be written.
+   * @param east The array to which the east components are to be written.
+   * @throws IndexOutOfBoundsException If {@code off} and {@code len} are out of range of any of the arrays.
+   * @throws NullPointerException If any of the parameters, or a velocity in the range, is null.
+   */
+  public static void add(final Velocity[] a, final Velocity[] b, final int off, final int len, final Unit.Ratio<Distance.Unit,Time.Unit> unit, final double[] north, final double[] east) {
+    checkRange(a.length, off, len);
+    checkRange(b.length, off, len);
+    checkRange(north.length, off, len);
+    checkRange(east.length, off, len);
+    final double scale = 1 / unit.scale;
+    for (int i = off, i$ = off + len; i < i$; ++i) { // [A]
+      north[i] = (a[i].north + b[i].north) * scale;
+      east[i] = (a[i].east + b[i].east) * scale;
+    }
+  }
+
+  /** The heading, in radians. */
+  private final double heading;
+  /** The speed, in the root unit of the family of speed units. */
+  private final double speed;
+  /** The north component, in the root unit of the family of speed units. */
+  private final double north;
+  /** The east component, in the root unit of the family of speed units. */
+  private final double east;
+
   public Velocity(final Angle i, final Speed j) {
     super(i, j);
+    this.heading = i.value(Angle.Unit.RAD);
+    this.speed = j.base;
+    this.north = speed * StrictMath.cos(heading);
+    this.east = speed * StrictMath.sin(heading);
+  }
+
+  private Velocity(final double north, final double east, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    this(north, east, StrictMath.atan2(east, north), StrictMath.hypot(north, east), unit);
+  }
+
+  private Velocity(final double north, final double east, final double heading, final double speed, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    super(new Angle(heading < 0 ? heading + 2 * Math.PI : heading, Angle.Unit.RAD), new Speed(speed / unit.scale, unit));
+    this.heading = heading;
+    this.speed = speed;
+    this.north = north;
+    this.east = east;
   }
 
   public Speed value(final Angle angle) {
-    return (Speed)j.replicate(j.value(j.unit) * StrictMath.cos(this.i.value(Angle.Unit.RAD) - angle.value(Angle.Unit.RAD)));
+    return j.replicate(j.value(j.unit) * StrictMath.cos(this.i.value(Angle.Unit.RAD) - angle.value(Angle.Unit.RAD)));
+  }
+
+  /**
+   * Returns the speed of this velocity in the direction of the specified heading, in the specified speed unit.
+   *
+   * @param angle The heading.
+   * @param unit The speed unit.
+   * @return The speed of this velocity in the direction of the specified heading, in the specified speed unit.
+   * @throws NullPointerException If {@code angle} or {@code unit} is null.
+   */
+  public double value(final Angle angle, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    return speed / unit.scale * StrictMath.cos(heading - angle.value(Angle.Unit.RAD));
+  }
+
+  /**
+   * Returns the north component of this velocity, in the specified speed unit.
+   *
+   * @param unit The speed unit.
+   * @return The north component of this velocity, in the specified speed unit.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public double north(final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    return north / unit.scale;
+  }
+
+  /**
+   * Returns the east component of this velocity, in the specified speed unit.
+   *
+   * @param unit The speed unit.
+   * @return The east component of this velocity, in the specified speed unit.
+   * @throws NullPointerException If {@code unit} is null.
+   */
+  public double east(final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    return east / unit.scale;
+  }
+
+  /**
+   * Returns the dot product of this velocity and the specified velocity, in the square of the specified speed unit.
+   *
+   * @param velocity The {@link Velocity}.
+   * @param unit The speed unit.
+   * @return The dot product of this velocity and the specified velocity, in the square of the specified speed unit.
+   * @throws NullPointerException If {@code velocity} or {@code unit} is null.
+   */
+  public double dot(final Velocity velocity, final Unit.Ratio<Distance.Unit,Time.Unit> unit) {
+    return (north * velocity.north + east * velocity.east) / (unit.scale * unit.scale);
+  }
+
+  /**
+   * Returns a new {@link Velocity} that is the vector sum of this velocity and the specified velocity, with a {@link Speed} in the
+   * unit of the speed of this velocity.
+   *
+   * @param addend The {@link Velocity} to add.
+   * @return A new {@link Velocity} that is the vector sum of this velocity and the specified velocity.
+   * @throws NullPointerException If {@code addend} is null.
+   */
+  public Velocity add(final Velocity addend) {
+    return new Velocity(north + addend.north, east + addend.east, j.unit);
+  }
+
+  /**
+   * Returns a new {@link Velocity} that is the vector difference of this velocity and the specified velocity, with a {@link Speed}
+   * in the unit of the speed of this velocity.
+   *
+   * @param subtrahend The {@link Velocity} to subtract.
+   * @return A new {@link Velocity} that is the vector difference of this velocity and the specified velocity.
+   * @throws NullPointerException If {@code subtrahend} is null.
+   */
+  public Velocity subtract(final Velocity subtrahend) {
+    return new Velocity(north - subtrahend.north, east - subtrahend.east, j.unit);
   }
 }
\ No newline at end of file
@@ -22,15 +22,45 @@ package org.openjax.measure;
 public final class Volume extends Dimension.Scalar<Dimension.Unit> {
   public static class Unit extends Dimension.Unit {
     public static final Unit L = new Unit("l", 1, null);
-    public static final Unit ML = new Unit("ml", 0.01, Unit.L);
+    public static final Unit ML = new Unit("ml", 0.001, Unit.L);
     public static final Unit GAL = new Unit("gal", 3.785411784, Unit.L);
 
     protected Unit(final String name, final double factor, final Dimension.Unit basis) {
       super(name, factor, basis);
     }
+
+    @Override
+    Unit derive(final String name, final double factor) {
+      return new Unit(name, factor, this);
+    }
+
+    @Override
+    public Unit prefix(final MetricPrefix prefix) {
+      return (Unit)super.prefix(prefix);
+    }
   }
 
   public Volume(final double value, final Unit unit) {
     super(value, unit);
   }
+
+  @Override
+  protected Volume replicate(final double value) {
+    return new Volume(value, (Unit)unit);
+  }
+
+  @Override
+  public Volume add(final Dimension.Scalar<Dimension.Unit> addend) {
+    return (Volume)super.add(addend);
+  }
+
+  @Override
+  public Volume subtract(final Dimension.Scalar<Dimension.Unit> subtrahend) {
+    return (Volume)super.subtract(subtrahend);
+  }
+
+  @Override
+  public Volume scale(final double factor) {
+    return (Volume)super.scale(factor);
+  }
 }
\ No newline at end of file
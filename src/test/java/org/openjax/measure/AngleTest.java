@@ -18,6 +18,9 @@ package org.openjax.measure;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 public class AngleTest {
@@ -30,4 +33,51 @@ public class AngleTest {
     assertEquals(latitude, new Angle(latitude.toDMS()));
     assertEquals(longitude, new Angle(longitude.toDMS()));
   }
+
+  @Test
+  public void testFormatDMS() throws Exception {
+    assertEquals("3˚34'59.664\"", new Angle(3.58324, Angle.Unit.DEG).formatDMS(new StringBuilder(), 3).toString());
+    assertEquals("-4˚35'31\"", new Angle(-4.59202, Angle.Unit.DEG).formatDMS(new StringBuilder(), 0).toString());
+    assertEquals("1˚0'0.00\"", new Angle(0.9999999, Angle.Unit.DEG).formatDMS(new StringBuilder(), 2).toString());
+    assertEquals("0˚0'0\"", new Angle(-0.0000001, Angle.Unit.DEG).formatDMS(new StringBuilder(), 0).toString());
+
+    final ByteBuffer buffer = new Angle(3.58324, Angle.Unit.DEG).formatDMS(ByteBuffer.allocate(32), 3);
+    assertEquals("3˚34'59.664\"", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testParseDegrees() {
+    assertEquals(51 + 28 / 60d + 38.5 / 3600, Angle.parseDegrees("51˚28'38.5\"N"), 0);
+    assertEquals(-(51 + 28 / 60d + 38.5 / 3600), Angle.parseDegrees(" 51 28 38.5 S "), 0);
+    assertEquals(-0.0014, Angle.parseDegrees("-0.0014"), 0);
+    assertEquals(-77.037852, Angle.parseDegrees("077.037852W"), 0);
+    assertEquals(123.456789012345678, Angle.parseDegrees("123.456789012345678"), 0);
+    assertEquals(4.5, Angle.parseDegrees("lat=4.5;", 4, 3), 0);
+
+    final byte[] bytes = "$4˚30'W,".getBytes(StandardCharsets.UTF_8);
+    assertEquals(-4.5, Angle.parseDegrees(bytes, 1, bytes.length - 2), 0);
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 2);
+    assertEquals(-4.5, Angle.parseDegrees(buffer), 0);
+    assertEquals(1, buffer.position());
+  }
+
+  private static void assertError(final String dms, final int index) {
+    try {
+      Angle.parseDegrees(dms);
+      fail("Expected NumberFormatException");
+    }
+    catch (final NumberFormatException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(" at index " + index + ":"));
+    }
+  }
+
+  @Test
+  public void testParseDegreesError() {
+    assertError("", 0);
+    assertError("N", 0);
+    assertError("1.2.3", 3);
+    assertError("1 2 3 4", 6);
+    assertError("-4S", 2);
+    assertError("4 . 5", 2);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+
+public class BinaryCodecTest {
+  @Test
+  public void testHeader() {
+    final ByteBuffer buffer = BinaryCodec.putHeader(ByteBuffer.allocate(3));
+    buffer.flip();
+    assertEquals(BinaryCodec.VERSION, BinaryCodec.getHeader(buffer));
+    try {
+      BinaryCodec.getHeader(ByteBuffer.wrap(new byte[] {'O', 'M', 2}));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testUnit() {
+    final Unit[] units = {Distance.Unit.KM, Elevation.Unit.FL, Unit.ratio(Distance.Unit.KM, Time.Unit.HR), Unit.produc(Force.Unit.N, Distance.Unit.M), Unit.parse("kg/m^3"), Unit.parse("mm")};
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    for (final Unit unit : units) // [A]
+      BinaryCodec.putUnit(buffer, unit);
+
+    assertEquals(1 + 1 + 3 + 3 + 7 + 3, buffer.position());
+    buffer.flip();
+    for (final Unit unit : units) // [A]
+      assertSame(unit, BinaryCodec.getUnit(buffer));
+
+    try {
+      BinaryCodec.getUnit(ByteBuffer.wrap(new byte[] {0x7f}));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testMalformedUnit() {
+    final byte[] nested = new byte[100000];
+    Arrays.fill(nested, (byte)0x80);
+    final byte[][] malformed = {
+      nested,
+      {(byte)0x82, 3, (byte)0x80, 0x13, 0x42},
+      {(byte)0x82, 3, 0x7f},
+      {(byte)0x82, 4, 0x10}
+    };
+
+    for (final byte[] bytes : malformed) { // [A]
+      try {
+        BinaryCodec.getUnit(ByteBuffer.wrap(bytes));
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+    }
+
+    Unit unit = Distance.Unit.M;
+    for (int i = 0; i < 5; ++i)
+      unit = Unit.produc(unit, Distance.Unit.M);
+
+    final Unit m5 = ((Unit.Product<?,?>)unit).first;
+    final ByteBuffer buffer = BinaryCodec.putUnit(ByteBuffer.allocate(64), m5);
+    buffer.flip();
+    assertSame(m5, BinaryCodec.getUnit(buffer));
+    try {
+      BinaryCodec.putUnit(ByteBuffer.allocate(64), unit);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testScalar() {
+    final ByteBuffer buffer = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+    final Speed speed = new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR));
+    final Density density = new Density(1.2, Unit.ratio(Mass.Unit.KG, Volume.Unit.L));
+    final Elevation elevation = new Elevation(350, Elevation.Unit.FL);
+    BinaryCodec.putScalar(buffer, new Distance(42.195, Distance.Unit.KM));
+    BinaryCodec.putScalar(buffer, speed);
+    BinaryCodec.putScalar(buffer, density);
+    BinaryCodec.putScalar(buffer, elevation);
+    buffer.flip();
+
+    final Distance distance = BinaryCodec.getScalar(buffer);
+    assertEquals(new Distance(42.195, Distance.Unit.KM), distance);
+    assertSame(Distance.Unit.KM, distance.unit);
+    final Speed speed2 = BinaryCodec.getScalar(buffer);
+    assertSame(speed.unit, speed2.unit);
+    assertEquals(speed, speed2);
+    assertEquals(density, BinaryCodec.getScalar(buffer));
+    assertEquals(elevation, BinaryCodec.<Elevation>getScalar(buffer));
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testScalarUnitMismatch() {
+    final Unit[] units = {Unit.ratio(Mass.Unit.KG, Volume.Unit.L), Unit.ratio(Distance.Unit.KM, Mass.Unit.KG), Unit.produc(Distance.Unit.KM, Time.Unit.HR)};
+    for (final Unit unit : units) { // [A]
+      final ByteBuffer buffer = BinaryCodec.putUnit(ByteBuffer.allocate(32).put((byte)8), unit).putDouble(1);
+      buffer.flip();
+      try {
+        BinaryCodec.getScalar(buffer);
+        fail("Expected IllegalArgumentException: " + unit);
+      }
+      catch (final IllegalArgumentException e) {
+      }
+    }
+
+    final ByteBuffer buffer = BinaryCodec.putUnit(ByteBuffer.allocate(32).put((byte)9), Unit.ratio(Distance.Unit.KM, Time.Unit.HR)).putDouble(1);
+    buffer.flip();
+    try {
+      BinaryCodec.getScalar(buffer);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testVelocityLocation() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+    final Velocity velocity = new Velocity(new Angle(45, Angle.Unit.DEG), new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR)));
+    final Location location = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+    BinaryCodec.putVelocity(buffer, velocity);
+    BinaryCodec.putLocation(buffer, location);
+    assertEquals(1 + 9 + 11 + 17, buffer.position());
+    buffer.flip();
+
+    final Velocity velocity2 = BinaryCodec.getVelocity(buffer);
+    assertEquals(velocity.i, velocity2.i);
+    assertEquals(velocity.j, velocity2.j);
+    final Location location2 = BinaryCodec.getLocation(buffer);
+    assertEquals(location.latitude, location2.latitude);
+    assertEquals(location.longitude, location2.longitude);
+  }
+
+  @Test
+  public void testColumn() {
+    final double[] values = {1, 2, 3, 4, 5};
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    BinaryCodec.putColumn(buffer, Time.Unit.SEC, values, 1, 3);
+    assertEquals(1 + 1 + 4 + 24, buffer.position());
+    buffer.flip();
+
+    assertSame(Time.Unit.SEC, BinaryCodec.getColumnUnit(buffer));
+    final DoubleBuffer column = BinaryCodec.getColumnValues(buffer);
+    assertEquals(3, column.remaining());
+    assertEquals(2, column.get(0), 0);
+    assertEquals(4, column.get(2), 0);
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testColumnLeavesNoPartialRecord() {
+    final double[] values = {1, 2, 3};
+    final Unit speed = Unit.ratio(Distance.Unit.KM, Time.Unit.HR);
+    final ByteBuffer buffer = ByteBuffer.allocate(2 + 1 + 5 + 24);
+    buffer.position(2);
+    try {
+      BinaryCodec.putColumn(buffer, speed, values, 0, 3);
+      fail("Expected BufferOverflowException");
+    }
+    catch (final BufferOverflowException e) {
+      assertEquals(2, buffer.position());
+    }
+
+    try {
+      BinaryCodec.putColumn(buffer, new Distance.Unit("furlong", 201.168, Distance.Unit.M), values, 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+      assertEquals(2, buffer.position());
+    }
+
+    final ByteBuffer fits = ByteBuffer.allocate(1 + 3 + 4 + 24);
+    BinaryCodec.putColumn(fits, speed, values, 0, 3);
+    assertFalse(fits.hasRemaining());
+    fits.flip();
+    assertSame(speed, BinaryCodec.getColumnUnit(fits));
+    assertEquals(3, BinaryCodec.getColumnValues(fits).get(2), 0);
+  }
+}
\ No newline at end of file
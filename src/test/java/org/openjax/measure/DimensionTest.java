@@ -0,0 +1,147 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+
+public class DimensionTest {
+  @Test
+  public void testConvertArray() {
+    final double[] src = {1, 2, 3, 4, 5};
+    final double[] dst = new double[src.length];
+    Dimension.Scalar.convert(src, 1, 3, Distance.Unit.KM, Distance.Unit.M, dst);
+    assertArrayEquals(new double[] {0, 2000, 3000, 4000, 0}, dst, 0);
+
+    Dimension.Scalar.convert(src, 0, src.length, Distance.Unit.FT, Distance.Unit.FT);
+    assertArrayEquals(new double[] {1, 2, 3, 4, 5}, src, 0);
+
+    final double[] speeds = {36, 72};
+    Dimension.Scalar.convert(speeds, 0, speeds.length, Unit.ratio(Distance.Unit.KM, Time.Unit.HR), Unit.ratio(Distance.Unit.M, Time.Unit.SEC));
+    assertArrayEquals(new double[] {10, 20}, speeds, 0.0000001);
+
+    try {
+      Dimension.Scalar.convert(src, 3, 3, Distance.Unit.KM, Distance.Unit.M, dst);
+      fail("Expected IndexOutOfBoundsException");
+    }
+    catch (final IndexOutOfBoundsException e) {
+    }
+  }
+
+  @Test
+  public void testConvertBuffer() {
+    final DoubleBuffer src = DoubleBuffer.wrap(new double[] {1, 2, 3});
+    final DoubleBuffer dst = ByteBuffer.allocateDirect(3 * Double.BYTES).asDoubleBuffer();
+    Dimension.Scalar.convert(src, Mass.Unit.KG, Mass.Unit.G, dst);
+    assertEquals(0, src.remaining());
+    assertEquals(0, dst.remaining());
+    dst.flip();
+    assertEquals(3000, dst.get(2), 0);
+
+    Dimension.Scalar.convert(dst, Mass.Unit.G, Mass.Unit.KG);
+    assertEquals(0, dst.position());
+    assertEquals(1, dst.get(0), 0);
+    assertEquals(2, dst.get(1), 0);
+    assertEquals(3, dst.get(2), 0);
+  }
+
+  @Test
+  public void testAddSubtract() {
+    final Distance km = new Distance(1, Distance.Unit.KM);
+    final Distance sum = km.add(new Distance(500, Distance.Unit.M));
+    assertSame(Distance.Unit.KM, sum.unit);
+    assertEquals(1.5, sum.value(Distance.Unit.KM), 0.0000000001);
+    assertEquals(2, km.add(km).value(Distance.Unit.KM), 0);
+    assertEquals(500, km.subtract(new Distance(0.5, Distance.Unit.KM)).value(Distance.Unit.M), 0.0000001);
+    assertEquals(3, km.scale(3).value(Distance.Unit.KM), 0);
+    try {
+      km.add(new Mass(1, Mass.Unit.KG));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testCompare() {
+    assertTrue(new Distance(1, Distance.Unit.MI).compareTo(new Distance(1, Distance.Unit.KM)) > 0);
+    assertTrue(new Distance(999, Distance.Unit.M).compareTo(new Distance(1, Distance.Unit.KM)) < 0);
+    assertEquals(0, new Distance(1, Distance.Unit.KM).compareTo(new Distance(1000, Distance.Unit.M)));
+  }
+
+  @Test
+  public void testMultiplyDivide() {
+    final Speed speed = new Distance(36, Distance.Unit.KM).divide(new Time(1, Time.Unit.HR));
+    assertSame(Unit.ratio(Distance.Unit.KM, Time.Unit.HR), speed.unit);
+    assertEquals(10, speed.value(Unit.ratio(Distance.Unit.M, Time.Unit.SEC)), 0.0000001);
+    assertEquals(18, speed.multiply(new Time(30, Time.Unit.MIN)).value(Distance.Unit.KM), 0.0000001);
+    assertEquals(30, new Distance(18000, Distance.Unit.M).divide(speed).value(Time.Unit.MIN), 0.0000001);
+
+    final Density density = new Mass(2, Mass.Unit.KG).divide(new Volume(4, Volume.Unit.L));
+    assertEquals(0.5, density.value(Unit.ratio(Mass.Unit.KG, Volume.Unit.L)), 0.0000001);
+    assertEquals(1, density.multiply(new Volume(2, Volume.Unit.L)).value(Mass.Unit.KG), 0.0000001);
+    assertEquals(6, new Mass(3000, Mass.Unit.G).divide(density).value(Volume.Unit.L), 0.0000001);
+  }
+
+  @Test
+  public void testReduce() {
+    final ArrayList<Distance> distances = new ArrayList<>();
+    distances.add(new Distance(1, Distance.Unit.KM));
+    distances.add(new Distance(250, Distance.Unit.M));
+    distances.add(new Distance(1, Distance.Unit.MI));
+    distances.add(new Distance(750, Distance.Unit.M));
+    final Distance sum = Dimension.Scalar.sum(distances);
+    assertSame(Distance.Unit.KM, sum.unit);
+    assertEquals(2 + 1.609344, sum.value(Distance.Unit.KM), 0.0000000001);
+    assertSame(distances.get(1), Dimension.Scalar.min(distances));
+    assertSame(distances.get(2), Dimension.Scalar.max(distances));
+  }
+
+  @Test
+  public void testEquals() {
+    final Distance km = new Distance(1, Distance.Unit.KM);
+    final Distance m = new Distance(1000, Distance.Unit.M);
+    assertEquals(km, m);
+    assertEquals(km.hashCode(), m.hashCode());
+    assertNotEquals(km, new Distance(1001, Distance.Unit.M));
+    assertNotEquals(new Distance(1, Distance.Unit.M), new Mass(1, Mass.Unit.G));
+
+    final HashSet<Distance> set = new HashSet<>();
+    set.add(km);
+    assertTrue(set.contains(m));
+
+    assertEquals(new Speed(3.6, Unit.ratio(Distance.Unit.KM, Time.Unit.HR)).value(Unit.ratio(Distance.Unit.M, Time.Unit.SEC)), 1, 0.0000000001);
+    assertEquals(1000, km.value(Distance.Unit.M), 0);
+  }
+
+  @Test
+  public void testEqualsTolerance() {
+    final Distance a = new Distance(0.1, Distance.Unit.KM).add(new Distance(0.2, Distance.Unit.KM));
+    final Distance b = new Distance(300, Distance.Unit.M);
+    assertNotEquals(a, b);
+    assertTrue(a.equals(b, 0.0000000001));
+    assertFalse(a.equals(new Distance(301, Distance.Unit.M), 0.0000000001));
+    assertFalse(a.equals(new Mass(0.3, Mass.Unit.KG), 1));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GeodesicTest {
+  private static final Location flindersPeak = new Location(new Angle("37˚57'3.7203\"S"), new Angle("144˚25'29.5244\"E"));
+  private static final Location buninyong = new Location(new Angle("37˚39'10.1561\"S"), new Angle("143˚55'35.3839\"E"));
+
+  @Test
+  public void testVincenty() {
+    assertEquals(54.972271, flindersPeak.distance(buninyong, Geodesic.VINCENTY).value(Distance.Unit.KM), 0.000001);
+    assertEquals(0, flindersPeak.distance(flindersPeak, Geodesic.VINCENTY).value(Distance.Unit.KM), 0);
+  }
+
+  @Test
+  public void testApproximations() {
+    final double expected = flindersPeak.distance(buninyong, Geodesic.VINCENTY).value(Distance.Unit.KM);
+    assertEquals(expected, flindersPeak.distance(buninyong).value(Distance.Unit.KM), expected * 0.005);
+    assertEquals(expected, flindersPeak.distance(buninyong, Geodesic.EQUIRECTANGULAR).value(Distance.Unit.KM), expected * 0.005);
+  }
+
+  @Test
+  public void testLocate() {
+    final Distance distance = new Distance(1000, Distance.Unit.KM);
+    final Angle bearing = new Angle(30, Angle.Unit.DEG);
+    for (final Geodesic geodesic : new Geodesic[] {Geodesic.EQUIRECTANGULAR, Geodesic.HAVERSINE, Geodesic.VINCENTY}) { // [A]
+      final Location location = distance.locate(flindersPeak, bearing, geodesic);
+      assertEquals(1000, flindersPeak.distance(location, geodesic).value(Distance.Unit.KM), geodesic == Geodesic.EQUIRECTANGULAR ? 10 : 0.000001);
+    }
+
+    final Location haversine = distance.locate(flindersPeak, bearing);
+    final Location vincenty = distance.locate(flindersPeak, bearing, Geodesic.VINCENTY);
+    assertEquals(haversine.latitude.value(Angle.Unit.DEG), vincenty.latitude.value(Angle.Unit.DEG), 0.1);
+    assertEquals(haversine.longitude.value(Angle.Unit.DEG), vincenty.longitude.value(Angle.Unit.DEG), 0.1);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+import static org.openjax.measure.Locations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GeofenceTest {
+  @Test
+  public void testCircle() {
+    final Location center = location(38.898556, -77.037852);
+    final Geofence.Circle circle = new Geofence.Circle(center, new Distance(10, Distance.Unit.KM));
+    final Random random = new Random(11);
+    for (int i = 0; i < 10000; ++i) {
+      final Location location = location(38.898556 + random.nextDouble() * 0.4 - 0.2, -77.037852 + random.nextDouble() * 0.4 - 0.2);
+      assertEquals(center.distance(location).value(Distance.Unit.KM) <= 10, circle.contains(location));
+    }
+
+    final Geofence.Circle antimeridian = new Geofence.Circle(location(0, 179.95), new Distance(20, Distance.Unit.KM));
+    assertTrue(antimeridian.contains(location(0, -179.95)));
+    assertTrue(antimeridian.contains(0, 180.05, Angle.Unit.DEG));
+    assertFalse(antimeridian.contains(location(0, 179.5)));
+
+    final Geofence.Circle pole = new Geofence.Circle(location(89.9, 0), new Distance(50, Distance.Unit.KM));
+    assertTrue(pole.contains(location(89.9, 180)));
+    assertFalse(pole.contains(location(89, 180)));
+
+    try {
+      new Geofence.Circle(center, new Distance(-1, Distance.Unit.KM));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testPolygon() {
+    final Geofence.Polygon square = new Geofence.Polygon(location(10, 10), location(10, 20), location(20, 20), location(20, 10));
+    assertTrue(square.contains(location(15, 15)));
+    assertFalse(square.contains(location(5, 15)));
+    assertFalse(square.contains(location(15, 25)));
+    // The northern edge is a great circle arc, which bulges poleward of the parallel at 20 degrees
+    assertTrue(square.contains(location(20.05, 15)));
+    assertFalse(square.contains(location(20.1, 15)));
+    assertFalse(square.contains(location(20.05, 10.5)));
+    assertTrue(square.contains(location(10.05, 15)));
+    assertFalse(square.contains(location(10.02, 15)));
+    assertFalse(square.contains(location(9.9, 15)));
+
+    final Geofence.Polygon concave = new Geofence.Polygon(location(0, 0), location(0, 4), location(4, 4), location(2, 2), location(4, 0));
+    assertTrue(concave.contains(location(1, 2)));
+    assertFalse(concave.contains(location(3.5, 2)));
+    assertTrue(concave.contains(location(3, 3.5)));
+
+    final Geofence.Polygon antimeridian = new Geofence.Polygon(location(-5, 175), location(-5, -175), location(5, -175), location(5, 175));
+    assertTrue(antimeridian.contains(location(0, 180)));
+    assertTrue(antimeridian.contains(location(0, -178)));
+    assertTrue(antimeridian.contains(location(0, 178)));
+    assertFalse(antimeridian.contains(location(0, 0)));
+    assertFalse(antimeridian.contains(location(0, 170)));
+
+    final Geofence.Polygon arctic = new Geofence.Polygon(location(80, 0), location(80, 90), location(80, 180), location(80, -90));
+    assertTrue(arctic.contains(location(89, 45)));
+    assertTrue(arctic.contains(location(85, -135)));
+    assertFalse(arctic.contains(location(70, 45)));
+    assertFalse(arctic.contains(location(-89, 45)));
+
+    try {
+      new Geofence.Polygon(location(0, 0), location(1, 1));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testIndex() {
+    final Random random = new Random(13);
+    final GeofenceIndex index = new GeofenceIndex(0.5, Angle.Unit.DEG);
+    final ArrayList<Geofence> geofences = new ArrayList<>();
+    for (int i = 0; i < 500; ++i) {
+      final double lat = random.nextDouble() * 20 + 30;
+      final double lon = random.nextDouble() * 20 - 100;
+      final double r = random.nextDouble() * 0.5 + 0.1;
+      final Geofence geofence = i % 2 == 0 ? new Geofence.Circle(location(lat, lon), new Distance(r * 100, Distance.Unit.KM)) : new Geofence.Polygon(location(lat - r, lon - r), location(lat - r, lon + r), location(lat + r, lon));
+      geofences.add(geofence);
+      index.add(geofence);
+    }
+
+    final Geofence large = new Geofence.Circle(location(40, -90), new Distance(1000, Distance.Unit.KM));
+    geofences.add(large);
+    index.add(large);
+    assertEquals(501, index.size());
+
+    final LocationArray points = new LocationArray();
+    for (int i = 0; i < 2000; ++i)
+      points.add(random.nextDouble() * 24 + 28, random.nextDouble() * 24 - 102, Angle.Unit.DEG);
+
+    final GeofenceIndex.Hits hits = index.contains(points, new GeofenceIndex.Hits());
+    int expected = 0;
+    int h = 0;
+    for (int i = 0; i < points.size(); ++i) {
+      final Location point = points.get(i);
+      final ArrayList<Geofence> contains = index.contains(point);
+      for (final Geofence geofence : geofences) { // [L]
+        if (geofence.contains(point)) {
+          ++expected;
+          assertTrue(contains.contains(geofence));
+        }
+      }
+
+      for (; h < hits.size() && hits.point(h) == i; ++h)
+        assertTrue(hits.geofence(h).contains(point));
+
+      assertEquals(expected, h);
+    }
+
+    assertEquals(expected, hits.size());
+    assertTrue(expected > 0);
+    hits.clear();
+    assertEquals(0, hits.size());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LocationArrayTest {
+  private static Location[] random(final Random random, final int size) {
+    final Location[] locations = new Location[size];
+    for (int i = 0; i < size; ++i) // [A]
+      locations[i] = new Location(new Angle(random.nextDouble() * 180 - 90, Angle.Unit.DEG), new Angle(random.nextDouble() * 360 - 180, Angle.Unit.DEG));
+
+    return locations;
+  }
+
+  @Test
+  public void testOneToMany() {
+    final Location[] locations = random(new Random(1), 100);
+    final LocationArray array = new LocationArray(locations);
+    assertEquals(locations.length, array.size());
+    final double[] dst = new double[array.size()];
+    array.distance(locations[0], Distance.Unit.KM, dst);
+    for (int i = 0; i < locations.length; ++i) // [A]
+      assertEquals(locations[0].distance(locations[i]).value(Distance.Unit.KM), dst[i], 0.000001);
+
+    array.distance(locations[0], Distance.Unit.MI, dst);
+    assertEquals(locations[0].distance(locations[1]).value(Distance.Unit.MI), dst[1], 0.000001);
+    assertEquals(locations[2].latitude.value(Angle.Unit.DEG), array.latitude(2, Angle.Unit.DEG), 0.0000000001);
+    assertEquals(locations[2].longitude.value(Angle.Unit.RAD), array.get(2).longitude.value(Angle.Unit.RAD), 0);
+  }
+
+  @Test
+  public void testManyToMany() {
+    final Random random = new Random(2);
+    final Location[] from = random(random, 300);
+    final Location[] to = random(random, 700);
+    final LocationArray fromArray = new LocationArray(from);
+    final LocationArray toArray = new LocationArray();
+    for (final Location location : to) // [A]
+      toArray.add(location);
+
+    final double[] dst = new double[from.length * to.length];
+    fromArray.distance(toArray, Distance.Unit.KM, dst);
+    for (int i = 0; i < from.length; i += 7)
+      for (int j = 0; j < to.length; j += 3)
+        assertEquals(from[i].distance(to[j]).value(Distance.Unit.KM), dst[i * to.length + j], 0.000001);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testShortDestination() {
+    final LocationArray array = new LocationArray(random(new Random(3), 10));
+    array.distance(array, Distance.Unit.KM, new double[99]);
+  }
+}
\ No newline at end of file
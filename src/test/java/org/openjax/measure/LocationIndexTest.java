@@ -0,0 +1,131 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+public class LocationIndexTest {
+  private static final Function<Location,Location> identity = l -> l;
+
+  private static ArrayList<Location> random(final Random random, final int size) {
+    final ArrayList<Location> locations = new ArrayList<>(size);
+    for (int i = 0; i < size; ++i) // [RA]
+      locations.add(new Location(new Angle(random.nextDouble() * 180 - 90, Angle.Unit.DEG), new Angle(random.nextDouble() * 360 - 180, Angle.Unit.DEG)));
+
+    return locations;
+  }
+
+  private static HashSet<Location> within(final ArrayList<Location> locations, final Location center, final double km) {
+    final HashSet<Location> result = new HashSet<>();
+    for (final Location location : locations) // [L]
+      if (center.distance(location).value(Distance.Unit.KM) <= km)
+        result.add(location);
+
+    return result;
+  }
+
+  @Test
+  public void testWithin() {
+    final Random random = new Random(1);
+    final ArrayList<Location> locations = random(random, 5000);
+    final LocationIndex<Location> index = new LocationIndex<>(locations, identity);
+    assertEquals(locations.size(), index.size());
+    for (final Location center : random(random, 20)) { // [L]
+      for (final double km : new double[] {10, 500, 3000, 25000}) // [A]
+        assertEquals(within(locations, center, km), new HashSet<>(index.within(center, new Distance(km, Distance.Unit.KM))));
+    }
+  }
+
+  @Test
+  public void testNearest() {
+    final Random random = new Random(2);
+    final ArrayList<Location> locations = random(random, 3000);
+    final LocationIndex<Location> index = new LocationIndex<>(identity);
+    for (final Location location : locations) // [L]
+      index.add(location);
+
+    for (final Location center : random(random, 20)) { // [L]
+      final ArrayList<Location> expected = new ArrayList<>(locations);
+      Collections.sort(expected, (a, b) -> Double.compare(center.distance(a).value(Distance.Unit.KM), center.distance(b).value(Distance.Unit.KM)));
+      assertEquals(expected.subList(0, 7), index.nearest(center, 7));
+    }
+
+    assertEquals(0, index.nearest(locations.get(0), 0).size());
+    assertEquals(1, new LocationIndex<>(locations.subList(0, 1), identity).nearest(locations.get(5), 4).size());
+    assertEquals(1, new LocationIndex<>(locations.subList(0, 1), identity).nearest(locations.get(5), Integer.MAX_VALUE).size());
+  }
+
+  @Test
+  public void testRemove() {
+    final Random random = new Random(3);
+    final ArrayList<Location> locations = random(random, 1000);
+    final LocationIndex<Location> index = new LocationIndex<>(locations, identity);
+    for (int i = 0; i < 500; ++i) // [RA]
+      assertTrue(index.remove(locations.get(i)));
+
+    assertFalse(index.remove(locations.get(0)));
+    assertEquals(500, index.size());
+    final Location center = locations.get(0);
+    final HashSet<Location> expected = within(new ArrayList<>(locations.subList(500, 1000)), center, 2000);
+    assertEquals(expected, new HashSet<>(index.within(center, new Distance(2000, Distance.Unit.KM))));
+  }
+
+  @Test
+  public void testSortedAdd() {
+    final ArrayList<Location> locations = new ArrayList<>();
+    for (int i = 0; i < 200000; ++i) // [RA]
+      locations.add(new Location(new Angle(-60 + i * 0.0006, Angle.Unit.DEG), new Angle(10, Angle.Unit.DEG)));
+
+    final LocationIndex<Location> index = new LocationIndex<>(identity);
+    for (final Location location : locations) // [L]
+      index.add(location);
+
+    assertEquals(locations.size(), index.size());
+    final Location center = locations.get(123456);
+    assertEquals(locations.subList(123456, 123457), index.nearest(center, 1));
+    assertEquals(within(locations, center, 1), new HashSet<>(index.within(center, new Distance(1, Distance.Unit.KM))));
+    for (int i = 0; i < locations.size(); i += 2) // [RA]
+      assertTrue(index.remove(locations.get(i)));
+
+    assertEquals(locations.size() / 2, index.size());
+    assertEquals(locations.subList(123457, 123458), index.nearest(center, 1));
+  }
+
+  @Test
+  public void testColocatedAdd() {
+    final Location location = new Location(new Angle(51.5, Angle.Unit.DEG), new Angle(-0.12, Angle.Unit.DEG));
+    final Location other = new Location(new Angle(48.85, Angle.Unit.DEG), new Angle(2.35, Angle.Unit.DEG));
+    final LocationIndex<Integer> index = new LocationIndex<>(i -> i == 0 ? other : location);
+    for (int i = 0; i < 200000; ++i) // [RA]
+      index.add(i);
+
+    assertEquals(200000, index.size());
+    assertEquals(199999, index.within(location, new Distance(1, Distance.Unit.KM)).size());
+    assertEquals(Integer.valueOf(0), index.nearest(other, 1).get(0));
+    assertEquals(5, index.nearest(location, 5).size());
+    assertTrue(index.remove(7));
+    assertEquals(199998, index.within(location, new Distance(1, Distance.Unit.KM)).size());
+  }
+}
\ No newline at end of file
@@ -18,6 +18,9 @@ package org.openjax.measure;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 public class LocationTest {
@@ -33,4 +36,14 @@ public class LocationTest {
     final double dlon = 77.037852 - 77.043934;
     assertEquals(dlon, location.longitude.value(Angle.Unit.DEG), 0.0000000001);
   }
+
+  @Test
+  public void testFormat() throws Exception {
+    final Location location = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+    assertEquals(location.toString(), location.format(new StringBuilder()).toString());
+    assertEquals("(38.899N, -77.038E)", location.format(new StringBuilder(), 3).toString());
+
+    final ByteBuffer buffer = location.format(ByteBuffer.allocate(64));
+    assertEquals(location.toString(), new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+  }
 }
\ No newline at end of file
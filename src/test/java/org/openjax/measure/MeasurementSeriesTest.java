@@ -0,0 +1,220 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+
+public class MeasurementSeriesTest {
+  private static final double EPSILON = 1e-9;
+
+  @Test
+  public void testStatistics() {
+    final MeasurementSeries<Mass.Unit> series = new MeasurementSeries<>(Mass.Unit.KG);
+    assertEquals(0, series.getStatistics().getCount());
+    assertTrue(Double.isNaN(series.getStatistics().getMean()));
+    assertTrue(Double.isNaN(series.getStatistics().getMin()));
+
+    final double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+    for (final double value : values) // [A]
+      series.add(value);
+
+    series.add(new Mass(500, Mass.Unit.G));
+    final MeasurementSeries.Statistics<Mass.Unit> statistics = series.getStatistics();
+    assertEquals(9, series.size());
+    assertEquals(0.5, series.get(8), EPSILON);
+    assertEquals(9, statistics.getCount());
+    assertEquals(40.5 / 9, statistics.getMean(), EPSILON);
+    assertEquals(0.5, statistics.getMin(), 0);
+    assertEquals(9, statistics.getMax(), 0);
+
+    double m2 = 0;
+    for (int i = 0; i < series.size(); ++i)
+      m2 += (series.get(i) - statistics.getMean()) * (series.get(i) - statistics.getMean());
+
+    assertEquals(m2 / 9, statistics.getVariance(), EPSILON);
+    assertEquals(m2 / 8, statistics.getSampleVariance(), EPSILON);
+    assertEquals(2, series.getStatistics(0, 8).getStandardDeviation(), EPSILON);
+
+    try {
+      series.add(0, 1);
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+    }
+
+    series.clear();
+    assertEquals(0, series.size());
+    assertEquals(0, series.getStatistics().getCount());
+  }
+
+  @Test
+  public void testStatisticsCopy() {
+    final MeasurementSeries<Mass.Unit> a = new MeasurementSeries<>(Mass.Unit.KG);
+    final MeasurementSeries<Mass.Unit> b = new MeasurementSeries<>(Mass.Unit.G);
+    a.add(1);
+    b.add(3000);
+    final MeasurementSeries.Statistics<Mass.Unit> merged = a.getStatistics().merge(b.getStatistics());
+    assertEquals(2, merged.getCount());
+    assertEquals(2, merged.getMean(), EPSILON);
+    assertEquals(1, a.size());
+    assertEquals(1, a.getStatistics().getCount());
+    assertEquals(1, a.getStatistics().getMean(), 0);
+
+    a.add(5);
+    assertEquals(2, merged.getCount());
+    assertEquals(2, a.getStatistics().getCount());
+  }
+
+  @Test
+  public void testNaNExtremes() {
+    for (final double[] values : new double[][] {{Double.NaN, 1, 2}, {1, Double.NaN, 2}, {1, 2, Double.NaN}}) { // [A]
+      final MeasurementSeries<Mass.Unit> series = new MeasurementSeries<>(Mass.Unit.KG);
+      final ArrayList<Mass> masses = new ArrayList<>();
+      for (final double value : values) { // [A]
+        series.add(value);
+        masses.add(new Mass(value, Mass.Unit.KG));
+      }
+
+      assertTrue(Double.isNaN(series.getStatistics().getMin()));
+      assertTrue(Double.isNaN(series.getStatistics().getMax()));
+      assertTrue(Double.isNaN(masses.stream().collect(ScalarCollectors.minimizing(Mass.Unit.KG))));
+      assertTrue(Double.isNaN(masses.stream().collect(ScalarCollectors.maximizing(Mass.Unit.KG))));
+    }
+  }
+
+  @Test
+  public void testClearResetsSum() {
+    final MeasurementSeries<Mass.Unit> series = new MeasurementSeries<>(Mass.Unit.KG);
+    series.add(5);
+    series.add(7);
+    assertEquals(12, series.getStatistics().getSum(), 0);
+
+    series.clear();
+    assertEquals(0, series.getStatistics().getSum(), 0);
+    assertTrue(Double.isNaN(series.getStatistics().getMin()));
+
+    series.add(3);
+    assertEquals(3, series.getStatistics().getSum(), 0);
+    assertEquals(3, series.getStatistics().getMean(), 0);
+  }
+
+  @Test
+  public void testMerge() {
+    final Random random = new Random(7);
+    final MeasurementSeries<Force.Unit> all = new MeasurementSeries<>(Force.Unit.N);
+    final MeasurementSeries<Force.Unit> a = new MeasurementSeries<>(Force.Unit.N);
+    final MeasurementSeries<Force.Unit> b = new MeasurementSeries<>(Force.Unit.LBF);
+    for (int i = 0; i < 1000; ++i) {
+      final double value = random.nextGaussian() * 10 + 100;
+      all.add(value);
+      if (i % 3 == 0)
+        a.add(value);
+      else
+        b.add(new Force(value, Force.Unit.N));
+    }
+
+    final MeasurementSeries.Statistics<Force.Unit> merged = new MeasurementSeries.Statistics<>(Force.Unit.N).merge(a.getStatistics()).merge(b.getStatistics());
+    final MeasurementSeries.Statistics<Force.Unit> expected = all.getStatistics();
+    assertEquals(expected.getCount(), merged.getCount());
+    assertEquals(expected.getMean(), merged.getMean(), EPSILON);
+    assertEquals(expected.getVariance(), merged.getVariance(), 1e-6);
+    assertEquals(expected.getMin(), merged.getMin(), EPSILON);
+    assertEquals(expected.getMax(), merged.getMax(), EPSILON);
+  }
+
+  @Test
+  public void testConvert() {
+    final MeasurementSeries<Volume.Unit> series = new MeasurementSeries<>(Volume.Unit.L, true);
+    series.add(10, 1);
+    series.add(20, 3);
+    final MeasurementSeries<Volume.Unit> gallons = series.convert(Volume.Unit.GAL);
+    assertTrue(gallons.isTimestamped());
+    assertEquals(20, gallons.getTimestamp(1));
+    assertEquals(Volume.Unit.L.getFactor(Volume.Unit.GAL) * 3, gallons.get(1), EPSILON);
+    assertEquals(Volume.Unit.L.getFactor(Volume.Unit.GAL) * 2, gallons.getStatistics().getMean(), EPSILON);
+    assertEquals(Volume.Unit.L.getFactor(Volume.Unit.GAL) * 3, gallons.getStatistics().getMax(), EPSILON);
+    assertEquals(1, gallons.convert(Volume.Unit.L).get(0), EPSILON);
+  }
+
+  @Test
+  public void testDownsample() {
+    final MeasurementSeries<Unit.Ratio<Mass.Unit,Volume.Unit>> series = new MeasurementSeries<>(Unit.ratio(Mass.Unit.KG, Volume.Unit.L), true);
+    series.add(-3, 1);
+    series.add(0, 2);
+    series.add(5, 4);
+    series.add(9, 6);
+    series.add(25, 8);
+    try {
+      series.add(24, 0);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+
+    final MeasurementSeries<Unit.Ratio<Mass.Unit,Volume.Unit>> downsampled = series.downsample(10);
+    assertEquals(3, downsampled.size());
+    assertEquals(-10, downsampled.getTimestamp(0));
+    assertEquals(1, downsampled.get(0), 0);
+    assertEquals(0, downsampled.getTimestamp(1));
+    assertEquals(4, downsampled.get(1), 0);
+    assertEquals(20, downsampled.getTimestamp(2));
+    assertEquals(8, downsampled.get(2), 0);
+    try {
+      new MeasurementSeries<>(Mass.Unit.G).downsample(10);
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+    }
+  }
+
+  @Test
+  public void testDownsampleExtremes() {
+    final MeasurementSeries<Time.Unit> series = new MeasurementSeries<>(Time.Unit.SEC, true);
+    series.add(Long.MIN_VALUE, 1);
+    series.add(Long.MIN_VALUE + 5, 3);
+    series.add(Long.MIN_VALUE + 8, 5);
+    series.add(0, 7);
+    series.add(Long.MAX_VALUE - 5, 9);
+    series.add(Long.MAX_VALUE, 11);
+
+    final MeasurementSeries<Time.Unit> downsampled = series.downsample(100);
+    assertEquals(4, downsampled.size());
+    // The bucket of Long.MIN_VALUE starts at Long.MIN_VALUE - 92, and that of Long.MIN_VALUE + 8 at a multiple of 100
+    assertEquals(Long.MIN_VALUE, downsampled.getTimestamp(0));
+    assertEquals(2, downsampled.get(0), 0);
+    assertEquals(Long.MIN_VALUE + 8, downsampled.getTimestamp(1));
+    assertEquals(5, downsampled.get(1), 0);
+    assertEquals(0, downsampled.getTimestamp(2));
+    assertEquals(Long.MAX_VALUE - 7, downsampled.getTimestamp(3));
+    assertEquals(10, downsampled.get(3), 0);
+
+    final MeasurementSeries<Time.Unit> widest = series.downsample(Long.MAX_VALUE);
+    assertEquals(4, widest.size());
+    assertEquals(Long.MIN_VALUE, widest.getTimestamp(0));
+    assertEquals(-Long.MAX_VALUE, widest.getTimestamp(1));
+    assertEquals(4, widest.get(1), 0);
+    assertEquals(0, widest.getTimestamp(2));
+    assertEquals(8, widest.get(2), 0);
+    assertEquals(Long.MAX_VALUE, widest.getTimestamp(3));
+  }
+}
\ No newline at end of file
@@ -69,7 +69,7 @@ public class MeasurementTest {
         return factoryMethod;
 
       for (final Method method : unitClass.getDeclaringClass().getDeclaredMethods()) { // [A]
-        if (Modifier.isStatic(method.getModifiers()) && method.getReturnType() == unitClass) {
+        if (Modifier.isStatic(method.getModifiers()) && !method.isSynthetic() && method.getReturnType() == unitClass) {
           unitFactoryMethods.put(unitClass, factoryMethod = method);
           break;
         }
@@ -134,4 +134,20 @@ public class MeasurementTest {
     final Velocity v = new Velocity(new Angle(45, Angle.Unit.DEG), new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR)));
     if (logger.isInfoEnabled()) { logger.info(v.value(new Angle(-45, Angle.Unit.DEG)).toString()); }
   }
+
+  @Test
+  public void testRatio() {
+    final Speed speed = new Speed(36, Unit.ratio(Distance.Unit.KM, Time.Unit.HR));
+    assertEquals(10, speed.value(Unit.ratio(Distance.Unit.M, Time.Unit.SEC)), 0.0000001);
+    assertEquals(36000, speed.value(Unit.ratio(Distance.Unit.M, Time.Unit.HR)), 0.0000001);
+    assertEquals(36 / 1.609344, speed.value(Unit.ratio(Distance.Unit.MI, Time.Unit.HR)), 0.0000001);
+  }
+
+  @Test
+  public void testIntern() {
+    assertSame(Unit.ratio(Distance.Unit.KM, Time.Unit.HR), Unit.ratio(Distance.Unit.KM, Time.Unit.HR));
+    assertNotSame(Unit.ratio(Distance.Unit.KM, Time.Unit.HR), Unit.ratio(Distance.Unit.KM, Time.Unit.MIN));
+    assertSame(Unit.produc(Force.Unit.N, Distance.Unit.M), Unit.produc(Force.Unit.N, Distance.Unit.M));
+    assertEquals("N*m", Unit.produc(Force.Unit.N, Distance.Unit.M).toString());
+  }
 }
\ No newline at end of file
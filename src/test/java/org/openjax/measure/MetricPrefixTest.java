@@ -18,6 +18,10 @@ package org.openjax.measure;
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 public class MetricPrefixTest {
@@ -32,4 +36,72 @@ public class MetricPrefixTest {
     assertEquals(MetricPrefix.YOTTA, MetricPrefix.of(24));
     assertNull(MetricPrefix.of(27));
   }
+
+  @Test
+  public void testPrefixReusesDeclaredUnit() {
+    assertSame(Mass.Unit.KG, Mass.Unit.G.prefix(MetricPrefix.KILO));
+    assertSame(Distance.Unit.KM, Distance.Unit.M.prefix(MetricPrefix.KILO));
+    final Force.Unit kn = Force.Unit.N.prefix(MetricPrefix.KILO);
+    assertEquals("kN", kn.toString());
+    assertSame(kn, Force.Unit.N.prefix(MetricPrefix.KILO));
+    assertEquals(2, new Force(2000, Force.Unit.N).value(kn), 1e-12);
+  }
+
+  @Test
+  public void testForValue() {
+    assertNull(MetricPrefix.forValue(0));
+    assertNull(MetricPrefix.forValue(Double.NaN));
+    assertNull(MetricPrefix.forValue(Double.POSITIVE_INFINITY));
+    assertNull(MetricPrefix.forValue(1));
+    assertNull(MetricPrefix.forValue(999.999));
+    assertEquals(MetricPrefix.KILO, MetricPrefix.forValue(1000));
+    assertEquals(MetricPrefix.KILO, MetricPrefix.forValue(-12345));
+    assertEquals(MetricPrefix.MILLI, MetricPrefix.forValue(0.999));
+    assertEquals(MetricPrefix.MILLI, MetricPrefix.forValue(0.001));
+    assertEquals(MetricPrefix.MICRO, MetricPrefix.forValue(0.000999));
+    assertEquals(MetricPrefix.YOCTO, MetricPrefix.forValue(1e-30));
+    assertEquals(MetricPrefix.YOTTA, MetricPrefix.forValue(1e30));
+    assertEquals(MetricPrefix.YOTTA, MetricPrefix.forValue(Double.MAX_VALUE));
+    assertEquals(MetricPrefix.YOCTO, MetricPrefix.forValue(Double.MIN_VALUE));
+  }
+
+  @Test
+  public void testForValueMatchesLog10() {
+    for (int e = -80; e <= 80; ++e) {
+      for (final double m : new double[] {1, 1.0000001, 2.5, 9.9999999}) { // [A]
+        final double value = m * Math.pow(10, e);
+        final int exponent = (int)Math.floor(Math.log10(value));
+        final int power = Math.max(-24, Math.min(24, Math.floorDiv(exponent, 3) * 3));
+        assertEquals(String.valueOf(value), power == 0 ? null : MetricPrefix.of(power), MetricPrefix.forValue(value));
+      }
+    }
+  }
+
+  @Test
+  public void testFormat() throws IOException {
+    assertEquals("12.345 km", MetricPrefix.format(new StringBuilder(), 12345, Distance.Unit.M).toString());
+    assertEquals("-1.5 mN", MetricPrefix.format(new StringBuilder(), -0.0015, Force.Unit.N).toString());
+    assertEquals("42.0 m", MetricPrefix.format(new StringBuilder(), 42, Distance.Unit.M).toString());
+    assertEquals("1.23 Mm", MetricPrefix.format(new StringBuilder(), 1234567, Distance.Unit.M, 2).toString());
+    assertEquals("1.00 km", MetricPrefix.format(new StringBuilder(), 999.999, Distance.Unit.M, 2).toString());
+    assertEquals("999.999 m", MetricPrefix.format(new StringBuilder(), 999.999, Distance.Unit.M, 3).toString());
+    assertEquals("1.0 GN", MetricPrefix.format(new StringBuilder(), 999999999, Force.Unit.N, 1).toString());
+
+    // Prefixed units are converted to their unprefixed unit before the prefix is chosen
+    assertEquals("1.5 Mg", MetricPrefix.format(new StringBuilder(), 1500, Mass.Unit.KG, 1).toString());
+    assertEquals("500.0 g", MetricPrefix.format(new StringBuilder(), 0.5, Mass.Unit.KG, 1).toString());
+    assertEquals("42.0 m", MetricPrefix.format(new StringBuilder(), 0.042, Distance.Unit.KM, 1).toString());
+    assertEquals("1.5 Mm/hr", MetricPrefix.format(new StringBuilder(), 1500, Dimension.Unit.ratio(Distance.Unit.KM, Time.Unit.HR), 1).toString());
+    assertEquals("1.5 Mg*m", MetricPrefix.format(new StringBuilder(), 1500, Dimension.Unit.produc(Mass.Unit.KG, Distance.Unit.M), 1).toString());
+    assertEquals("1.5 nm", MetricPrefix.format(new StringBuilder(), 1.5, Distance.Unit.NM).toString());
+
+    final ByteBuffer buffer = MetricPrefix.format(ByteBuffer.allocate(32), 0.000042, Time.Unit.SEC, 1);
+    assertEquals("42.0 \u03BCsec", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+    try {
+      MetricPrefix.format(new StringBuilder(), 1, Distance.Unit.M, -1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+import static org.openjax.measure.Locations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PackedLocationTest {
+  @Test
+  public void testPack() {
+    final long packed = PackedLocation.pack(location(38.8985561, -77.0378524));
+    assertEquals(38.8985561, PackedLocation.latitude(packed, Angle.Unit.DEG), 1e-12);
+    assertEquals(-77.0378524, PackedLocation.longitude(packed, Angle.Unit.DEG), 1e-12);
+    assertEquals(Math.toRadians(38.8985561), PackedLocation.latitude(packed, Angle.Unit.RAD), 1e-12);
+
+    final Location unpacked = PackedLocation.unpack(PackedLocation.pack(-90, 180, Angle.Unit.DEG));
+    assertEquals(-90, unpacked.latitude.value(Angle.Unit.DEG), 0);
+    assertEquals(180, unpacked.longitude.value(Angle.Unit.DEG), 0);
+    assertEquals(-170, PackedLocation.longitude(PackedLocation.pack(0, 190, Angle.Unit.DEG), Angle.Unit.DEG), 1e-9);
+    assertEquals(PackedLocation.pack(10, 20, Angle.Unit.DEG), PackedLocation.pack(Math.toRadians(10), Math.toRadians(20), Angle.Unit.RAD));
+
+    final Location[] locations = {location(1, 2), location(-3, -4), location(5, 6)};
+    final long[] packs = new long[4];
+    PackedLocation.pack(locations, 0, 3, packs);
+    final Location[] dst = new Location[3];
+    PackedLocation.unpack(packs, 0, 3, dst);
+    assertArrayEquals(locations, dst);
+
+    for (final double[] illegal : new double[][] {{90.1, 0}, {Double.NaN, 0}, {0, Double.POSITIVE_INFINITY}}) { // [A]
+      try {
+        PackedLocation.pack(illegal[0], illegal[1], Angle.Unit.DEG);
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+    }
+  }
+
+  @Test
+  public void testDistance() {
+    final Location a = location(38.898556, -77.037852);
+    final Location b = location(38.897147, -77.043934);
+    final double expected = a.distance(b).value(Distance.Unit.M);
+    assertEquals(expected, PackedLocation.distance(PackedLocation.pack(a), PackedLocation.pack(b), Distance.Unit.M), 0.01);
+    assertEquals(a.distance(b, Geodesic.VINCENTY).value(Distance.Unit.M), PackedLocation.distance(PackedLocation.pack(a), PackedLocation.pack(b), Distance.Unit.M, Geodesic.VINCENTY), 0.01);
+
+    final PackedLocationArray array = new PackedLocationArray(a, b);
+    array.add(40, -75, Angle.Unit.DEG);
+    final double[] dst = new double[3];
+    array.distance(a, Distance.Unit.M, dst);
+    assertEquals(0, dst[0], 0.01);
+    assertEquals(expected, dst[1], 0.01);
+    assertEquals(a.distance(location(40, -75)).value(Distance.Unit.M), dst[2], 0.01);
+
+    final LocationArray locations = array.toLocationArray();
+    assertEquals(3, locations.size());
+    assertEquals(40, locations.latitude(2, Angle.Unit.DEG), 1e-9);
+    final PackedLocationArray copy = new PackedLocationArray();
+    copy.addAll(locations);
+    assertEquals(array.getPacked(1), copy.getPacked(1));
+    copy.set(0, b);
+    assertEquals(array.get(1), copy.get(0));
+  }
+
+  @Test
+  public void testMap() {
+    final Random random = new Random(19);
+    final PackedLocationMap map = new PackedLocationMap();
+    final HashMap<Long,Long> expected = new HashMap<>();
+    for (int i = 0; i < 100000; ++i) {
+      final long key = random.nextInt(20000) - 10000;
+      if (random.nextInt(3) == 0) {
+        final Long previous = expected.remove(key);
+        assertEquals(previous == null ? PackedLocation.NULL : previous, map.remove(key));
+      }
+      else {
+        final long packed = PackedLocation.pack(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, Angle.Unit.DEG);
+        final Long previous = expected.put(key, packed);
+        assertEquals(previous == null ? PackedLocation.NULL : previous, map.putPacked(key, packed));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (final Map.Entry<Long,Long> entry : expected.entrySet()) // [S]
+      assertEquals((long)entry.getValue(), map.getPacked(entry.getKey()));
+
+    assertFalse(map.containsKey(Long.MIN_VALUE));
+    assertNull(map.get(Long.MIN_VALUE));
+    assertFalse(map.put(Long.MIN_VALUE, location(1, 2)));
+    assertTrue(map.put(Long.MIN_VALUE, location(3, 4)));
+    assertEquals(location(3, 4), map.get(Long.MIN_VALUE));
+    map.put(7, location(3.001, 4));
+    assertEquals(location(3, 4).distance(location(3.001, 4)).value(Distance.Unit.M), map.distance(Long.MIN_VALUE, 7, Distance.Unit.M), 0.01);
+
+    map.clear();
+    assertEquals(0, map.size());
+    assertFalse(map.containsKey(7));
+  }
+}
\ No newline at end of file
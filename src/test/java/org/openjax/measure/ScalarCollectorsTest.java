@@ -0,0 +1,146 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.openjax.measure.MeasurementSeries.Statistics;
+
+public class ScalarCollectorsTest {
+  private static List<Distance> distances(final int size) {
+    final Random random = new Random(7);
+    final Distance.Unit[] units = {Distance.Unit.M, Distance.Unit.KM, Distance.Unit.MI, Distance.Unit.FT};
+    final List<Distance> distances = new ArrayList<>(size);
+    for (int i = 0; i < size; ++i)
+      distances.add(new Distance(random.nextDouble() * 100, units[i / 100 % units.length]));
+
+    return distances;
+  }
+
+  @Test
+  public void testSumming() {
+    final List<Distance> distances = Arrays.asList(new Distance(1, Distance.Unit.KM), new Distance(500, Distance.Unit.M), new Distance(1, Distance.Unit.MI));
+    assertEquals(1 + 0.5 + 1.609344, distances.stream().collect(ScalarCollectors.summing(Distance.Unit.KM)), 1e-12);
+    assertEquals(0, Stream.<Distance>empty().collect(ScalarCollectors.summing(Distance.Unit.KM)), 0);
+  }
+
+  @Test
+  public void testCompensation() {
+    final List<Mass> masses = new ArrayList<>();
+    masses.add(new Mass(1e16, Mass.Unit.G));
+    for (int i = 0; i < 1000; ++i)
+      masses.add(new Mass(1, Mass.Unit.G));
+
+    masses.add(new Mass(-1e16, Mass.Unit.G));
+    assertEquals(1000, masses.stream().collect(ScalarCollectors.summing(Mass.Unit.G)), 0);
+    assertEquals(0, masses.stream().mapToDouble(m -> m.value(Mass.Unit.G)).reduce(0, Double::sum), 0);
+    assertEquals(1000, masses.stream().collect(ScalarCollectors.summarizing(Mass.Unit.G)).getSum(), 0);
+    assertEquals(1000, masses.parallelStream().collect(ScalarCollectors.summing(Mass.Unit.G)), 0);
+  }
+
+  @Test
+  public void testParallel() {
+    final List<Distance> distances = distances(100000);
+    final double expected = distances.stream().collect(ScalarCollectors.summing(Distance.Unit.KM));
+    assertEquals(expected, distances.parallelStream().collect(ScalarCollectors.summing(Distance.Unit.KM)), Math.ulp(expected) * 2);
+    assertEquals(expected / distances.size(), distances.parallelStream().collect(ScalarCollectors.averaging(Distance.Unit.KM)), 1e-12);
+
+    final double min = distances.stream().mapToDouble(d -> d.value(Distance.Unit.KM)).min().getAsDouble();
+    final double max = distances.stream().mapToDouble(d -> d.value(Distance.Unit.KM)).max().getAsDouble();
+    assertEquals(min, distances.parallelStream().collect(ScalarCollectors.minimizing(Distance.Unit.KM)), 0);
+    assertEquals(max, distances.parallelStream().collect(ScalarCollectors.maximizing(Distance.Unit.KM)), 0);
+
+    final Statistics<Distance.Unit> statistics = distances.parallelStream().collect(ScalarCollectors.summarizing(Distance.Unit.KM));
+    assertEquals(distances.size(), statistics.getCount());
+    assertEquals(expected, statistics.getSum(), Math.ulp(expected) * 2);
+    assertEquals(min, statistics.getMin(), 0);
+    assertEquals(max, statistics.getMax(), 0);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertTrue(Double.isNaN(Stream.<Distance>empty().collect(ScalarCollectors.averaging(Distance.Unit.KM))));
+    assertTrue(Double.isNaN(Stream.<Distance>empty().collect(ScalarCollectors.minimizing(Distance.Unit.KM))));
+    assertTrue(Double.isNaN(Stream.<Distance>empty().collect(ScalarCollectors.maximizing(Distance.Unit.KM))));
+    assertEquals(0, Stream.<Distance>empty().collect(ScalarCollectors.summarizing(Distance.Unit.KM)).getCount());
+  }
+
+  @Test
+  public void testGrouping() {
+    final List<Distance> distances = distances(1000);
+    final double sum = distances.stream().collect(Collectors.groupingBy(d -> d.value(Distance.Unit.M) > 50, ScalarCollectors.summing(Distance.Unit.M))).values().stream().mapToDouble(Double::doubleValue).sum();
+    assertEquals(distances.stream().collect(ScalarCollectors.summing(Distance.Unit.M)), sum, 1e-6);
+  }
+
+  @Test
+  public void testIncompatibleUnit() {
+    try {
+      Stream.of(new Mass(1, Mass.Unit.G)).collect(ScalarCollectors.summing(Distance.Unit.M));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+
+    try {
+      new ScalarAdder<>(Distance.Unit.M).add(new Mass(1, Mass.Unit.G));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testAdder() throws InterruptedException {
+    final ScalarAdder<Mass.Unit> adder = new ScalarAdder<>(Mass.Unit.KG);
+    assertTrue(Double.isNaN(adder.average()));
+    adder.add(1e16);
+    final Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      final Mass.Unit unit = i % 2 == 0 ? Mass.Unit.KG : Mass.Unit.G;
+      final double value = unit == Mass.Unit.KG ? 1 : 1000;
+      threads[i] = new Thread(() -> {
+        final Mass mass = new Mass(value, unit);
+        for (int j = 0; j < 10000; ++j)
+          adder.add(mass);
+      });
+    }
+
+    for (final Thread thread : threads) // [A]
+      thread.start();
+
+    for (final Thread thread : threads) // [A]
+      thread.join();
+
+    adder.add(-1e16);
+    assertEquals(40002, adder.count());
+    assertEquals(40000, adder.sum(), 0);
+    assertEquals(40000d / 40002, adder.average(), 1e-15);
+    assertEquals("40000.0 kg", adder.toString());
+
+    adder.reset();
+    assertEquals(0, adder.count());
+    assertEquals(0, adder.sum(), 0);
+  }
+}
\ No newline at end of file
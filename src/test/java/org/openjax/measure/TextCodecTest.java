@@ -0,0 +1,266 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+import org.openjax.measure.TextCodec.Decoder;
+import org.openjax.measure.TextCodec.Encoder;
+import org.openjax.measure.TextCodec.Format;
+
+public class TextCodecTest {
+  private static final double DMS = 51 + 28 / 60d + 38 / 3600d;
+
+  /** A {@link Reader} that returns at most one character per read, whereby every row spans reads. */
+  private static final class TrickleReader extends StringReader {
+    private TrickleReader(final String s) {
+      super(s);
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+      return super.read(cbuf, off, Math.min(1, len));
+    }
+  }
+
+  private static double[][] columns(final int columns, final int rows) {
+    final double[][] values = new double[columns][];
+    for (int i = 0; i < columns; ++i)
+      values[i] = new double[rows];
+
+    return values;
+  }
+
+  private static final String csv = "distance,density,latitude,ignored\n" +
+    "12.5 km,3.2 kg/l,\"51˚28'38\"\"N\",x\r\n" +
+    "3 mi, 3200 g/l ,\"51 28 38 S\",y\n" +
+    "\n" +
+    "7,,-51.5,\"a,b\"";
+
+  private static void assertCsv(final double[][] values, final int rows) {
+    assertEquals(3, rows);
+    assertArrayEquals(new double[] {12500, 3 * 1609.344, 7}, values[0], 1e-9);
+    assertArrayEquals(new double[] {3.2, 3.2, Double.NaN}, values[1], 1e-12);
+    assertArrayEquals(new double[] {DMS, -DMS, -51.5}, values[2], 1e-12);
+  }
+
+  private static Unit[] csvUnits() {
+    return new Unit[] {Distance.Unit.M, Unit.ratio(Mass.Unit.KG, Volume.Unit.L), Angle.Unit.DEG};
+  }
+
+  @Test
+  public void testCsvReader() throws IOException {
+    try (final Decoder decoder = TextCodec.decoder(Format.CSV, new StringReader(csv), csvUnits())) {
+      assertTrue(decoder.skip());
+      final double[][] values = columns(3, 3);
+      assertCsv(values, decoder.read(values, 0, 3));
+      assertEquals(-1, decoder.read(values, 0, 3));
+      assertEquals(4, decoder.getRow());
+    }
+  }
+
+  @Test
+  public void testCsvTrickle() throws IOException {
+    final StringBuilder builder = new StringBuilder(csv);
+    for (int i = 0; i < 2000; ++i)
+      builder.append("\n1 km,1 kg/l,1,");
+
+    try (final Decoder decoder = TextCodec.decoder(Format.CSV, new TrickleReader(builder.toString()), csvUnits())) {
+      assertTrue(decoder.skip());
+      final double[][] values = columns(3, 3);
+      assertCsv(values, decoder.read(values, 0, 3));
+      int rows = 0;
+      for (int n; (n = decoder.read(values, 0, 3)) > 0; rows += n)
+        assertEquals(1000, values[0][n - 1], 0);
+
+      assertEquals(2000, rows);
+    }
+  }
+
+  @Test
+  public void testCsvChunks() throws IOException {
+    final byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+    final Decoder decoder = TextCodec.decoder(Format.CSV, csvUnits());
+    final double[][] values = columns(3, 3);
+    assertFalse(decoder.skip());
+    int rows = 0;
+    boolean skipped = false;
+    for (int i = 0; i < bytes.length; ++i) {
+      decoder.put(ByteBuffer.wrap(bytes, i, 1));
+      if (!skipped)
+        skipped = decoder.skip();
+      else
+        rows += decoder.read(values, rows, 3 - rows);
+    }
+
+    assertEquals(2, rows);
+    assertEquals(0, decoder.read(values, rows, 1));
+    decoder.end();
+    rows += decoder.read(values, rows, 1);
+    assertCsv(values, rows);
+    assertEquals(-1, decoder.read(values, 0, 1));
+  }
+
+  @Test
+  public void testJson() throws IOException {
+    final String json = "[\n  [\"12.5 km\", \"51\\u00b028'38\\\"N\", 4],\n  [null, \"1 rad\", \"2.5e-1 km\"],\n  [\"1e3 ft\", -0.5, 1]\n]";
+    final Unit[] units = {Distance.Unit.KM, Angle.Unit.DEG, Distance.Unit.M};
+    try (final Decoder decoder = TextCodec.decoder(Format.JSON, new TrickleReader(json), units)) {
+      final double[][] values = columns(3, 3);
+      assertEquals(3, decoder.read(values, 0, 3));
+      assertEquals(-1, decoder.read(values, 0, 3));
+      assertArrayEquals(new double[] {12.5, Double.NaN, 0.3048}, values[0], 1e-12);
+      assertArrayEquals(new double[] {DMS, Math.toDegrees(1), -0.5}, values[1], 1e-12);
+      assertArrayEquals(new double[] {4, 250, 1}, values[2], 1e-12);
+    }
+  }
+
+  @Test
+  public void testSkippedColumns() throws IOException {
+    final Decoder decoder = TextCodec.decoder(Format.CSV, new StringReader("a,5 kg,b\nc,6 lb,d\n"), null, Mass.Unit.G);
+    final double[][] values = {null, new double[2]};
+    assertEquals(2, decoder.read(values, 0, 2));
+    assertArrayEquals(new double[] {5000, 6 / 2.2 * 1000}, values[1], 1e-9);
+  }
+
+  @Test
+  public void testErrors() throws IOException {
+    try {
+      TextCodec.decoder(Format.CSV, new StringReader("5 kg\n"), Distance.Unit.M).read(columns(1, 1), 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("not convertible"));
+    }
+
+    try {
+      TextCodec.decoder(Format.CSV, new StringReader("5 m\n"), Distance.Unit.M, Distance.Unit.M).read(columns(2, 1), 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("cells"));
+    }
+
+    try {
+      TextCodec.decoder(Format.JSON, new StringReader("[{\"a\": 1}]"), Distance.Unit.M).read(columns(1, 1), 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+
+    try {
+      TextCodec.decoder(Format.JSON, new StringReader("[\"5 m\""), Distance.Unit.M).read(columns(1, 1), 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("end of input"));
+    }
+  }
+
+  private static void assertRoundTrip(final Format format) throws IOException {
+    final Unit[] units = {Distance.Unit.KM, Angle.Unit.DEG, Mass.Unit.KG};
+    final double[][] values = {{12.5, -0.25, Double.NaN}, {DMS, -3.5833, 0}, {0.1, 1e-9, 123456789.125}};
+    final Encoder encoder = TextCodec.encoder(format, units).dms(1, 3);
+    final String text = encoder.write(new StringBuilder(), values, 0, 3).toString();
+
+    final double[][] decoded = columns(3, 3);
+    assertEquals(3, TextCodec.decoder(format, new StringReader(text), units).read(decoded, 0, 3));
+    for (int i = 0; i < 3; ++i)
+      assertArrayEquals(text, values[i], decoded[i], i == 1 ? 1e-6 : 0);
+
+    final ByteBuffer buffer = ByteBuffer.allocate(text.getBytes(StandardCharsets.UTF_8).length - 1);
+    assertEquals(2, encoder.write(buffer, values, 0, 3));
+    final Decoder decoder = TextCodec.decoder(format, units);
+    buffer.flip();
+    decoder.put(buffer).end();
+    assertEquals(2, decoder.read(decoded, 0, 3));
+  }
+
+  @Test
+  public void testDeclaredUnitsRoundTrip() throws IOException {
+    final Unit[] units = {
+      Angle.Unit.RAD, Angle.Unit.DEG,
+      Distance.Unit.M, Distance.Unit.FT, Distance.Unit.MI, Distance.Unit.KM, Distance.Unit.NM,
+      Elevation.Unit.FL,
+      Mass.Unit.G, Mass.Unit.KG, Mass.Unit.CT, Mass.Unit.LB,
+      Force.Unit.N, Force.Unit.LBF,
+      Time.Unit.SEC, Time.Unit.MIN, Time.Unit.HR, Time.Unit.DAY, Time.Unit.WK,
+      Volume.Unit.L, Volume.Unit.ML, Volume.Unit.GAL,
+      Unit.ratio(Force.Unit.LBF, Distance.Unit.FT), Unit.produc(Force.Unit.LBF, Distance.Unit.FT)
+    };
+
+    final double[][] values = new double[units.length][];
+    for (int i = 0; i < units.length; ++i) // [A]
+      values[i] = new double[] {i + 0.25, -i};
+
+    for (final Format format : Format.values()) { // [A]
+      final String text = TextCodec.encoder(format, units).write(new StringBuilder(), values, 0, 2).toString();
+      final double[][] decoded = columns(units.length, 2);
+      assertEquals(text, 2, TextCodec.decoder(format, new StringReader(text), units).read(decoded, 0, 2));
+      for (int i = 0; i < units.length; ++i) // [A]
+        assertArrayEquals(units[i] + ": " + text, values[i], decoded[i], 0);
+    }
+
+    assertEquals("1.0 lbf,2.0 lbf/ft,3.0 lbf*ft,4.0 lb\n", TextCodec.encoder(Format.CSV, Force.Unit.LBF, Unit.ratio(Force.Unit.LBF, Distance.Unit.FT), Unit.produc(Force.Unit.LBF, Distance.Unit.FT), Mass.Unit.LB).write(new StringBuilder(), new double[][] {{1}, {2}, {3}, {4}}, 0, 1).toString());
+  }
+
+  @Test
+  public void testInfinityRoundTrip() throws IOException {
+    final Unit[] units = {Distance.Unit.KM, Angle.Unit.DEG, Mass.Unit.KG};
+    final double[][] values = {{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}, {Double.NEGATIVE_INFINITY, 1}, {2, Double.POSITIVE_INFINITY}};
+    for (final Format format : Format.values()) { // [A]
+      final String text = TextCodec.encoder(format, units).dms(1, 1).precision(2, 3).write(new StringBuilder(), values, 0, 2).toString();
+      final double[][] decoded = columns(3, 2);
+      assertEquals(text, 2, TextCodec.decoder(format, new StringReader(text), units).read(decoded, 0, 2));
+      for (int i = 0; i < 3; ++i)
+        assertArrayEquals(text, values[i], decoded[i], 1e-6);
+    }
+
+    assertEquals("Infinity km,\"-Infinity\"\n", TextCodec.encoder(Format.CSV, Distance.Unit.KM, Angle.Unit.DEG).dms(1, 0).write(new StringBuilder(), new double[][] {{Double.POSITIVE_INFINITY}, {Double.NEGATIVE_INFINITY}}, 0, 1).toString());
+    final double[][] decoded = columns(3, 1);
+    assertEquals(1, TextCodec.decoder(Format.CSV, new StringReader("+Infinity,-Infinity,Infinity lb\n"), units).read(decoded, 0, 1));
+    assertArrayEquals(new double[] {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}, new double[] {decoded[0][0], decoded[1][0], decoded[2][0]}, 0);
+    try {
+      TextCodec.decoder(Format.CSV, new StringReader("Infinit km\n"), Distance.Unit.KM).read(columns(1, 1), 0, 1);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testCsvWriter() throws IOException {
+    final Encoder encoder = TextCodec.encoder(Format.CSV, Distance.Unit.KM, Angle.Unit.DEG).precision(0, 2).dms(1, 1);
+    assertEquals("12.50 km,\"51˚28'38.0\"\"\"\n,\"-0˚30'0.0\"\"\"\n", encoder.write(new StringBuilder(), new double[][] {{12.5, Double.NaN}, {DMS, -0.5}}, 0, 2).toString());
+    assertRoundTrip(Format.CSV);
+  }
+
+  @Test
+  public void testJsonWriter() throws IOException {
+    final Encoder encoder = TextCodec.encoder(Format.JSON, Distance.Unit.KM, Angle.Unit.DEG).dms(1, 0);
+    assertEquals("[\"12.5 km\",\"51˚28'38\\\"\"]\n[null,\"-0˚30'0\\\"\"]\n", encoder.write(new StringBuilder(), new double[][] {{12.5, Double.NaN}, {DMS, -0.5}}, 0, 2).toString());
+    assertRoundTrip(Format.JSON);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjax.measure.Dimension.Unit;
+
+public class TrackStoreTest {
+  private static final Unit.Ratio<Distance.Unit,Time.Unit> KNOTS = Unit.ratio(Distance.Unit.NM, Time.Unit.HR);
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private static int size(final ArrayList<TrackStore.Slice> slices) {
+    int size = 0;
+    for (int i = 0, i$ = slices.size(); i < i$; ++i) // [RA]
+      size += slices.get(i).size();
+
+    return size;
+  }
+
+  private static long segments(final Path directory) throws IOException {
+    return Files.list(directory).filter(p -> p.getFileName().toString().endsWith(".trk")).count();
+  }
+
+  @Test
+  public void testAppendScan() throws IOException {
+    final Path directory = folder.getRoot().toPath().resolve("tracks");
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      for (int i = 0; i < 10; ++i)
+        store.append("a1", i, 0.1 * i, -0.2 * i, 0.3, 100 + i);
+
+      assertEquals(3, segments(directory));
+      assertTrue(store.scan("b2").isEmpty());
+
+      final ArrayList<TrackStore.Slice> all = store.scan("a1");
+      assertEquals(3, all.size());
+      assertEquals(10, size(all));
+
+      final ArrayList<TrackStore.Slice> slices = store.scan("a1", 2.5, 7);
+      assertEquals(2, slices.size());
+      assertEquals(4, size(slices));
+      final TrackStore.Slice first = slices.get(0);
+      assertEquals(1, first.size());
+      assertEquals(3, first.time(0), 0);
+      assertEquals(0.3, first.latitude(0), 1e-15);
+      assertEquals(-0.6, first.longitude(0), 1e-15);
+      assertEquals(0.3, first.heading(0), 0);
+      assertEquals(103, first.speed(0), 0);
+
+      final DoubleBuffer times = slices.get(1).times();
+      assertEquals(3, times.remaining());
+      assertEquals(4, times.get(0), 0);
+      assertEquals(6, times.get(2), 0);
+      try {
+        first.time(1);
+        fail("Expected IndexOutOfBoundsException");
+      }
+      catch (final IndexOutOfBoundsException e) {
+      }
+
+      final LocationArray array = new LocationArray();
+      for (final TrackStore.Slice slice : slices) // [L]
+        slice.copyTo(array);
+
+      assertEquals(4, array.size());
+      assertEquals(0.6, array.latitude(3, Angle.Unit.RAD), 1e-15);
+      assertEquals(-1.2, array.longitude(3, Angle.Unit.RAD), 1e-15);
+    }
+  }
+
+  @Test
+  public void testAppendObjects() throws IOException {
+    try (final TrackStore store = new TrackStore(folder.getRoot().toPath(), Time.Unit.SEC, KNOTS)) {
+      final Location location = new Location(new Angle(38.898556, Angle.Unit.DEG), new Angle(-77.037852, Angle.Unit.DEG));
+      final Velocity velocity = new Velocity(new Angle(90, Angle.Unit.DEG), new Speed(100, Unit.ratio(Distance.Unit.KM, Time.Unit.HR)));
+      store.append("a1", new Time(2, Time.Unit.MIN), location, velocity);
+
+      final TrackStore.Slice slice = store.scan("a1").get(0);
+      assertEquals(120, slice.time(0), 0);
+      assertEquals(location, slice.location(0));
+      assertEquals(100 / 1.852, slice.speed(0), 1e-12);
+      assertEquals(100, slice.velocity(0).j.value(Unit.ratio(Distance.Unit.KM, Time.Unit.HR)), 1e-12);
+    }
+  }
+
+  @Test
+  public void testReopen() throws IOException {
+    final Path directory = folder.getRoot().toPath();
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      for (int i = 0; i < 6; ++i)
+        store.append("a1", i, 0, 0, 0, i);
+    }
+
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      assertEquals(6, size(store.scan("a1")));
+      store.append("a1", 6, 0, 0, 0, 6);
+      store.append("a1", 7, 0, 0, 0, 7);
+      store.append("a1", 8, 0, 0, 0, 8);
+      final ArrayList<TrackStore.Slice> slices = store.scan("a1");
+      assertEquals(3, slices.size());
+      assertEquals(9, size(slices));
+      assertEquals(8, slices.get(2).speed(0), 0);
+    }
+
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.MIN, KNOTS, 4)) {
+      store.scan("a1");
+      fail("Expected IOException");
+    }
+    catch (final IOException e) {
+    }
+  }
+
+  @Test
+  public void testScanDoesNotRegister() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      store.append("a1", 0, 0, 0, 0, 0);
+      final Field field = TrackStore.class.getDeclaredField("entities");
+      field.setAccessible(true);
+      final Map<?,?> entities = (Map<?,?>)field.get(store);
+      for (int i = 0; i < 100; ++i)
+        assertTrue(store.scan("u" + i).isEmpty());
+
+      assertEquals(1, entities.size());
+      assertEquals(1, segments(directory));
+    }
+
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      assertEquals(1, size(store.scan("a1")));
+    }
+  }
+
+  @Test
+  public void testLock() throws IOException {
+    final Path directory = folder.getRoot().toPath();
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      store.append("a1", 0, 0, 0, 0, 0);
+      try {
+        new TrackStore(directory, Time.Unit.SEC, KNOTS, 4);
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+      }
+
+      store.append("a1", 1, 0, 0, 0, 0);
+    }
+
+    try (final TrackStore store = new TrackStore(directory, Time.Unit.SEC, KNOTS, 4)) {
+      assertEquals(2, size(store.scan("a1")));
+    }
+  }
+
+  @Test
+  public void testIllegal() throws IOException {
+    try (final TrackStore store = new TrackStore(folder.getRoot().toPath(), Time.Unit.SEC, KNOTS)) {
+      store.append("a1", 5, 0, 0, 0, 0);
+      try {
+        store.append("a1", 4, 0, 0, 0, 0);
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+
+      try {
+        store.append("a1", Double.NaN, 0, 0, 0, 0);
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+
+      try {
+        store.append("b2", Double.NaN, 0, 0, 0, 0);
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+
+      store.append("a1", 6, 0, 0, 0, 0);
+      assertEquals(2, size(store.scan("a1")));
+      assertTrue(store.scan("b2").isEmpty());
+
+      try {
+        store.append("../a1", 6, 0, 0, 0, 0);
+        fail("Expected IllegalArgumentException");
+      }
+      catch (final IllegalArgumentException e) {
+      }
+
+      store.close();
+      try {
+        store.scan("a1");
+        fail("Expected IllegalStateException");
+      }
+      catch (final IllegalStateException e) {
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+import static org.openjax.measure.Locations.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TrackTest {
+  @Test
+  public void testDistance() {
+    final Location[] locations = {location(0, 0), location(0, 1), location(1, 1), location(1, 2)};
+    final Track track = new Track();
+    double expected = 0;
+    for (int i = 0; i < locations.length; ++i) {
+      if (i > 0)
+        expected += locations[i - 1].distance(locations[i]).value(Distance.Unit.KM);
+
+      track.add(locations[i]);
+      assertEquals(expected, track.distance(i, Distance.Unit.KM), 1e-9);
+      assertEquals(expected, track.length().value(Distance.Unit.KM), 1e-9);
+    }
+
+    assertEquals(expected * 1000, track.distance(3, Distance.Unit.M), 1e-6);
+    assertEquals(locations[2], track.get(2));
+    assertEquals(expected, new Track(locations).length().value(Distance.Unit.KM), 1e-9);
+  }
+
+  @Test
+  public void testParallel() {
+    final Random random = new Random(3);
+    final LocationArray locations = new LocationArray();
+    double lat = 0;
+    double lon = 0;
+    for (int i = 0; i < 50000; ++i) {
+      locations.add(lat, lon, Angle.Unit.DEG);
+      lat += random.nextDouble() * 0.01 - 0.005;
+      lon += random.nextDouble() * 0.01;
+    }
+
+    final Track bulk = new Track(locations, Geodesic.HAVERSINE);
+    final Track incremental = new Track();
+    for (int i = 0; i < locations.size(); ++i)
+      incremental.add(locations.get(i));
+
+    assertEquals(incremental.size(), bulk.size());
+    for (int i = 0; i < bulk.size(); i += 997)
+      assertEquals(incremental.distance(i, Distance.Unit.KM), bulk.distance(i, Distance.Unit.KM), 1e-9);
+
+    assertEquals(incremental.length().value(Distance.Unit.KM), bulk.length().value(Distance.Unit.KM), 1e-9);
+  }
+
+  @Test
+  public void testLocate() {
+    final Track track = new Track(location(0, 0), location(0, 1), location(1, 1));
+    final double leg = track.distance(1, Distance.Unit.KM);
+    assertEquals(location(0, 0), track.locate(new Distance(0, Distance.Unit.KM)));
+    final Location half = track.locate(new Distance(leg / 2, Distance.Unit.KM));
+    assertEquals(0, half.latitude.value(Angle.Unit.DEG), 1e-9);
+    assertEquals(0.5, half.longitude.value(Angle.Unit.DEG), 1e-9);
+
+    final Location corner = track.locate(new Distance(leg, Distance.Unit.KM));
+    assertEquals(0, corner.latitude.value(Angle.Unit.DEG), 1e-9);
+    assertEquals(1, corner.longitude.value(Angle.Unit.DEG), 1e-9);
+
+    final double[] dst = new double[3];
+    track.locate(track.length().value(Distance.Unit.M), Distance.Unit.M, dst, 1);
+    assertEquals(Math.toRadians(1), dst[1], 1e-12);
+    assertEquals(Math.toRadians(1), dst[2], 1e-12);
+
+    final Location quarter = track.locate(new Distance(leg * 1.25, Distance.Unit.KM));
+    assertEquals(0.25, quarter.latitude.value(Angle.Unit.DEG), 1e-9);
+    assertEquals(1, quarter.longitude.value(Angle.Unit.DEG), 1e-9);
+    assertEquals(leg * 1.25, track.alongTrack(quarter, Distance.Unit.KM), 1e-6);
+
+    try {
+      track.locate(new Distance(leg * 3, Distance.Unit.KM));
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+
+    try {
+      new Track().locate(new Distance(0, Distance.Unit.KM));
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+    }
+  }
+
+  @Test
+  public void testAlongCrossTrack() {
+    final Track track = new Track(location(0, 0), location(0, 2), location(2, 2));
+    final double km = Math.toRadians(0.5) * Geodesic.R;
+
+    // North of the first leg (eastbound), which is to the left
+    final Location north = location(0.5, 1);
+    assertEquals(track.distance(1, Distance.Unit.KM) / 2, track.alongTrack(north, Distance.Unit.KM), 1e-6);
+    assertEquals(-km, track.crossTrack(north, Distance.Unit.KM), 1e-6);
+
+    // East of the second leg (northbound), which is to the right
+    final Location east = location(1, 2.5);
+    assertEquals(track.distance(1, Distance.Unit.KM) + track.distance(1, Distance.Unit.KM) / 2, track.alongTrack(east).value(Distance.Unit.KM), 1);
+    assertTrue(track.crossTrack(east, Distance.Unit.KM) > 0);
+    assertEquals(Math.toRadians(0.5) * Math.cos(Math.toRadians(1)) * Geodesic.R, track.crossTrack(east).value(Distance.Unit.KM), 0.1);
+
+    // Before the start
+    final Location before = location(0, -1);
+    assertEquals(0, track.alongTrack(before, Distance.Unit.KM), 0);
+    assertEquals(location(0, 0).distance(before).value(Distance.Unit.KM), Math.abs(track.crossTrack(before, Distance.Unit.KM)), 1e-6);
+
+    final Track point = new Track(location(0, 0));
+    assertEquals(location(0, 0).distance(north).value(Distance.Unit.KM), point.crossTrack(north, Distance.Unit.KM), 1e-6);
+    assertEquals(0, point.alongTrack(north, Distance.Unit.KM), 0);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Test;
+
+public class UnitConcurrencyTest {
+  private static final int THREADS = 8;
+  private static final int UNITS = 64;
+
+  private static final class Unit extends Dimension.Unit {
+    private static final Unit ROOT = new Unit("root", 1, null);
+
+    private Unit(final String name, final double factor, final Unit basis) {
+      super(name, factor, basis);
+    }
+  }
+
+  private static void run(final Callable<?> task) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final ArrayList<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; ++t) { // [L]
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+
+      start.countDown();
+      for (final Future<?> future : futures) // [L]
+        future.get();
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testConcurrentRegistration() throws Exception {
+    final AtomicReferenceArray<Unit> units = new AtomicReferenceArray<>(THREADS * UNITS);
+    final int[] next = {0};
+    run(() -> {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = 0; i < UNITS; ++i) { // [L]
+        final Unit unit = new Unit("u" + Thread.currentThread().getId() + "." + i, 1 + random.nextInt(1000), Unit.ROOT);
+        final int index;
+        synchronized (next) {
+          index = next[0]++;
+        }
+
+        units.set(index, unit);
+        for (int j = 0; j < 16; ++j) { // [L]
+          final Unit other = units.get(random.nextInt(index + 1));
+          if (other != null) {
+            assertEquals(unit.scale / other.scale, unit.getFactor(other), 0);
+            assertEquals(other.scale / unit.scale, other.getFactor(unit), 0);
+          }
+        }
+      }
+
+      return null;
+    });
+
+    final HashSet<Integer> ordinals = new HashSet<>();
+    ordinals.add(Unit.ROOT.ordinal);
+    for (int i = 0; i < units.length(); ++i) { // [L]
+      final Unit unit = units.get(i);
+      assertTrue(ordinals.add(unit.ordinal));
+      assertEquals(unit.scale, unit.getFactor(Unit.ROOT), 0);
+      for (int j = 0; j < units.length(); ++j) // [L]
+        assertEquals(unit.scale / units.get(j).scale, unit.getFactor(units.get(j)), 0);
+    }
+
+    assertEquals(THREADS * UNITS + 1, ordinals.size());
+  }
+
+  @Test
+  public void testConcurrentIntern() throws Exception {
+    final Unit[] units = new Unit[16];
+    for (int i = 0; i < units.length; ++i) // [A]
+      units[i] = new Unit("i" + i, i + 1, Unit.ROOT);
+
+    final AtomicReferenceArray<Dimension.Unit> ratios = new AtomicReferenceArray<>(units.length * units.length);
+    run(() -> {
+      for (int i = 0; i < units.length; ++i) { // [A]
+        for (int j = 0; j < units.length; ++j) { // [A]
+          final Dimension.Unit ratio = Dimension.Unit.ratio(units[i], units[j]);
+          if (!ratios.compareAndSet(i * units.length + j, null, ratio))
+            assertSame(ratios.get(i * units.length + j), ratio);
+
+          assertEquals((double)(i + 1) / (j + 1) / ((double)(j + 1) / (i + 1)), ratio.getFactor(Dimension.Unit.ratio(units[j], units[i])), 0.0000000001);
+        }
+      }
+
+      return null;
+    });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+
+public class UnitParserTest {
+  private static void assertError(final String expression) {
+    try {
+      Unit.parse(expression);
+      fail("Expected IllegalArgumentException: " + expression);
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testSymbols() {
+    assertSame(Distance.Unit.KM, Unit.parse("km"));
+    assertSame(Distance.Unit.NM, Unit.parse("nm"));
+    assertSame(Elevation.Unit.FL, Unit.parse("fl"));
+    assertSame(Mass.Unit.LB, Unit.parse("lb"));
+    assertSame(Force.Unit.LBF, Unit.parse("lbf"));
+    assertSame(Angle.Unit.DEG, Unit.parse(" deg "));
+  }
+
+  @Test
+  public void testDeclaredSymbols() throws IllegalAccessException {
+    // The symbol table lists the declared units explicitly, and must cover every declared unit
+    final Class<?>[] classes = {Angle.Unit.class, Distance.Unit.class, Elevation.Unit.class, Mass.Unit.class, Force.Unit.class, Time.Unit.class, Volume.Unit.class};
+    for (final Class<?> cls : classes) { // [A]
+      for (final Field field : cls.getFields()) { // [A]
+        if (Modifier.isStatic(field.getModifiers()) && Unit.class.isAssignableFrom(field.getType())) {
+          final Unit unit = (Unit)field.get(null);
+          assertSame(field.toString(), unit == Force.Unit.LBF ? Mass.Unit.LB : unit, Unit.parse(unit.toString()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMilliliter() {
+    assertSame(Volume.Unit.ML, Unit.parse("ml"));
+    assertSame(Unit.parse("ml"), Volume.Unit.L.prefix(MetricPrefix.MILLI));
+    assertEquals(1000, new Volume(1, Volume.Unit.L).value(Volume.Unit.ML), 1e-9);
+    assertEquals(10, new Volume(1, (Volume.Unit)Unit.parse("cl")).value(Volume.Unit.ML), 1e-9);
+    assertEquals(1e6, Unit.parse("kg/ml").getFactor(Unit.parse("g/l")), 1e-6);
+  }
+
+  @Test
+  public void testPrefix() {
+    final Unit mm = Unit.parse("mm");
+    assertSame(mm, Unit.parse("mm"));
+    assertSame(mm, Distance.Unit.M.prefix(MetricPrefix.MILLI));
+    assertEquals(1000, new Distance(1, Distance.Unit.M).value((Distance.Unit)mm), 0.0000001);
+    assertEquals(0.001, new Mass(1, (Mass.Unit)Unit.parse("mg")).value(Mass.Unit.G), 0.0000000001);
+    assertEquals(10, new Distance(1, (Distance.Unit)Unit.parse("dam")).value(Distance.Unit.M), 0.0000000001);
+    assertEquals(1000000, new Distance(1, (Distance.Unit)Unit.parse("Mm")).value(Distance.Unit.M), 0.0000001);
+    assertEquals(0.000001, new Time(1, (Time.Unit)Unit.parse("μsec")).value(Time.Unit.SEC), 0.0000000001);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRatio() {
+    assertSame(Unit.ratio(Distance.Unit.KM, Time.Unit.HR), Unit.parse("km/hr"));
+    assertSame(Unit.ratio(Mass.Unit.KG, Volume.Unit.L), Unit.parse("kg / l"));
+    final Speed speed = new Speed(36, (Unit.Ratio<Distance.Unit,Time.Unit>)Unit.parse("km/hr"));
+    assertEquals(10, speed.value((Unit.Ratio<Distance.Unit,Time.Unit>)Unit.parse("m/sec")), 0.0000001);
+  }
+
+  @Test
+  public void testProduct() {
+    assertSame(Unit.produc(Force.Unit.N, Distance.Unit.M), Unit.parse("N*m"));
+    assertSame(Unit.produc(Unit.produc(Distance.Unit.M, Distance.Unit.M), Distance.Unit.M), Unit.parse("m^3"));
+    assertSame(Unit.ratio(Mass.Unit.KG, Unit.produc(Distance.Unit.M, Distance.Unit.M)), Unit.parse("kg/m^2"));
+    assertSame(Unit.ratio(Distance.Unit.M, Unit.produc(Time.Unit.SEC, Time.Unit.SEC)), Unit.parse("m/sec^2"));
+    assertNotNull(Unit.parse("m^4/sec^4"));
+  }
+
+  @Test
+  public void testError() {
+    assertError("");
+    assertError("furlong");
+    assertError("km/");
+    assertError("km hr");
+    assertError("m^0");
+    assertError("m^");
+    assertError("kft");
+    assertError("m^5");
+    assertError("m^64");
+    assertError("m^4*sec^4*kg");
+    assertError("m*m*m*m*m*m*m*m*m");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.measure;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openjax.measure.Dimension.Unit;
+
+public class VelocityTest {
+  private static final double EPSILON = 1e-9;
+  private static final Unit.Ratio<Distance.Unit,Time.Unit> KNOTS = Unit.ratio(Distance.Unit.NM, Time.Unit.HR);
+  private static final Unit.Ratio<Distance.Unit,Time.Unit> KMH = Unit.ratio(Distance.Unit.KM, Time.Unit.HR);
+
+  private static Velocity velocity(final double heading, final double speed) {
+    return new Velocity(new Angle(heading, Angle.Unit.DEG), new Speed(speed, KNOTS));
+  }
+
+  @Test
+  public void testComponents() {
+    final Velocity velocity = velocity(30, 100);
+    assertEquals(100 * Math.cos(Math.toRadians(30)), velocity.north(KNOTS), EPSILON);
+    assertEquals(50, velocity.east(KNOTS), EPSILON);
+    assertEquals(50 * 1.852, velocity.east(KMH), EPSILON);
+
+    final Velocity of = Velocity.of(-50, -50, KMH);
+    assertEquals(225, of.i.value(Angle.Unit.DEG), EPSILON);
+    assertEquals(Math.hypot(50, 50), of.j.value(KMH), EPSILON);
+    assertSame(KMH, of.j.unit);
+    assertEquals(-50, of.north(KMH), EPSILON);
+  }
+
+  @Test
+  public void testValue() {
+    final Velocity velocity = velocity(30, 100);
+    final Angle heading = new Angle(75, Angle.Unit.DEG);
+    assertEquals(velocity.value(heading).value(KNOTS), velocity.value(heading, KNOTS), EPSILON);
+    assertEquals(100 * Math.cos(Math.toRadians(45)), velocity.value(heading, KNOTS), EPSILON);
+  }
+
+  @Test
+  public void testAddSubtractDot() {
+    final Velocity airspeed = velocity(90, 120);
+    final Velocity wind = velocity(0, 20);
+    final Velocity ground = airspeed.add(wind);
+    assertSame(KNOTS, ground.j.unit);
+    assertEquals(20, ground.north(KNOTS), EPSILON);
+    assertEquals(120, ground.east(KNOTS), EPSILON);
+    assertEquals(Math.toDegrees(Math.atan2(120, 20)), ground.i.value(Angle.Unit.DEG), EPSILON);
+
+    final Velocity difference = ground.subtract(wind);
+    assertEquals(90, difference.i.value(Angle.Unit.DEG), EPSILON);
+    assertEquals(120, difference.j.value(KNOTS), EPSILON);
+
+    assertEquals(0, airspeed.dot(wind, KNOTS), EPSILON);
+    assertEquals(20 * 20, ground.dot(wind, KNOTS), EPSILON);
+    assertEquals(20 * 20 * 1.852 * 1.852, ground.dot(wind, KMH), 1e-6);
+  }
+
+  @Test
+  public void testBatch() {
+    final Velocity[] velocities = {velocity(0, 100), velocity(90, 200), velocity(200, 50), velocity(359, 10)};
+    final double[] headings = {10, 20, 30, 40};
+    final double[] dst = new double[4];
+    final Angle heading = new Angle(45, Angle.Unit.DEG);
+    Velocity.project(velocities, 1, 3, heading, KMH, dst);
+    assertEquals(0, dst[0], 0);
+    for (int i = 1; i < 4; ++i)
+      assertEquals(velocities[i].value(heading, KMH), dst[i], EPSILON);
+
+    Velocity.project(velocities, 0, 4, headings, Angle.Unit.DEG, KNOTS, headings);
+    for (int i = 0; i < 4; ++i)
+      assertEquals(velocities[i].value(new Angle(10 * (i + 1), Angle.Unit.DEG), KNOTS), headings[i], EPSILON);
+
+    final double[] north = new double[4];
+    final double[] east = new double[4];
+    Velocity.add(velocities, velocities, 0, 4, KNOTS, north, east);
+    for (int i = 0; i < 4; ++i) {
+      assertEquals(2 * velocities[i].north(KNOTS), north[i], EPSILON);
+      assertEquals(2 * velocities[i].east(KNOTS), east[i], EPSILON);
+    }
+
+    try {
+      Velocity.project(velocities, 2, 3, heading, KMH, dst);
+      fail("Expected IndexOutOfBoundsException");
+    }
+    catch (final IndexOutOfBoundsException e) {
+    }
+  }
+}
\ No newline at end of file
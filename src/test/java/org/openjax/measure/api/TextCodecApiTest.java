@@ -0,0 +1,56 @@
+/* Copyright (c) 2014 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.openjax.measure.api;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.openjax.measure.Angle;
+import org.openjax.measure.Dimension.Unit;
+import org.openjax.measure.Distance;
+import org.openjax.measure.Mass;
+import org.openjax.measure.TextCodec;
+import org.openjax.measure.TextCodec.Decoder;
+import org.openjax.measure.TextCodec.Encoder;
+import org.openjax.measure.TextCodec.Format;
+
+/**
+ * Declares {@link TextCodec} columns of mixed units from outside of the {@code org.openjax.measure} package.
+ */
+public class TextCodecApiTest {
+  @Test
+  public void testMixedUnits() throws IOException {
+    final Unit density = Unit.parse("kg/l");
+    final Encoder encoder = TextCodec.encoder(Format.CSV, Distance.Unit.KM, Mass.Unit.KG, density, Angle.Unit.DEG);
+    final double[][] values = {{12.5, 3}, {70, 0.5}, {1.2, 0.8}, {-0.5, 90}};
+    final String csv = encoder.write(new StringBuilder(), values, 0, 2).toString();
+    assertEquals("12.5 km,70.0 kg,1.2 kg/l,-0.5 deg\n3.0 km,0.5 kg,0.8 kg/l,90.0 deg\n", csv);
+
+    final double[][] decoded = new double[4][2];
+    try (final Decoder decoder = TextCodec.decoder(Format.CSV, new StringReader(csv), Distance.Unit.M, Mass.Unit.G, Unit.parse("g/ml"), null)) {
+      assertEquals(2, decoder.read(decoded, 0, 2));
+    }
+
+    assertArrayEquals(new double[] {12500, 3000}, decoded[0], 1e-9);
+    assertArrayEquals(new double[] {70000, 500}, decoded[1], 1e-9);
+    assertArrayEquals(new double[] {1.2, 0.8}, decoded[2], 1e-12);
+  }
+}
\ No newline at end of file